@@ -0,0 +1,64 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.build.jmh;
+
+import java.util.Collections;
+
+import me.champeau.gradle.JMHPlugin;
+import me.champeau.gradle.JMHPluginExtension;
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.file.DuplicatesStrategy;
+import org.gradle.api.plugins.JavaPlugin;
+
+/**
+ * {@link Plugin} that applies conventions for JMH benchmarks in Spring Framework modules.
+ * <p>Benchmarks are located in the {@code src/jmh/java} source set of each module and
+ * can be narrowed down with a regular expression on the CLI:
+ * {@code "./gradlew :spring-core:jmh -PbenchmarkInclude=.*AntPathMatcher.*"}.
+ */
+public class JmhConventionsPlugin implements Plugin<Project> {
+
+	/**
+	 * The project property that can be used to select the benchmarks to run.
+	 */
+	public static final String BENCHMARK_INCLUDE_PROPERTY = "benchmarkInclude";
+
+	/**
+	 * The JMH version used for compiling and running benchmarks.
+	 */
+	public static final String JMH_VERSION = "1.25";
+
+	@Override
+	public void apply(Project project) {
+		project.getPlugins().withType(JavaPlugin.class, javaPlugin -> applyJmhConventions(project));
+	}
+
+	private void applyJmhConventions(Project project) {
+		project.getPlugins().apply(JMHPlugin.class);
+		JMHPluginExtension jmh = project.getExtensions().getByType(JMHPluginExtension.class);
+		jmh.setJmhVersion(JMH_VERSION);
+		jmh.setDuplicateClassesStrategy(DuplicatesStrategy.EXCLUDE);
+		jmh.setResultFormat("JSON");
+		if (project.hasProperty(BENCHMARK_INCLUDE_PROPERTY)) {
+			String include = String.valueOf(project.property(BENCHMARK_INCLUDE_PROPERTY));
+			jmh.setInclude(Collections.singletonList(include));
+		}
+		project.getDependencies().add("jmh", "net.sf.jopt-simple:jopt-simple");
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.aspectj;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AdviceMode;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@code @Cacheable(bulk=true)} in AspectJ mode.
+ */
+public class AspectJCacheableBulkTests {
+
+	private AnnotationConfigApplicationContext context;
+
+	private Cache cache;
+
+	private BulkService bulkService;
+
+
+	@BeforeEach
+	public void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.cache = this.context.getBean(CacheManager.class).getCache("users");
+		this.bulkService = this.context.getBean(BulkService.class);
+	}
+
+	@AfterEach
+	public void close() {
+		this.context.close();
+	}
+
+
+	@Test
+	public void invokeForMissingKeysOnly() {
+		Map<Long, String> result = this.bulkService.findByIds(Arrays.asList(1L, 2L));
+		assertThat(result).containsExactly(entry(1L, "user1"), entry(2L, "user2"));
+		assertThat(this.cache.get(1L).get()).isEqualTo("user1");
+		assertThat(this.cache.get(2L).get()).isEqualTo("user2");
+
+		result = this.bulkService.findByIds(Arrays.asList(3L, 2L, 1L));
+		assertThat(result).containsExactly(entry(3L, "user3"), entry(2L, "user2"), entry(1L, "user1"));
+		assertThat(this.bulkService.requestedIds).containsExactly(Arrays.asList(1L, 2L), Arrays.asList(3L));
+
+		result = this.bulkService.findByIds(Arrays.asList(1L, 3L));
+		assertThat(result).containsExactly(entry(1L, "user1"), entry(3L, "user3"));
+		assertThat(this.bulkService.requestedIds).hasSize(2);
+	}
+
+	@Test
+	public void nestedCacheableInvocationStillCached() {
+		this.bulkService.findByIds(Collections.singletonList(1L));
+		assertThat(this.bulkService.findByIdsWithName(Arrays.asList(1L, 2L), "name"))
+				.containsExactly(entry(1L, "name1"), entry(2L, "name2"));
+		assertThat(this.bulkService.requestedIds).containsExactly(
+				Collections.singletonList(1L), Collections.singletonList(2L));
+		assertThat(this.cache.get(2L).get()).isEqualTo("user2");
+	}
+
+
+	@Configuration
+	@EnableCaching(mode = AdviceMode.ASPECTJ)
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public BulkService bulkService() {
+			return new BulkService();
+		}
+	}
+
+
+	public static class BulkService {
+
+		final List<Collection<Long>> requestedIds = Collections.synchronizedList(new ArrayList<>());
+
+		@Cacheable(cacheNames = "users", bulk = true)
+		public Map<Long, String> findByIds(Collection<Long> ids) {
+			this.requestedIds.add(ids);
+			Map<Long, String> result = new LinkedHashMap<>();
+			for (Long id : ids) {
+				result.put(id, "user" + id);
+			}
+			return result;
+		}
+
+		@Cacheable(cacheNames = "names", bulk = true, key = "#ids")
+		public Map<Long, String> findByIdsWithName(Collection<Long> ids, String name) {
+			Map<Long, String> result = new LinkedHashMap<>();
+			for (Long id : findByIds(ids).keySet()) {
+				result.put(id, name + id);
+			}
+			return result;
+		}
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+
+/**
+ * Benchmarks for bean lookups and bean creation in {@link DefaultListableBeanFactory}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DefaultListableBeanFactoryBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"10", "1000"})
+		public int beanCount;
+
+		public DefaultListableBeanFactory beanFactory;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+			for (int i = 0; i < this.beanCount; i++) {
+				this.beanFactory.registerBeanDefinition("filler" + i, new RootBeanDefinition(FillerBean.class));
+			}
+			this.beanFactory.registerBeanDefinition("singleton", new RootBeanDefinition(SimpleBean.class));
+			RootBeanDefinition prototype = new RootBeanDefinition(SimpleBean.class);
+			prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			this.beanFactory.registerBeanDefinition("prototype", prototype);
+			RootBeanDefinition withReference = new RootBeanDefinition(DependentBean.class);
+			withReference.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			withReference.getPropertyValues().add("simpleBean", new RuntimeBeanReference("singleton"));
+			this.beanFactory.registerBeanDefinition("prototypeWithReference", withReference);
+			RootBeanDefinition autowired = new RootBeanDefinition(DependentBean.class);
+			autowired.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			autowired.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+			this.beanFactory.registerBeanDefinition("prototypeAutowired", autowired);
+			this.beanFactory.preInstantiateSingletons();
+		}
+	}
+
+	@Benchmark
+	public void singletonByName(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.beanFactory.getBean("singleton"));
+	}
+
+	@Benchmark
+	public void singletonByType(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.beanFactory.getBean(SimpleBean.class));
+	}
+
+	@Benchmark
+	public void prototypeByName(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.beanFactory.getBean("prototype"));
+	}
+
+	@Benchmark
+	public void prototypeWithReference(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.beanFactory.getBean("prototypeWithReference"));
+	}
+
+	@Benchmark
+	public void prototypeAutowiredConstructor(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.beanFactory.getBean("prototypeAutowired"));
+	}
+
+	@Benchmark
+	public void beanNamesForType(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.beanFactory.getBeanNamesForType(DependentBean.class));
+	}
+
+
+	public static class FillerBean {
+	}
+
+
+	public static class SimpleBean {
+	}
+
+
+	public static class DependentBean {
+
+		private SimpleBean simpleBean;
+
+		public DependentBean() {
+		}
+
+		public DependentBean(SimpleBean simpleBean) {
+			this.simpleBean = simpleBean;
+		}
+
+		public void setSimpleBean(SimpleBean simpleBean) {
+			this.simpleBean = simpleBean;
+		}
+
+		public SimpleBean getSimpleBean() {
+			return this.simpleBean;
+		}
+	}
+
+}
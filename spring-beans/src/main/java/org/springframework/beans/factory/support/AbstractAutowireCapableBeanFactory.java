@@ -76,6 +76,7 @@ import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.PriorityOrdered;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -425,7 +426,15 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 
 		Object result = existingBean;
 		for (BeanPostProcessor processor : getBeanPostProcessors()) {
-			Object current = processor.postProcessBeforeInitialization(result, beanName);
+			StartupStep postProcess = getApplicationStartup().start("spring.beans.post-process.before-initialization")
+					.tag("beanName", beanName).tag("postProcessor", () -> processor.getClass().getName());
+			Object current;
+			try {
+				current = processor.postProcessBeforeInitialization(result, beanName);
+			}
+			finally {
+				postProcess.end();
+			}
 			if (current == null) {
 				return result;
 			}
@@ -443,7 +452,15 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 			/*
 			* 配置了事务的话会在这里创建事务对象
 			* */// BeanPostProcessor可能有多个，BFPP也可能有多个
-			Object current = processor.postProcessAfterInitialization(result, beanName);
+			StartupStep postProcess = getApplicationStartup().start("spring.beans.post-process.after-initialization")
+					.tag("beanName", beanName).tag("postProcessor", () -> processor.getClass().getName());
+			Object current;
+			try {
+				current = processor.postProcessAfterInitialization(result, beanName);
+			}
+			finally {
+				postProcess.end();
+			}
 			if (current == null) {
 				return result;
 			}
@@ -493,106 +510,116 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	protected Object createBean(String beanName, RootBeanDefinition mbd, @Nullable Object[] args)
 			throws BeanCreationException {
 
-		if (logger.isTraceEnabled()) {
-			logger.trace("Creating instance of bean '" + beanName + "'");
-		}
-		RootBeanDefinition mbdToUse = mbd;
-
-		// Make sure bean class is actually resolved at this point, and
-		// clone the bean definition in case of a dynamically resolved Class
-		// which cannot be stored in the shared merged bean definition.
-		/*
-		* 根据 mbd 中的 字符串类型的className 最终调用完 Class.forName() 来确定resolvedClass 对象的值，
-		* 有了 Class对象可以直接利用反射 newInstance 了，但是Spring没有直接这么干
-		* */
-		Class<?> resolvedClass = resolveBeanClass(mbd, beanName);
-		if (resolvedClass != null && !mbd.hasBeanClass() && mbd.getBeanClassName() != null) {
-			mbdToUse = new RootBeanDefinition(mbd);
-			mbdToUse.setBeanClass(resolvedClass);
-		}
-
-		// Prepare method overrides.
-		/*
-		* 验证及准备覆盖的方法，lookup-method   replace-method
-		* Spring 中默认对象都是单例的， Spring会在一级缓存中持有该对象，方便下次直接获取
-		* 如果对象是在原型作用域，则Spring不会创建缓存该对象，而每次都要创建新的对象
-		* 如果想在一个单例模式的Bean中 引用一个原型模式的Bean， 怎么办？
-		*
-		* 这种情况下，就需要用lookup-method 标签来解决这个问题
-		*
-		* 当需要的bean对象中包含 lookup-method   replace-method 标签的时候，会产生覆盖操作，
-		* 设置一个标志位为 false
-		* */
+		StartupStep beanCreation = getApplicationStartup().start("spring.beans.instantiate")
+				.tag("beanName", beanName);
 		try {
-			mbdToUse.prepareMethodOverrides();
-		}
-		catch (BeanDefinitionValidationException ex) {
-			throw new BeanDefinitionStoreException(mbdToUse.getResourceDescription(),
-					beanName, "Validation of method overrides failed", ex);
-		}
+			if (logger.isTraceEnabled()) {
+				logger.trace("Creating instance of bean '" + beanName + "'");
+			}
+			RootBeanDefinition mbdToUse = mbd;
 
-		try {
-			// Give BeanPostProcessors a chance to return a proxy instead of the target bean instance.
+			// Make sure bean class is actually resolved at this point, and
+			// clone the bean definition in case of a dynamically resolved Class
+			// which cannot be stored in the shared merged bean definition.
 			/*
-			* 给BeanPostProcessor一个机会返回一个代理来替代真正的实例
-			* 如果代理的bean不为空，则直接返回代理bean
-			* 往下的 doCreateBean 也不用执行了
-			*
-			* 是否执行doCreateBean取决于 之前定义的BeanPostProcessor中是否包含了提前创建Bean对象的BeanPostProcessor，
-			* 如果包含就提前创建，如果不包含才继续往下执行 doCreateBean
+			* 根据 mbd 中的 字符串类型的className 最终调用完 Class.forName() 来确定resolvedClass 对象的值，
+			* 有了 Class对象可以直接利用反射 newInstance 了，但是Spring没有直接这么干
 			* */
+			Class<?> resolvedClass = resolveBeanClass(mbd, beanName);
+			if (resolvedClass != null && !mbd.hasBeanClass() && mbd.getBeanClassName() != null) {
+				mbdToUse = new RootBeanDefinition(mbd);
+				mbdToUse.setBeanClass(resolvedClass);
+			}
+			if (resolvedClass != null) {
+				beanCreation.tag("beanType", resolvedClass::getName);
+			}
+
+			// Prepare method overrides.
 			/*
-			* 【【【AOP 的时候需要看的注释】】】
-			*   shouldSkip() 方法中 获取所有的 Advisors
-			*
-			*		 findCandidateAdvisors() 创建bean
-			*
-			*		 创建bean,并添加到 List 中，待返回
-			*
-			*		 此处创建对象有意思的地方在于：之前创建一个半成品对象，是直接反射调用无参构造，然后调用Set方法去给属性赋值，所谓的实例化初始化时分开的
-			*		 但是，在这些Advisor类中没有无参构造，只有一个有参构造，所以在这里创建 Advisor对象的时候，我必须先把有参构造方法中
-			*		 	要求的参数先创建好。所以这里的对象的创造，是需要很多层的嵌套的（跨方法递归的）。
+			* 验证及准备覆盖的方法，lookup-method   replace-method
+			* Spring 中默认对象都是单例的， Spring会在一级缓存中持有该对象，方便下次直接获取
+			* 如果对象是在原型作用域，则Spring不会创建缓存该对象，而每次都要创建新的对象
+			* 如果想在一个单例模式的Bean中 引用一个原型模式的Bean， 怎么办？
 			*
-			*		        		          		   		 { -----> MethodLocatingFactoryBean
-			*			Advisor#0--#4 --->   adviceDef --->  { -----> expression="execution(Integer com.szu.spring.aopTest.MyCalculator.*(Integer,Integer))"
-			*						                 	     { -----> SimpleBeanFactoryAwareAspectInstanceFactory
+			* 这种情况下，就需要用lookup-method 标签来解决这个问题
 			*
-			*		 意思就是说在创建 Advisor 的时候， 三个嵌套对象也要创建好
+			* 当需要的bean对象中包含 lookup-method   replace-method 标签的时候，会产生覆盖操作，
+			* 设置一个标志位为 false
 			* */
-			/*
-			 * 【【【AOP 的时候需要看的注释】】】即便是普通对象也返回空，我们要记得开始这个逻辑的入口，“给BPP一个机会返回代理对象”，
-			 * 其实主要针对的事用户自定义的Bean before Instantiation 中返回代理对象
-			 * 如果开启了 AOP ，那是一个标准化的代理创建流程，而这里更侧重于用户自定的方式返回代理，所以此时也是返回空。  【【【即使一个对象需要被代理，那么这个对象也要被创建，不过创建完是要被替换的】】】
-			 *  */
-			Object bean = resolveBeforeInstantiation(beanName, mbdToUse);
-			if (bean != null) {
-				return bean;
+			try {
+				mbdToUse.prepareMethodOverrides();
+			}
+			catch (BeanDefinitionValidationException ex) {
+				throw new BeanDefinitionStoreException(mbdToUse.getResourceDescription(),
+						beanName, "Validation of method overrides failed", ex);
 			}
-		}
-		catch (Throwable ex) {
-			throw new BeanCreationException(mbdToUse.getResourceDescription(), beanName,
-					"BeanPostProcessor before instantiation of bean failed", ex);
-		}
 
-		try {
-			/*
-			* 实际创建bean
-			* ！！！！！！！！！！！！！！！！！！！！！！！！
-			* */
-			Object beanInstance = doCreateBean(beanName, mbdToUse, args);
-			if (logger.isTraceEnabled()) {
-				logger.trace("Finished creating instance of bean '" + beanName + "'");
+			try {
+				// Give BeanPostProcessors a chance to return a proxy instead of the target bean instance.
+				/*
+				* 给BeanPostProcessor一个机会返回一个代理来替代真正的实例
+				* 如果代理的bean不为空，则直接返回代理bean
+				* 往下的 doCreateBean 也不用执行了
+				*
+				* 是否执行doCreateBean取决于 之前定义的BeanPostProcessor中是否包含了提前创建Bean对象的BeanPostProcessor，
+				* 如果包含就提前创建，如果不包含才继续往下执行 doCreateBean
+				* */
+				/*
+				* 【【【AOP 的时候需要看的注释】】】
+				*   shouldSkip() 方法中 获取所有的 Advisors
+				*
+				*		 findCandidateAdvisors() 创建bean
+				*
+				*		 创建bean,并添加到 List 中，待返回
+				*
+				*		 此处创建对象有意思的地方在于：之前创建一个半成品对象，是直接反射调用无参构造，然后调用Set方法去给属性赋值，所谓的实例化初始化时分开的
+				*		 但是，在这些Advisor类中没有无参构造，只有一个有参构造，所以在这里创建 Advisor对象的时候，我必须先把有参构造方法中
+				*		 	要求的参数先创建好。所以这里的对象的创造，是需要很多层的嵌套的（跨方法递归的）。
+				*
+				*		        		          		   		 { -----> MethodLocatingFactoryBean
+				*			Advisor#0--#4 --->   adviceDef --->  { -----> expression="execution(Integer com.szu.spring.aopTest.MyCalculator.*(Integer,Integer))"
+				*						                 	     { -----> SimpleBeanFactoryAwareAspectInstanceFactory
+				*
+				*		 意思就是说在创建 Advisor 的时候， 三个嵌套对象也要创建好
+				* */
+				/*
+				 * 【【【AOP 的时候需要看的注释】】】即便是普通对象也返回空，我们要记得开始这个逻辑的入口，“给BPP一个机会返回代理对象”，
+				 * 其实主要针对的事用户自定义的Bean before Instantiation 中返回代理对象
+				 * 如果开启了 AOP ，那是一个标准化的代理创建流程，而这里更侧重于用户自定的方式返回代理，所以此时也是返回空。  【【【即使一个对象需要被代理，那么这个对象也要被创建，不过创建完是要被替换的】】】
+				 *  */
+				Object bean = resolveBeforeInstantiation(beanName, mbdToUse);
+				if (bean != null) {
+					return bean;
+				}
+			}
+			catch (Throwable ex) {
+				throw new BeanCreationException(mbdToUse.getResourceDescription(), beanName,
+						"BeanPostProcessor before instantiation of bean failed", ex);
+			}
+
+			try {
+				/*
+				* 实际创建bean
+				* ！！！！！！！！！！！！！！！！！！！！！！！！
+				* */
+				Object beanInstance = doCreateBean(beanName, mbdToUse, args);
+				if (logger.isTraceEnabled()) {
+					logger.trace("Finished creating instance of bean '" + beanName + "'");
+				}
+				return beanInstance;
+			}
+			catch (BeanCreationException | ImplicitlyAppearedSingletonException ex) {
+				// A previously detected exception with proper bean creation context already,
+				// or illegal singleton state to be communicated up to DefaultSingletonBeanRegistry.
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new BeanCreationException(
+						mbdToUse.getResourceDescription(), beanName, "Unexpected exception during bean creation", ex);
 			}
-			return beanInstance;
-		}
-		catch (BeanCreationException | ImplicitlyAppearedSingletonException ex) {
-			// A previously detected exception with proper bean creation context already,
-			// or illegal singleton state to be communicated up to DefaultSingletonBeanRegistry.
-			throw ex;
 		}
-		catch (Throwable ex) {
-			throw new BeanCreationException(
-					mbdToUse.getResourceDescription(), beanName, "Unexpected exception during bean creation", ex);
+		finally {
+			beanCreation.end();
 		}
 	}
 
@@ -1230,54 +1257,76 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Nullable
 	private FactoryBean<?> getSingletonFactoryBeanForTypeCheck(String beanName, RootBeanDefinition mbd) {
-		synchronized (getSingletonMutex()) {
-			BeanWrapper bw = this.factoryBeanInstanceCache.get(beanName);
-			if (bw != null) {
-				return (FactoryBean<?>) bw.getWrappedInstance();
-			}
-			Object beanInstance = getSingleton(beanName, false);
-			if (beanInstance instanceof FactoryBean) {
-				return (FactoryBean<?>) beanInstance;
-			}
-			if (isSingletonCurrentlyInCreation(beanName) ||
-					(mbd.getFactoryBeanName() != null && isSingletonCurrentlyInCreation(mbd.getFactoryBeanName()))) {
+		if (isConcurrentSingletonCreation()) {
+			// Don't wait for a FactoryBean that is being created by another thread.
+			if (!tryLockSingleton(beanName)) {
 				return null;
 			}
-
-			Object instance;
 			try {
-				// Mark this bean as currently in creation, even if just partially.
-				beforeSingletonCreation(beanName);
-				// Give BeanPostProcessors a chance to return a proxy instead of the target bean instance.
-				instance = resolveBeforeInstantiation(beanName, mbd);
-				if (instance == null) {
-					bw = createBeanInstance(beanName, mbd, null);
-					instance = bw.getWrappedInstance();
-				}
-			}
-			catch (UnsatisfiedDependencyException ex) {
-				// Don't swallow, probably misconfiguration...
-				throw ex;
-			}
-			catch (BeanCreationException ex) {
-				// Instantiation failure, maybe too early...
-				if (logger.isDebugEnabled()) {
-					logger.debug("Bean creation exception on singleton FactoryBean type check: " + ex);
-				}
-				onSuppressedException(ex);
-				return null;
+				return doGetSingletonFactoryBeanForTypeCheck(beanName, mbd);
 			}
 			finally {
-				// Finished partial creation of this bean.
-				afterSingletonCreation(beanName);
+				unlockSingleton(beanName);
 			}
+		}
+		synchronized (getSingletonMutex()) {
+			return doGetSingletonFactoryBeanForTypeCheck(beanName, mbd);
+		}
+	}
 
-			FactoryBean<?> fb = getFactoryBean(beanName, instance);
-			if (bw != null) {
-				this.factoryBeanInstanceCache.put(beanName, bw);
+	/**
+	 * Actually obtain a "shortcut" singleton FactoryBean instance for a type check,
+	 * within the singleton mutex or the singleton's creation lock.
+	 * @see #getSingletonFactoryBeanForTypeCheck
+	 */
+	@Nullable
+	private FactoryBean<?> doGetSingletonFactoryBeanForTypeCheck(String beanName, RootBeanDefinition mbd) {
+		BeanWrapper bw = this.factoryBeanInstanceCache.get(beanName);
+		if (bw != null) {
+			return (FactoryBean<?>) bw.getWrappedInstance();
+		}
+		Object beanInstance = getSingleton(beanName, false);
+		if (beanInstance instanceof FactoryBean) {
+			return (FactoryBean<?>) beanInstance;
+		}
+		if (isSingletonCurrentlyInCreation(beanName) ||
+				(mbd.getFactoryBeanName() != null && isSingletonCurrentlyInCreation(mbd.getFactoryBeanName()))) {
+			return null;
+		}
+
+		Object instance;
+		try {
+			// Mark this bean as currently in creation, even if just partially.
+			beforeSingletonCreation(beanName);
+			// Give BeanPostProcessors a chance to return a proxy instead of the target bean instance.
+			instance = resolveBeforeInstantiation(beanName, mbd);
+			if (instance == null) {
+				bw = createBeanInstance(beanName, mbd, null);
+				instance = bw.getWrappedInstance();
+			}
+		}
+		catch (UnsatisfiedDependencyException ex) {
+			// Don't swallow, probably misconfiguration...
+			throw ex;
+		}
+		catch (BeanCreationException ex) {
+			// Instantiation failure, maybe too early...
+			if (logger.isDebugEnabled()) {
+				logger.debug("Bean creation exception on singleton FactoryBean type check: " + ex);
 			}
-			return fb;
+			onSuppressedException(ex);
+			return null;
+		}
+		finally {
+			// Finished partial creation of this bean.
+			afterSingletonCreation(beanName);
+		}
+
+		FactoryBean<?> fb = getFactoryBean(beanName, instance);
+		if (bw != null) {
+			this.factoryBeanInstanceCache.put(beanName, bw);
 		}
+		return fb;
 	}
 
 	/**
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -39,7 +40,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -47,6 +52,7 @@ import java.util.stream.Stream;
 import javax.inject.Provider;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCurrentlyInCreationException;
@@ -68,8 +74,10 @@ import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.BeanReference;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
 import org.springframework.core.OrderComparator;
@@ -185,6 +193,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans. */
 	private volatile boolean configurationFrozen;
 
+	/** Optional Executor for pre-instantiating independent singletons in parallel. */
+	@Nullable
+	private Executor bootstrapExecutor;
+
 
 	/**
 	 * Create a new DefaultListableBeanFactory.
@@ -316,6 +328,34 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.autowireCandidateResolver;
 	}
 
+	/**
+	 * Set an {@link Executor} for pre-instantiating singletons in parallel.
+	 * <p>Non-lazy singletons get partitioned into groups of beans which are
+	 * related through their bean definitions (explicit "depends-on" declarations,
+	 * bean references in constructor arguments and property values, factory beans).
+	 * Each such group gets pre-instantiated in registration order on a thread of
+	 * the given executor, with independent groups proceeding concurrently.
+	 * Dependencies that only turn up during creation (e.g. through autowiring)
+	 * are coordinated through per-bean creation locks. Singletons which fail
+	 * on a circular reference across threads are created again on the calling
+	 * thread after the parallel phase, in registration order.
+	 * <p>Default is none, pre-instantiating all singletons on the calling thread.
+	 * @since 5.2.13
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setBootstrapExecutor(@Nullable Executor bootstrapExecutor) {
+		this.bootstrapExecutor = bootstrapExecutor;
+	}
+
+	/**
+	 * Return the {@link Executor} for pre-instantiating singletons in parallel, if any.
+	 * @since 5.2.13
+	 */
+	@Nullable
+	public Executor getBootstrapExecutor() {
+		return this.bootstrapExecutor;
+	}
+
 
 	@Override
 	public void copyConfigurationFrom(ConfigurableBeanFactory otherFactory) {
@@ -325,6 +365,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
+			this.bootstrapExecutor = otherListableFactory.bootstrapExecutor;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware
 			setAutowireCandidateResolver(otherListableFactory.getAutowireCandidateResolver().cloneIfNecessary());
 			// Make resolvable dependencies (e.g. ResourceLoader) available here as well
@@ -885,68 +926,13 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 		// Trigger initialization of all non-lazy singleton beans...
 		/* 触发所有的非延迟加载单例bean的初始化，遍历集合对象 */
-		for (String beanName : beanNames) {
-			/*
-			* 合并父类BeanDefinition
-			* 一开始创建的BeanDefinition 都是属于两个类型 ： GenericBeanDefinition  RootBeanDefinition
-			*
-			* getMergedLocalBeanDefinition  就是要在实例化之前，把所有的基础的BeanDefinition对象转成RootBeanDefinition并进行缓存
-			* 在后续马上进行实例化的时候直接获取定义信息，而定义信息中如果包含了父类，那么必须要先创建父类才能创建子类型
-			* */
-			/*
-			 * 检查beanName对应的mergedBeanDefinition是否存在于缓存中，次缓存是在BeanFactoryPostProcessor中添加的
-			 * 所以是在哪里添加的呢？
-			 * 在invokeBeanFactoryPostProcessor()方法中的 beanFactory.getBeanNamesForType()!!!!!!!!!!!!!!!!!!
-			 * */
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			/* 条件判断，抽象，单例，非懒加载 */
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				/* //判断Bean有没有实现FactoryBean接口
-				* ======================================================================================
-				* ======================================================================================
-				* BeanFactory 和 FactoryBean 的区别： 他们都是工厂对象，都是用来创建对象的！！！！
-				* 		1.如果使用 BeanFactory，那么必须遵守SpringBean的生命周期，从实例化到初始化，invokeAwareMethod
-				* 			invokeInitMethod，before，after此流程，过程非常复杂
-				* 		2.FactoryBean更加简单，
-				* 			2.1 isSingleton()：判断是否单例
-				* 			2.2 getObject()：直接返回对象
-				* 			2.3 getObjectType():返回类型
-				*
-				* 我们在使用FactoryBean接口创建对象的时候，一共创建了两个对象：
-				*  1.实现了factoryBean接口的子类对象   2.通过Object方法返回的对象
-				* 两个对象都交给了Spring来管理
-				* 虽然都交给了Spring管理，但是放的空间不是一个
-				* factoryBean接口的子类对象放在了一级缓存
-				* （一级缓存：singletonObjects   二级缓存：earlySingletonObjects  三级缓存：singletonFactories）
-				* 通过Object方法返回的对象 放在了 factoryBeanObjectCache 中
-				* **************************************************************************************
-				* ======================================================================================
-				* */
-				if (isFactoryBean(beanName)) {
-					/* 根据 &beanName来获取具体的对象 */
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					/* 进行类型转化 */
-					if (bean instanceof FactoryBean) {
-						FactoryBean<?> factory = (FactoryBean<?>) bean;
-						/* 是否需要加急处理 */
-						boolean isEagerInit;
-						if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-							isEagerInit = AccessController.doPrivileged(
-									(PrivilegedAction<Boolean>) ((SmartFactoryBean<?>) factory)::isEagerInit,
-									getAccessControlContext());
-						}
-						else {
-							isEagerInit = (factory instanceof SmartFactoryBean &&
-									((SmartFactoryBean<?>) factory).isEagerInit());
-						}
-						if (isEagerInit) {
-							getBean(beanName);
-						}
-					}
-				}
-				else {
-					getBean(beanName);
-				}
+		Executor executor = this.bootstrapExecutor;
+		if (executor != null) {
+			preInstantiateSingletonsInParallel(beanNames, executor);
+		}
+		else {
+			for (String beanName : beanNames) {
+				preInstantiateSingleton(beanName);
 			}
 		}
 
@@ -968,6 +954,248 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	/**
+	 * Pre-instantiate the specified bean if it is a non-lazy singleton.
+	 */
+	private void preInstantiateSingleton(String beanName) {
+		/*
+		* 合并父类BeanDefinition
+		* 一开始创建的BeanDefinition 都是属于两个类型 ： GenericBeanDefinition  RootBeanDefinition
+		*
+		* getMergedLocalBeanDefinition  就是要在实例化之前，把所有的基础的BeanDefinition对象转成RootBeanDefinition并进行缓存
+		* 在后续马上进行实例化的时候直接获取定义信息，而定义信息中如果包含了父类，那么必须要先创建父类才能创建子类型
+		* */
+		/*
+		 * 检查beanName对应的mergedBeanDefinition是否存在于缓存中，次缓存是在BeanFactoryPostProcessor中添加的
+		 * 所以是在哪里添加的呢？
+		 * 在invokeBeanFactoryPostProcessor()方法中的 beanFactory.getBeanNamesForType()!!!!!!!!!!!!!!!!!!
+		 * */
+		RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+		/* 条件判断，抽象，单例，非懒加载 */
+		if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+			/* //判断Bean有没有实现FactoryBean接口
+			* ======================================================================================
+			* ======================================================================================
+			* BeanFactory 和 FactoryBean 的区别： 他们都是工厂对象，都是用来创建对象的！！！！
+			* 		1.如果使用 BeanFactory，那么必须遵守SpringBean的生命周期，从实例化到初始化，invokeAwareMethod
+			* 			invokeInitMethod，before，after此流程，过程非常复杂
+			* 		2.FactoryBean更加简单，
+			* 			2.1 isSingleton()：判断是否单例
+			* 			2.2 getObject()：直接返回对象
+			* 			2.3 getObjectType():返回类型
+			*
+			* 我们在使用FactoryBean接口创建对象的时候，一共创建了两个对象：
+			*  1.实现了factoryBean接口的子类对象   2.通过Object方法返回的对象
+			* 两个对象都交给了Spring来管理
+			* 虽然都交给了Spring管理，但是放的空间不是一个
+			* factoryBean接口的子类对象放在了一级缓存
+			* （一级缓存：singletonObjects   二级缓存：earlySingletonObjects  三级缓存：singletonFactories）
+			* 通过Object方法返回的对象 放在了 factoryBeanObjectCache 中
+			* **************************************************************************************
+			* ======================================================================================
+			* */
+			if (isFactoryBean(beanName)) {
+				/* 根据 &beanName来获取具体的对象 */
+				Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+				/* 进行类型转化 */
+				if (bean instanceof FactoryBean) {
+					FactoryBean<?> factory = (FactoryBean<?>) bean;
+					/* 是否需要加急处理 */
+					boolean isEagerInit;
+					if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+						isEagerInit = AccessController.doPrivileged(
+								(PrivilegedAction<Boolean>) ((SmartFactoryBean<?>) factory)::isEagerInit,
+								getAccessControlContext());
+					}
+					else {
+						isEagerInit = (factory instanceof SmartFactoryBean &&
+								((SmartFactoryBean<?>) factory).isEagerInit());
+					}
+					if (isEagerInit) {
+						getBean(beanName);
+					}
+				}
+			}
+			else {
+				getBean(beanName);
+			}
+		}
+	}
+
+	/**
+	 * Pre-instantiate independent groups of singletons in parallel on the given
+	 * executor, with each group proceeding in registration order on one thread.
+	 * @see #setBootstrapExecutor
+	 */
+	private void preInstantiateSingletonsInParallel(List<String> beanNames, Executor executor) {
+		Collection<List<String>> groups = groupSingletonsToPreInstantiate(beanNames);
+		if (groups.size() <= 1) {
+			for (List<String> group : groups) {
+				group.forEach(this::preInstantiateSingleton);
+			}
+			return;
+		}
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("Pre-instantiating " + groups.size() + " independent groups of singletons in parallel");
+		}
+		ClassLoader beanClassLoader = getBeanClassLoader();
+		List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+		Set<String> deferredBeanNames = ConcurrentHashMap.newKeySet();
+		setConcurrentSingletonCreation(true);
+		try {
+			for (List<String> group : groups) {
+				Runnable task = () -> {
+					ClassLoader previousClassLoader = ClassUtils.overrideThreadContextClassLoader(beanClassLoader);
+					try {
+						for (String beanName : group) {
+							try {
+								preInstantiateSingleton(beanName);
+							}
+							catch (BeansException ex) {
+								if (!ex.contains(BeanCurrentlyInCreationException.class)) {
+									throw ex;
+								}
+								// Circular reference across threads without an early reference:
+								// retry in registration order once the parallel phase is over.
+								if (logger.isDebugEnabled()) {
+									logger.debug("Deferring creation of singleton '" + beanName +
+											"' after circular reference across threads: " + ex);
+								}
+								deferredBeanNames.add(beanName);
+							}
+						}
+					}
+					finally {
+						if (previousClassLoader != null) {
+							Thread.currentThread().setContextClassLoader(previousClassLoader);
+						}
+					}
+				};
+				try {
+					futures.add(CompletableFuture.runAsync(task, executor));
+				}
+				catch (RejectedExecutionException ex) {
+					// Executor saturated or shut down -> proceed on the calling thread.
+					futures.add(CompletableFuture.runAsync(task, Runnable::run));
+				}
+			}
+			// Join all groups before rethrowing, with no creation in progress afterwards
+			Throwable failure = null;
+			for (CompletableFuture<Void> future : futures) {
+				try {
+					future.join();
+				}
+				catch (CompletionException ex) {
+					if (failure == null) {
+						failure = (ex.getCause() != null ? ex.getCause() : ex);
+					}
+				}
+			}
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+			if (failure != null) {
+				throw (failure instanceof RuntimeException ? (RuntimeException) failure :
+						new CompletionException(failure));
+			}
+		}
+		finally {
+			setConcurrentSingletonCreation(false);
+		}
+
+		if (!deferredBeanNames.isEmpty()) {
+			for (String beanName : beanNames) {
+				if (deferredBeanNames.contains(beanName)) {
+					preInstantiateSingleton(beanName);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Partition the non-lazy singletons among the given bean names into groups
+	 * of beans that are related through their bean definitions, preserving
+	 * registration order within each group as well as across groups.
+	 * @param beanNames the bean names, in registration order
+	 * @return the groups of bean names to pre-instantiate
+	 */
+	private Collection<List<String>> groupSingletonsToPreInstantiate(List<String> beanNames) {
+		Map<String, String> parents = new HashMap<>(beanNames.size());
+		List<String> candidates = new ArrayList<>(beanNames.size());
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+				candidates.add(beanName);
+				for (String dependency : getDeclaredDependencies(beanName, bd)) {
+					union(parents, beanName, transformedBeanName(dependency));
+				}
+			}
+		}
+		Map<String, List<String>> groups = new LinkedHashMap<>();
+		for (String beanName : candidates) {
+			groups.computeIfAbsent(find(parents, beanName), key -> new ArrayList<>()).add(beanName);
+		}
+		return groups.values();
+	}
+
+	/**
+	 * Determine the names of the beans that the given bean definition
+	 * declares dependencies on, as far as known before its creation.
+	 */
+	private Set<String> getDeclaredDependencies(String beanName, RootBeanDefinition bd) {
+		Set<String> dependencies = new LinkedHashSet<>();
+		String[] dependsOn = bd.getDependsOn();
+		if (dependsOn != null) {
+			dependencies.addAll(Arrays.asList(dependsOn));
+		}
+		dependencies.addAll(Arrays.asList(getDependenciesForBean(beanName)));
+		if (bd.getFactoryBeanName() != null) {
+			dependencies.add(bd.getFactoryBeanName());
+		}
+		if (bd.hasConstructorArgumentValues()) {
+			ConstructorArgumentValues cav = bd.getConstructorArgumentValues();
+			for (ConstructorArgumentValues.ValueHolder valueHolder : cav.getIndexedArgumentValues().values()) {
+				addReferencedBeanName(dependencies, valueHolder.getValue());
+			}
+			for (ConstructorArgumentValues.ValueHolder valueHolder : cav.getGenericArgumentValues()) {
+				addReferencedBeanName(dependencies, valueHolder.getValue());
+			}
+		}
+		if (bd.hasPropertyValues()) {
+			for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+				addReferencedBeanName(dependencies, pv.getValue());
+			}
+		}
+		return dependencies;
+	}
+
+	private static void addReferencedBeanName(Set<String> dependencies, @Nullable Object value) {
+		if (value instanceof BeanReference) {
+			dependencies.add(((BeanReference) value).getBeanName());
+		}
+	}
+
+	private static String find(Map<String, String> parents, String beanName) {
+		String root = beanName;
+		String parent;
+		while ((parent = parents.get(root)) != null) {
+			root = parent;
+		}
+		if (!root.equals(beanName)) {
+			parents.put(beanName, root);
+		}
+		return root;
+	}
+
+	private static void union(Map<String, String> parents, String beanName, String otherBeanName) {
+		String root = find(parents, beanName);
+		String otherRoot = find(parents, otherBeanName);
+		if (!root.equals(otherRoot)) {
+			parents.put(otherRoot, root);
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
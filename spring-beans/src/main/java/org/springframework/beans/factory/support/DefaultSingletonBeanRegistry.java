@@ -25,6 +25,7 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCreationNotAllowedException;
@@ -131,6 +132,18 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** Map between depending bean names: bean name to Set of bean names for the bean's dependencies. */
 	private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
 
+	/** Whether singletons may currently be created on several threads at once. */
+	private volatile boolean concurrentSingletonCreation = false;
+
+	/** Per-bean creation locks for concurrent singleton creation: bean name to lock. */
+	private final Map<String, ReentrantLock> singletonCreationLocks = new ConcurrentHashMap<>(64);
+
+	/** Threads holding a singleton creation lock: bean name to owner thread. */
+	private final Map<String, Thread> singletonCreationOwners = new HashMap<>(16);
+
+	/** Threads waiting for a singleton creation lock: thread to bean name. */
+	private final Map<Thread, String> singletonCreationWaiters = new HashMap<>(16);
+
 
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
@@ -214,41 +227,55 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		/* 在一级缓存中没找到，而且当前的beanName对应的Bean正在创建过程中
 		* 	在 beforeSingletonCreation() 中，会把当前正在创建的 beanName 加入到这个集合中
 		*  */
-		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
-			/* 在二级缓存中 查找当前 bean，
-			* A 半成品创建完毕之后 给属性 B赋值 --> 创建B对象 给A属性赋值 ---> A 正在创建过程中 但是三个缓存中现在只有三级缓存中的 lambda，
-			* 	没有任何成品或者半成品对象
-			*  */
-			singletonObject = this.earlySingletonObjects.get(beanName);
-			/* 二级缓存中也没找到，而且允许早期引用 */
-			if (singletonObject == null && allowEarlyReference) {
-				synchronized (this.singletonObjects) {
-					// Consistent creation of early reference within full singleton lock
-					/* 再从一级缓存取 */
-					singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName) &&
+				!(this.concurrentSingletonCreation && isSingletonCreatedByOtherThread(beanName))) {
+			singletonObject = getEarlySingleton(beanName, allowEarlyReference);
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * Obtain an early reference to a singleton that is currently in creation,
+	 * as exposed through {@link #addSingletonFactory}.
+	 * @param beanName the name of the bean to look for
+	 * @param allowEarlyReference whether early references should be created or not
+	 * @return the early singleton reference, or {@code null} if none found
+	 */
+	@Nullable
+	private Object getEarlySingleton(String beanName, boolean allowEarlyReference) {
+		/* 在二级缓存中 查找当前 bean，
+		* A 半成品创建完毕之后 给属性 B赋值 --> 创建B对象 给A属性赋值 ---> A 正在创建过程中 但是三个缓存中现在只有三级缓存中的 lambda，
+		* 	没有任何成品或者半成品对象
+		*  */
+		Object singletonObject = this.earlySingletonObjects.get(beanName);
+		/* 二级缓存中也没找到，而且允许早期引用 */
+		if (singletonObject == null && allowEarlyReference) {
+			synchronized (this.singletonObjects) {
+				// Consistent creation of early reference within full singleton lock
+				/* 再从一级缓存取 */
+				singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject == null) {
+					/* 再从二级缓存取 */
+					singletonObject = this.earlySingletonObjects.get(beanName);
 					if (singletonObject == null) {
-						/* 再从二级缓存取 */
-						singletonObject = this.earlySingletonObjects.get(beanName);
-						if (singletonObject == null) {
+						/*
+						* 三级缓存中取
+						* 找到对应的 lambda 表达式
+						* 开始执行放进去的那个 lambda 表达式
+						* */
+						ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+						if (singletonFactory != null) {
 							/*
-							* 三级缓存中取
-							* 找到对应的 lambda 表达式
-							* 开始执行放进去的那个 lambda 表达式
+							 * 如果没有配置AOP，则返回之前创建的 半成品对象
+							 * 如果有 AOP 返回代理对象
+							 * */
+							singletonObject = singletonFactory.getObject();
+							/*
+							* 把半成品对象放进二级缓存，有可能是代理对象，有可能是普通对象
 							* */
-							ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-							if (singletonFactory != null) {
-								/*
-								 * 如果没有配置AOP，则返回之前创建的 半成品对象
-								 * 如果有 AOP 返回代理对象
-								 * */
-								singletonObject = singletonFactory.getObject();
-								/*
-								* 把半成品对象放进二级缓存，有可能是代理对象，有可能是普通对象
-								* */
-								this.earlySingletonObjects.put(beanName, singletonObject);
-								/* 三级缓存中移除 lambda */
-								this.singletonFactories.remove(beanName);
-							}
+							this.earlySingletonObjects.put(beanName, singletonObject);
+							/* 三级缓存中移除 lambda */
+							this.singletonFactories.remove(beanName);
 						}
 					}
 				}
@@ -267,6 +294,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
+		if (this.concurrentSingletonCreation) {
+			return getSingletonConcurrently(beanName, singletonFactory);
+		}
 		synchronized (this.singletonObjects) {
 			Object singletonObject = this.singletonObjects.get(beanName);
 			if (singletonObject == null) {
@@ -331,6 +361,69 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		}
 	}
 
+	/**
+	 * Variant of {@link #getSingleton(String, ObjectFactory)} for concurrent
+	 * singleton creation: holds the given bean's own creation lock instead of
+	 * the common singleton mutex while creating the singleton.
+	 * <p>If the singleton is being created by another thread which in turn waits
+	 * for a singleton created by the current thread, the circular reference gets
+	 * resolved through the early reference exposed by the other thread, if any.
+	 * @param beanName the name of the bean
+	 * @param singletonFactory the ObjectFactory to lazily create the singleton
+	 * with, if necessary
+	 * @return the registered singleton object
+	 * @see #lockSingleton
+	 */
+	private Object getSingletonConcurrently(String beanName, ObjectFactory<?> singletonFactory) {
+		if (!lockSingleton(beanName)) {
+			Object earlySingleton = getEarlySingleton(beanName, true);
+			if (earlySingleton == null) {
+				throw new BeanCurrentlyInCreationException(beanName);
+			}
+			return earlySingleton;
+		}
+		try {
+			Object singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				synchronized (this.singletonObjects) {
+					if (this.singletonsCurrentlyInDestruction) {
+						throw new BeanCreationNotAllowedException(beanName,
+								"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+								"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+					}
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Creating shared instance of singleton bean '" + beanName +
+							"' on thread '" + Thread.currentThread().getName() + "'");
+				}
+				beforeSingletonCreation(beanName);
+				boolean newSingleton = false;
+				try {
+					singletonObject = singletonFactory.getObject();
+					newSingleton = true;
+				}
+				catch (IllegalStateException ex) {
+					// Has the singleton object implicitly appeared in the meantime ->
+					// if yes, proceed with it since the exception indicates that state.
+					singletonObject = this.singletonObjects.get(beanName);
+					if (singletonObject == null) {
+						throw ex;
+					}
+				}
+				finally {
+					afterSingletonCreation(beanName);
+				}
+				if (newSingleton) {
+					addSingleton(beanName, singletonObject);
+				}
+			}
+			return singletonObject;
+		}
+		finally {
+			unlockSingleton(beanName);
+		}
+	}
+
 	/**
 	 * Register an exception that happened to get suppressed during the creation of a
 	 * singleton bean instance, e.g. a temporary circular reference resolution problem.
@@ -416,6 +509,137 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		return this.singletonsCurrentlyInCreation.contains(beanName);
 	}
 
+	/**
+	 * Specify whether singletons may be created on several threads at once,
+	 * e.g. during parallel pre-instantiation of singletons.
+	 * <p>In concurrent mode, each singleton gets created while holding its own
+	 * creation lock instead of the common {@link #getSingletonMutex() singleton
+	 * mutex}, and early references to a singleton in creation are only exposed
+	 * to the creating thread (or to a thread involved in a circular wait with it).
+	 * @since 5.2.13
+	 * @see #lockSingleton
+	 */
+	protected void setConcurrentSingletonCreation(boolean concurrentSingletonCreation) {
+		this.concurrentSingletonCreation = concurrentSingletonCreation;
+	}
+
+	/**
+	 * Return whether singletons may currently be created on several threads at once.
+	 * @since 5.2.13
+	 */
+	protected boolean isConcurrentSingletonCreation() {
+		return this.concurrentSingletonCreation;
+	}
+
+	/**
+	 * Acquire the creation lock for the specified singleton, waiting for
+	 * another thread to finish its creation of the singleton if necessary.
+	 * <p>Instead of waiting for a thread which itself (directly or indirectly)
+	 * waits for a singleton locked by the current thread, this method returns
+	 * {@code false} right away, leaving it up to the caller to resolve the
+	 * circular reference without the lock.
+	 * @param beanName the name of the bean
+	 * @return {@code true} if the lock has been acquired (to be released through
+	 * {@link #unlockSingleton}), or {@code false} in case of a circular wait
+	 * @since 5.2.13
+	 */
+	protected boolean lockSingleton(String beanName) {
+		ReentrantLock lock = this.singletonCreationLocks.computeIfAbsent(beanName, key -> new ReentrantLock());
+		Thread currentThread = Thread.currentThread();
+		if (!lock.tryLock()) {
+			synchronized (this.singletonCreationOwners) {
+				if (isCircularWait(beanName, currentThread)) {
+					return false;
+				}
+				this.singletonCreationWaiters.put(currentThread, beanName);
+			}
+			try {
+				lock.lock();
+			}
+			finally {
+				synchronized (this.singletonCreationOwners) {
+					this.singletonCreationWaiters.remove(currentThread);
+				}
+			}
+		}
+		synchronized (this.singletonCreationOwners) {
+			this.singletonCreationOwners.put(beanName, currentThread);
+		}
+		return true;
+	}
+
+	/**
+	 * Acquire the creation lock for the specified singleton only if it is
+	 * not held by another thread at this point.
+	 * @param beanName the name of the bean
+	 * @return {@code true} if the lock has been acquired (to be released through
+	 * {@link #unlockSingleton}), or {@code false} otherwise
+	 * @since 5.2.13
+	 */
+	protected boolean tryLockSingleton(String beanName) {
+		ReentrantLock lock = this.singletonCreationLocks.computeIfAbsent(beanName, key -> new ReentrantLock());
+		if (!lock.tryLock()) {
+			return false;
+		}
+		synchronized (this.singletonCreationOwners) {
+			this.singletonCreationOwners.put(beanName, Thread.currentThread());
+		}
+		return true;
+	}
+
+	/**
+	 * Release the creation lock for the specified singleton.
+	 * @param beanName the name of the bean
+	 * @since 5.2.13
+	 * @see #lockSingleton
+	 * @see #tryLockSingleton
+	 */
+	protected void unlockSingleton(String beanName) {
+		ReentrantLock lock = this.singletonCreationLocks.get(beanName);
+		if (lock == null || !lock.isHeldByCurrentThread()) {
+			throw new IllegalStateException("Creation lock for singleton '" + beanName +
+					"' is not held by current thread");
+		}
+		if (lock.getHoldCount() == 1) {
+			synchronized (this.singletonCreationOwners) {
+				this.singletonCreationOwners.remove(beanName);
+			}
+		}
+		lock.unlock();
+	}
+
+	/**
+	 * Determine whether waiting for the given singleton's creation lock would
+	 * close a cycle of threads waiting for each other. To be called while
+	 * synchronized on the creation owners.
+	 */
+	private boolean isCircularWait(String beanName, Thread currentThread) {
+		Set<String> visited = new HashSet<>();
+		String lockedBeanName = beanName;
+		while (lockedBeanName != null && visited.add(lockedBeanName)) {
+			Thread owner = this.singletonCreationOwners.get(lockedBeanName);
+			if (owner == null) {
+				return false;
+			}
+			if (owner == currentThread) {
+				return true;
+			}
+			lockedBeanName = this.singletonCreationWaiters.get(owner);
+		}
+		return false;
+	}
+
+	/**
+	 * Determine whether the specified singleton is currently being created
+	 * by a thread other than the current one.
+	 */
+	private boolean isSingletonCreatedByOtherThread(String beanName) {
+		synchronized (this.singletonCreationOwners) {
+			Thread owner = this.singletonCreationOwners.get(beanName);
+			return (owner != null && owner != Thread.currentThread());
+		}
+	}
+
 	/**
 	 * Callback before singleton creation.
 	 * <p>The default implementation register the singleton as currently in creation.
@@ -611,6 +835,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			this.registeredSingletons.clear();
 			this.singletonsCurrentlyInDestruction = false;
 		}
+		this.singletonCreationLocks.clear();
 	}
 
 	/**
@@ -26,7 +26,9 @@ import java.security.Principal;
 import java.security.PrivilegedAction;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -37,6 +39,10 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -94,6 +100,7 @@ import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.testfixture.Assume;
 import org.springframework.core.testfixture.EnabledForTestGroups;
 import org.springframework.core.testfixture.TestGroup;
@@ -1424,6 +1431,135 @@ class DefaultListableBeanFactoryTests {
 			.withMessageContaining("'tb1'");
 	}
 
+	@Test
+	@Timeout(10)
+	void preInstantiateIndependentSingletonsInParallel() {
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(TestBean.class, () -> awaitAndCreate(barrier)));
+		lbf.registerBeanDefinition("tb2", new RootBeanDefinition(TestBean.class, () -> awaitAndCreate(barrier)));
+		lbf.setBootstrapExecutor(new SimpleAsyncTaskExecutor("bootstrap-"));
+		lbf.preInstantiateSingletons();
+		assertThat(lbf.getBean("tb1")).isNotSameAs(lbf.getBean("tb2"));
+		assertThat(lbf.containsSingleton("tb1")).isTrue();
+		assertThat(lbf.containsSingleton("tb2")).isTrue();
+	}
+
+	@Test
+	void preInstantiateDependentSingletonsInParallelOnSameThread() {
+		List<String> creations = Collections.synchronizedList(new ArrayList<>());
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class, () -> recordAndCreate(creations, "tb1"));
+		bd1.setDependsOn("tb2");
+		lbf.registerBeanDefinition("tb1", bd1);
+		lbf.registerBeanDefinition("tb2", new RootBeanDefinition(TestBean.class, () -> recordAndCreate(creations, "tb2")));
+		RootBeanDefinition bd3 = new RootBeanDefinition(TestBean.class, () -> recordAndCreate(creations, "tb3"));
+		bd3.getPropertyValues().add("spouse", new RuntimeBeanReference("tb1"));
+		lbf.registerBeanDefinition("tb3", bd3);
+		lbf.registerBeanDefinition("tb4", new RootBeanDefinition(TestBean.class, () -> recordAndCreate(creations, "tb4")));
+		lbf.setBootstrapExecutor(new SimpleAsyncTaskExecutor("bootstrap-"));
+		lbf.preInstantiateSingletons();
+
+		assertThat(creations).hasSize(4);
+		List<String> group = creations.stream().filter(creation -> !creation.startsWith("tb4@"))
+				.map(creation -> creation.substring(0, creation.indexOf('@'))).collect(Collectors.toList());
+		assertThat(group).containsExactly("tb2", "tb1", "tb3");
+		assertThat(creations.stream().filter(creation -> !creation.startsWith("tb4@"))
+				.map(creation -> creation.substring(creation.indexOf('@'))).distinct()).hasSize(1);
+		assertThat(((TestBean) lbf.getBean("tb3")).getSpouse()).isSameAs(lbf.getBean("tb1"));
+	}
+
+	@Test
+	@Timeout(10)
+	void preInstantiateSingletonsInParallelWithCrossThreadCircularReference() {
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		RootBeanDefinition bd1 = new RootBeanDefinition(CircularLeftBean.class, () -> {
+			awaitAndCreate(barrier);
+			return new CircularLeftBean();
+		});
+		bd1.setAutowireMode(RootBeanDefinition.AUTOWIRE_BY_NAME);
+		lbf.registerBeanDefinition("left", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(CircularRightBean.class, () -> {
+			awaitAndCreate(barrier);
+			return new CircularRightBean();
+		});
+		bd2.setAutowireMode(RootBeanDefinition.AUTOWIRE_BY_NAME);
+		lbf.registerBeanDefinition("right", bd2);
+		lbf.setBootstrapExecutor(new SimpleAsyncTaskExecutor("bootstrap-"));
+		lbf.preInstantiateSingletons();
+
+		CircularLeftBean left = lbf.getBean("left", CircularLeftBean.class);
+		CircularRightBean right = lbf.getBean("right", CircularRightBean.class);
+		assertThat(left.right).isSameAs(right);
+		assertThat(right.left).isSameAs(left);
+	}
+
+	@Test
+	@Timeout(10)
+	void preInstantiateSingletonsInParallelWithCrossThreadCircularReferenceWithoutEarlyReference() {
+		// "left" resolves "right" within its instance supplier (as for constructor autowiring),
+		// "right" autowires "left" by name: fine sequentially with "right" registered first.
+		CountDownLatch rightInCreation = new CountDownLatch(1);
+		CountDownLatch leftRequestsRight = new CountDownLatch(1);
+		AtomicBoolean firstRight = new AtomicBoolean(true);
+		AtomicBoolean firstLeft = new AtomicBoolean(true);
+		Thread[] leftThread = new Thread[1];
+		RootBeanDefinition bd1 = new RootBeanDefinition(CircularRightBean.class, () -> {
+			if (firstRight.compareAndSet(true, false)) {
+				// Let "left" block on the creation lock of "right" before autowiring "left"
+				rightInCreation.countDown();
+				try {
+					leftRequestsRight.await(5, TimeUnit.SECONDS);
+					while (leftThread[0].getState() != Thread.State.WAITING) {
+						Thread.sleep(1);
+					}
+				}
+				catch (InterruptedException ex) {
+					throw new IllegalStateException(ex);
+				}
+			}
+			return new CircularRightBean();
+		});
+		bd1.setAutowireMode(RootBeanDefinition.AUTOWIRE_BY_NAME);
+		lbf.registerBeanDefinition("right", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(CircularLeftBean.class, () -> {
+			if (firstLeft.compareAndSet(true, false)) {
+				try {
+					rightInCreation.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					throw new IllegalStateException(ex);
+				}
+				leftThread[0] = Thread.currentThread();
+				leftRequestsRight.countDown();
+			}
+			CircularLeftBean left = new CircularLeftBean();
+			left.setRight(lbf.getBean("right", CircularRightBean.class));
+			return left;
+		});
+		lbf.registerBeanDefinition("left", bd2);
+		lbf.setBootstrapExecutor(new SimpleAsyncTaskExecutor("bootstrap-"));
+		lbf.preInstantiateSingletons();
+
+		CircularLeftBean left = lbf.getBean("left", CircularLeftBean.class);
+		CircularRightBean right = lbf.getBean("right", CircularRightBean.class);
+		assertThat(left.right).isSameAs(right);
+		assertThat(right.left).isSameAs(left);
+	}
+
+	private static TestBean awaitAndCreate(CyclicBarrier barrier) {
+		try {
+			barrier.await(5, TimeUnit.SECONDS);
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+		return new TestBean();
+	}
+
+	private static TestBean recordAndCreate(List<String> creations, String name) {
+		creations.add(name + "@" + Thread.currentThread().getName());
+		return new TestBean(name);
+	}
+
 	@Test
 	void getBeanByTypeWithNoneFound() {
 		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
@@ -3367,6 +3503,26 @@ class DefaultListableBeanFactoryTests {
 	}
 
 
+	static class CircularLeftBean {
+
+		CircularRightBean right;
+
+		public void setRight(CircularRightBean right) {
+			this.right = right;
+		}
+	}
+
+
+	static class CircularRightBean {
+
+		CircularLeftBean left;
+
+		public void setLeft(CircularLeftBean left) {
+			this.left = left;
+		}
+	}
+
+
 	static class NonPublicEnumHolder {
 
 		final NonPublicEnum nonPublicEnum;
@@ -16,12 +16,19 @@
 
 package org.springframework.cache.caffeine;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
 
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
+import org.springframework.cache.CacheStatistics;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.CacheStatisticsCounter;
+import org.springframework.cache.support.SimpleCacheStatistics;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
@@ -31,6 +38,11 @@ import org.springframework.util.Assert;
  *
  * <p>Requires Caffeine 2.1 or higher.
  *
+ * <p>As of 5.2.13, {@link #getStatistics() statistics} are exposed if the
+ * Caffeine cache has been built with {@code recordStats()}: hits, misses,
+ * evictions and loads are taken from Caffeine's own {@code CacheStats},
+ * while puts and explicit removals are counted by this adapter.
+ *
  * @author Ben Manes
  * @author Juergen Hoeller
  * @author Stephane Nicoll
@@ -43,6 +55,9 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 
 	private final com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
 
+	@Nullable
+	private final CacheStatisticsCounter statistics;
+
 
 	/**
 	 * Create a {@link CaffeineCache} instance with the specified name and the
@@ -70,6 +85,7 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		Assert.notNull(cache, "Cache must not be null");
 		this.name = name;
 		this.cache = cache;
+		this.statistics = (cache.policy().isRecordingStats() ? new CacheStatisticsCounter() : null);
 	}
 
 
@@ -83,6 +99,24 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return this.cache;
 	}
 
+	/**
+	 * Return a snapshot of the statistics for this cache, or {@code null}
+	 * if the underlying Caffeine cache does not record statistics.
+	 * @since 5.2.13
+	 * @see com.github.benmanes.caffeine.cache.Caffeine#recordStats()
+	 */
+	@Override
+	@Nullable
+	public CacheStatistics getStatistics() {
+		if (this.statistics == null) {
+			return null;
+		}
+		CacheStats stats = this.cache.stats();
+		CacheStatistics counted = this.statistics.snapshot();
+		return new SimpleCacheStatistics(stats.hitCount(), stats.missCount(), counted.getPutCount(),
+				counted.getRemovalCount(), stats.evictionCount(), stats.loadCount(), stats.totalLoadTime());
+	}
+
 	@Override
 	@Nullable
 	public ValueWrapper get(Object key) {
@@ -106,9 +140,35 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return this.cache.getIfPresent(key);
 	}
 
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, Object> present = this.cache.getAllPresent(keys);
+		Map<Object, ValueWrapper> result = new LinkedHashMap<>(present.size());
+		for (Object key : keys) {
+			Object storeValue = present.get(key);
+			if (storeValue != null) {
+				result.put(key, toValueWrapper(storeValue));
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public void put(Object key, @Nullable Object value) {
 		this.cache.put(key, toStoreValue(value));
+		if (this.statistics != null) {
+			this.statistics.recordPut();
+		}
+	}
+
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		Map<Object, Object> storeEntries = new LinkedHashMap<>(entries.size());
+		entries.forEach((key, value) -> storeEntries.put(key, toStoreValue(value)));
+		this.cache.putAll(storeEntries);
+		if (this.statistics != null) {
+			this.statistics.recordPuts(storeEntries.size());
+		}
 	}
 
 	@Override
@@ -121,12 +181,21 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 
 	@Override
 	public void evict(Object key) {
-		this.cache.invalidate(key);
+		if (this.statistics != null) {
+			evictIfPresent(key);
+		}
+		else {
+			this.cache.invalidate(key);
+		}
 	}
 
 	@Override
 	public boolean evictIfPresent(Object key) {
-		return (this.cache.asMap().remove(key) != null);
+		boolean removed = (this.cache.asMap().remove(key) != null);
+		if (removed && this.statistics != null) {
+			this.statistics.recordRemoval();
+		}
+		return removed;
 	}
 
 	@Override
@@ -156,6 +225,9 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		@Override
 		public Object apply(Object key) {
 			this.called = true;
+			if (statistics != null) {
+				statistics.recordPut();
+			}
 			return toStoreValue(this.value);
 		}
 	}
@@ -172,7 +244,11 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		@Override
 		public Object apply(Object o) {
 			try {
-				return toStoreValue(this.valueLoader.call());
+				Object storeValue = toStoreValue(this.valueLoader.call());
+				if (statistics != null) {
+					statistics.recordPut();
+				}
+				return storeValue;
 			}
 			catch (Exception ex) {
 				throw new ValueRetrievalException(o, this.valueLoader, ex);
@@ -16,14 +16,22 @@
 
 package org.springframework.cache.jcache;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 
 import javax.cache.Cache;
+import javax.cache.configuration.CompleteConfiguration;
 import javax.cache.processor.EntryProcessor;
 import javax.cache.processor.EntryProcessorException;
 import javax.cache.processor.MutableEntry;
 
+import org.springframework.cache.CacheStatistics;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.CacheStatisticsCounter;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
@@ -33,6 +41,10 @@ import org.springframework.util.Assert;
  *
  * <p>Note: This class has been updated for JCache 1.0, as of Spring 4.0.
  *
+ * <p>As of 5.2.13, {@link #getStatistics() statistics} are recorded by this
+ * adapter if statistics are enabled in the JCache configuration. Since JCache
+ * does not expose eviction counts through its API, those are reported as 0.
+ *
  * @author Juergen Hoeller
  * @author Stephane Nicoll
  * @since 3.2
@@ -42,6 +54,9 @@ public class JCacheCache extends AbstractValueAdaptingCache {
 
 	private final Cache<Object, Object> cache;
 
+	@Nullable
+	private final CacheStatisticsCounter statistics;
+
 
 	/**
 	 * Create a {@code JCacheCache} instance.
@@ -60,6 +75,18 @@ public class JCacheCache extends AbstractValueAdaptingCache {
 		super(allowNullValues);
 		Assert.notNull(jcache, "Cache must not be null");
 		this.cache = jcache;
+		this.statistics = (isStatisticsEnabled(jcache) ? new CacheStatisticsCounter() : null);
+	}
+
+	private static boolean isStatisticsEnabled(Cache<?, ?> jcache) {
+		try {
+			CompleteConfiguration<?, ?> config = jcache.getConfiguration(CompleteConfiguration.class);
+			return (config != null && config.isStatisticsEnabled());
+		}
+		catch (IllegalArgumentException ex) {
+			// No CompleteConfiguration available
+			return false;
+		}
 	}
 
 
@@ -73,17 +100,85 @@ public class JCacheCache extends AbstractValueAdaptingCache {
 		return this.cache;
 	}
 
+	/**
+	 * Return a snapshot of the statistics recorded by this adapter, or
+	 * {@code null} if statistics are not enabled for the underlying cache.
+	 * @since 5.2.13
+	 * @see CompleteConfiguration#isStatisticsEnabled()
+	 */
+	@Override
+	@Nullable
+	public CacheStatistics getStatistics() {
+		return (this.statistics != null ? this.statistics.snapshot() : null);
+	}
+
 	@Override
 	@Nullable
 	protected Object lookup(Object key) {
-		return this.cache.get(key);
+		Object storeValue = this.cache.get(key);
+		if (this.statistics != null) {
+			if (storeValue != null) {
+				this.statistics.recordHit();
+			}
+			else {
+				this.statistics.recordMiss();
+			}
+		}
+		return storeValue;
+	}
+
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Set<Object> keySet = new LinkedHashSet<>(keys);
+		Map<Object, Object> present = this.cache.getAll(keySet);
+		Map<Object, ValueWrapper> result = new LinkedHashMap<>(present.size());
+		for (Object key : keySet) {
+			Object storeValue = present.get(key);
+			if (storeValue != null) {
+				result.put(key, toValueWrapper(storeValue));
+			}
+		}
+		if (this.statistics != null) {
+			for (Object key : keySet) {
+				if (result.containsKey(key)) {
+					this.statistics.recordHit();
+				}
+				else {
+					this.statistics.recordMiss();
+				}
+			}
+		}
+		return result;
 	}
 
 	@Override
 	@Nullable
 	public <T> T get(Object key, Callable<T> valueLoader) {
+		CacheStatisticsCounter statistics = this.statistics;
 		try {
-			return this.cache.invoke(key, new ValueLoaderEntryProcessor<T>(), valueLoader);
+			if (statistics == null) {
+				return this.cache.invoke(key, new ValueLoaderEntryProcessor<T>(), valueLoader);
+			}
+			boolean[] loaded = new boolean[1];
+			Callable<T> recordingLoader = () -> {
+				loaded[0] = true;
+				long start = System.nanoTime();
+				try {
+					return valueLoader.call();
+				}
+				finally {
+					statistics.recordLoad(System.nanoTime() - start);
+				}
+			};
+			T value = this.cache.invoke(key, new ValueLoaderEntryProcessor<T>(), recordingLoader);
+			if (loaded[0]) {
+				statistics.recordMiss();
+				statistics.recordPut();
+			}
+			else {
+				statistics.recordHit();
+			}
+			return value;
 		}
 		catch (EntryProcessorException ex) {
 			throw new ValueRetrievalException(key, valueLoader, ex.getCause());
@@ -93,23 +188,43 @@ public class JCacheCache extends AbstractValueAdaptingCache {
 	@Override
 	public void put(Object key, @Nullable Object value) {
 		this.cache.put(key, toStoreValue(value));
+		if (this.statistics != null) {
+			this.statistics.recordPut();
+		}
+	}
+
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		Map<Object, Object> storeEntries = new LinkedHashMap<>(entries.size());
+		entries.forEach((key, value) -> storeEntries.put(key, toStoreValue(value)));
+		this.cache.putAll(storeEntries);
+		if (this.statistics != null) {
+			this.statistics.recordPuts(storeEntries.size());
+		}
 	}
 
 	@Override
 	@Nullable
 	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
 		boolean set = this.cache.putIfAbsent(key, toStoreValue(value));
-		return (set ? null : get(key));
+		if (set && this.statistics != null) {
+			this.statistics.recordPut();
+		}
+		return (set ? null : toValueWrapper(this.cache.get(key)));
 	}
 
 	@Override
 	public void evict(Object key) {
-		this.cache.remove(key);
+		evictIfPresent(key);
 	}
 
 	@Override
 	public boolean evictIfPresent(Object key) {
-		return this.cache.remove(key);
+		boolean removed = this.cache.remove(key);
+		if (removed && this.statistics != null) {
+			this.statistics.recordRemoval();
+		}
+		return removed;
 	}
 
 	@Override
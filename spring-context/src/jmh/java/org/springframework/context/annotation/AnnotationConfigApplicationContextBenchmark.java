@@ -0,0 +1,146 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+
+/**
+ * Benchmarks for the startup of an {@link AnnotationConfigApplicationContext}
+ * and for the creation of annotation-driven prototype beans.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AnnotationConfigApplicationContextBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		public AnnotationConfigApplicationContext context;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.context = new AnnotationConfigApplicationContext(BenchmarkConfiguration.class);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.context.close();
+		}
+	}
+
+	@Benchmark
+	public void refreshConfiguration(Blackhole bh) {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(BenchmarkConfiguration.class);
+		bh.consume(context.getBean(ServiceBean.class));
+		context.close();
+	}
+
+	@Benchmark
+	public void singletonByType(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.context.getBean(ServiceBean.class));
+	}
+
+	@Benchmark
+	public void prototypeWithFieldInjection(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.context.getBean(FieldInjectedPrototype.class));
+	}
+
+	@Benchmark
+	public void prototypeWithConstructorInjection(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.context.getBean(ConstructorInjectedPrototype.class));
+	}
+
+
+	@Configuration
+	static class BenchmarkConfiguration {
+
+		@Bean
+		public RepositoryBean repositoryBean() {
+			return new RepositoryBean();
+		}
+
+		@Bean
+		public ServiceBean serviceBean(RepositoryBean repositoryBean) {
+			return new ServiceBean(repositoryBean);
+		}
+
+		@Bean
+		@org.springframework.context.annotation.Scope(BeanDefinition.SCOPE_PROTOTYPE)
+		public FieldInjectedPrototype fieldInjectedPrototype() {
+			return new FieldInjectedPrototype();
+		}
+
+		@Bean
+		@org.springframework.context.annotation.Scope(BeanDefinition.SCOPE_PROTOTYPE)
+		public ConstructorInjectedPrototype constructorInjectedPrototype(ServiceBean serviceBean) {
+			return new ConstructorInjectedPrototype(serviceBean);
+		}
+	}
+
+
+	static class RepositoryBean {
+	}
+
+
+	static class ServiceBean {
+
+		private final RepositoryBean repositoryBean;
+
+		ServiceBean(RepositoryBean repositoryBean) {
+			this.repositoryBean = repositoryBean;
+		}
+
+		RepositoryBean getRepositoryBean() {
+			return this.repositoryBean;
+		}
+	}
+
+
+	static class FieldInjectedPrototype {
+
+		@Autowired
+		ServiceBean serviceBean;
+
+		@Autowired
+		RepositoryBean repositoryBean;
+	}
+
+
+	static class ConstructorInjectedPrototype {
+
+		private final ServiceBean serviceBean;
+
+		ConstructorInjectedPrototype(ServiceBean serviceBean) {
+			this.serviceBean = serviceBean;
+		}
+
+		ServiceBean getServiceBean() {
+			return this.serviceBean;
+		}
+	}
+
+}
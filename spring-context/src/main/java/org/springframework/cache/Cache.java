@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,9 @@
 
 package org.springframework.cache;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 
 import org.springframework.lang.Nullable;
@@ -100,6 +103,30 @@ public interface Cache {
 	@Nullable
 	<T> T get(Object key, Callable<T> valueLoader);
 
+	/**
+	 * Return the values to which this cache maps the given keys,
+	 * for all keys that this cache contains a mapping for.
+	 * <p>The default implementation delegates to {@link #get(Object)}
+	 * for each key. Implementations are encouraged to perform a bulk
+	 * retrieval from the underlying store instead.
+	 * @param keys the keys whose associated values are to be returned
+	 * @return a Map from each cached key to a {@link ValueWrapper} holding
+	 * its value (which may be {@code null} itself), in the iteration order
+	 * of the given keys, without entries for keys that are not cached
+	 * @since 5.2.13
+	 * @see #get(Object)
+	 */
+	default Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, ValueWrapper> result = new LinkedHashMap<>(keys.size());
+		for (Object key : keys) {
+			ValueWrapper valueWrapper = get(key);
+			if (valueWrapper != null) {
+				result.put(key, valueWrapper);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Associate the specified value with the specified key in this cache.
 	 * <p>If the cache previously contained a mapping for this key, the old
@@ -150,6 +177,19 @@ public interface Cache {
 		return existingValue;
 	}
 
+	/**
+	 * Associate the given values with their keys in this cache.
+	 * <p>The default implementation delegates to {@link #put(Object, Object)}
+	 * for each entry. Implementations are encouraged to perform a bulk
+	 * update of the underlying store instead.
+	 * @param entries the keys and values to store (values may be {@code null})
+	 * @since 5.2.13
+	 * @see #put(Object, Object)
+	 */
+	default void putAll(Map<?, ?> entries) {
+		entries.forEach(this::put);
+	}
+
 	/**
 	 * Evict the mapping for this key from this cache if it is present.
 	 * <p>Actual eviction may be performed in an asynchronous or deferred
@@ -206,6 +246,19 @@ public interface Cache {
 		return false;
 	}
 
+	/**
+	 * Return statistics for this cache, if recorded.
+	 * <p>The default implementation returns {@code null}, indicating that
+	 * this cache does not record statistics (or that recording has not been
+	 * enabled in the underlying cache provider).
+	 * @return a snapshot of the current statistics, or {@code null} if none
+	 * @since 5.2.13
+	 */
+	@Nullable
+	default CacheStatistics getStatistics() {
+		return null;
+	}
+
 
 	/**
 	 * A (wrapper) object representing a cache value.
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache;
+
+/**
+ * Statistics about the usage of a {@link Cache}, as exposed by
+ * {@link Cache#getStatistics()} or recorded by an interceptor-level
+ * {@link org.springframework.cache.interceptor.CacheOperationListener}.
+ *
+ * <p>Counts that are not tracked by a particular cache provider are
+ * reported as 0.
+ *
+ * @since 5.2.13
+ * @see Cache#getStatistics()
+ * @see org.springframework.cache.support.SimpleCacheStatistics
+ */
+public interface CacheStatistics {
+
+	/**
+	 * Return the number of lookups that found a cached value.
+	 */
+	long getHitCount();
+
+	/**
+	 * Return the number of lookups that did not find a cached value.
+	 */
+	long getMissCount();
+
+	/**
+	 * Return the number of values stored in the cache.
+	 */
+	long getPutCount();
+
+	/**
+	 * Return the number of entries explicitly removed from the cache.
+	 */
+	long getRemovalCount();
+
+	/**
+	 * Return the number of entries automatically evicted from the cache,
+	 * e.g. due to a size limit or expiration.
+	 */
+	long getEvictionCount();
+
+	/**
+	 * Return the number of values loaded on a cache miss,
+	 * e.g. through {@link Cache#get(Object, java.util.concurrent.Callable)}.
+	 */
+	long getLoadCount();
+
+	/**
+	 * Return the total time spent loading values, in nanoseconds.
+	 */
+	long getTotalLoadTime();
+
+	/**
+	 * Return the number of lookups, i.e. the sum of hits and misses.
+	 */
+	default long getRequestCount() {
+		return getHitCount() + getMissCount();
+	}
+
+	/**
+	 * Return the ratio of lookups that found a cached value,
+	 * or {@code 1.0} if there have not been any lookups.
+	 */
+	default double getHitRatio() {
+		long requestCount = getRequestCount();
+		return (requestCount != 0 ? (double) getHitCount() / requestCount : 1.0);
+	}
+
+	/**
+	 * Return the average time spent loading a value, in nanoseconds.
+	 */
+	default double getAverageLoadPenalty() {
+		long loadCount = getLoadCount();
+		return (loadCount != 0 ? (double) getTotalLoadTime() / loadCount : 0.0);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -174,9 +174,31 @@ public @interface Cacheable {
 	 * This is effectively a hint and the actual cache provider that you are
 	 * using may not support it in a synchronized fashion. Check your provider
 	 * documentation for more details on the actual semantics.
+	 * <p>As of 5.2.13, the caching aspect may alternatively be configured for
+	 * single-flight loading, synchronizing concurrent invocations for the same
+	 * key independent of the cache provider and without the limitations above.
 	 * @since 4.3
 	 * @see org.springframework.cache.Cache#get(Object, Callable)
+	 * @see org.springframework.cache.interceptor.CacheAspectSupport#setSingleFlightLoading
 	 */
 	boolean sync() default false;
 
+	/**
+	 * Cache the results for the elements of a collection-valued key individually.
+	 * <p>In bulk mode, the key (by default, the single method argument) has to be a
+	 * {@link java.util.Collection} of element keys and the method has to return a
+	 * {@link java.util.Map} from element key to value. Element keys that are found
+	 * in the cache are not passed to the method: it is invoked with a collection
+	 * of the declared parameter type containing the missing element keys only
+	 * (if any), and the returned entries are cached individually and merged with
+	 * the cached ones. The {@link #unless()} condition is evaluated against each
+	 * returned value.
+	 * <p>Bulk mode cannot be combined with {@link #sync()} or with other
+	 * cache-related operations on the same method.
+	 * @since 5.2.13
+	 * @see org.springframework.cache.Cache#getAll
+	 * @see org.springframework.cache.Cache#putAll
+	 */
+	boolean bulk() default false;
+
 }
@@ -0,0 +1,543 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ConcurrentMap} implementation with an optional maximum size and optional
+ * time-to-live and time-to-idle expiration of its entries, designed for use as the
+ * internal store of a {@link ConcurrentMapCache} without any third-party dependency.
+ *
+ * <p>Entries are held in a {@link ConcurrentHashMap}. Once the maximum size is
+ * exceeded, entries get evicted according to a CLOCK (second chance) policy, an
+ * approximation of LRU: entries are kept in a concurrent queue in insertion order,
+ * and an entry that has been read since the eviction sweep last passed it gets
+ * moved to the tail of the queue instead of being evicted. Eviction sweeps are
+ * performed by writing threads: a writer skips the sweep if another thread is
+ * already sweeping, unless the maximum size is exceeded, in which case it waits
+ * to evict entries itself. The map may therefore only hold more entries than its
+ * maximum size while concurrent writes are in progress. Checking for a key through
+ * {@link #containsKey} does not count as a read for eviction purposes.
+ *
+ * <p>Expired entries are never returned: they are removed when accessed and
+ * otherwise cleaned up incrementally on subsequent writes, so {@link #size()}
+ * may transiently include expired entries.
+ *
+ * <p>Like {@code ConcurrentHashMap}, this map does not allow {@code null} keys or values.
+ *
+ * @since 5.2.13
+ * @param <K> the key type
+ * @param <V> the value type
+ * @see ConcurrentMapCacheManager#setMaximumSize
+ * @see ConcurrentMapCacheManager#setExpireAfterWrite
+ * @see ConcurrentMapCacheManager#setExpireAfterAccess
+ */
+public class BoundedConcurrentMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+	/**
+	 * Number of queued entries inspected for expiration on each write.
+	 */
+	private static final int EXPIRATION_SWEEP_SIZE = 8;
+
+
+	private final ConcurrentHashMap<K, Node<K, V>> map = new ConcurrentHashMap<>(256);
+
+	private final long maximumSize;
+
+	private final long expireAfterWriteNanos;
+
+	private final long expireAfterAccessNanos;
+
+	private final LongSupplier ticker;
+
+	private final Queue<Node<K, V>> evictionQueue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger queueSize = new AtomicInteger();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	@Nullable
+	private transient Set<Map.Entry<K, V>> entrySet;
+
+
+	/**
+	 * Create a new map with the given maximum size and no expiration.
+	 * @param maximumSize the maximum number of entries (-1 for no limit)
+	 */
+	public BoundedConcurrentMap(long maximumSize) {
+		this(maximumSize, null, null);
+	}
+
+	/**
+	 * Create a new map with the given maximum size and expiration settings.
+	 * @param maximumSize the maximum number of entries (-1 for no limit)
+	 * @param expireAfterWrite the time after which an entry expires once it
+	 * has been created or last updated, or {@code null} for no expiration
+	 * @param expireAfterAccess the time after which an entry expires once it
+	 * has been created, last updated or last read, or {@code null} for no expiration
+	 */
+	public BoundedConcurrentMap(long maximumSize, @Nullable Duration expireAfterWrite,
+			@Nullable Duration expireAfterAccess) {
+
+		this(maximumSize, expireAfterWrite, expireAfterAccess, System::nanoTime);
+	}
+
+	BoundedConcurrentMap(long maximumSize, @Nullable Duration expireAfterWrite,
+			@Nullable Duration expireAfterAccess, LongSupplier ticker) {
+
+		Assert.isTrue(maximumSize >= -1, "Maximum size must be -1 (unbounded) or a non-negative value");
+		Assert.isTrue(expireAfterWrite == null || !expireAfterWrite.isNegative(),
+				"Expire-after-write duration must not be negative");
+		Assert.isTrue(expireAfterAccess == null || !expireAfterAccess.isNegative(),
+				"Expire-after-access duration must not be negative");
+		this.maximumSize = maximumSize;
+		this.expireAfterWriteNanos = (expireAfterWrite != null ? expireAfterWrite.toNanos() : -1);
+		this.expireAfterAccessNanos = (expireAfterAccess != null ? expireAfterAccess.toNanos() : -1);
+		this.ticker = ticker;
+	}
+
+
+	/**
+	 * Return the maximum number of entries (-1 for no limit).
+	 */
+	public long getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Return the number of entries that have been evicted due to the maximum
+	 * size or due to expiration, as opposed to explicit removal.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
+
+	@Override
+	public int size() {
+		return this.map.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.map.isEmpty();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		Node<K, V> node = this.map.get(key);
+		if (node == null) {
+			return false;
+		}
+		// Not recorded as an access: the entry does not get a second chance
+		if (isExpired(node, this.ticker.getAsLong())) {
+			removeExpired(node);
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	@Nullable
+	public V get(Object key) {
+		Node<K, V> node = this.map.get(key);
+		if (node == null) {
+			return null;
+		}
+		long now = this.ticker.getAsLong();
+		if (isExpired(node, now)) {
+			removeExpired(node);
+			return null;
+		}
+		recordAccess(node, now);
+		return node.value;
+	}
+
+	@Override
+	@Nullable
+	public V put(K key, V value) {
+		Assert.notNull(value, "Value must not be null");
+		long now = this.ticker.getAsLong();
+		Object[] previous = new Object[1];
+		Node<K, V> node = this.map.compute(key, (k, existing) -> {
+			if (existing != null && !isExpired(existing, now)) {
+				previous[0] = existing.value;
+				existing.update(value, now);
+				return existing;
+			}
+			return new Node<>(k, value, now);
+		});
+		afterWrite(node, previous[0] == null);
+		return castValue(previous[0]);
+	}
+
+	@Override
+	@Nullable
+	public V putIfAbsent(K key, V value) {
+		Assert.notNull(value, "Value must not be null");
+		long now = this.ticker.getAsLong();
+		Object[] previous = new Object[1];
+		Node<K, V> node = this.map.compute(key, (k, existing) -> {
+			if (existing != null && !isExpired(existing, now)) {
+				previous[0] = existing.value;
+				recordAccess(existing, now);
+				return existing;
+			}
+			return new Node<>(k, value, now);
+		});
+		if (previous[0] == null) {
+			afterWrite(node, true);
+		}
+		return castValue(previous[0]);
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		long now = this.ticker.getAsLong();
+		boolean[] created = new boolean[1];
+		Node<K, V> node = this.map.compute(key, (k, existing) -> {
+			if (existing != null && !isExpired(existing, now)) {
+				recordAccess(existing, now);
+				return existing;
+			}
+			V value = mappingFunction.apply(k);
+			if (value == null) {
+				return null;
+			}
+			created[0] = true;
+			return new Node<>(k, value, this.ticker.getAsLong());
+		});
+		if (node == null) {
+			return null;
+		}
+		if (created[0]) {
+			afterWrite(node, true);
+		}
+		return node.value;
+	}
+
+	@Override
+	@Nullable
+	public V remove(Object key) {
+		Node<K, V> node = this.map.remove(key);
+		return (node != null && !isExpired(node, this.ticker.getAsLong()) ? node.value : null);
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		long now = this.ticker.getAsLong();
+		boolean[] removed = new boolean[1];
+		this.map.computeIfPresent(castKey(key), (k, existing) -> {
+			if (isExpired(existing, now)) {
+				return null;
+			}
+			if (existing.value.equals(value)) {
+				removed[0] = true;
+				return null;
+			}
+			return existing;
+		});
+		return removed[0];
+	}
+
+	@Override
+	public boolean replace(K key, V oldValue, V newValue) {
+		Assert.notNull(newValue, "Value must not be null");
+		long now = this.ticker.getAsLong();
+		boolean[] replaced = new boolean[1];
+		this.map.computeIfPresent(key, (k, existing) -> {
+			if (isExpired(existing, now)) {
+				return null;
+			}
+			if (existing.value.equals(oldValue)) {
+				existing.update(newValue, now);
+				replaced[0] = true;
+			}
+			return existing;
+		});
+		return replaced[0];
+	}
+
+	@Override
+	@Nullable
+	public V replace(K key, V value) {
+		Assert.notNull(value, "Value must not be null");
+		long now = this.ticker.getAsLong();
+		Object[] previous = new Object[1];
+		this.map.computeIfPresent(key, (k, existing) -> {
+			if (isExpired(existing, now)) {
+				return null;
+			}
+			previous[0] = existing.value;
+			existing.update(value, now);
+			return existing;
+		});
+		return castValue(previous[0]);
+	}
+
+	@Override
+	public void clear() {
+		this.evictionLock.lock();
+		try {
+			this.map.clear();
+			this.evictionQueue.clear();
+			this.queueSize.set(0);
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		Set<Map.Entry<K, V>> entrySet = this.entrySet;
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+			this.entrySet = entrySet;
+		}
+		return entrySet;
+	}
+
+
+	private boolean isExpired(Node<K, V> node, long now) {
+		return ((this.expireAfterWriteNanos >= 0 && now - node.writeTime >= this.expireAfterWriteNanos) ||
+				(this.expireAfterAccessNanos >= 0 && now - node.accessTime >= this.expireAfterAccessNanos));
+	}
+
+	private void recordAccess(Node<K, V> node, long now) {
+		if (this.expireAfterAccessNanos >= 0) {
+			node.accessTime = now;
+		}
+		if (this.maximumSize >= 0 && !node.referenced) {
+			node.referenced = true;
+		}
+	}
+
+	private void removeExpired(Node<K, V> node) {
+		if (this.map.remove(node.key, node)) {
+			this.evictionCount.increment();
+		}
+	}
+
+	private void afterWrite(Node<K, V> node, boolean created) {
+		if (this.maximumSize < 0 && this.expireAfterWriteNanos < 0 && this.expireAfterAccessNanos < 0) {
+			return;
+		}
+		if (created) {
+			this.evictionQueue.add(node);
+			this.queueSize.incrementAndGet();
+		}
+		if (this.maximumSize >= 0 && this.map.size() > this.maximumSize) {
+			// Bound exceeded: wait for a concurrent sweep, then evict as necessary
+			this.evictionLock.lock();
+		}
+		else if (!this.evictionLock.tryLock()) {
+			return;
+		}
+		try {
+			sweep();
+			evictEntries();
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Inspect a few entries at the head of the queue, dropping queue nodes of
+	 * removed entries and evicting expired entries. Sweeps the entire queue if
+	 * it holds considerably more nodes than there are entries in the map.
+	 */
+	private void sweep() {
+		int count = (this.queueSize.get() > 2 * this.map.size() + EXPIRATION_SWEEP_SIZE ? this.queueSize.get() :
+				(this.expireAfterWriteNanos >= 0 || this.expireAfterAccessNanos >= 0 ? EXPIRATION_SWEEP_SIZE : 0));
+		long now = this.ticker.getAsLong();
+		for (int i = 0; i < count; i++) {
+			Node<K, V> node = this.evictionQueue.poll();
+			if (node == null) {
+				return;
+			}
+			if (this.map.get(node.key) != node) {
+				this.queueSize.decrementAndGet();
+			}
+			else if (isExpired(node, now)) {
+				this.queueSize.decrementAndGet();
+				removeExpired(node);
+			}
+			else {
+				this.evictionQueue.add(node);
+			}
+		}
+	}
+
+	private void evictEntries() {
+		if (this.maximumSize < 0) {
+			return;
+		}
+		while (this.map.size() > this.maximumSize) {
+			Node<K, V> node = this.evictionQueue.poll();
+			if (node == null) {
+				return;
+			}
+			if (this.map.get(node.key) != node) {
+				this.queueSize.decrementAndGet();
+			}
+			else if (node.referenced) {
+				// Second chance: move to the tail of the queue
+				node.referenced = false;
+				this.evictionQueue.add(node);
+			}
+			else {
+				this.queueSize.decrementAndGet();
+				if (this.map.remove(node.key, node)) {
+					this.evictionCount.increment();
+				}
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private K castKey(Object key) {
+		return (K) key;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private V castValue(@Nullable Object value) {
+		return (V) value;
+	}
+
+
+	/**
+	 * Internal holder for a value and its access metadata.
+	 */
+	private static final class Node<K, V> {
+
+		final K key;
+
+		volatile V value;
+
+		volatile long writeTime;
+
+		volatile long accessTime;
+
+		volatile boolean referenced;
+
+		Node(K key, V value, long now) {
+			this.key = key;
+			this.value = value;
+			this.writeTime = now;
+			this.accessTime = now;
+		}
+
+		void update(V value, long now) {
+			this.value = value;
+			this.writeTime = now;
+			this.accessTime = now;
+		}
+	}
+
+
+	/**
+	 * Entry set view, exposing non-expired entries only.
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+		@Override
+		public Iterator<Map.Entry<K, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return BoundedConcurrentMap.this.size();
+		}
+
+		@Override
+		public void clear() {
+			BoundedConcurrentMap.this.clear();
+		}
+	}
+
+
+	/**
+	 * Iterator over non-expired entries, supporting removal.
+	 */
+	private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+		private final Iterator<Node<K, V>> delegate = map.values().iterator();
+
+		private final long now = ticker.getAsLong();
+
+		@Nullable
+		private Node<K, V> next;
+
+		@Nullable
+		private Node<K, V> last;
+
+		@Override
+		public boolean hasNext() {
+			while (this.next == null && this.delegate.hasNext()) {
+				Node<K, V> node = this.delegate.next();
+				if (!isExpired(node, this.now)) {
+					this.next = node;
+				}
+			}
+			return (this.next != null);
+		}
+
+		@Override
+		public Map.Entry<K, V> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Node<K, V> node = this.next;
+			this.next = null;
+			this.last = node;
+			return new SimpleImmutableEntry<>(node.key, node.value);
+		}
+
+		@Override
+		public void remove() {
+			Assert.state(this.last != null, "No element to remove");
+			map.remove(this.last.key, this.last);
+			this.last = null;
+		}
+	}
+
+}
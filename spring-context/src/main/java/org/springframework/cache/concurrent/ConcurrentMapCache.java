@@ -20,7 +20,9 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.springframework.cache.CacheStatistics;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.CacheStatisticsCounter;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -38,6 +40,11 @@ import org.springframework.util.Assert;
  * them with a predefined internal object. This behavior can be changed through the
  * {@link #ConcurrentMapCache(String, ConcurrentMap, boolean)} constructor.
  *
+ * <p>As of 5.2.13, a {@link BoundedConcurrentMap} may be used as the internal store
+ * in order to limit the number of entries and to let entries expire, and
+ * {@link #getStatistics() statistics} may be recorded, e.g. through the
+ * corresponding {@link ConcurrentMapCacheManager} settings.
+ *
  * @author Costin Leau
  * @author Juergen Hoeller
  * @author Stephane Nicoll
@@ -53,6 +60,9 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	@Nullable
 	private final SerializationDelegate serialization;
 
+	@Nullable
+	private final CacheStatisticsCounter statistics;
+
 
 	/**
 	 * Create a new ConcurrentMapCache with the specified name.
@@ -100,12 +110,33 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	protected ConcurrentMapCache(String name, ConcurrentMap<Object, Object> store,
 			boolean allowNullValues, @Nullable SerializationDelegate serialization) {
 
+		this(name, store, allowNullValues, serialization, false);
+	}
+
+	/**
+	 * Create a new ConcurrentMapCache with the specified name and the
+	 * given internal {@link ConcurrentMap} to use, optionally recording
+	 * cache statistics.
+	 * @param name the name of the cache
+	 * @param store the ConcurrentMap to use as an internal store
+	 * (for example a {@link BoundedConcurrentMap})
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 * @param serialization the {@link SerializationDelegate} to use
+	 * to serialize cache entry or {@code null} to store the reference
+	 * @param recordStats whether to record cache statistics
+	 * @since 5.2.13
+	 */
+	protected ConcurrentMapCache(String name, ConcurrentMap<Object, Object> store,
+			boolean allowNullValues, @Nullable SerializationDelegate serialization, boolean recordStats) {
+
 		super(allowNullValues);
 		Assert.notNull(name, "Name must not be null");
 		Assert.notNull(store, "Store must not be null");
 		this.name = name;
 		this.store = store;
 		this.serialization = serialization;
+		this.statistics = (recordStats ? new CacheStatisticsCounter() : null);
 	}
 
 
@@ -119,6 +150,77 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		return (this.serialization != null);
 	}
 
+	/**
+	 * Return whether this cache records cache statistics.
+	 * @since 5.2.13
+	 * @see #getStatistics()
+	 */
+	public final boolean isRecordStats() {
+		return (this.statistics != null);
+	}
+
+	/**
+	 * Return the number of lookups that found a cached value
+	 * (0 if statistics are not being recorded).
+	 * @since 5.2.13
+	 * @see #isRecordStats()
+	 */
+	public long getHitCount() {
+		return (this.statistics != null ? this.statistics.snapshot().getHitCount() : 0);
+	}
+
+	/**
+	 * Return the number of lookups that did not find a cached value
+	 * (0 if statistics are not being recorded).
+	 * @since 5.2.13
+	 * @see #isRecordStats()
+	 */
+	public long getMissCount() {
+		return (this.statistics != null ? this.statistics.snapshot().getMissCount() : 0);
+	}
+
+	/**
+	 * Return the number of values loaded through {@link #get(Object, Callable)}
+	 * (0 if statistics are not being recorded).
+	 * @since 5.2.13
+	 * @see #isRecordStats()
+	 */
+	public long getLoadCount() {
+		return (this.statistics != null ? this.statistics.snapshot().getLoadCount() : 0);
+	}
+
+	/**
+	 * Return the total time spent loading values through {@link #get(Object, Callable)},
+	 * in nanoseconds (0 if statistics are not being recorded).
+	 * @since 5.2.13
+	 * @see #isRecordStats()
+	 */
+	public long getTotalLoadTime() {
+		return (this.statistics != null ? this.statistics.snapshot().getTotalLoadTime() : 0);
+	}
+
+	/**
+	 * Return the number of entries evicted due to a size limit or expiration,
+	 * as reported by a {@link BoundedConcurrentMap} store (0 for other stores).
+	 * @since 5.2.13
+	 */
+	public long getEvictionCount() {
+		return (this.store instanceof BoundedConcurrentMap ?
+				((BoundedConcurrentMap<?, ?>) this.store).getEvictionCount() : 0);
+	}
+
+	/**
+	 * Return a snapshot of the hit, miss, put, removal, eviction and load
+	 * statistics for this cache, or {@code null} if not recording statistics.
+	 * @since 5.2.13
+	 * @see #isRecordStats()
+	 */
+	@Override
+	@Nullable
+	public CacheStatistics getStatistics() {
+		return (this.statistics != null ? this.statistics.snapshot(getEvictionCount()) : null);
+	}
+
 	@Override
 	public final String getName() {
 		return this.name;
@@ -132,43 +234,86 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	@Override
 	@Nullable
 	protected Object lookup(Object key) {
-		return this.store.get(key);
+		Object storeValue = this.store.get(key);
+		if (this.statistics != null) {
+			if (storeValue != null) {
+				this.statistics.recordHit();
+			}
+			else {
+				this.statistics.recordMiss();
+			}
+		}
+		return storeValue;
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	@Nullable
 	public <T> T get(Object key, Callable<T> valueLoader) {
-		return (T) fromStoreValue(this.store.computeIfAbsent(key, k -> {
+		CacheStatisticsCounter statistics = this.statistics;
+		if (statistics == null) {
+			return (T) fromStoreValue(this.store.computeIfAbsent(key, k -> load(key, valueLoader)));
+		}
+		boolean[] loaded = new boolean[1];
+		Object storeValue = this.store.computeIfAbsent(key, k -> {
+			loaded[0] = true;
+			long start = System.nanoTime();
 			try {
-				return toStoreValue(valueLoader.call());
+				return load(key, valueLoader);
 			}
-			catch (Throwable ex) {
-				throw new ValueRetrievalException(key, valueLoader, ex);
+			finally {
+				statistics.recordLoad(System.nanoTime() - start);
 			}
-		}));
+		});
+		if (loaded[0]) {
+			statistics.recordMiss();
+			statistics.recordPut();
+		}
+		else {
+			statistics.recordHit();
+		}
+		return (T) fromStoreValue(storeValue);
+	}
+
+	private Object load(Object key, Callable<?> valueLoader) {
+		try {
+			return toStoreValue(valueLoader.call());
+		}
+		catch (Throwable ex) {
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
 	}
 
 	@Override
 	public void put(Object key, @Nullable Object value) {
 		this.store.put(key, toStoreValue(value));
+		if (this.statistics != null) {
+			this.statistics.recordPut();
+		}
 	}
 
 	@Override
 	@Nullable
 	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
 		Object existing = this.store.putIfAbsent(key, toStoreValue(value));
+		if (existing == null && this.statistics != null) {
+			this.statistics.recordPut();
+		}
 		return toValueWrapper(existing);
 	}
 
 	@Override
 	public void evict(Object key) {
-		this.store.remove(key);
+		evictIfPresent(key);
 	}
 
 	@Override
 	public boolean evictIfPresent(Object key) {
-		return (this.store.remove(key) != null);
+		boolean removed = (this.store.remove(key) != null);
+		if (removed && this.statistics != null) {
+			this.statistics.recordRemoval();
+		}
+		return removed;
 	}
 
 	@Override
@@ -16,6 +16,7 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,6 +29,8 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 
 /**
  * {@link CacheManager} implementation that lazily builds {@link ConcurrentMapCache}
@@ -35,9 +38,12 @@ import org.springframework.lang.Nullable;
  * the set of cache names is pre-defined through {@link #setCacheNames}, with no
  * dynamic creation of further cache regions at runtime.
  *
- * <p>Note: This is by no means a sophisticated CacheManager; it comes with no
- * cache configuration options. However, it may be useful for testing or simple
- * caching scenarios. For advanced local caching needs, consider
+ * <p>Note: This is by no means a sophisticated CacheManager. By default, its caches
+ * are unbounded; as of 5.2.13, a {@link #setMaximumSize maximum size} as well as
+ * {@link #setExpireAfterWrite time-to-live} and {@link #setExpireAfterAccess
+ * time-to-idle} expiration may be specified, backed by a {@link BoundedConcurrentMap},
+ * and {@link #setRecordStats statistics} may be recorded. It may be useful for
+ * testing or simple caching scenarios. For advanced local caching needs, consider
  * {@link org.springframework.cache.jcache.JCacheCacheManager},
  * {@link org.springframework.cache.ehcache.EhCacheCacheManager},
  * {@link org.springframework.cache.caffeine.CaffeineCacheManager}.
@@ -59,6 +65,16 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	@Nullable
 	private SerializationDelegate serialization;
 
+	private long maximumSize = -1;
+
+	@Nullable
+	private Duration expireAfterWrite;
+
+	@Nullable
+	private Duration expireAfterAccess;
+
+	private boolean recordStats = false;
+
 
 	/**
 	 * Construct a dynamic ConcurrentMapCacheManager,
@@ -146,6 +162,106 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return this.storeByValue;
 	}
 
+	/**
+	 * Specify the maximum number of entries for each cache in this cache manager.
+	 * <p>Default is -1, i.e. no limit. Once the limit is exceeded, entries that have
+	 * not been accessed recently get evicted (see {@link BoundedConcurrentMap}).
+	 * <p>Note: A change of this setting will reset all existing caches,
+	 * if any, to reconfigure them with the new limit.
+	 * @since 5.2.13
+	 */
+	public void setMaximumSize(long maximumSize) {
+		Assert.isTrue(maximumSize >= -1, "Maximum size must be -1 (unbounded) or a non-negative value");
+		if (maximumSize != this.maximumSize) {
+			this.maximumSize = maximumSize;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the maximum number of entries for each cache in this cache manager
+	 * (-1 for no limit).
+	 * @since 5.2.13
+	 */
+	public long getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Specify the time after which an entry expires once it has been created
+	 * or last updated, for each cache in this cache manager (time-to-live).
+	 * <p>Default is none.
+	 * <p>Note: A change of this setting will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration.
+	 * @since 5.2.13
+	 */
+	public void setExpireAfterWrite(@Nullable Duration expireAfterWrite) {
+		if (!ObjectUtils.nullSafeEquals(expireAfterWrite, this.expireAfterWrite)) {
+			this.expireAfterWrite = expireAfterWrite;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the time-to-live for entries of each cache in this cache manager, if any.
+	 * @since 5.2.13
+	 */
+	@Nullable
+	public Duration getExpireAfterWrite() {
+		return this.expireAfterWrite;
+	}
+
+	/**
+	 * Specify the time after which an entry expires once it has been created,
+	 * last updated or last read, for each cache in this cache manager (time-to-idle).
+	 * <p>Default is none.
+	 * <p>Note: A change of this setting will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration.
+	 * @since 5.2.13
+	 */
+	public void setExpireAfterAccess(@Nullable Duration expireAfterAccess) {
+		if (!ObjectUtils.nullSafeEquals(expireAfterAccess, this.expireAfterAccess)) {
+			this.expireAfterAccess = expireAfterAccess;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the time-to-idle for entries of each cache in this cache manager, if any.
+	 * @since 5.2.13
+	 */
+	@Nullable
+	public Duration getExpireAfterAccess() {
+		return this.expireAfterAccess;
+	}
+
+	/**
+	 * Specify whether each cache in this cache manager records hit, miss and
+	 * load statistics.
+	 * <p>Default is "false".
+	 * <p>Note: A change of this setting will reset all existing caches,
+	 * if any, to reconfigure them with the new statistics setting.
+	 * @since 5.2.13
+	 * @see ConcurrentMapCache#getHitCount()
+	 * @see ConcurrentMapCache#getMissCount()
+	 * @see ConcurrentMapCache#getEvictionCount()
+	 * @see ConcurrentMapCache#getTotalLoadTime()
+	 */
+	public void setRecordStats(boolean recordStats) {
+		if (recordStats != this.recordStats) {
+			this.recordStats = recordStats;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return whether each cache in this cache manager records statistics.
+	 * @since 5.2.13
+	 */
+	public boolean isRecordStats() {
+		return this.recordStats;
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.serialization = new SerializationDelegate(classLoader);
@@ -190,7 +306,14 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	 */
 	protected Cache createConcurrentMapCache(String name) {
 		SerializationDelegate actualSerialization = (isStoreByValue() ? this.serialization : null);
-		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256), isAllowNullValues(), actualSerialization);
+		return new ConcurrentMapCache(name, createStore(), isAllowNullValues(), actualSerialization, isRecordStats());
+	}
+
+	private ConcurrentMap<Object, Object> createStore() {
+		if (this.maximumSize < 0 && this.expireAfterWrite == null && this.expireAfterAccess == null) {
+			return new ConcurrentHashMap<>(256);
+		}
+		return new BoundedConcurrentMap<>(this.maximumSize, this.expireAfterWrite, this.expireAfterAccess);
 	}
 
 }
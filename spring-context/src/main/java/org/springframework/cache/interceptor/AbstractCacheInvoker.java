@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,14 @@
 
 package org.springframework.cache.interceptor;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
 import org.springframework.cache.Cache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.function.SingletonSupplier;
@@ -31,8 +39,13 @@ import org.springframework.util.function.SingletonSupplier;
  */
 public abstract class AbstractCacheInvoker {
 
+	private static final Log logger = LogFactory.getLog(AbstractCacheInvoker.class);
+
 	protected SingletonSupplier<CacheErrorHandler> errorHandler;
 
+	@Nullable
+	private CacheOperationListener operationListener;
+
 
 	protected AbstractCacheInvoker() {
 		this.errorHandler = SingletonSupplier.of(SimpleCacheErrorHandler::new);
@@ -59,6 +72,44 @@ public abstract class AbstractCacheInvoker {
 		return this.errorHandler.obtain();
 	}
 
+	/**
+	 * Set a {@link CacheOperationListener} to notify of cache hits, misses,
+	 * puts and evictions performed by this invoker.
+	 * @since 5.2.13
+	 * @see CacheOperationStatistics
+	 */
+	public void setCacheOperationListener(@Nullable CacheOperationListener operationListener) {
+		this.operationListener = operationListener;
+	}
+
+	/**
+	 * Return the {@link CacheOperationListener} to notify, if any.
+	 * @since 5.2.13
+	 */
+	@Nullable
+	public CacheOperationListener getCacheOperationListener() {
+		return this.operationListener;
+	}
+
+	/**
+	 * Notify the {@link CacheOperationListener}, if any, through the given callback.
+	 * An exception thrown by the listener is logged rather than propagated, since
+	 * it must neither fail the cache operation nor be handled as a cache error.
+	 * @param callback the listener method to invoke
+	 * @since 5.2.13
+	 */
+	protected void notifyListener(Consumer<CacheOperationListener> callback) {
+		CacheOperationListener listener = this.operationListener;
+		if (listener != null) {
+			try {
+				callback.accept(listener);
+			}
+			catch (RuntimeException ex) {
+				logger.warn("Failed to notify CacheOperationListener [" + listener + "]", ex);
+			}
+		}
+	}
+
 
 	/**
 	 * Execute {@link Cache#get(Object)} on the specified {@link Cache} and
@@ -69,13 +120,51 @@ public abstract class AbstractCacheInvoker {
 	 */
 	@Nullable
 	protected Cache.ValueWrapper doGet(Cache cache, Object key) {
+		Cache.ValueWrapper wrapper;
 		try {
-			return cache.get(key);
+			wrapper = cache.get(key);
 		}
 		catch (RuntimeException ex) {
 			getErrorHandler().handleCacheGetError(ex, cache, key);
 			return null;  // If the exception is handled, return a cache miss
 		}
+		if (wrapper != null) {
+			notifyListener(listener -> listener.onCacheHit(cache, key));
+		}
+		else {
+			notifyListener(listener -> listener.onCacheMiss(cache, key));
+		}
+		return wrapper;
+	}
+
+	/**
+	 * Execute {@link Cache#getAll(Collection)} on the specified {@link Cache} and
+	 * invoke the error handler if an exception occurs. Return an empty Map
+	 * if the handler does not throw any exception, which simulates cache
+	 * misses in case of error.
+	 * @since 5.2.13
+	 * @see Cache#getAll(Collection)
+	 */
+	protected Map<Object, Cache.ValueWrapper> doGetAll(Cache cache, Collection<?> keys) {
+		Map<Object, Cache.ValueWrapper> result;
+		try {
+			result = cache.getAll(keys);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCacheGetError(ex, cache, keys);
+			return Collections.emptyMap();  // If the exception is handled, return cache misses
+		}
+		notifyListener(listener -> {
+			for (Object key : keys) {
+				if (result.containsKey(key)) {
+					listener.onCacheHit(cache, key);
+				}
+				else {
+					listener.onCacheMiss(cache, key);
+				}
+			}
+		});
+		return result;
 	}
 
 	/**
@@ -88,7 +177,29 @@ public abstract class AbstractCacheInvoker {
 		}
 		catch (RuntimeException ex) {
 			getErrorHandler().handleCachePutError(ex, cache, key, result);
+			return;
 		}
+		notifyListener(listener -> listener.onCachePut(cache, key));
+	}
+
+	/**
+	 * Execute {@link Cache#putAll(Map)} on the specified {@link Cache}
+	 * and invoke the error handler if an exception occurs.
+	 * @since 5.2.13
+	 */
+	protected void doPutAll(Cache cache, Map<?, ?> entries) {
+		try {
+			cache.putAll(entries);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCachePutError(ex, cache, entries.keySet(), entries);
+			return;
+		}
+		notifyListener(listener -> {
+			for (Object key : entries.keySet()) {
+				listener.onCachePut(cache, key);
+			}
+		});
 	}
 
 	/**
@@ -106,7 +217,9 @@ public abstract class AbstractCacheInvoker {
 		}
 		catch (RuntimeException ex) {
 			getErrorHandler().handleCacheEvictError(ex, cache, key);
+			return;
 		}
+		notifyListener(listener -> listener.onCacheEvict(cache, key));
 	}
 
 	/**
@@ -124,7 +237,9 @@ public abstract class AbstractCacheInvoker {
 		}
 		catch (RuntimeException ex) {
 			getErrorHandler().handleCacheClearError(ex, cache);
+			return;
 		}
+		notifyListener(listener -> listener.onCacheEvict(cache, null));
 	}
 
 }
@@ -21,15 +21,23 @@ import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
@@ -44,6 +52,10 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.core.ResolvableType;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -70,6 +82,15 @@ import org.springframework.util.function.SupplierUtils;
  * used for determining caching operations, a {@link KeyGenerator} will build the
  * cache keys, and a {@link CacheResolver} will resolve the actual cache(s) to use.
  *
+ * <p>As of 5.2.13, methods returning a {@link CompletableFuture} or a reactive type
+ * supported by the {@link ReactiveAdapterRegistry} (such as Reactor's {@code Mono}
+ * and {@code Flux}) get their resolved value cached rather than the async handle,
+ * with multi-value publishers collected into a {@code List}. Cache hits are returned
+ * as an already resolved async handle, and concurrent loads for the same key from
+ * purely {@code @Cacheable} invocations are coalesced into a single load: a single
+ * target invocation for a {@code CompletableFuture}, or a single subscription to the
+ * returned publisher for a reactive type.
+ *
  * <p>Note: A cache aspect is serializable but does not perform any actual caching
  * after deserialization.
  *
@@ -84,12 +105,23 @@ import org.springframework.util.function.SupplierUtils;
 public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		implements BeanFactoryAware, InitializingBean, SmartInitializingSingleton {
 
+	private static final boolean reactorPresent = ClassUtils.isPresent(
+			"reactor.core.publisher.Mono", CacheAspectSupport.class.getClassLoader());
+
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final Map<CacheOperationCacheKey, CacheOperationMetadata> metadataCache = new ConcurrentHashMap<>(1024);
 
 	private final CacheOperationExpressionEvaluator evaluator = new CacheOperationExpressionEvaluator();
 
+	private final Map<LoadKey, SyncLoad> syncLoads = new ConcurrentHashMap<>(64);
+
+	private final Map<LoadKey, CompletableFuture<Object>> futureLoads = new ConcurrentHashMap<>(64);
+
+	@Nullable
+	private final ReactiveCachingHandler reactiveCachingHandler = (reactorPresent ? new ReactiveCachingHandler() : null);
+
 	@Nullable
 	private CacheOperationSource cacheOperationSource;
 
@@ -101,6 +133,8 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Nullable
 	private BeanFactory beanFactory;
 
+	private boolean singleFlightLoading = false;
+
 	private boolean initialized = false;
 
 
@@ -195,6 +229,34 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		this.cacheResolver = SingletonSupplier.of(new SimpleCacheResolver(cacheManager));
 	}
 
+	/**
+	 * Set whether {@code @Cacheable(sync=true)} should be handled by a single-flight
+	 * loader in this aspect instead of delegating to the cache provider's
+	 * {@link Cache#get(Object, java.util.concurrent.Callable)} implementation.
+	 * <p>With single-flight loading, concurrent misses for the same key wait for
+	 * the one thread invoking the underlying method, without blocking callers
+	 * for unrelated keys and independent of the atomicity guarantees of the
+	 * cache provider. This also allows {@code sync=true} to be combined with
+	 * multiple caches, other cache operations and {@code unless} conditions.
+	 * <p>Default is {@code false}. Note that coordination only happens within
+	 * this aspect, i.e. within the current JVM; keep the default for providers
+	 * which coordinate the loading of entries across processes.
+	 * @since 5.2.13
+	 * @see org.springframework.cache.annotation.Cacheable#sync()
+	 */
+	public void setSingleFlightLoading(boolean singleFlightLoading) {
+		this.singleFlightLoading = singleFlightLoading;
+	}
+
+	/**
+	 * Return whether {@code @Cacheable(sync=true)} is handled by a single-flight
+	 * loader in this aspect.
+	 * @since 5.2.13
+	 */
+	public boolean isSingleFlightLoading() {
+		return this.singleFlightLoading;
+	}
+
 	/**
 	 * Set the containing {@link BeanFactory} for {@link CacheManager} and other
 	 * service lookups.
@@ -229,6 +291,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 						"Register a CacheManager bean or remove the @EnableCaching annotation from your configuration.");
 			}
 		}
+		if (getCacheOperationListener() == null && this.beanFactory != null) {
+			// Detect a unique CacheOperationListener bean, e.g. CacheOperationStatistics
+			setCacheOperationListener(this.beanFactory.getBeanProvider(CacheOperationListener.class).getIfUnique());
+		}
 		this.initialized = true;
 	}
 
@@ -366,14 +432,30 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return invoker.invoke();
 	}
 
+	/**
+	 * Execute the underlying operation with the given arguments instead of the
+	 * original arguments of the cached method, as needed for the missing keys of
+	 * a {@code @Cacheable(bulk=true)} operation. Exceptions need to be wrapped in
+	 * a {@link CacheOperationInvoker.ThrowableWrapper}, as for
+	 * {@link #invokeOperation(CacheOperationInvoker)}.
+	 * @param invoker the invoker handling the operation being cached
+	 * @param args the arguments to invoke the underlying method with
+	 * @return the result of the invocation
+	 * @since 5.2.13
+	 * @see CacheOperationInvoker#invoke(Object[])
+	 */
+	protected Object invokeOperation(CacheOperationInvoker invoker, Object[] args) {
+		return invoker.invoke(args);
+	}
+
 	private Class<?> getTargetClass(Object target) {
 		return AopProxyUtils.ultimateTargetClass(target);
 	}
 
 	@Nullable
 	private Object execute(final CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
-		// Special handling of synchronized invocation
-		if (contexts.isSynchronized()) {
+		// Special handling of synchronized invocation through the cache provider
+		if (contexts.isSynchronized() && !this.singleFlightLoading) {
 			CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
 			if (isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
 				Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
@@ -393,6 +475,11 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			}
 		}
 
+		// Special handling of bulk invocation for a collection-valued key
+		if (contexts.isBulk()) {
+			return executeBulk(invoker, contexts);
+		}
+
 
 		// Process any early evictions
 		processCacheEvicts(contexts.get(CacheEvictOperation.class), true,
@@ -414,12 +501,34 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		if (cacheHit != null && !hasCachePut(contexts)) {
 			// If there are no put requests, just use the cache hit
 			cacheValue = cacheHit.get();
-			returnValue = wrapCacheValue(method, cacheValue);
+			returnValue = wrapAsyncCacheValue(method, wrapCacheValue(method, cacheValue));
+		}
+		else if (isFutureReturnType(method)) {
+			// Cache the value of the future once it has been resolved
+			return executeFuture(invoker, contexts, cachePutRequests, cacheHit == null);
+		}
+		else if (this.reactiveCachingHandler != null && this.reactiveCachingHandler.getAdapter(method) != null) {
+			// Cache the value (or collected values) of the publisher once resolved
+			return this.reactiveCachingHandler.execute(
+					invoker, method, contexts, cachePutRequests, cacheHit == null);
+		}
+		else if (cacheHit == null && contexts.isSynchronized()) {
+			// Let only one thread per key invoke the method, applying the @Cacheable puts
+			returnValue = invokeSingleFlight(invoker, method, cachePutRequests);
+			cacheValue = unwrapReturnValue(returnValue);
 		}
 		else {
 			// Invoke the method if we don't have a cache hit
+			CacheOperationListener listener = getCacheOperationListener();
+			long start = (listener != null ? System.nanoTime() : 0);
 			returnValue = invokeOperation(invoker);
 			cacheValue = unwrapReturnValue(returnValue);
+			if (listener != null && cacheHit == null) {
+				long loadTime = System.nanoTime() - start;
+				for (CachePutRequest cachePutRequest : cachePutRequests) {
+					cachePutRequest.loaded(loadTime);
+				}
+			}
 		}
 
 		// Collect any explicit @CachePuts
@@ -438,20 +547,255 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 	@Nullable
 	private Object handleSynchronizedGet(CacheOperationInvoker invoker, Object key, Cache cache) {
+		CacheOperationListener listener = getCacheOperationListener();
 		InvocationAwareResult invocationResult = new InvocationAwareResult();
 		Object result = cache.get(key, () -> {
 			invocationResult.invoked = true;
 			if (logger.isTraceEnabled()) {
 				logger.trace("No cache entry for key '" + key + "' in cache " + cache.getName());
 			}
-			return unwrapReturnValue(invokeOperation(invoker));
+			if (listener == null) {
+				return unwrapReturnValue(invokeOperation(invoker));
+			}
+			long start = System.nanoTime();
+			Object value = unwrapReturnValue(invokeOperation(invoker));
+			invocationResult.loadTime = System.nanoTime() - start;
+			return value;
 		});
 		if (!invocationResult.invoked && logger.isTraceEnabled()) {
 			logger.trace("Cache entry for key '" + key + "' found in cache '" + cache.getName() + "'");
 		}
+		if (invocationResult.invoked) {
+			notifyListener(operationListener -> {
+				operationListener.onCacheMiss(cache, key);
+				operationListener.onValueLoaded(cache, key, invocationResult.loadTime);
+				operationListener.onCachePut(cache, key);
+			});
+		}
+		else {
+			notifyListener(operationListener -> operationListener.onCacheHit(cache, key));
+		}
 		return result;
 	}
 
+	/**
+	 * Look up the elements of a {@code @Cacheable(bulk=true)} key individually,
+	 * invoking the underlying method for the missing element keys only.
+	 */
+	private Object executeBulk(CacheOperationInvoker invoker, CacheOperationContexts contexts) {
+		CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
+		if (!isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
+			// No caching required, only call the underlying method
+			return invokeOperation(invoker);
+		}
+
+		Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
+		if (!(key instanceof Collection)) {
+			throw new IllegalStateException("@Cacheable(bulk=true) requires a Collection key, not [" +
+					key + "], for " + context.metadata.operation);
+		}
+		Collection<?> keys = (Collection<?>) key;
+		Object[] args = context.getArgs();
+		int keysIndex = -1;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i] == keys) {
+				keysIndex = i;
+				break;
+			}
+		}
+		if (keysIndex == -1) {
+			throw new IllegalStateException("@Cacheable(bulk=true) requires the key to be a Collection " +
+					"passed as method argument, for " + context.metadata.operation);
+		}
+
+		// Look up the element keys in each cache, as long as there are missing ones
+		Map<Object, Object> cachedValues = new HashMap<>();
+		Collection<Object> missingKeys = createKeysArgument(context.metadata.method, keys, keysIndex);
+		missingKeys.addAll(keys);
+		for (Cache cache : context.getCaches()) {
+			if (missingKeys.isEmpty()) {
+				break;
+			}
+			Map<Object, Cache.ValueWrapper> cacheHits = doGetAll(cache, missingKeys);
+			cacheHits.forEach((elementKey, valueWrapper) -> cachedValues.put(elementKey, valueWrapper.get()));
+			missingKeys.removeIf(cacheHits::containsKey);
+		}
+
+		// Invoke the method for the missing element keys only, caching the returned entries.
+		// An invoker that cannot replace the arguments loads all element keys instead.
+		Map<?, ?> loadedValues = Collections.emptyMap();
+		if (!missingKeys.isEmpty()) {
+			Object result;
+			if (invoker.supportsCustomArguments()) {
+				Object[] invocationArgs = args.clone();
+				invocationArgs[keysIndex] = missingKeys;
+				result = unwrapReturnValue(invokeOperation(invoker, invocationArgs));
+			}
+			else {
+				result = unwrapReturnValue(invokeOperation(invoker));
+			}
+			if (result != null) {
+				loadedValues = (Map<?, ?>) result;
+				Map<Object, Object> entriesToCache = new LinkedHashMap<>(loadedValues.size());
+				loadedValues.forEach((elementKey, value) -> {
+					if (missingKeys.contains(elementKey) && context.canPutToCache(value)) {
+						entriesToCache.put(elementKey, value);
+					}
+				});
+				if (!entriesToCache.isEmpty()) {
+					for (Cache cache : context.getCaches()) {
+						doPutAll(cache, entriesToCache);
+					}
+				}
+			}
+		}
+
+		// Merge cached and loaded values in the order of the requested keys
+		Map<Object, Object> mergedValues = new LinkedHashMap<>(keys.size());
+		for (Object elementKey : keys) {
+			if (cachedValues.containsKey(elementKey)) {
+				mergedValues.put(elementKey, cachedValues.get(elementKey));
+			}
+			else if (loadedValues.containsKey(elementKey)) {
+				mergedValues.put(elementKey, loadedValues.get(elementKey));
+			}
+		}
+		return mergedValues;
+	}
+
+	/**
+	 * Create a collection for the missing element keys of a {@code @Cacheable(bulk=true)}
+	 * operation that can be passed as the given argument of the cached method.
+	 */
+	private Collection<Object> createKeysArgument(Method method, Collection<?> keys, int keysIndex) {
+		ResolvableType parameterType = ResolvableType.forMethodParameter(method, keysIndex);
+		int capacity = keys.size();
+		if (!Collection.class.isAssignableFrom(parameterType.toClass())) {
+			// E.g. an Object parameter: any collection type will do
+			return CollectionFactory.createApproximateCollection(keys, capacity);
+		}
+		try {
+			return CollectionFactory.createCollection(
+					parameterType.toClass(), parameterType.asCollection().resolveGeneric(), capacity);
+		}
+		catch (IllegalArgumentException ex) {
+			throw new IllegalStateException("@Cacheable(bulk=true) cannot create a collection of type [" +
+					parameterType + "] for the missing keys of '" + method + "'", ex);
+		}
+	}
+
+	/**
+	 * Invoke the underlying method for a {@code @Cacheable(sync=true)} miss unless
+	 * another thread is already loading the same entries, in which case the value
+	 * loaded by that thread is returned. The given {@code @Cacheable} put requests
+	 * are applied by the loading thread before waiting threads are released.
+	 * Waiting threads record a cache hit, as does a thread that finds the entries
+	 * loaded by a concurrent load which completed after its initial lookup.
+	 */
+	@Nullable
+	private Object invokeSingleFlight(
+			CacheOperationInvoker invoker, Method method, List<CachePutRequest> cachePutRequests) {
+
+		LoadKey loadKey = LoadKey.of(cachePutRequests);
+		if (loadKey == null) {
+			// Nothing to cache, e.g. due to a condition
+			return invokeOperation(invoker);
+		}
+
+		SyncLoad load = new SyncLoad();
+		SyncLoad existingLoad = this.syncLoads.putIfAbsent(loadKey, load);
+		if (existingLoad != null) {
+			if (existingLoad.loader == Thread.currentThread()) {
+				// Reentrant invocation for the same key: avoid waiting for ourselves
+				return invokeOperation(invoker);
+			}
+			Object returnValue = awaitLoad(existingLoad);
+			// Puts already applied by the loading thread
+			cachePutRequests.get(0).hit();
+			cachePutRequests.clear();
+			return returnValue;
+		}
+
+		try {
+			// A load for the same entries may have completed since our initial lookup
+			Cache.ValueWrapper cacheHit = findLoadedItem(cachePutRequests);
+			if (cacheHit != null) {
+				Object returnValue = wrapCacheValue(method, cacheHit.get());
+				cachePutRequests.clear();
+				load.complete(returnValue);
+				return returnValue;
+			}
+
+			CacheOperationListener listener = getCacheOperationListener();
+			long start = (listener != null ? System.nanoTime() : 0);
+			Object returnValue = invokeOperation(invoker);
+			Object cacheValue = unwrapReturnValue(returnValue);
+			for (CachePutRequest cachePutRequest : cachePutRequests) {
+				if (listener != null) {
+					cachePutRequest.loaded(System.nanoTime() - start);
+				}
+				cachePutRequest.apply(cacheValue);
+			}
+			cachePutRequests.clear();
+			load.complete(returnValue);
+			return returnValue;
+		}
+		catch (RuntimeException | Error ex) {
+			load.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.syncLoads.remove(loadKey, load);
+		}
+	}
+
+	/**
+	 * Look up the entries of the given {@code @Cacheable} put requests again,
+	 * recording a cache hit if found but no further cache miss otherwise.
+	 */
+	@Nullable
+	private Cache.ValueWrapper findLoadedItem(List<CachePutRequest> cachePutRequests) {
+		for (CachePutRequest cachePutRequest : cachePutRequests) {
+			for (Cache cache : cachePutRequest.context.getCaches()) {
+				Object key = cachePutRequest.key;
+				Cache.ValueWrapper wrapper;
+				try {
+					wrapper = cache.get(key);
+				}
+				catch (RuntimeException ex) {
+					getErrorHandler().handleCacheGetError(ex, cache, key);
+					wrapper = null;
+				}
+				if (wrapper != null) {
+					notifyListener(listener -> listener.onCacheHit(cache, key));
+					return wrapper;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Nullable
+	private Object awaitLoad(SyncLoad load) {
+		try {
+			return load.get();
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new CacheOperationInvoker.ThrowableWrapper(cause);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for cache entry to be loaded", ex);
+		}
+	}
+
 	@Nullable
 	private Object wrapCacheValue(Method method, @Nullable Object cacheValue) {
 		if (method.getReturnType() == Optional.class &&
@@ -461,6 +805,100 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return cacheValue;
 	}
 
+	@Nullable
+	private Object wrapAsyncCacheValue(Method method, @Nullable Object cacheValue) {
+		if (isFutureReturnType(method)) {
+			return CompletableFuture.completedFuture(cacheValue);
+		}
+		if (this.reactiveCachingHandler != null) {
+			ReactiveAdapter adapter = this.reactiveCachingHandler.getAdapter(method);
+			if (adapter != null) {
+				return this.reactiveCachingHandler.wrapCacheValue(adapter, cacheValue);
+			}
+		}
+		return cacheValue;
+	}
+
+	private boolean isFutureReturnType(Method method) {
+		Class<?> returnType = method.getReturnType();
+		return (returnType == CompletableFuture.class || returnType == CompletionStage.class);
+	}
+
+	@Nullable
+	private Object executeFuture(CacheOperationInvoker invoker, CacheOperationContexts contexts,
+			List<CachePutRequest> cachePutRequests, boolean cacheMiss) {
+
+		LoadKey loadKey = (cacheMiss ? LoadKey.forCoalescing(contexts, cachePutRequests) : null);
+		CompletableFuture<Object> load = null;
+		if (loadKey != null) {
+			load = new CompletableFuture<>();
+			CompletableFuture<Object> existingLoad = this.futureLoads.putIfAbsent(loadKey, load);
+			if (existingLoad != null) {
+				// Join the in-flight load for the same key, without exposing the shared future
+				return existingLoad.thenApply(value -> value);
+			}
+		}
+
+		CompletionStage<?> future;
+		try {
+			future = (CompletionStage<?>) invokeOperation(invoker);
+		}
+		catch (RuntimeException ex) {
+			completeLoad(loadKey, load, null, (ex instanceof CacheOperationInvoker.ThrowableWrapper ?
+					((CacheOperationInvoker.ThrowableWrapper) ex).getOriginal() : ex));
+			throw ex;
+		}
+		if (future == null) {
+			completeLoad(loadKey, load, null, null);
+			return null;
+		}
+
+		CompletableFuture<Object> loadToComplete = load;
+		return future.toCompletableFuture().whenComplete((value, ex) -> {
+			if (ex != null) {
+				completeLoad(loadKey, loadToComplete, null, ex);
+				return;
+			}
+			try {
+				cacheResolvedValue(contexts, cachePutRequests, value);
+			}
+			catch (RuntimeException | Error cacheEx) {
+				completeLoad(loadKey, loadToComplete, null, cacheEx);
+				throw cacheEx;
+			}
+			completeLoad(loadKey, loadToComplete, value, null);
+		});
+	}
+
+	private void completeLoad(@Nullable LoadKey loadKey, @Nullable CompletableFuture<Object> load,
+			@Nullable Object value, @Nullable Throwable ex) {
+
+		if (loadKey != null && load != null) {
+			this.futureLoads.remove(loadKey, load);
+			if (ex != null) {
+				load.completeExceptionally(ex);
+			}
+			else {
+				load.complete(value);
+			}
+		}
+	}
+
+	/**
+	 * Apply the cache puts and late evictions for the resolved value of an async
+	 * return type, as done for a regular return value after method invocation.
+	 */
+	private void cacheResolvedValue(CacheOperationContexts contexts,
+			List<CachePutRequest> cacheableMissPutRequests, @Nullable Object value) {
+
+		List<CachePutRequest> cachePutRequests = new ArrayList<>(cacheableMissPutRequests);
+		collectPutRequests(contexts.get(CachePutOperation.class), value, cachePutRequests);
+		for (CachePutRequest cachePutRequest : cachePutRequests) {
+			cachePutRequest.apply(value);
+		}
+		processCacheEvicts(contexts.get(CacheEvictOperation.class), false, value);
+	}
+
 	@Nullable
 	private Object unwrapReturnValue(Object returnValue) {
 		return ObjectUtils.unwrapOptional(returnValue);
@@ -589,6 +1027,8 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 	private Object generateKey(CacheOperationContext context, @Nullable Object result) {
+		CacheOperationListener listener = getCacheOperationListener();
+		long start = (listener != null ? System.nanoTime() : 0);
 		Object key = context.generateKey(result);
 		if (key == null) {
 			throw new IllegalArgumentException("Null key returned for cache operation (maybe you are " +
@@ -597,6 +1037,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		if (logger.isTraceEnabled()) {
 			logger.trace("Computed cache key '" + key + "' for operation " + context.metadata.operation);
 		}
+		if (listener != null) {
+			long generationTime = System.nanoTime() - start;
+			notifyListener(operationListener -> operationListener.onKeyGenerated(context, key, generationTime));
+		}
 		return key;
 	}
 
@@ -607,6 +1051,8 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final boolean sync;
 
+		private final boolean bulk;
+
 		public CacheOperationContexts(Collection<? extends CacheOperation> operations, Method method,
 				Object[] args, Object target, Class<?> targetClass) {
 
@@ -615,6 +1061,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 				this.contexts.add(op.getClass(), getOperationContext(op, method, args, target, targetClass));
 			}
 			this.sync = determineSyncFlag(method);
+			this.bulk = determineBulkFlag(method);
 		}
 
 		public Collection<CacheOperationContext> get(Class<? extends CacheOperation> operationClass) {
@@ -626,6 +1073,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return this.sync;
 		}
 
+		public boolean isBulk() {
+			return this.bulk;
+		}
+
 		private boolean determineSyncFlag(Method method) {
 			List<CacheOperationContext> cacheOperationContexts = this.contexts.get(CacheableOperation.class);
 			if (cacheOperationContexts == null) {  // no @Cacheable operation at all
@@ -638,6 +1089,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 					break;
 				}
 			}
+			if (syncEnabled && singleFlightLoading) {
+				// No restrictions: handled by the single-flight loader in this aspect
+				return true;
+			}
 			if (syncEnabled) {
 				if (this.contexts.size() > 1) {
 					throw new IllegalStateException(
@@ -661,6 +1116,40 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			}
 			return false;
 		}
+
+		private boolean determineBulkFlag(Method method) {
+			List<CacheOperationContext> cacheOperationContexts = this.contexts.get(CacheableOperation.class);
+			if (cacheOperationContexts == null) {  // no @Cacheable operation at all
+				return false;
+			}
+			boolean bulkEnabled = false;
+			for (CacheOperationContext cacheOperationContext : cacheOperationContexts) {
+				if (((CacheableOperation) cacheOperationContext.getOperation()).isBulk()) {
+					bulkEnabled = true;
+					break;
+				}
+			}
+			if (bulkEnabled) {
+				if (this.contexts.size() > 1 || cacheOperationContexts.size() > 1) {
+					throw new IllegalStateException(
+							"@Cacheable(bulk=true) cannot be combined with other cache operations on '" + method + "'");
+				}
+				if (this.sync) {
+					throw new IllegalStateException(
+							"@Cacheable(bulk=true) cannot be combined with sync=true on '" + method + "'");
+				}
+				if (method.isVarArgs()) {
+					throw new IllegalStateException(
+							"@Cacheable(bulk=true) is not supported for varargs method '" + method + "'");
+				}
+				if (!method.getReturnType().isAssignableFrom(LinkedHashMap.class)) {
+					throw new IllegalStateException(
+							"@Cacheable(bulk=true) requires a Map return type on '" + method + "'");
+				}
+				return true;
+			}
+			return false;
+		}
 	}
 
 
@@ -838,6 +1327,19 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 				}
 			}
 		}
+
+		public void hit() {
+			Cache cache = this.context.getCaches().iterator().next();
+			notifyListener(listener -> listener.onCacheHit(cache, this.key));
+		}
+
+		public void loaded(long loadTime) {
+			notifyListener(listener -> {
+				for (Cache cache : this.context.getCaches()) {
+					listener.onValueLoaded(cache, this.key, loadTime);
+				}
+			});
+		}
 	}
 
 
@@ -885,6 +1387,142 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		}
 	}
 
+	/**
+	 * Key for coalescing concurrent loads of the same cache entries, identified
+	 * by the cache names and the key of each {@code @Cacheable} put request.
+	 */
+	private static final class LoadKey {
+
+		private final List<Object> entries;
+
+		private LoadKey(List<Object> entries) {
+			this.entries = entries;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other || (other instanceof LoadKey && this.entries.equals(((LoadKey) other).entries)));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.entries.hashCode();
+		}
+
+		/**
+		 * Determine the load key for the given {@code @Cacheable} put requests.
+		 * @return the load key, or {@code null} if there is nothing to load
+		 */
+		@Nullable
+		static LoadKey of(List<CachePutRequest> cachePutRequests) {
+			if (cachePutRequests.isEmpty()) {
+				return null;
+			}
+			List<Object> entries = new ArrayList<>(cachePutRequests.size() * 2);
+			for (CachePutRequest request : cachePutRequests) {
+				entries.add(request.context.getCacheNames());
+				entries.add(request.key);
+			}
+			return new LoadKey(entries);
+		}
+
+		/**
+		 * Determine the load key for the given operations, provided that they
+		 * consist of {@code @Cacheable} operations only: otherwise, each invocation
+		 * has to perform its own puts and evictions.
+		 */
+		@Nullable
+		static LoadKey forCoalescing(CacheOperationContexts contexts, List<CachePutRequest> cachePutRequests) {
+			if (!contexts.get(CachePutOperation.class).isEmpty() || !contexts.get(CacheEvictOperation.class).isEmpty()) {
+				return null;
+			}
+			return of(cachePutRequests);
+		}
+	}
+
+
+	/**
+	 * In-flight load of a {@code @Cacheable(sync=true)} miss by the current thread.
+	 */
+	private static final class SyncLoad extends CompletableFuture<Object> {
+
+		final Thread loader = Thread.currentThread();
+	}
+
+
+	/**
+	 * Inner class to avoid a hard dependency on Reactor at runtime.
+	 */
+	private class ReactiveCachingHandler {
+
+		private final ReactiveAdapterRegistry registry = ReactiveAdapterRegistry.getSharedInstance();
+
+		private final Map<LoadKey, Mono<Object>> loads = new ConcurrentHashMap<>(64);
+
+		@Nullable
+		public ReactiveAdapter getAdapter(Method method) {
+			ReactiveAdapter adapter = this.registry.getAdapter(method.getReturnType());
+			return (adapter != null && !adapter.isNoValue() ? adapter : null);
+		}
+
+		public Object wrapCacheValue(ReactiveAdapter adapter, @Nullable Object cacheValue) {
+			if (adapter.isMultiValue()) {
+				return adapter.fromPublisher(cacheValue instanceof Iterable ?
+						Flux.fromIterable((Iterable<?>) cacheValue) : Flux.justOrEmpty(cacheValue));
+			}
+			return adapter.fromPublisher(Mono.justOrEmpty(cacheValue));
+		}
+
+		@Nullable
+		public Object execute(CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts,
+				List<CachePutRequest> cachePutRequests, boolean cacheMiss) {
+
+			ReactiveAdapter adapter = getAdapter(method);
+			Assert.state(adapter != null, "No ReactiveAdapter for return type");
+			// Invoke the method within the interceptor chain, which only assembles the Publisher
+			Object returnValue = invokeOperation(invoker);
+			if (returnValue == null) {
+				return null;
+			}
+			Mono<Object> value = resolve(adapter, returnValue, contexts, cachePutRequests);
+			LoadKey loadKey = (cacheMiss ? LoadKey.forCoalescing(contexts, cachePutRequests) : null);
+			if (loadKey == null) {
+				return toReturnValue(adapter, value);
+			}
+			// Share the subscription with concurrent subscribers for the same key
+			return toReturnValue(adapter, Mono.defer(() -> share(loadKey, value)));
+		}
+
+		/**
+		 * Join the in-flight load for the given key, if any, or register the given value
+		 * as the load for that key. Called on subscription, so that a load is only ever
+		 * registered while subscribed to, and removed once terminated or cancelled.
+		 */
+		private Mono<Object> share(LoadKey loadKey, Mono<Object> value) {
+			Mono<Object> load = value.cache();
+			Mono<Object> existingLoad = this.loads.putIfAbsent(loadKey, load);
+			Mono<Object> sharedLoad = (existingLoad != null ? existingLoad : load);
+			return sharedLoad.doFinally(signal -> this.loads.remove(loadKey, sharedLoad));
+		}
+
+		private Mono<Object> resolve(ReactiveAdapter adapter, Object returnValue,
+				CacheOperationContexts contexts, List<CachePutRequest> cachePutRequests) {
+
+			Publisher<Object> publisher = adapter.toPublisher(returnValue);
+			Mono<Object> value = (adapter.isMultiValue() ?
+					Flux.from(publisher).collectList().map(list -> list) : Mono.from(publisher));
+			return value.doOnSuccess(resolved -> cacheResolvedValue(contexts, cachePutRequests, resolved));
+		}
+
+		private Object toReturnValue(ReactiveAdapter adapter, Mono<Object> value) {
+			if (adapter.isMultiValue()) {
+				return adapter.fromPublisher(value.flatMapIterable(list -> (Iterable<?>) list));
+			}
+			return adapter.fromPublisher(value);
+		}
+	}
+
+
 	/**
 	 * Internal holder class for recording that a cache method was invoked.
 	 */
@@ -892,6 +1530,8 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		boolean invoked;
 
+		long loadTime;
+
 	}
 
 }
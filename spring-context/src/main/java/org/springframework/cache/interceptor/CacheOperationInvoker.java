@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,6 +38,33 @@ public interface CacheOperationInvoker {
 	 */
 	Object invoke() throws ThrowableWrapper;
 
+	/**
+	 * Determine whether this invoker supports {@link #invoke(Object[])}.
+	 * <p>The default implementation returns {@code false}, in which case a
+	 * {@code @Cacheable(bulk=true)} operation invokes the cached method with
+	 * its original arguments for any missing key.
+	 * @since 5.2.13
+	 */
+	default boolean supportsCustomArguments() {
+		return false;
+	}
+
+	/**
+	 * Invoke the cache operation defined by this instance with the given
+	 * arguments instead of the original arguments of the cached method,
+	 * e.g. with the missing keys of a {@code @Cacheable(bulk=true)} operation.
+	 * Only called if {@link #supportsCustomArguments()} returns {@code true}.
+	 * <p>The default implementation throws an {@link UnsupportedOperationException}.
+	 * @param args the arguments to invoke the underlying method with
+	 * @return the result of the operation
+	 * @throws ThrowableWrapper if an error occurred while invoking the operation
+	 * @since 5.2.13
+	 */
+	default Object invoke(Object[] args) throws ThrowableWrapper {
+		throw new UnsupportedOperationException(
+				"Invocation with custom arguments not supported by " + getClass().getName());
+	}
+
 
 	/**
 	 * Wrap any exception thrown while invoking {@link #invoke()}.
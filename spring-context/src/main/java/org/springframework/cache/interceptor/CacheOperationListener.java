@@ -0,0 +1,90 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+/**
+ * Callback interface for observing the cache operations performed by a
+ * {@link CacheAspectSupport caching aspect}, e.g. for recording statistics
+ * per cache name independent of the capabilities of the cache provider.
+ *
+ * <p>All methods are invoked on the calling thread and should return quickly.
+ * Exceptions thrown by a listener are logged and otherwise ignored.
+ *
+ * @since 5.2.13
+ * @see AbstractCacheInvoker#setCacheOperationListener
+ * @see CacheOperationStatistics
+ */
+public interface CacheOperationListener {
+
+	/**
+	 * Called when a lookup found a cached value.
+	 * @param cache the cache
+	 * @param key the key used to get the item
+	 */
+	default void onCacheHit(Cache cache, Object key) {
+	}
+
+	/**
+	 * Called when a lookup did not find a cached value.
+	 * @param cache the cache
+	 * @param key the key used to get the item
+	 */
+	default void onCacheMiss(Cache cache, Object key) {
+	}
+
+	/**
+	 * Called when a value has been stored in the cache.
+	 * @param cache the cache
+	 * @param key the key used to update the item
+	 */
+	default void onCachePut(Cache cache, Object key) {
+	}
+
+	/**
+	 * Called when an entry has been evicted from the cache,
+	 * or when the entire cache has been cleared.
+	 * @param cache the cache
+	 * @param key the key used to evict the item,
+	 * or {@code null} if the cache has been cleared
+	 */
+	default void onCacheEvict(Cache cache, @Nullable Object key) {
+	}
+
+	/**
+	 * Called when the value for a cache miss has been computed
+	 * by invoking the underlying method.
+	 * @param cache the cache
+	 * @param key the key of the item
+	 * @param loadTime the time spent in the method invocation, in nanoseconds
+	 */
+	default void onValueLoaded(Cache cache, Object key, long loadTime) {
+	}
+
+	/**
+	 * Called when a cache key has been computed for an operation, either
+	 * through a SpEL key expression or through a {@link KeyGenerator}.
+	 * @param context the operation context
+	 * @param key the generated key
+	 * @param generationTime the time spent computing the key, in nanoseconds
+	 */
+	default void onKeyGenerated(CacheOperationInvocationContext<?> context, Object key, long generationTime) {
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheStatistics;
+import org.springframework.cache.support.CacheStatisticsCounter;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link CacheOperationListener} that records hit, miss, put, removal and
+ * load statistics per cache name, as observed by the caching aspect.
+ * Also records the number of computed cache keys and the total time
+ * spent computing them, e.g. through SpEL key expressions.
+ *
+ * <p>In contrast to {@link Cache#getStatistics()}, this works with any cache
+ * provider but does not cover direct access to the cache outside of the
+ * caching aspect. A single instance of this class declared as a bean is
+ * automatically detected by the caching aspect.
+ *
+ * @since 5.2.13
+ */
+public class CacheOperationStatistics implements CacheOperationListener {
+
+	private final Map<String, CacheStatisticsCounter> counters = new ConcurrentHashMap<>(16);
+
+	private final LongAdder keyGenerationCount = new LongAdder();
+
+	private final LongAdder totalKeyGenerationTime = new LongAdder();
+
+
+	@Override
+	public void onCacheHit(Cache cache, Object key) {
+		getCounter(cache).recordHit();
+	}
+
+	@Override
+	public void onCacheMiss(Cache cache, Object key) {
+		getCounter(cache).recordMiss();
+	}
+
+	@Override
+	public void onCachePut(Cache cache, Object key) {
+		getCounter(cache).recordPut();
+	}
+
+	@Override
+	public void onCacheEvict(Cache cache, @Nullable Object key) {
+		if (key != null) {
+			getCounter(cache).recordRemoval();
+		}
+	}
+
+	@Override
+	public void onValueLoaded(Cache cache, Object key, long loadTime) {
+		getCounter(cache).recordLoad(loadTime);
+	}
+
+	@Override
+	public void onKeyGenerated(CacheOperationInvocationContext<?> context, Object key, long generationTime) {
+		this.keyGenerationCount.increment();
+		this.totalKeyGenerationTime.add(generationTime);
+	}
+
+	private CacheStatisticsCounter getCounter(Cache cache) {
+		return this.counters.computeIfAbsent(cache.getName(), name -> new CacheStatisticsCounter());
+	}
+
+
+	/**
+	 * Return the names of the caches for which statistics have been recorded.
+	 */
+	public Set<String> getCacheNames() {
+		return Collections.unmodifiableSet(this.counters.keySet());
+	}
+
+	/**
+	 * Return a snapshot of the statistics recorded for the given cache.
+	 * @param cacheName the name of the cache
+	 * @return the statistics, or {@code null} if none have been recorded
+	 */
+	@Nullable
+	public CacheStatistics getStatistics(String cacheName) {
+		CacheStatisticsCounter counter = this.counters.get(cacheName);
+		return (counter != null ? counter.snapshot() : null);
+	}
+
+	/**
+	 * Return the number of cache keys computed so far.
+	 */
+	public long getKeyGenerationCount() {
+		return this.keyGenerationCount.sum();
+	}
+
+	/**
+	 * Return the total time spent computing cache keys, in nanoseconds.
+	 */
+	public long getTotalKeyGenerationTime() {
+		return this.totalKeyGenerationTime.sum();
+	}
+
+	/**
+	 * Reset all statistics recorded so far.
+	 */
+	public void reset() {
+		this.counters.clear();
+		this.keyGenerationCount.reset();
+		this.totalKeyGenerationTime.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "CacheOperationStatistics for caches " + this.counters.keySet();
+	}
+
+}
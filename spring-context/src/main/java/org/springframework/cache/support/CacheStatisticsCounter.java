@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.CacheStatistics;
+
+/**
+ * Thread-safe counter for cache statistics, for use by {@link org.springframework.cache.Cache}
+ * implementations that record their own statistics.
+ *
+ * @since 5.2.13
+ * @see #snapshot()
+ */
+public class CacheStatisticsCounter {
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder putCount = new LongAdder();
+
+	private final LongAdder removalCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	private final LongAdder loadCount = new LongAdder();
+
+	private final LongAdder totalLoadTime = new LongAdder();
+
+
+	/**
+	 * Record a lookup that found a cached value.
+	 */
+	public void recordHit() {
+		this.hitCount.increment();
+	}
+
+	/**
+	 * Record a lookup that did not find a cached value.
+	 */
+	public void recordMiss() {
+		this.missCount.increment();
+	}
+
+	/**
+	 * Record a value stored in the cache.
+	 */
+	public void recordPut() {
+		this.putCount.increment();
+	}
+
+	/**
+	 * Record the given number of values stored in the cache in bulk.
+	 * @param count the number of values stored
+	 * @see org.springframework.cache.Cache#putAll
+	 */
+	public void recordPuts(long count) {
+		this.putCount.add(count);
+	}
+
+	/**
+	 * Record an entry explicitly removed from the cache.
+	 */
+	public void recordRemoval() {
+		this.removalCount.increment();
+	}
+
+	/**
+	 * Record an entry automatically evicted from the cache.
+	 */
+	public void recordEviction() {
+		this.evictionCount.increment();
+	}
+
+	/**
+	 * Record a value loaded on a cache miss.
+	 * @param loadTime the time spent loading the value, in nanoseconds
+	 */
+	public void recordLoad(long loadTime) {
+		this.loadCount.increment();
+		this.totalLoadTime.add(loadTime);
+	}
+
+	/**
+	 * Return a snapshot of the current statistics.
+	 */
+	public CacheStatistics snapshot() {
+		return snapshot(this.evictionCount.sum());
+	}
+
+	/**
+	 * Return a snapshot of the current statistics, using the given eviction count
+	 * (e.g. as tracked by the underlying store) instead of the recorded one.
+	 * @param evictionCount the number of entries automatically evicted
+	 */
+	public CacheStatistics snapshot(long evictionCount) {
+		return new SimpleCacheStatistics(this.hitCount.sum(), this.missCount.sum(), this.putCount.sum(),
+				this.removalCount.sum(), evictionCount, this.loadCount.sum(), this.totalLoadTime.sum());
+	}
+
+}
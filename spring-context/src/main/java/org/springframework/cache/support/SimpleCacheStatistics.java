@@ -0,0 +1,110 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import org.springframework.cache.CacheStatistics;
+
+/**
+ * Simple immutable {@link CacheStatistics} snapshot.
+ *
+ * @since 5.2.13
+ * @see CacheStatisticsCounter#snapshot
+ */
+public class SimpleCacheStatistics implements CacheStatistics {
+
+	private final long hitCount;
+
+	private final long missCount;
+
+	private final long putCount;
+
+	private final long removalCount;
+
+	private final long evictionCount;
+
+	private final long loadCount;
+
+	private final long totalLoadTime;
+
+
+	/**
+	 * Create a new {@code SimpleCacheStatistics} instance.
+	 * @param hitCount the number of lookups that found a cached value
+	 * @param missCount the number of lookups that did not find a cached value
+	 * @param putCount the number of values stored in the cache
+	 * @param removalCount the number of entries explicitly removed
+	 * @param evictionCount the number of entries automatically evicted
+	 * @param loadCount the number of values loaded on a cache miss
+	 * @param totalLoadTime the total time spent loading values, in nanoseconds
+	 */
+	public SimpleCacheStatistics(long hitCount, long missCount, long putCount, long removalCount,
+			long evictionCount, long loadCount, long totalLoadTime) {
+
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.putCount = putCount;
+		this.removalCount = removalCount;
+		this.evictionCount = evictionCount;
+		this.loadCount = loadCount;
+		this.totalLoadTime = totalLoadTime;
+	}
+
+
+	@Override
+	public long getHitCount() {
+		return this.hitCount;
+	}
+
+	@Override
+	public long getMissCount() {
+		return this.missCount;
+	}
+
+	@Override
+	public long getPutCount() {
+		return this.putCount;
+	}
+
+	@Override
+	public long getRemovalCount() {
+		return this.removalCount;
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return this.evictionCount;
+	}
+
+	@Override
+	public long getLoadCount() {
+		return this.loadCount;
+	}
+
+	@Override
+	public long getTotalLoadTime() {
+		return this.totalLoadTime;
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStatistics: hits=" + this.hitCount + ", misses=" + this.missCount +
+				", puts=" + this.putCount + ", removals=" + this.removalCount +
+				", evictions=" + this.evictionCount + ", loads=" + this.loadCount +
+				", totalLoadTime=" + this.totalLoadTime + "ns";
+	}
+
+}
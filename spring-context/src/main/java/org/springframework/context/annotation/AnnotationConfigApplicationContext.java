@@ -23,6 +23,7 @@ import org.springframework.beans.factory.support.BeanNameGenerator;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.Resource;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
@@ -139,6 +140,20 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 				AnnotationConfigUtils.CONFIGURATION_BEAN_NAME_GENERATOR, beanNameGenerator);
 	}
 
+	/**
+	 * Specify the location of a pre-built {@link BeanDefinitionSnapshot} for the
+	 * registered component classes, allowing configuration class parsing to be
+	 * skipped at startup if the snapshot matches the current classpath.
+	 * <p>Any call to this method must occur prior to {@link #refresh()}.
+	 * @since 5.2.13
+	 * @see BeanDefinitionSnapshot#generate(Class...)
+	 * @see ConfigurationClassPostProcessor#setBeanDefinitionSnapshot
+	 */
+	public void setBeanDefinitionSnapshot(Resource snapshotLocation) {
+		Assert.notNull(snapshotLocation, "Snapshot location must not be null");
+		getBeanFactory().registerSingleton(AnnotationConfigUtils.BEAN_DEFINITION_SNAPSHOT, snapshotLocation);
+	}
+
 	/**
 	 * Set the {@link ScopeMetadataResolver} to use for registered component classes.
 	 * <p>The default is an {@link AnnotationScopeMetadataResolver}.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -76,6 +76,17 @@ public abstract class AnnotationConfigUtils {
 	public static final String CONFIGURATION_BEAN_NAME_GENERATOR =
 			"org.springframework.context.annotation.internalConfigurationBeanNameGenerator";
 
+	/**
+	 * The bean name of the internally managed {@link org.springframework.core.io.Resource}
+	 * pointing to a {@link BeanDefinitionSnapshot} for use when processing
+	 * {@link Configuration} classes. Set by {@link AnnotationConfigApplicationContext}
+	 * in order to make the snapshot available to the underlying
+	 * {@link ConfigurationClassPostProcessor}.
+	 * @since 5.2.13
+	 */
+	public static final String BEAN_DEFINITION_SNAPSHOT =
+			"org.springframework.context.annotation.internalBeanDefinitionSnapshot";
+
 	/**
 	 * The bean name of the internally managed Autowired annotation processor.
 	 */
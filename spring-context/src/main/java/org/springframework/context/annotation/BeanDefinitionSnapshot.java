@@ -0,0 +1,563 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Pre-built snapshot of the bean definitions derived from a set of
+ * {@link Configuration @Configuration} classes, allowing
+ * {@link ConfigurationClassPostProcessor} to skip configuration class parsing
+ * (including ASM metadata reading and condition evaluation) at startup.
+ *
+ * <p>A snapshot is meant to be generated at build time, e.g. from a Gradle
+ * {@code JavaExec} task, through {@link #generate(Class...)} and
+ * {@link #writeTo(OutputStream)}. At runtime, its location is specified through
+ * {@link AnnotationConfigApplicationContext#setBeanDefinitionSnapshot} or
+ * {@link ConfigurationClassPostProcessor#setBeanDefinitionSnapshot}. The snapshot
+ * only applies if its {@linkplain #computeFingerprint(Environment, ClassLoader)
+ * classpath fingerprint} and its root configuration classes match the current
+ * setup; otherwise, the configuration classes get parsed as usual.
+ *
+ * <p>Note that {@link Conditional @Conditional} outcomes are frozen into the
+ * snapshot. Beyond the classpath, the fingerprint only covers the active profiles,
+ * not any further environment properties that custom conditions might check.
+ *
+ * @since 5.2.13
+ * @see ConfigurationClassPostProcessor#setBeanDefinitionSnapshot
+ */
+public final class BeanDefinitionSnapshot {
+
+	private static final int MAGIC = 0x53424453;
+
+	private static final int FORMAT_VERSION = 1;
+
+
+	private final String fingerprint;
+
+	private final Set<String> configurationCandidates;
+
+	private final Set<String> existingBeanNames;
+
+	private final Map<String, String> aliases;
+
+	private final Map<String, String> importingClasses;
+
+	private final List<AnnotationAttributes> propertySources;
+
+	private final byte[] beanDefinitionData;
+
+
+	private BeanDefinitionSnapshot(String fingerprint, Set<String> configurationCandidates,
+			Set<String> existingBeanNames, Map<String, String> aliases, Map<String, String> importingClasses,
+			List<AnnotationAttributes> propertySources, byte[] beanDefinitionData) {
+
+		this.fingerprint = fingerprint;
+		this.configurationCandidates = configurationCandidates;
+		this.existingBeanNames = existingBeanNames;
+		this.aliases = aliases;
+		this.importingClasses = importingClasses;
+		this.propertySources = propertySources;
+		this.beanDefinitionData = beanDefinitionData;
+	}
+
+
+	/**
+	 * Return the fingerprint of the classpath and active profiles
+	 * that this snapshot has been generated for.
+	 * @see #computeFingerprint(Environment, ClassLoader)
+	 */
+	public String getFingerprint() {
+		return this.fingerprint;
+	}
+
+	/**
+	 * Write this snapshot to the given stream, in a compact binary format.
+	 * <p>The given stream does not get closed.
+	 * @param outputStream the stream to write to
+	 * @throws IOException in case of I/O errors
+	 */
+	public void writeTo(OutputStream outputStream) throws IOException {
+		DataOutputStream out = new DataOutputStream(outputStream);
+		out.writeInt(MAGIC);
+		out.writeInt(FORMAT_VERSION);
+		out.writeUTF(this.fingerprint);
+		writeStrings(out, this.configurationCandidates);
+		writeStrings(out, this.existingBeanNames);
+		writeStringMap(out, this.aliases);
+		writeStringMap(out, this.importingClasses);
+		out.writeInt(this.propertySources.size());
+		for (AnnotationAttributes propertySource : this.propertySources) {
+			BeanDefinitionSnapshotCodec.writeNullableString(out, propertySource.getString("name"));
+			BeanDefinitionSnapshotCodec.writeNullableStringArray(out, propertySource.getStringArray("value"));
+			out.writeBoolean(propertySource.getBoolean("ignoreResourceNotFound"));
+			BeanDefinitionSnapshotCodec.writeNullableString(out, propertySource.getString("encoding"));
+			out.writeUTF(propertySource.getClass("factory").getName());
+		}
+		out.writeInt(this.beanDefinitionData.length);
+		out.write(this.beanDefinitionData);
+		out.flush();
+	}
+
+
+	// Runtime application (called by ConfigurationClassPostProcessor)
+
+	/**
+	 * Determine whether this snapshot applies to the given registry, i.e. whether
+	 * it has been generated from the same root configuration classes and whether
+	 * all bean definitions present before parsing are available in the registry.
+	 */
+	boolean isApplicableTo(BeanDefinitionRegistry registry, List<BeanDefinitionHolder> configCandidates) {
+		Set<String> candidates = new HashSet<>(configCandidates.size());
+		for (BeanDefinitionHolder holder : configCandidates) {
+			candidates.add(candidateKey(holder.getBeanName(), holder.getBeanDefinition()));
+		}
+		if (!candidates.equals(this.configurationCandidates)) {
+			return false;
+		}
+		for (String beanName : this.existingBeanNames) {
+			if (!registry.containsBeanDefinition(beanName)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return the {@code @PropertySource} declarations processed during parsing, in order.
+	 */
+	List<AnnotationAttributes> getPropertySources() {
+		return this.propertySources;
+	}
+
+	/**
+	 * Decode the captured bean definitions, keyed by bean name in registration order.
+	 * @param classLoader the ClassLoader to resolve class references in metadata against
+	 * @throws IOException if the bean definitions cannot be decoded
+	 */
+	Map<String, BeanDefinition> readBeanDefinitions(@Nullable ClassLoader classLoader) throws IOException {
+		BeanDefinitionSnapshotCodec codec = new BeanDefinitionSnapshotCodec(classLoader);
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(this.beanDefinitionData));
+		int count = in.readInt();
+		Map<String, BeanDefinition> beanDefinitions = new LinkedHashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			String beanName = in.readUTF();
+			beanDefinitions.put(beanName, codec.readBeanDefinition(in));
+		}
+		return beanDefinitions;
+	}
+
+	/**
+	 * Register the given decoded bean definitions along with their aliases.
+	 * @see #readBeanDefinitions
+	 */
+	void registerBeanDefinitions(BeanDefinitionRegistry registry, Map<String, BeanDefinition> beanDefinitions) {
+		beanDefinitions.forEach(registry::registerBeanDefinition);
+		this.aliases.forEach((alias, beanName) -> {
+			if (!registry.isAlias(alias)) {
+				registry.registerAlias(beanName, alias);
+			}
+		});
+	}
+
+	/**
+	 * Create an {@link ImportRegistry} for {@link ImportAware} configuration classes,
+	 * introspecting importing classes on demand.
+	 * @param classLoader the ClassLoader to load importing classes with
+	 */
+	ImportRegistry createImportRegistry(@Nullable ClassLoader classLoader) {
+		return new SnapshotImportRegistry(this.importingClasses, classLoader);
+	}
+
+
+	/**
+	 * Generate a snapshot for the given component classes, as typically
+	 * passed to {@link AnnotationConfigApplicationContext#register}, using
+	 * a {@link StandardEnvironment}.
+	 * @param componentClasses the root component classes
+	 * @return the snapshot, ready to be {@linkplain #writeTo written}
+	 * @throws IllegalArgumentException if any derived bean definition
+	 * cannot be represented in a snapshot (e.g. due to an instance supplier)
+	 * @throws IllegalStateException if the classpath cannot be fingerprinted
+	 */
+	public static BeanDefinitionSnapshot generate(Class<?>... componentClasses) {
+		return generate(new StandardEnvironment(), componentClasses);
+	}
+
+	/**
+	 * Generate a snapshot for the given component classes, as typically
+	 * passed to {@link AnnotationConfigApplicationContext#register}.
+	 * <p>Runs configuration class parsing against a plain bean factory,
+	 * without instantiating any beans.
+	 * @param environment the environment to evaluate conditions against
+	 * (with the same active profiles as at runtime)
+	 * @param componentClasses the root component classes
+	 * @return the snapshot, ready to be {@linkplain #writeTo written}
+	 * @throws IllegalArgumentException if any derived bean definition
+	 * cannot be represented in a snapshot (e.g. due to an instance supplier)
+	 * @throws IllegalStateException if the classpath cannot be fingerprinted
+	 */
+	public static BeanDefinitionSnapshot generate(ConfigurableEnvironment environment, Class<?>... componentClasses) {
+		Assert.notEmpty(componentClasses, "At least one component class must be specified");
+		// Same point in time as the runtime check: before any @PropertySource got processed
+		ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+		String fingerprint = computeFingerprint(environment, classLoader);
+		if (fingerprint == null) {
+			throw new IllegalStateException(
+					"Cannot compute classpath fingerprint: entries of ClassLoader [" + classLoader + "] not enumerable");
+		}
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.setBeanClassLoader(classLoader);
+		new AnnotatedBeanDefinitionReader(beanFactory, environment).register(componentClasses);
+
+		Map<String, BeanDefinition> existingBeanDefinitions = new LinkedHashMap<>();
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			existingBeanDefinitions.put(beanName, beanFactory.getBeanDefinition(beanName));
+		}
+
+		ConfigurationClassPostProcessor postProcessor = new ConfigurationClassPostProcessor();
+		postProcessor.setEnvironment(environment);
+		postProcessor.setResourceLoader(new DefaultResourceLoader(classLoader));
+		if (classLoader != null) {
+			postProcessor.setBeanClassLoader(classLoader);
+		}
+		postProcessor.processConfigBeanDefinitions(beanFactory);
+
+		ImportRegistry importRegistry = (ImportRegistry) beanFactory.getSingleton(
+				ConfigurationClassPostProcessor.IMPORT_REGISTRY_BEAN_NAME);
+		try {
+			return capture(beanFactory, existingBeanDefinitions, importRegistry,
+					postProcessor.getProcessedPropertySources(), fingerprint);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to encode bean definition snapshot", ex);
+		}
+	}
+
+	private static BeanDefinitionSnapshot capture(BeanDefinitionRegistry registry,
+			Map<String, BeanDefinition> existingBeanDefinitions, @Nullable ImportRegistry importRegistry,
+			List<AnnotationAttributes> propertySources, String fingerprint) throws IOException {
+
+		Set<String> configurationCandidates = new LinkedHashSet<>();
+		Set<String> existingBeanNames = new LinkedHashSet<>();
+		Map<String, BeanDefinition> capturedBeanDefinitions = new LinkedHashMap<>();
+		Map<String, String> aliases = new LinkedHashMap<>();
+		Map<String, String> importingClasses = new LinkedHashMap<>();
+
+		for (String beanName : registry.getBeanDefinitionNames()) {
+			BeanDefinition bd = registry.getBeanDefinition(beanName);
+			if (existingBeanDefinitions.get(beanName) == bd) {
+				existingBeanNames.add(beanName);
+				if (bd.getAttribute(ConfigurationClassUtils.CONFIGURATION_CLASS_ATTRIBUTE) != null) {
+					configurationCandidates.add(candidateKey(beanName, bd));
+				}
+			}
+			else {
+				capturedBeanDefinitions.put(beanName, bd);
+			}
+			for (String alias : registry.getAliases(beanName)) {
+				aliases.put(alias, beanName);
+			}
+			String className = bd.getBeanClassName();
+			if (className != null && importRegistry != null) {
+				AnnotationMetadata importingClass = importRegistry.getImportingClassFor(className);
+				if (importingClass != null) {
+					importingClasses.put(className, importingClass.getClassName());
+				}
+			}
+		}
+
+		BeanDefinitionSnapshotCodec codec = new BeanDefinitionSnapshotCodec(null);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(4096);
+		DataOutputStream out = new DataOutputStream(bos);
+		out.writeInt(capturedBeanDefinitions.size());
+		for (Map.Entry<String, BeanDefinition> entry : capturedBeanDefinitions.entrySet()) {
+			out.writeUTF(entry.getKey());
+			codec.writeBeanDefinition(out, entry.getKey(), entry.getValue());
+		}
+		out.flush();
+
+		return new BeanDefinitionSnapshot(fingerprint, configurationCandidates, existingBeanNames,
+				aliases, importingClasses, new ArrayList<>(propertySources), bos.toByteArray());
+	}
+
+	/**
+	 * Read a snapshot from the given stream.
+	 * <p>The given stream does not get closed.
+	 * @param inputStream the stream to read from
+	 * @param classLoader the ClassLoader to resolve class references against
+	 * @return the snapshot (not validated against the current classpath yet)
+	 * @throws IOException in case of I/O errors or an unsupported format
+	 * @see #getFingerprint()
+	 */
+	public static BeanDefinitionSnapshot readFrom(InputStream inputStream, @Nullable ClassLoader classLoader)
+			throws IOException {
+
+		DataInputStream in = new DataInputStream(inputStream);
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a bean definition snapshot");
+		}
+		int version = in.readInt();
+		if (version != FORMAT_VERSION) {
+			throw new IOException("Unsupported bean definition snapshot format version " + version);
+		}
+		String fingerprint = in.readUTF();
+		Set<String> configurationCandidates = readStrings(in);
+		Set<String> existingBeanNames = readStrings(in);
+		Map<String, String> aliases = readStringMap(in);
+		Map<String, String> importingClasses = readStringMap(in);
+		int propertySourceCount = in.readInt();
+		List<AnnotationAttributes> propertySources = new ArrayList<>(propertySourceCount);
+		for (int i = 0; i < propertySourceCount; i++) {
+			AnnotationAttributes propertySource = new AnnotationAttributes(PropertySource.class);
+			propertySource.put("name", emptyIfNull(BeanDefinitionSnapshotCodec.readNullableString(in)));
+			String[] locations = BeanDefinitionSnapshotCodec.readNullableStringArray(in);
+			propertySource.put("value", locations != null ? locations : new String[0]);
+			propertySource.put("ignoreResourceNotFound", in.readBoolean());
+			propertySource.put("encoding", emptyIfNull(BeanDefinitionSnapshotCodec.readNullableString(in)));
+			String factoryClassName = in.readUTF();
+			try {
+				propertySource.put("factory", ClassUtils.forName(factoryClassName, classLoader));
+			}
+			catch (ClassNotFoundException | LinkageError ex) {
+				throw new IOException("PropertySourceFactory class [" + factoryClassName + "] not found", ex);
+			}
+			propertySources.add(propertySource);
+		}
+		byte[] beanDefinitionData = new byte[in.readInt()];
+		in.readFully(beanDefinitionData);
+		return new BeanDefinitionSnapshot(fingerprint, configurationCandidates, existingBeanNames,
+				aliases, importingClasses, propertySources, beanDefinitionData);
+	}
+
+	/**
+	 * Compute a fingerprint for the classpath of the given ClassLoader and the
+	 * active profiles of the given environment.
+	 * <p>The classpath is derived from the URLs of the ClassLoader and its parents,
+	 * up to the JDK's own ClassLoaders, with the JVM's system ClassLoader covered by
+	 * the {@code java.class.path} entries. Jar files contribute their name, size and
+	 * timestamp; class directories contribute the relative path, size and timestamp
+	 * of each contained file. Note that the latter requires a walk through the
+	 * entire directory tree, so a fingerprint for an exploded application is
+	 * proportionally more expensive to compute than one for packaged jar files.
+	 * @param environment the environment to take the active profiles from
+	 * @param classLoader the ClassLoader to derive the classpath from
+	 * (or {@code null} for the default ClassLoader)
+	 * @return the fingerprint, as a hex String, or {@code null} if the classpath
+	 * entries cannot be enumerated (e.g. for a custom ClassLoader not exposing
+	 * its URLs or for non-file URLs), in which case no snapshot may be used
+	 */
+	@Nullable
+	public static String computeFingerprint(Environment environment, @Nullable ClassLoader classLoader) {
+		StringBuilder content = new StringBuilder("v").append(FORMAT_VERSION);
+		List<File> classPathEntries = getClassPathEntries(classLoader);
+		if (classPathEntries == null) {
+			return null;
+		}
+		for (File entry : classPathEntries) {
+			if (!appendClassPathEntry(content, entry)) {
+				return null;
+			}
+		}
+		String[] activeProfiles = environment.getActiveProfiles().clone();
+		Arrays.sort(activeProfiles);
+		content.append("|profiles=").append(StringUtils.arrayToCommaDelimitedString(activeProfiles));
+		return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Nullable
+	private static List<File> getClassPathEntries(@Nullable ClassLoader classLoader) {
+		ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+		Set<ClassLoader> jdkClassLoaders = new HashSet<>();
+		for (ClassLoader cl = systemClassLoader.getParent(); cl != null; cl = cl.getParent()) {
+			jdkClassLoaders.add(cl);
+		}
+		List<File> entries = new ArrayList<>();
+		ClassLoader cl = (classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader());
+		for (; cl != null && !jdkClassLoaders.contains(cl); cl = cl.getParent()) {
+			if (cl instanceof URLClassLoader) {
+				for (URL url : ((URLClassLoader) cl).getURLs()) {
+					if (!ResourceUtils.URL_PROTOCOL_FILE.equals(url.getProtocol())) {
+						return null;
+					}
+					try {
+						entries.add(ResourceUtils.getFile(url));
+					}
+					catch (FileNotFoundException ex) {
+						return null;
+					}
+				}
+			}
+			else if (cl == systemClassLoader) {
+				String classPath = System.getProperty("java.class.path", "");
+				for (String entry : StringUtils.tokenizeToStringArray(classPath, File.pathSeparator)) {
+					entries.add(new File(entry));
+				}
+			}
+			else {
+				// Custom ClassLoader without enumerable classpath entries
+				return null;
+			}
+		}
+		return entries;
+	}
+
+	private static boolean appendClassPathEntry(StringBuilder content, File entry) {
+		content.append('|').append(entry.getName());
+		if (entry.isDirectory()) {
+			Path root = entry.toPath();
+			try (Stream<Path> files = Files.walk(root)) {
+				files.filter(Files::isRegularFile).sorted().forEach(file -> {
+					File fileToUse = file.toFile();
+					content.append(';').append(root.relativize(file)).append(':')
+							.append(fileToUse.length()).append(':').append(fileToUse.lastModified());
+				});
+			}
+			catch (IOException | UncheckedIOException ex) {
+				return false;
+			}
+		}
+		else if (entry.exists()) {
+			content.append(':').append(entry.length()).append(':').append(entry.lastModified());
+		}
+		else {
+			content.append(":-");
+		}
+		return true;
+	}
+
+	private static String candidateKey(String beanName, BeanDefinition bd) {
+		return beanName + "=" + bd.getBeanClassName();
+	}
+
+	private static String emptyIfNull(@Nullable String value) {
+		return (value != null ? value : "");
+	}
+
+	private static void writeStrings(DataOutputStream out, Set<String> values) throws IOException {
+		out.writeInt(values.size());
+		for (String value : values) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static Set<String> readStrings(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		Set<String> values = new LinkedHashSet<>(count);
+		for (int i = 0; i < count; i++) {
+			values.add(in.readUTF());
+		}
+		return Collections.unmodifiableSet(values);
+	}
+
+	private static void writeStringMap(DataOutputStream out, Map<String, String> map) throws IOException {
+		out.writeInt(map.size());
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			out.writeUTF(entry.getKey());
+			out.writeUTF(entry.getValue());
+		}
+	}
+
+	private static Map<String, String> readStringMap(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		Map<String, String> map = new LinkedHashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			map.put(in.readUTF(), in.readUTF());
+		}
+		return Collections.unmodifiableMap(map);
+	}
+
+
+	/**
+	 * {@link ImportRegistry} backed by the importing class names in a snapshot.
+	 */
+	private static class SnapshotImportRegistry implements ImportRegistry {
+
+		private final Map<String, String> importingClasses;
+
+		@Nullable
+		private final ClassLoader classLoader;
+
+		SnapshotImportRegistry(Map<String, String> importingClasses, @Nullable ClassLoader classLoader) {
+			this.importingClasses = new ConcurrentHashMap<>(importingClasses);
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		@Nullable
+		public AnnotationMetadata getImportingClassFor(String importedClass) {
+			String importingClass = this.importingClasses.get(importedClass);
+			if (importingClass == null) {
+				return null;
+			}
+			try {
+				return AnnotationMetadata.introspect(ClassUtils.forName(importingClass, this.classLoader));
+			}
+			catch (ClassNotFoundException | LinkageError ex) {
+				throw new IllegalStateException("Failed to introspect importing class [" + importingClass + "]", ex);
+			}
+		}
+
+		@Override
+		public void removeImportingClass(String importingClass) {
+			this.importingClasses.values().removeIf(importingClass::equals);
+		}
+	}
+
+}
@@ -0,0 +1,621 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.AutowiredPropertyMarker;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.ManagedArray;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.ManagedMap;
+import org.springframework.beans.factory.support.ManagedProperties;
+import org.springframework.beans.factory.support.ManagedSet;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.AttributeAccessor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Binary encoding of bean definitions for a {@link BeanDefinitionSnapshot}.
+ *
+ * <p>Covers the state of {@link AbstractBeanDefinition} along with the common
+ * bean metadata values (bean references, typed String values, inner beans,
+ * managed collections, plain scalars). Class references are written by name,
+ * and source objects are not retained. Anything else is rejected upfront.
+ *
+ * @since 5.2.13
+ */
+final class BeanDefinitionSnapshotCodec {
+
+	private static final byte NULL = 0;
+
+	private static final byte STRING = 1;
+
+	private static final byte BOOLEAN = 2;
+
+	private static final byte INTEGER = 3;
+
+	private static final byte LONG = 4;
+
+	private static final byte DOUBLE = 5;
+
+	private static final byte CLASS = 6;
+
+	private static final byte ENUM = 7;
+
+	private static final byte STRING_ARRAY = 8;
+
+	private static final byte BEAN_REFERENCE = 9;
+
+	private static final byte BEAN_NAME_REFERENCE = 10;
+
+	private static final byte TYPED_STRING = 11;
+
+	private static final byte BEAN_DEFINITION_HOLDER = 12;
+
+	private static final byte BEAN_DEFINITION = 13;
+
+	private static final byte MANAGED_LIST = 14;
+
+	private static final byte MANAGED_ARRAY = 15;
+
+	private static final byte MANAGED_SET = 16;
+
+	private static final byte MANAGED_MAP = 17;
+
+	private static final byte MANAGED_PROPERTIES = 18;
+
+	private static final byte LIST = 19;
+
+	private static final byte SET = 20;
+
+	private static final byte MAP = 21;
+
+	private static final byte AUTOWIRED_MARKER = 22;
+
+
+	private final ClassLoader classLoader;
+
+
+	BeanDefinitionSnapshotCodec(@Nullable ClassLoader classLoader) {
+		this.classLoader = (classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader());
+	}
+
+
+	// Encoding
+
+	/**
+	 * Write the given bean definition.
+	 * @throws IllegalArgumentException if the bean definition contains state
+	 * that cannot be represented in a snapshot
+	 */
+	void writeBeanDefinition(DataOutputStream out, String beanName, BeanDefinition beanDefinition) throws IOException {
+		if (!(beanDefinition instanceof AbstractBeanDefinition)) {
+			throw new IllegalArgumentException("Cannot capture bean definition '" + beanName +
+					"' of type [" + beanDefinition.getClass().getName() + "]");
+		}
+		AbstractBeanDefinition bd = (AbstractBeanDefinition) beanDefinition;
+		if (bd.getInstanceSupplier() != null) {
+			throw new IllegalArgumentException("Cannot capture bean definition '" + beanName +
+					"' with an instance supplier");
+		}
+		if (bd.hasMethodOverrides()) {
+			throw new IllegalArgumentException("Cannot capture bean definition '" + beanName +
+					"' with method overrides");
+		}
+		RootBeanDefinition rbd = (bd instanceof RootBeanDefinition ? (RootBeanDefinition) bd : null);
+
+		out.writeBoolean(rbd != null);
+		writeNullableString(out, bd.getBeanClassName());
+		writeNullableString(out, bd.getParentName());
+		writeNullableString(out, bd.getScope());
+		out.writeBoolean(bd.isAbstract());
+		Boolean lazyInit = bd.getLazyInit();
+		out.writeByte(lazyInit == null ? -1 : (lazyInit ? 1 : 0));
+		out.writeInt(bd.getAutowireMode());
+		out.writeInt(bd.getDependencyCheck());
+		writeNullableStringArray(out, bd.getDependsOn());
+		out.writeBoolean(bd.isAutowireCandidate());
+		out.writeBoolean(bd.isPrimary());
+		out.writeBoolean(bd.isNonPublicAccessAllowed());
+		out.writeBoolean(bd.isLenientConstructorResolution());
+		writeNullableString(out, bd.getFactoryBeanName());
+		writeNullableString(out, bd.getFactoryMethodName());
+		out.writeBoolean(rbd != null && rbd.isFactoryMethodUnique());
+		writeNullableString(out, bd.getInitMethodName());
+		writeNullableString(out, bd.getDestroyMethodName());
+		out.writeBoolean(bd.isEnforceInitMethod());
+		out.writeBoolean(bd.isEnforceDestroyMethod());
+		out.writeBoolean(bd.isSynthetic());
+		out.writeInt(bd.getRole());
+		writeNullableString(out, bd.getDescription());
+		writeNullableString(out, bd.getResourceDescription());
+
+		Set<AutowireCandidateQualifier> qualifiers = bd.getQualifiers();
+		out.writeInt(qualifiers.size());
+		for (AutowireCandidateQualifier qualifier : qualifiers) {
+			out.writeUTF(qualifier.getTypeName());
+			writeAttributes(out, beanName, qualifier);
+		}
+
+		ConstructorArgumentValues cav = (bd.hasConstructorArgumentValues() ?
+				bd.getConstructorArgumentValues() : new ConstructorArgumentValues());
+		Map<Integer, ConstructorArgumentValues.ValueHolder> indexedArgs = cav.getIndexedArgumentValues();
+		out.writeInt(indexedArgs.size());
+		for (Map.Entry<Integer, ConstructorArgumentValues.ValueHolder> entry : indexedArgs.entrySet()) {
+			out.writeInt(entry.getKey());
+			writeValueHolder(out, beanName, entry.getValue());
+		}
+		List<ConstructorArgumentValues.ValueHolder> genericArgs = cav.getGenericArgumentValues();
+		out.writeInt(genericArgs.size());
+		for (ConstructorArgumentValues.ValueHolder valueHolder : genericArgs) {
+			writeValueHolder(out, beanName, valueHolder);
+		}
+
+		PropertyValue[] pvs = (bd.hasPropertyValues() ? bd.getPropertyValues().getPropertyValues() : new PropertyValue[0]);
+		out.writeInt(pvs.length);
+		for (PropertyValue pv : pvs) {
+			out.writeUTF(pv.getName());
+			writeValue(out, beanName, pv.getValue());
+			out.writeBoolean(pv.isOptional());
+		}
+
+		writeAttributes(out, beanName, bd);
+
+		BeanDefinitionHolder decoratedDefinition = (rbd != null ? rbd.getDecoratedDefinition() : null);
+		out.writeBoolean(decoratedDefinition != null);
+		if (decoratedDefinition != null) {
+			writeBeanDefinitionHolder(out, decoratedDefinition);
+		}
+	}
+
+	private void writeValueHolder(DataOutputStream out, String beanName, ConstructorArgumentValues.ValueHolder valueHolder)
+			throws IOException {
+
+		writeValue(out, beanName, valueHolder.getValue());
+		writeNullableString(out, valueHolder.getType());
+		writeNullableString(out, valueHolder.getName());
+	}
+
+	private void writeAttributes(DataOutputStream out, String beanName, AttributeAccessor accessor) throws IOException {
+		String[] attributeNames = accessor.attributeNames();
+		out.writeInt(attributeNames.length);
+		for (String attributeName : attributeNames) {
+			out.writeUTF(attributeName);
+			writeValue(out, beanName, accessor.getAttribute(attributeName));
+		}
+	}
+
+	private void writeBeanDefinitionHolder(DataOutputStream out, BeanDefinitionHolder holder) throws IOException {
+		out.writeUTF(holder.getBeanName());
+		writeNullableStringArray(out, holder.getAliases());
+		writeBeanDefinition(out, holder.getBeanName(), holder.getBeanDefinition());
+	}
+
+	private void writeValue(DataOutputStream out, String beanName, @Nullable Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(NULL);
+		}
+		else if (value instanceof String) {
+			out.writeByte(STRING);
+			out.writeUTF((String) value);
+		}
+		else if (value instanceof Boolean) {
+			out.writeByte(BOOLEAN);
+			out.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Integer) {
+			out.writeByte(INTEGER);
+			out.writeInt((Integer) value);
+		}
+		else if (value instanceof Long) {
+			out.writeByte(LONG);
+			out.writeLong((Long) value);
+		}
+		else if (value instanceof Double) {
+			out.writeByte(DOUBLE);
+			out.writeDouble((Double) value);
+		}
+		else if (value instanceof Class) {
+			out.writeByte(CLASS);
+			out.writeUTF(((Class<?>) value).getName());
+		}
+		else if (value instanceof Enum) {
+			out.writeByte(ENUM);
+			out.writeUTF(((Enum<?>) value).getDeclaringClass().getName());
+			out.writeUTF(((Enum<?>) value).name());
+		}
+		else if (value instanceof String[]) {
+			out.writeByte(STRING_ARRAY);
+			writeNullableStringArray(out, (String[]) value);
+		}
+		else if (value instanceof RuntimeBeanReference) {
+			RuntimeBeanReference ref = (RuntimeBeanReference) value;
+			out.writeByte(BEAN_REFERENCE);
+			out.writeUTF(ref.getBeanName());
+			writeNullableString(out, ref.getBeanType() != null ? ref.getBeanType().getName() : null);
+			out.writeBoolean(ref.isToParent());
+		}
+		else if (value instanceof RuntimeBeanNameReference) {
+			out.writeByte(BEAN_NAME_REFERENCE);
+			out.writeUTF(((RuntimeBeanNameReference) value).getBeanName());
+		}
+		else if (value instanceof TypedStringValue) {
+			TypedStringValue typedValue = (TypedStringValue) value;
+			out.writeByte(TYPED_STRING);
+			writeNullableString(out, typedValue.getValue());
+			writeNullableString(out, typedValue.getTargetTypeName());
+			writeNullableString(out, typedValue.getSpecifiedTypeName());
+			out.writeBoolean(typedValue.isDynamic());
+		}
+		else if (value instanceof BeanDefinitionHolder) {
+			out.writeByte(BEAN_DEFINITION_HOLDER);
+			writeBeanDefinitionHolder(out, (BeanDefinitionHolder) value);
+		}
+		else if (value instanceof BeanDefinition) {
+			out.writeByte(BEAN_DEFINITION);
+			writeBeanDefinition(out, beanName + "#inner", (BeanDefinition) value);
+		}
+		else if (value instanceof ManagedArray) {
+			ManagedArray array = (ManagedArray) value;
+			out.writeByte(MANAGED_ARRAY);
+			writeNullableString(out, array.getElementTypeName());
+			out.writeBoolean(array.isMergeEnabled());
+			writeElements(out, beanName, array);
+		}
+		else if (value instanceof ManagedList) {
+			ManagedList<?> list = (ManagedList<?>) value;
+			out.writeByte(MANAGED_LIST);
+			writeNullableString(out, list.getElementTypeName());
+			out.writeBoolean(list.isMergeEnabled());
+			writeElements(out, beanName, list);
+		}
+		else if (value instanceof ManagedSet) {
+			ManagedSet<?> set = (ManagedSet<?>) value;
+			out.writeByte(MANAGED_SET);
+			writeNullableString(out, set.getElementTypeName());
+			out.writeBoolean(set.isMergeEnabled());
+			writeElements(out, beanName, set);
+		}
+		else if (value instanceof ManagedMap) {
+			ManagedMap<?, ?> map = (ManagedMap<?, ?>) value;
+			out.writeByte(MANAGED_MAP);
+			writeNullableString(out, map.getKeyTypeName());
+			writeNullableString(out, map.getValueTypeName());
+			out.writeBoolean(map.isMergeEnabled());
+			writeEntries(out, beanName, map);
+		}
+		else if (value instanceof ManagedProperties) {
+			ManagedProperties props = (ManagedProperties) value;
+			out.writeByte(MANAGED_PROPERTIES);
+			out.writeBoolean(props.isMergeEnabled());
+			writeEntries(out, beanName, props);
+		}
+		else if (value instanceof List) {
+			out.writeByte(LIST);
+			writeElements(out, beanName, (List<?>) value);
+		}
+		else if (value instanceof Set) {
+			out.writeByte(SET);
+			writeElements(out, beanName, (Set<?>) value);
+		}
+		else if (value instanceof Map) {
+			out.writeByte(MAP);
+			writeEntries(out, beanName, (Map<?, ?>) value);
+		}
+		else if (value == AutowiredPropertyMarker.INSTANCE) {
+			out.writeByte(AUTOWIRED_MARKER);
+		}
+		else {
+			throw new IllegalArgumentException("Cannot capture value of type [" + value.getClass().getName() +
+					"] in bean definition '" + beanName + "'");
+		}
+	}
+
+	private void writeElements(DataOutputStream out, String beanName, Iterable<?> elements) throws IOException {
+		List<Object> list = new ArrayList<>();
+		elements.forEach(list::add);
+		out.writeInt(list.size());
+		for (Object element : list) {
+			writeValue(out, beanName, element);
+		}
+	}
+
+	private void writeEntries(DataOutputStream out, String beanName, Map<?, ?> map) throws IOException {
+		out.writeInt(map.size());
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			writeValue(out, beanName, entry.getKey());
+			writeValue(out, beanName, entry.getValue());
+		}
+	}
+
+	static void writeNullableString(DataOutputStream out, @Nullable String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	static void writeNullableStringArray(DataOutputStream out, @Nullable String[] values) throws IOException {
+		out.writeInt(values != null ? values.length : -1);
+		if (values != null) {
+			for (String value : values) {
+				out.writeUTF(value);
+			}
+		}
+	}
+
+
+	// Decoding
+
+	/**
+	 * Read a bean definition as written by {@link #writeBeanDefinition}.
+	 */
+	AbstractBeanDefinition readBeanDefinition(DataInputStream in) throws IOException {
+		boolean root = in.readBoolean();
+		String beanClassName = readNullableString(in);
+		String parentName = readNullableString(in);
+		AbstractBeanDefinition bd;
+		if (root && parentName == null) {
+			bd = new RootBeanDefinition();
+		}
+		else {
+			GenericBeanDefinition gbd = new GenericBeanDefinition();
+			gbd.setParentName(parentName);
+			bd = gbd;
+		}
+		bd.setBeanClassName(beanClassName);
+		bd.setScope(readNullableString(in));
+		bd.setAbstract(in.readBoolean());
+		byte lazyInit = in.readByte();
+		if (lazyInit >= 0) {
+			bd.setLazyInit(lazyInit == 1);
+		}
+		bd.setAutowireMode(in.readInt());
+		bd.setDependencyCheck(in.readInt());
+		bd.setDependsOn(readNullableStringArray(in));
+		bd.setAutowireCandidate(in.readBoolean());
+		bd.setPrimary(in.readBoolean());
+		bd.setNonPublicAccessAllowed(in.readBoolean());
+		bd.setLenientConstructorResolution(in.readBoolean());
+		bd.setFactoryBeanName(readNullableString(in));
+		String factoryMethodName = readNullableString(in);
+		boolean factoryMethodUnique = in.readBoolean();
+		if (factoryMethodUnique && factoryMethodName != null && bd instanceof RootBeanDefinition) {
+			((RootBeanDefinition) bd).setUniqueFactoryMethodName(factoryMethodName);
+		}
+		else {
+			bd.setFactoryMethodName(factoryMethodName);
+		}
+		bd.setInitMethodName(readNullableString(in));
+		bd.setDestroyMethodName(readNullableString(in));
+		bd.setEnforceInitMethod(in.readBoolean());
+		bd.setEnforceDestroyMethod(in.readBoolean());
+		bd.setSynthetic(in.readBoolean());
+		bd.setRole(in.readInt());
+		bd.setDescription(readNullableString(in));
+		bd.setResourceDescription(readNullableString(in));
+
+		int qualifierCount = in.readInt();
+		for (int i = 0; i < qualifierCount; i++) {
+			AutowireCandidateQualifier qualifier = new AutowireCandidateQualifier(in.readUTF());
+			readAttributes(in, qualifier);
+			bd.addQualifier(qualifier);
+		}
+
+		ConstructorArgumentValues cav = bd.getConstructorArgumentValues();
+		int indexedCount = in.readInt();
+		for (int i = 0; i < indexedCount; i++) {
+			int index = in.readInt();
+			cav.addIndexedArgumentValue(index, readValueHolder(in));
+		}
+		int genericCount = in.readInt();
+		for (int i = 0; i < genericCount; i++) {
+			cav.addGenericArgumentValue(readValueHolder(in));
+		}
+
+		int propertyCount = in.readInt();
+		for (int i = 0; i < propertyCount; i++) {
+			PropertyValue pv = new PropertyValue(in.readUTF(), readValue(in));
+			pv.setOptional(in.readBoolean());
+			bd.getPropertyValues().addPropertyValue(pv);
+		}
+
+		readAttributes(in, bd);
+
+		if (in.readBoolean()) {
+			BeanDefinitionHolder decoratedDefinition = readBeanDefinitionHolder(in);
+			if (bd instanceof RootBeanDefinition) {
+				((RootBeanDefinition) bd).setDecoratedDefinition(decoratedDefinition);
+			}
+		}
+		return bd;
+	}
+
+	private ConstructorArgumentValues.ValueHolder readValueHolder(DataInputStream in) throws IOException {
+		Object value = readValue(in);
+		String type = readNullableString(in);
+		String name = readNullableString(in);
+		return new ConstructorArgumentValues.ValueHolder(value, type, name);
+	}
+
+	private void readAttributes(DataInputStream in, AttributeAccessor accessor) throws IOException {
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			accessor.setAttribute(in.readUTF(), readValue(in));
+		}
+	}
+
+	private BeanDefinitionHolder readBeanDefinitionHolder(DataInputStream in) throws IOException {
+		String beanName = in.readUTF();
+		String[] aliases = readNullableStringArray(in);
+		return new BeanDefinitionHolder(readBeanDefinition(in), beanName, aliases);
+	}
+
+	@Nullable
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private Object readValue(DataInputStream in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+			case NULL:
+				return null;
+			case STRING:
+				return in.readUTF();
+			case BOOLEAN:
+				return in.readBoolean();
+			case INTEGER:
+				return in.readInt();
+			case LONG:
+				return in.readLong();
+			case DOUBLE:
+				return in.readDouble();
+			case CLASS:
+				return loadClass(in.readUTF());
+			case ENUM:
+				Class<?> enumType = loadClass(in.readUTF());
+				return Enum.valueOf((Class<? extends Enum>) enumType, in.readUTF());
+			case STRING_ARRAY:
+				return readNullableStringArray(in);
+			case BEAN_REFERENCE:
+				String beanName = in.readUTF();
+				String beanTypeName = readNullableString(in);
+				boolean toParent = in.readBoolean();
+				return (beanTypeName != null ? new RuntimeBeanReference(loadClass(beanTypeName), toParent) :
+						new RuntimeBeanReference(beanName, toParent));
+			case BEAN_NAME_REFERENCE:
+				return new RuntimeBeanNameReference(in.readUTF());
+			case TYPED_STRING:
+				TypedStringValue typedValue = new TypedStringValue(readNullableString(in));
+				typedValue.setTargetTypeName(readNullableString(in));
+				typedValue.setSpecifiedTypeName(readNullableString(in));
+				if (in.readBoolean()) {
+					typedValue.setDynamic();
+				}
+				return typedValue;
+			case BEAN_DEFINITION_HOLDER:
+				return readBeanDefinitionHolder(in);
+			case BEAN_DEFINITION:
+				return readBeanDefinition(in);
+			case MANAGED_ARRAY:
+				String arrayElementTypeName = readNullableString(in);
+				boolean arrayMergeEnabled = in.readBoolean();
+				List<Object> arrayElements = readElements(in, new ArrayList<>());
+				ManagedArray array = new ManagedArray(
+						arrayElementTypeName != null ? arrayElementTypeName : Object.class.getName(), arrayElements.size());
+				array.addAll(arrayElements);
+				array.setMergeEnabled(arrayMergeEnabled);
+				return array;
+			case MANAGED_LIST:
+				ManagedList<Object> list = new ManagedList<>();
+				String listElementTypeName = readNullableString(in);
+				if (listElementTypeName != null) {
+					list.setElementTypeName(listElementTypeName);
+				}
+				list.setMergeEnabled(in.readBoolean());
+				return readElements(in, list);
+			case MANAGED_SET:
+				ManagedSet<Object> set = new ManagedSet<>();
+				set.setElementTypeName(readNullableString(in));
+				set.setMergeEnabled(in.readBoolean());
+				return readElements(in, set);
+			case MANAGED_MAP:
+				ManagedMap<Object, Object> map = new ManagedMap<>();
+				map.setKeyTypeName(readNullableString(in));
+				map.setValueTypeName(readNullableString(in));
+				map.setMergeEnabled(in.readBoolean());
+				return readEntries(in, map);
+			case MANAGED_PROPERTIES:
+				ManagedProperties props = new ManagedProperties();
+				props.setMergeEnabled(in.readBoolean());
+				return readEntries(in, props);
+			case LIST:
+				return readElements(in, new ArrayList<>());
+			case SET:
+				return readElements(in, new LinkedHashSet<>());
+			case MAP:
+				return readEntries(in, new LinkedHashMap<>());
+			case AUTOWIRED_MARKER:
+				return AutowiredPropertyMarker.INSTANCE;
+			default:
+				throw new IOException("Unknown value type " + type + " in bean definition snapshot");
+		}
+	}
+
+	private <C extends Collection<Object>> C readElements(DataInputStream in, C collection) throws IOException {
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			collection.add(readValue(in));
+		}
+		return collection;
+	}
+
+	private <M extends Map<Object, Object>> M readEntries(DataInputStream in, M map) throws IOException {
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			Object key = readValue(in);
+			map.put(key, readValue(in));
+		}
+		return map;
+	}
+
+	private Class<?> loadClass(String className) throws IOException {
+		try {
+			return ClassUtils.forName(className, this.classLoader);
+		}
+		catch (ClassNotFoundException | LinkageError ex) {
+			throw new IOException("Class [" + className + "] referenced in bean definition snapshot not found", ex);
+		}
+	}
+
+	@Nullable
+	static String readNullableString(DataInputStream in) throws IOException {
+		return (in.readBoolean() ? in.readUTF() : null);
+	}
+
+	@Nullable
+	static String[] readNullableStringArray(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		String[] values = new String[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = in.readUTF();
+		}
+		return values;
+	}
+
+}
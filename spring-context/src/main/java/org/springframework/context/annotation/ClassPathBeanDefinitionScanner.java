@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,15 +22,19 @@ import java.util.Set;
 import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionDefaults;
 import org.springframework.beans.factory.support.BeanDefinitionReaderUtils;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanNameGenerator;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.EnvironmentCapable;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.PatternMatchUtils;
@@ -75,6 +79,9 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
 
 	private boolean includeAnnotationConfig = true;
 
+	@Nullable
+	private ApplicationStartup applicationStartup;
+
 
 	/**
 	 * Create a new {@code ClassPathBeanDefinitionScanner} for the given bean factory.
@@ -242,6 +249,34 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
 		this.includeAnnotationConfig = includeAnnotationConfig;
 	}
 
+	/**
+	 * Set the {@link ApplicationStartup} to record scanning steps with.
+	 * <p>Default is the {@code ApplicationStartup} of the underlying registry,
+	 * if it is an application context or a configurable bean factory.
+	 * @since 5.2.13
+	 */
+	public void setApplicationStartup(@Nullable ApplicationStartup applicationStartup) {
+		this.applicationStartup = applicationStartup;
+	}
+
+	/**
+	 * Return the {@link ApplicationStartup} to record scanning steps with.
+	 * @since 5.2.13
+	 * @see #setApplicationStartup
+	 */
+	protected ApplicationStartup getApplicationStartup() {
+		if (this.applicationStartup != null) {
+			return this.applicationStartup;
+		}
+		if (this.registry instanceof ConfigurableApplicationContext) {
+			return ((ConfigurableApplicationContext) this.registry).getApplicationStartup();
+		}
+		if (this.registry instanceof ConfigurableBeanFactory) {
+			return ((ConfigurableBeanFactory) this.registry).getApplicationStartup();
+		}
+		return ApplicationStartup.DEFAULT;
+	}
+
 
 	/**
 	 * Perform a scan within the specified base packages.
@@ -272,37 +307,46 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
 	protected Set<BeanDefinitionHolder> doScan(String... basePackages) {
 		Assert.notEmpty(basePackages, "At least one base package must be specified");
 		Set<BeanDefinitionHolder> beanDefinitions = new LinkedHashSet<>();
+		ApplicationStartup applicationStartup = getApplicationStartup();
 		for (String basePackage : basePackages) {
-			/*
-			* 循环 basePackage 下所有的 class 文件，判断是否有注解修饰的class
-			* 如果有 放入 candidates 集合
-			* */
-			Set<BeanDefinition> candidates = findCandidateComponents(basePackage);
-			for (BeanDefinition candidate : candidates) {
-				/* 解析@Scope， 包括 scopeName 和 proxyMode */
-				ScopeMetadata scopeMetadata = this.scopeMetadataResolver.resolveScopeMetadata(candidate);
-				candidate.setScope(scopeMetadata.getScopeName());
-				/* 生成 beanName */
-				String beanName = this.beanNameGenerator.generateBeanName(candidate, this.registry);
-				if (candidate instanceof AbstractBeanDefinition) {
-					/* 处理beanDefinition对象， 例如，此bean是否可以自动装配到其他bean中 */
-					postProcessBeanDefinition((AbstractBeanDefinition) candidate, beanName);
-				}
-				if (candidate instanceof AnnotatedBeanDefinition) {
-					/* 处理定义在目标类上的通用注解 如 @Lazy @Primary @DependsOn @Role @Description */
-					AnnotationConfigUtils.processCommonDefinitionAnnotations((AnnotatedBeanDefinition) candidate);
-				}
-				/* 检查beanName是否已经注册过，如果已经注册过，检查是否兼容 */
-				if (checkCandidate(beanName, candidate)) {
-					/* 将当前遍历的bean的 beanDefinition 和 beanName 封装成 beanDefinitionHolder */
-					BeanDefinitionHolder definitionHolder = new BeanDefinitionHolder(candidate, beanName);
-					/* 根据ProxyMode的值选择是否创建作用域代理 */
-					definitionHolder =
-							AnnotationConfigUtils.applyScopedProxyMode(scopeMetadata, definitionHolder, this.registry);
-					beanDefinitions.add(definitionHolder);
-					/* 注册 beanDefinition */
-					registerBeanDefinition(definitionHolder, this.registry);
+			StartupStep packageScan = applicationStartup.start("spring.context.base-package.scan")
+					.tag("basePackage", basePackage);
+			try {
+				/*
+				* 循环 basePackage 下所有的 class 文件，判断是否有注解修饰的class
+				* 如果有 放入 candidates 集合
+				* */
+				Set<BeanDefinition> candidates = findCandidateComponents(basePackage);
+				for (BeanDefinition candidate : candidates) {
+					/* 解析@Scope， 包括 scopeName 和 proxyMode */
+					ScopeMetadata scopeMetadata = this.scopeMetadataResolver.resolveScopeMetadata(candidate);
+					candidate.setScope(scopeMetadata.getScopeName());
+					/* 生成 beanName */
+					String beanName = this.beanNameGenerator.generateBeanName(candidate, this.registry);
+					if (candidate instanceof AbstractBeanDefinition) {
+						/* 处理beanDefinition对象， 例如，此bean是否可以自动装配到其他bean中 */
+						postProcessBeanDefinition((AbstractBeanDefinition) candidate, beanName);
+					}
+					if (candidate instanceof AnnotatedBeanDefinition) {
+						/* 处理定义在目标类上的通用注解 如 @Lazy @Primary @DependsOn @Role @Description */
+						AnnotationConfigUtils.processCommonDefinitionAnnotations((AnnotatedBeanDefinition) candidate);
+					}
+					/* 检查beanName是否已经注册过，如果已经注册过，检查是否兼容 */
+					if (checkCandidate(beanName, candidate)) {
+						/* 将当前遍历的bean的 beanDefinition 和 beanName 封装成 beanDefinitionHolder */
+						BeanDefinitionHolder definitionHolder = new BeanDefinitionHolder(candidate, beanName);
+						/* 根据ProxyMode的值选择是否创建作用域代理 */
+						definitionHolder =
+								AnnotationConfigUtils.applyScopedProxyMode(scopeMetadata, definitionHolder, this.registry);
+						beanDefinitions.add(definitionHolder);
+						/* 注册 beanDefinition */
+						registerBeanDefinition(definitionHolder, this.registry);
+					}
 				}
+				packageScan.tag("candidateCount", () -> String.valueOf(candidates.size()));
+			}
+			finally {
+				packageScan.end();
 			}
 		}
 		return beanDefinitions;
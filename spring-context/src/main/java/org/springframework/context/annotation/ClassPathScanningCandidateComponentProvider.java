@@ -18,11 +18,14 @@ package org.springframework.context.annotation;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -35,6 +38,7 @@ import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.index.CandidateComponentsIndex;
 import org.springframework.context.index.CandidateComponentsIndexLoader;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.EnvironmentCapable;
@@ -59,6 +63,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * A component provider that provides candidate components from a base package. Can
@@ -88,6 +93,15 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
 	static final String DEFAULT_RESOURCE_PATTERN = "**/*.class";
 
+	/**
+	 * System property that instructs Spring to read and filter scanned candidate
+	 * classes in parallel by default: {@code "spring.scanning.parallel"}.
+	 * <p>The default is "false", i.e. sequential scanning. Parallel scanning may
+	 * also be enabled programmatically through {@link #setParallelScanning}.
+	 * @since 5.2.13
+	 */
+	public static final String PARALLEL_SCANNING_PROPERTY_NAME = "spring.scanning.parallel";
+
 
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -97,6 +111,8 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
 	private final List<TypeFilter> excludeFilters = new LinkedList<>();
 
+	private boolean parallelScanning = SpringProperties.getFlag(PARALLEL_SCANNING_PROPERTY_NAME);
+
 	@Nullable
 	private Environment environment;
 
@@ -161,6 +177,35 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		this.resourcePattern = resourcePattern;
 	}
 
+	/**
+	 * Specify whether to read and filter candidate classes in parallel when
+	 * scanning the classpath.
+	 * <p>If enabled, class files get read by the {@link #getMetadataReaderFactory()
+	 * MetadataReaderFactory} and matched against the include and exclude filters
+	 * across the common {@link java.util.concurrent.ForkJoinPool}, requiring both
+	 * to be thread-safe. {@link Conditional @Conditional} evaluation and the
+	 * creation of bean definitions still happen on the calling thread, with
+	 * candidates returned in the same order as for sequential scanning.
+	 * <p>Subclasses overriding {@link #isCandidateComponent(MetadataReader)} are
+	 * always scanned sequentially, since that hook combines filter matching with
+	 * condition evaluation and is therefore not called in parallel.
+	 * <p>Default is "false", unless the {@code "spring.scanning.parallel"}
+	 * system property has been set to "true".
+	 * @since 5.2.13
+	 * @see #PARALLEL_SCANNING_PROPERTY_NAME
+	 */
+	public void setParallelScanning(boolean parallelScanning) {
+		this.parallelScanning = parallelScanning;
+	}
+
+	/**
+	 * Return whether candidate classes get read and filtered in parallel.
+	 * @since 5.2.13
+	 */
+	public boolean isParallelScanning() {
+		return this.parallelScanning;
+	}
+
 	/**
 	 * Add an include type filter to the <i>end</i> of the inclusion list.
 	 */
@@ -421,6 +466,9 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 //			for (Resource r:resources) {
 //				System.out.println(r.getFilename());
 //			}
+			if (this.parallelScanning && resources.length > 1 && !isCandidateComponentOverridden()) {
+				return scanCandidateComponentsInParallel(resources);
+			}
 			boolean traceEnabled = logger.isTraceEnabled();
 			boolean debugEnabled = logger.isDebugEnabled();
 			for (Resource resource : resources) {
@@ -469,6 +517,90 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		return candidates;
 	}
 
+	private Set<BeanDefinition> scanCandidateComponentsInParallel(Resource[] resources) {
+		MetadataReaderFactory metadataReaderFactory = getMetadataReaderFactory();
+		List<ScannedResource> scannedResources = Arrays.stream(resources).parallel()
+				.map(resource -> scanResource(resource, metadataReaderFactory))
+				.collect(Collectors.toList());
+
+		// Apply conditions and create bean definitions in the original resource order
+		Set<BeanDefinition> candidates = new LinkedHashSet<>();
+		boolean traceEnabled = logger.isTraceEnabled();
+		boolean debugEnabled = logger.isDebugEnabled();
+		for (ScannedResource scannedResource : scannedResources) {
+			Resource resource = scannedResource.resource;
+			if (traceEnabled) {
+				logger.trace("Scanning " + resource);
+			}
+			if (scannedResource.failure != null) {
+				throw new BeanDefinitionStoreException(
+						"Failed to read candidate component class: " + resource, scannedResource.failure);
+			}
+			MetadataReader metadataReader = scannedResource.metadataReader;
+			if (metadataReader != null) {
+				try {
+					// Type filters already matched in parallel: only evaluate conditions here
+					if (scannedResource.filterMatch && isConditionMatch(metadataReader)) {
+						ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
+						sbd.setSource(resource);
+						if (isCandidateComponent(sbd)) {
+							if (debugEnabled) {
+								logger.debug("Identified candidate component class: " + resource);
+							}
+							candidates.add(sbd);
+						}
+						else {
+							if (debugEnabled) {
+								logger.debug("Ignored because not a concrete top-level class: " + resource);
+							}
+						}
+					}
+					else {
+						if (traceEnabled) {
+							logger.trace("Ignored because not matching any filter: " + resource);
+						}
+					}
+				}
+				catch (Throwable ex) {
+					throw new BeanDefinitionStoreException(
+							"Failed to read candidate component class: " + resource, ex);
+				}
+			}
+			else {
+				if (traceEnabled) {
+					logger.trace("Ignored because not readable: " + resource);
+				}
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Determine whether {@link #isCandidateComponent(MetadataReader)} has been
+	 * overridden, in which case parallel scanning cannot apply.
+	 */
+	private boolean isCandidateComponentOverridden() {
+		Method method = ReflectionUtils.findMethod(getClass(), "isCandidateComponent", MetadataReader.class);
+		return (method != null && method.getDeclaringClass() != ClassPathScanningCandidateComponentProvider.class);
+	}
+
+	/**
+	 * Read the given resource and match it against the type filters,
+	 * to be invoked concurrently for parallel scanning.
+	 */
+	private ScannedResource scanResource(Resource resource, MetadataReaderFactory metadataReaderFactory) {
+		try {
+			if (!resource.isReadable()) {
+				return new ScannedResource(resource, null, false, null);
+			}
+			MetadataReader metadataReader = metadataReaderFactory.getMetadataReader(resource);
+			return new ScannedResource(resource, metadataReader, matchesFilters(metadataReader), null);
+		}
+		catch (Throwable ex) {
+			return new ScannedResource(resource, null, false, ex);
+		}
+	}
+
 
 	/**
 	 * Resolve the specified base package into a pattern specification for
@@ -489,6 +621,16 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	 * @return whether the class qualifies as a candidate component
 	 */
 	protected boolean isCandidateComponent(MetadataReader metadataReader) throws IOException {
+		return (matchesFilters(metadataReader) && isConditionMatch(metadataReader));
+	}
+
+	/**
+	 * Determine whether the given class does not match any exclude filter
+	 * and does match at least one include filter, without evaluating conditions.
+	 * @param metadataReader the ASM ClassReader for the class
+	 * @return whether the class matches the configured type filters
+	 */
+	private boolean matchesFilters(MetadataReader metadataReader) throws IOException {
 		for (TypeFilter tf : this.excludeFilters) {
 			if (tf.match(metadataReader, getMetadataReaderFactory())) {
 				return false;
@@ -496,7 +638,7 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		}
 		for (TypeFilter tf : this.includeFilters) {
 			if (tf.match(metadataReader, getMetadataReaderFactory())) {
-				return isConditionMatch(metadataReader);
+				return true;
 			}
 		}
 		return false;
@@ -542,4 +684,30 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		}
 	}
 
+
+	/**
+	 * Outcome of reading and filtering a single resource during parallel scanning.
+	 */
+	private static class ScannedResource {
+
+		final Resource resource;
+
+		@Nullable
+		final MetadataReader metadataReader;
+
+		final boolean filterMatch;
+
+		@Nullable
+		final Throwable failure;
+
+		ScannedResource(Resource resource, @Nullable MetadataReader metadataReader,
+				boolean filterMatch, @Nullable Throwable failure) {
+
+			this.resource = resource;
+			this.metadataReader = metadataReader;
+			this.filterMatch = filterMatch;
+			this.failure = failure;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,12 +32,14 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.core.type.filter.AbstractTypeHierarchyTraversingFilter;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.core.type.filter.AspectJTypeFilter;
 import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.core.type.filter.RegexPatternTypeFilter;
 import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
@@ -62,14 +64,25 @@ class ComponentScanAnnotationParser {
 
 	private final BeanDefinitionRegistry registry;
 
+	@Nullable
+	private final MetadataReaderFactory metadataReaderFactory;
 
+
+	/**
+	 * Create a new parser.
+	 * @param metadataReaderFactory the factory to share with the scanners
+	 * (typically the one used for configuration class parsing), or {@code null}
+	 * for a default factory per scanner
+	 */
 	public ComponentScanAnnotationParser(Environment environment, ResourceLoader resourceLoader,
-										 BeanNameGenerator beanNameGenerator, BeanDefinitionRegistry registry) {
+			BeanNameGenerator beanNameGenerator, BeanDefinitionRegistry registry,
+			@Nullable MetadataReaderFactory metadataReaderFactory) {
 
 		this.environment = environment;
 		this.resourceLoader = resourceLoader;
 		this.beanNameGenerator = beanNameGenerator;
 		this.registry = registry;
+		this.metadataReaderFactory = metadataReaderFactory;
 	}
 
 
@@ -79,6 +92,9 @@ class ComponentScanAnnotationParser {
 	public Set<BeanDefinitionHolder> parse(AnnotationAttributes componentScan, final String declaringClass) {
 		ClassPathBeanDefinitionScanner scanner = new ClassPathBeanDefinitionScanner(this.registry,
 				componentScan.getBoolean("useDefaultFilters"), this.environment, this.resourceLoader);
+		if (this.metadataReaderFactory != null) {
+			scanner.setMetadataReaderFactory(this.metadataReaderFactory);
+		}
 
 		Class<? extends BeanNameGenerator> generatorClass = componentScan.getClass("nameGenerator");
 		boolean useInheritedGenerator = (BeanNameGenerator.class == generatorClass);
@@ -16,8 +16,11 @@
 
 package org.springframework.context.annotation;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -48,15 +51,20 @@ import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
 import org.springframework.beans.factory.support.BeanNameGenerator;
+import org.springframework.context.ApplicationStartupAware;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.annotation.ConfigurationClassEnhancer.EnhancedConfiguration;
 import org.springframework.core.Ordered;
 import org.springframework.core.PriorityOrdered;
+import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.MethodMetadata;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
@@ -85,7 +93,7 @@ import org.springframework.util.ClassUtils;
  * @since 3.0
  */
 public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPostProcessor,
-		PriorityOrdered, ResourceLoaderAware, BeanClassLoaderAware, EnvironmentAware {
+		PriorityOrdered, ResourceLoaderAware, ApplicationStartupAware, BeanClassLoaderAware, EnvironmentAware {
 
 	/**
 	 * A {@code BeanNameGenerator} using fully qualified class names as default bean names.
@@ -100,7 +108,7 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 	public static final AnnotationBeanNameGenerator IMPORT_BEAN_NAME_GENERATOR =
 			new FullyQualifiedAnnotationBeanNameGenerator();
 
-	private static final String IMPORT_REGISTRY_BEAN_NAME =
+	static final String IMPORT_REGISTRY_BEAN_NAME =
 			ConfigurationClassPostProcessor.class.getName() + ".importRegistry";
 
 
@@ -141,6 +149,13 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 	 */
 	private BeanNameGenerator importBeanNameGenerator = IMPORT_BEAN_NAME_GENERATOR;
 
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+	@Nullable
+	private Resource beanDefinitionSnapshot;
+
+	private List<AnnotationAttributes> processedPropertySources = Collections.emptyList();
+
 
 	@Override
 	public int getOrder() {
@@ -200,6 +215,20 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		this.importBeanNameGenerator = beanNameGenerator;
 	}
 
+	/**
+	 * Specify the location of a pre-built {@link BeanDefinitionSnapshot} to register
+	 * bean definitions from instead of parsing the configuration classes, as long as
+	 * the snapshot matches the current classpath and configuration classes.
+	 * <p>Default is none. A snapshot specified here takes precedence over one specified
+	 * against the application context.
+	 * @since 5.2.13
+	 * @see AnnotationConfigApplicationContext#setBeanDefinitionSnapshot(Resource)
+	 * @see AnnotationConfigUtils#BEAN_DEFINITION_SNAPSHOT
+	 */
+	public void setBeanDefinitionSnapshot(@Nullable Resource beanDefinitionSnapshot) {
+		this.beanDefinitionSnapshot = beanDefinitionSnapshot;
+	}
+
 	@Override
 	public void setEnvironment(Environment environment) {
 		Assert.notNull(environment, "Environment must not be null");
@@ -215,6 +244,11 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		}
 	}
 
+	@Override
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		this.applicationStartup = applicationStartup;
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader beanClassLoader) {
 		this.beanClassLoader = beanClassLoader;
@@ -379,6 +413,17 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		ConfigurationClassParser parser = new ConfigurationClassParser(
 				this.metadataReaderFactory, this.problemReporter, this.environment,
 				this.resourceLoader, this.componentScanBeanNameGenerator, registry);
+
+		// Register bean definitions from a pre-built snapshot instead, if applicable
+		Resource snapshotLocation = this.beanDefinitionSnapshot;
+		if (snapshotLocation == null && sbr != null) {
+			snapshotLocation = (Resource) sbr.getSingleton(AnnotationConfigUtils.BEAN_DEFINITION_SNAPSHOT);
+		}
+		if (snapshotLocation != null &&
+				applyBeanDefinitionSnapshot(snapshotLocation, registry, sbr, configCandidates, parser)) {
+			clearMetadataReaderCache();
+			return;
+		}
 		/*
 		 * 创建两个集合，candidates 用于将之前加入的 configCandidates去重，
 		 * alreadyParsed判断是否已经解析过，然后用配置类的解析器对注解进行进一步的解析工作，
@@ -405,24 +450,31 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 			 * ====================================================================
 			 * ====================================================================
 			 * */
-			parser.parse(candidates);
-			parser.validate();
-
-			Set<ConfigurationClass> configClasses = new LinkedHashSet<>(parser.getConfigurationClasses());
-			configClasses.removeAll(alreadyParsed);
-
-			// Read the model and create bean definitions based on its content
-			if (this.reader == null) {
-				this.reader = new ConfigurationClassBeanDefinitionReader(
-						registry, this.sourceExtractor, this.resourceLoader, this.environment,
-						this.importBeanNameGenerator, parser.getImportRegistry());
+			StartupStep processConfig = this.applicationStartup.start("spring.context.config-classes.parse");
+			try {
+				parser.parse(candidates);
+				parser.validate();
+
+				Set<ConfigurationClass> configClasses = new LinkedHashSet<>(parser.getConfigurationClasses());
+				configClasses.removeAll(alreadyParsed);
+
+				// Read the model and create bean definitions based on its content
+				if (this.reader == null) {
+					this.reader = new ConfigurationClassBeanDefinitionReader(
+							registry, this.sourceExtractor, this.resourceLoader, this.environment,
+							this.importBeanNameGenerator, parser.getImportRegistry());
+				}
+				/*
+				 * 将填充好的 ConfigurationClass 实例转化为 BeanDefinition 注册进BeanDefinitionMap
+				 * 如果 @Configuration 的类中导入了其他的东西
+				 * */
+				this.reader.loadBeanDefinitions(configClasses);
+				alreadyParsed.addAll(configClasses);
+				processConfig.tag("classCount", () -> String.valueOf(configClasses.size()));
+			}
+			finally {
+				processConfig.end();
 			}
-			/*
-			 * 将填充好的 ConfigurationClass 实例转化为 BeanDefinition 注册进BeanDefinitionMap
-			 * 如果 @Configuration 的类中导入了其他的东西
-			 * */
-			this.reader.loadBeanDefinitions(configClasses);
-			alreadyParsed.addAll(configClasses);
 
 			candidates.clear();
 			if (registry.getBeanDefinitionCount() > candidateNames.length) {
@@ -445,12 +497,17 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 			}
 		}
 		while (!candidates.isEmpty());
+		this.processedPropertySources = parser.getProcessedPropertySources();
 
 		// Register the ImportRegistry as a bean in order to support ImportAware @Configuration classes
 		if (sbr != null && !sbr.containsSingleton(IMPORT_REGISTRY_BEAN_NAME)) {
 			sbr.registerSingleton(IMPORT_REGISTRY_BEAN_NAME, parser.getImportRegistry());
 		}
 
+		clearMetadataReaderCache();
+	}
+
+	private void clearMetadataReaderCache() {
 		if (this.metadataReaderFactory instanceof CachingMetadataReaderFactory) {
 			// Clear cache in externally provided MetadataReaderFactory; this is a no-op
 			// for a shared cache since it'll be cleared by the ApplicationContext.
@@ -458,6 +515,89 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		}
 	}
 
+	/**
+	 * Register the bean definitions from the given snapshot, if it applies to the
+	 * current classpath and configuration candidates.
+	 * @return {@code true} if the snapshot has been applied, or {@code false}
+	 * if the configuration classes need to be parsed instead
+	 */
+	private boolean applyBeanDefinitionSnapshot(Resource snapshotLocation, BeanDefinitionRegistry registry,
+			@Nullable SingletonBeanRegistry sbr, List<BeanDefinitionHolder> configCandidates,
+			ConfigurationClassParser parser) {
+
+		BeanDefinitionSnapshot snapshot;
+		Map<String, BeanDefinition> beanDefinitions;
+		try {
+			if (!snapshotLocation.exists()) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("No bean definition snapshot found at " + snapshotLocation);
+				}
+				return false;
+			}
+			try (InputStream is = snapshotLocation.getInputStream()) {
+				snapshot = BeanDefinitionSnapshot.readFrom(is, this.beanClassLoader);
+			}
+			String fingerprint = BeanDefinitionSnapshot.computeFingerprint(this.environment, this.beanClassLoader);
+			if (fingerprint == null) {
+				if (logger.isInfoEnabled()) {
+					logger.info("Ignoring bean definition snapshot " + snapshotLocation +
+							": classpath entries of bean ClassLoader cannot be enumerated");
+				}
+				return false;
+			}
+			if (!snapshot.getFingerprint().equals(fingerprint)) {
+				if (logger.isInfoEnabled()) {
+					logger.info("Ignoring outdated bean definition snapshot " + snapshotLocation +
+							": classpath or active profiles have changed");
+				}
+				return false;
+			}
+			if (!snapshot.isApplicableTo(registry, configCandidates)) {
+				if (logger.isInfoEnabled()) {
+					logger.info("Ignoring bean definition snapshot " + snapshotLocation +
+							": generated for different configuration classes");
+				}
+				return false;
+			}
+			beanDefinitions = snapshot.readBeanDefinitions(this.beanClassLoader);
+		}
+		catch (IOException | RuntimeException ex) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Failed to read bean definition snapshot " + snapshotLocation +
+						" - falling back to configuration class parsing", ex);
+			}
+			return false;
+		}
+
+		for (AnnotationAttributes propertySource : snapshot.getPropertySources()) {
+			try {
+				parser.processPropertySource(propertySource);
+			}
+			catch (IOException ex) {
+				throw new BeanDefinitionStoreException(
+						"Failed to process @PropertySource from bean definition snapshot", ex);
+			}
+		}
+		this.processedPropertySources = snapshot.getPropertySources();
+		snapshot.registerBeanDefinitions(registry, beanDefinitions);
+		if (sbr != null && !sbr.containsSingleton(IMPORT_REGISTRY_BEAN_NAME)) {
+			sbr.registerSingleton(IMPORT_REGISTRY_BEAN_NAME, snapshot.createImportRegistry(this.beanClassLoader));
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Registered " + beanDefinitions.size() +
+					" bean definitions from snapshot " + snapshotLocation);
+		}
+		return true;
+	}
+
+	/**
+	 * Return the {@code @PropertySource} declarations processed by the last
+	 * {@link #processConfigBeanDefinitions} call, in order.
+	 */
+	List<AnnotationAttributes> getProcessedPropertySources() {
+		return this.processedPropertySources;
+	}
+
 	/**
 	 * Post-processes a BeanFactory in search of Configuration class BeanDefinitions;
 	 * any candidates are then enhanced by a {@link ConfigurationClassEnhancer}.
@@ -466,83 +606,90 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 	 * @see ConfigurationClassEnhancer
 	 */
 	public void enhanceConfigurationClasses(ConfigurableListableBeanFactory beanFactory) {
-		/*
-		 * 全部的@Configuration类创建动态代理，并把这些BeanDefinition的class属性换成这种代理类。
-		 * 这又有什么作用呢 ?????
-		 * */
-		Map<String, AbstractBeanDefinition> configBeanDefs = new LinkedHashMap<>();
-		for (String beanName : beanFactory.getBeanDefinitionNames()) {
-			BeanDefinition beanDef = beanFactory.getBeanDefinition(beanName);
-			Object configClassAttr = beanDef.getAttribute(ConfigurationClassUtils.CONFIGURATION_CLASS_ATTRIBUTE);
-			MethodMetadata methodMetadata = null;
-			if (beanDef instanceof AnnotatedBeanDefinition) {
-				methodMetadata = ((AnnotatedBeanDefinition) beanDef).getFactoryMethodMetadata();
-			}
-			if ((configClassAttr != null || methodMetadata != null) && beanDef instanceof AbstractBeanDefinition) {
-				// Configuration class (full or lite) or a configuration-derived @Bean method
-				// -> resolve bean class at this point...
-				AbstractBeanDefinition abd = (AbstractBeanDefinition) beanDef;
-				if (!abd.hasBeanClass()) {
-					try {
-						abd.resolveBeanClass(this.beanClassLoader);
-					} catch (Throwable ex) {
-						throw new IllegalStateException(
-								"Cannot load configuration class: " + beanDef.getBeanClassName(), ex);
+		StartupStep enhanceConfigClasses = this.applicationStartup.start("spring.context.config-classes.enhance");
+		try {
+			/*
+			 * 全部的@Configuration类创建动态代理，并把这些BeanDefinition的class属性换成这种代理类。
+			 * 这又有什么作用呢 ?????
+			 * */
+			Map<String, AbstractBeanDefinition> configBeanDefs = new LinkedHashMap<>();
+			for (String beanName : beanFactory.getBeanDefinitionNames()) {
+				BeanDefinition beanDef = beanFactory.getBeanDefinition(beanName);
+				Object configClassAttr = beanDef.getAttribute(ConfigurationClassUtils.CONFIGURATION_CLASS_ATTRIBUTE);
+				MethodMetadata methodMetadata = null;
+				if (beanDef instanceof AnnotatedBeanDefinition) {
+					methodMetadata = ((AnnotatedBeanDefinition) beanDef).getFactoryMethodMetadata();
+				}
+				if ((configClassAttr != null || methodMetadata != null) && beanDef instanceof AbstractBeanDefinition) {
+					// Configuration class (full or lite) or a configuration-derived @Bean method
+					// -> resolve bean class at this point...
+					AbstractBeanDefinition abd = (AbstractBeanDefinition) beanDef;
+					if (!abd.hasBeanClass()) {
+						try {
+							abd.resolveBeanClass(this.beanClassLoader);
+						} catch (Throwable ex) {
+							throw new IllegalStateException(
+									"Cannot load configuration class: " + beanDef.getBeanClassName(), ex);
+						}
+					}
+				}
+				/*
+				 * 在之前扫描注解的时候，如果那个类被@Configuration修饰，则把他的对应的BeanDefinition的
+				 * configurationClass 属性设置为了 “full”
+				 * 不是配置类的设置为了 “lite”
+				 * 当遍历到的BeanDefinition是full的时候，也就是说这是个 配置类，
+				 * 然而配置类中的所有属性都应该是单例的，
+				 *
+				 * 所以当出现这种情况的时候： com.szu.spring.txTest.annotation.MyConfiguration 中这样的情况的时候
+				 * 创建代理类来保证配置类中的每个 Bean 都是单例的
+				 * */
+				if (ConfigurationClassUtils.CONFIGURATION_CLASS_FULL.equals(configClassAttr)) {
+					if (!(beanDef instanceof AbstractBeanDefinition)) {
+						throw new BeanDefinitionStoreException("Cannot enhance @Configuration bean definition '" +
+								beanName + "' since it is not stored in an AbstractBeanDefinition subclass");
+					} else if (logger.isInfoEnabled() && beanFactory.containsSingleton(beanName)) {
+						logger.info("Cannot enhance @Configuration bean definition '" + beanName +
+								"' since its singleton instance has been created too early. The typical cause " +
+								"is a non-static @Bean method with a BeanDefinitionRegistryPostProcessor " +
+								"return type: Consider declaring such methods as 'static'.");
 					}
+					configBeanDefs.put(beanName, (AbstractBeanDefinition) beanDef);
 				}
 			}
 			/*
-			 * 在之前扫描注解的时候，如果那个类被@Configuration修饰，则把他的对应的BeanDefinition的
-			 * configurationClass 属性设置为了 “full”
-			 * 不是配置类的设置为了 “lite”
-			 * 当遍历到的BeanDefinition是full的时候，也就是说这是个 配置类，
-			 * 然而配置类中的所有属性都应该是单例的，
-			 *
-			 * 所以当出现这种情况的时候： com.szu.spring.txTest.annotation.MyConfiguration 中这样的情况的时候
-			 * 创建代理类来保证配置类中的每个 Bean 都是单例的
+			 * 获取到所有的 @Configuration 注解标注的配置类
 			 * */
-			if (ConfigurationClassUtils.CONFIGURATION_CLASS_FULL.equals(configClassAttr)) {
-				if (!(beanDef instanceof AbstractBeanDefinition)) {
-					throw new BeanDefinitionStoreException("Cannot enhance @Configuration bean definition '" +
-							beanName + "' since it is not stored in an AbstractBeanDefinition subclass");
-				} else if (logger.isInfoEnabled() && beanFactory.containsSingleton(beanName)) {
-					logger.info("Cannot enhance @Configuration bean definition '" + beanName +
-							"' since its singleton instance has been created too early. The typical cause " +
-							"is a non-static @Bean method with a BeanDefinitionRegistryPostProcessor " +
-							"return type: Consider declaring such methods as 'static'.");
-				}
-				configBeanDefs.put(beanName, (AbstractBeanDefinition) beanDef);
+			if (configBeanDefs.isEmpty()) {
+				// nothing to enhance -> return immediately
+				return;
 			}
-		}
-		/*
-		 * 获取到所有的 @Configuration 注解标注的配置类
-		 * */
-		if (configBeanDefs.isEmpty()) {
-			// nothing to enhance -> return immediately
-			return;
-		}
 
-		ConfigurationClassEnhancer enhancer = new ConfigurationClassEnhancer();
-		for (Map.Entry<String, AbstractBeanDefinition> entry : configBeanDefs.entrySet()) {
-			AbstractBeanDefinition beanDef = entry.getValue();
-			// If a @Configuration class gets proxied, always proxy the target class
-			beanDef.setAttribute(AutoProxyUtils.PRESERVE_TARGET_CLASS_ATTRIBUTE, Boolean.TRUE);
-			// Set enhanced subclass of the user-specified bean class
-			Class<?> configClass = beanDef.getBeanClass();
-			/*
-			 * 创建代理类
-			 * */
-			Class<?> enhancedClass = enhancer.enhance(configClass, this.beanClassLoader);
-			if (configClass != enhancedClass) {
-				if (logger.isTraceEnabled()) {
-					logger.trace(String.format("Replacing bean definition '%s' existing class '%s' with " +
-							"enhanced class '%s'", entry.getKey(), configClass.getName(), enhancedClass.getName()));
-				}
+			ConfigurationClassEnhancer enhancer = new ConfigurationClassEnhancer();
+			for (Map.Entry<String, AbstractBeanDefinition> entry : configBeanDefs.entrySet()) {
+				AbstractBeanDefinition beanDef = entry.getValue();
+				// If a @Configuration class gets proxied, always proxy the target class
+				beanDef.setAttribute(AutoProxyUtils.PRESERVE_TARGET_CLASS_ATTRIBUTE, Boolean.TRUE);
+				// Set enhanced subclass of the user-specified bean class
+				Class<?> configClass = beanDef.getBeanClass();
 				/*
-				 * 把 @Configuration类的 BeanDefinition 的类型换成 代理类对象
+				 * 创建代理类
 				 * */
-				beanDef.setBeanClass(enhancedClass);
+				Class<?> enhancedClass = enhancer.enhance(configClass, this.beanClassLoader);
+				if (configClass != enhancedClass) {
+					if (logger.isTraceEnabled()) {
+						logger.trace(String.format("Replacing bean definition '%s' existing class '%s' with " +
+								"enhanced class '%s'", entry.getKey(), configClass.getName(), enhancedClass.getName()));
+					}
+					/*
+					 * 把 @Configuration类的 BeanDefinition 的类型换成 代理类对象
+					 * */
+					beanDef.setBeanClass(enhancedClass);
+				}
 			}
+			enhanceConfigClasses.tag("classCount", () -> String.valueOf(configBeanDefs.keySet().size()));
+		}
+		finally {
+			enhanceConfigClasses.end();
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,16 +16,28 @@
 
 package org.springframework.context.event;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.ErrorHandler;
 
 /**
@@ -41,12 +53,20 @@ import org.springframework.util.ErrorHandler;
  * but adds minimal overhead. Specify an alternative task executor to have
  * listeners executed in different threads, for example from a thread pool.
  *
+ * <p>With a task executor, listeners may also be invoked in
+ * {@linkplain #setOrderedListenerInvocation order groups}: listeners with the
+ * same order value run concurrently, while listeners with a higher order value
+ * only start once all preceding groups have completed. Completion of all
+ * listeners can be tracked through {@link #multicastEventAsync}, optionally
+ * bounded by a {@linkplain #setListenerTimeout per-listener timeout}.
+ *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @author Stephane Nicoll
  * @see #setTaskExecutor
  */
-public class SimpleApplicationEventMulticaster extends AbstractApplicationEventMulticaster {
+public class SimpleApplicationEventMulticaster extends AbstractApplicationEventMulticaster
+		implements DisposableBean {
 
 	@Nullable
 	private Executor taskExecutor;
@@ -54,6 +74,17 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 	@Nullable
 	private ErrorHandler errorHandler;
 
+	private boolean orderedListenerInvocation = false;
+
+	@Nullable
+	private Duration listenerTimeout;
+
+	@Nullable
+	private volatile ScheduledThreadPoolExecutor timeoutScheduler;
+
+	@Nullable
+	private volatile Log lazyLogger;
+
 
 	/**
 	 * Create a new SimpleApplicationEventMulticaster.
@@ -121,6 +152,75 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return this.errorHandler;
 	}
 
+	/**
+	 * Specify whether listeners should be dispatched to the
+	 * {@linkplain #setTaskExecutor task executor} in groups of equal order.
+	 * <p>Default is "false", submitting every listener to the executor
+	 * independently. Switch this to "true" to invoke all listeners with the
+	 * same {@link org.springframework.core.Ordered order} value concurrently
+	 * while only starting the next group once the current one has completed,
+	 * i.e. preserving the relative ordering semantics of synchronous dispatch.
+	 * A listener exception stops the remaining groups unless an
+	 * {@linkplain #setErrorHandler error handler} suppresses it.
+	 * <p>Has no effect without a task executor.
+	 * @since 5.2.13
+	 * @see #multicastEventAsync
+	 */
+	public void setOrderedListenerInvocation(boolean orderedListenerInvocation) {
+		this.orderedListenerInvocation = orderedListenerInvocation;
+	}
+
+	/**
+	 * Return whether listeners are dispatched in groups of equal order.
+	 * @since 5.2.13
+	 */
+	public boolean isOrderedListenerInvocation() {
+		return this.orderedListenerInvocation;
+	}
+
+	/**
+	 * Specify a maximum time for each listener to complete when dispatched
+	 * to the {@linkplain #setTaskExecutor task executor}, measured from the
+	 * point where the listener is submitted.
+	 * <p>A listener exceeding this time is reported through a
+	 * {@link TimeoutException} to the {@linkplain #setErrorHandler error handler},
+	 * or otherwise fails the completion future returned by
+	 * {@link #multicastEventAsync}. Note that the listener itself is not
+	 * interrupted but keeps running on its executor thread.
+	 * <p>Default is none. Has no effect without a task executor.
+	 * @since 5.2.13
+	 */
+	public void setListenerTimeout(@Nullable Duration listenerTimeout) {
+		this.listenerTimeout = listenerTimeout;
+	}
+
+	/**
+	 * Return the per-listener timeout, if any.
+	 * @since 5.2.13
+	 */
+	@Nullable
+	public Duration getListenerTimeout() {
+		return this.listenerTimeout;
+	}
+
+	/**
+	 * Shut down the scheduler for {@linkplain #setListenerTimeout listener timeouts},
+	 * if it has been started. Listeners still running on the task executor are
+	 * not affected but will not be reported as timed out anymore.
+	 * @since 5.2.13
+	 */
+	@Override
+	public void destroy() {
+		ScheduledThreadPoolExecutor scheduler;
+		synchronized (this) {
+			scheduler = this.timeoutScheduler;
+			this.timeoutScheduler = null;
+		}
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
 
 	@Override
 	public void multicastEvent(ApplicationEvent event) {
@@ -131,6 +231,15 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 	public void multicastEvent(final ApplicationEvent event, @Nullable ResolvableType eventType) {
 		ResolvableType type = (eventType != null ? eventType : resolveDefaultEventType(event));
 		Executor executor = getTaskExecutor();
+		if (executor != null && (this.orderedListenerInvocation || this.listenerTimeout != null)) {
+			invokeListenersAsync(getApplicationListeners(event, type), event, executor)
+					.whenComplete((result, ex) -> {
+						if (ex != null) {
+							getLogger().error("Listener invocation failed for event " + event, ex);
+						}
+					});
+			return;
+		}
 		for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
 			if (executor != null) {
 				executor.execute(() -> invokeListener(listener, event));
@@ -141,6 +250,138 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		}
 	}
 
+	/**
+	 * Multicast the given application event to appropriate listeners,
+	 * returning a future that completes once all listeners have completed.
+	 * <p>Without a {@linkplain #setTaskExecutor task executor}, all listeners
+	 * are invoked in the calling thread and the returned future is already
+	 * completed. Otherwise, listeners are dispatched to the executor, either
+	 * independently or in {@linkplain #setOrderedListenerInvocation groups of
+	 * equal order}, and the future completes exceptionally in case of a listener
+	 * exception or {@linkplain #setListenerTimeout timeout} that has not been
+	 * handled by the {@linkplain #setErrorHandler error handler}.
+	 * @param event the event to multicast
+	 * @param eventType the type of event (can be {@code null})
+	 * @return a future for the completion of all listeners
+	 * @since 5.2.13
+	 */
+	public CompletableFuture<Void> multicastEventAsync(ApplicationEvent event, @Nullable ResolvableType eventType) {
+		ResolvableType type = (eventType != null ? eventType : resolveDefaultEventType(event));
+		Collection<ApplicationListener<?>> listeners = getApplicationListeners(event, type);
+		Executor executor = getTaskExecutor();
+		if (executor != null) {
+			return invokeListenersAsync(listeners, event, executor);
+		}
+		CompletableFuture<Void> future = new CompletableFuture<>();
+		try {
+			for (ApplicationListener<?> listener : listeners) {
+				invokeListener(listener, event);
+			}
+			future.complete(null);
+		}
+		catch (Throwable ex) {
+			future.completeExceptionally(ex);
+		}
+		return future;
+	}
+
+	private CompletableFuture<Void> invokeListenersAsync(
+			Collection<ApplicationListener<?>> listeners, ApplicationEvent event, Executor executor) {
+
+		if (!this.orderedListenerInvocation) {
+			return invokeListenerGroup(listeners, event, executor);
+		}
+		CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
+		List<ApplicationListener<?>> group = new ArrayList<>();
+		for (ApplicationListener<?> listener : listeners) {
+			if (!group.isEmpty() && AnnotationAwareOrderComparator.INSTANCE.compare(group.get(0), listener) != 0) {
+				List<ApplicationListener<?>> previousGroup = group;
+				result = result.thenCompose(ignored -> invokeListenerGroup(previousGroup, event, executor));
+				group = new ArrayList<>();
+			}
+			group.add(listener);
+		}
+		if (!group.isEmpty()) {
+			List<ApplicationListener<?>> lastGroup = group;
+			result = result.thenCompose(ignored -> invokeListenerGroup(lastGroup, event, executor));
+		}
+		return result;
+	}
+
+	private CompletableFuture<Void> invokeListenerGroup(
+			Collection<ApplicationListener<?>> listeners, ApplicationEvent event, Executor executor) {
+
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[listeners.size()];
+		int i = 0;
+		for (ApplicationListener<?> listener : listeners) {
+			futures[i++] = invokeListenerAsync(listener, event, executor);
+		}
+		return CompletableFuture.allOf(futures);
+	}
+
+	private CompletableFuture<Void> invokeListenerAsync(
+			ApplicationListener<?> listener, ApplicationEvent event, Executor executor) {
+
+		CompletableFuture<Void> future = new CompletableFuture<>();
+		executor.execute(() -> {
+			try {
+				invokeListener(listener, event);
+				future.complete(null);
+			}
+			catch (Throwable ex) {
+				future.completeExceptionally(ex);
+			}
+		});
+		Duration timeout = this.listenerTimeout;
+		if (timeout != null && !future.isDone()) {
+			ScheduledFuture<?> timeoutTask = getTimeoutScheduler().schedule(() -> {
+				TimeoutException ex = new TimeoutException("Listener [" + listener +
+						"] did not complete within " + timeout.toMillis() + " ms for event " + event);
+				ErrorHandler errorHandler = getErrorHandler();
+				if (errorHandler == null) {
+					future.completeExceptionally(ex);
+				}
+				else if (!future.isDone()) {
+					try {
+						errorHandler.handleError(ex);
+						future.complete(null);
+					}
+					catch (Throwable handlerEx) {
+						future.completeExceptionally(handlerEx);
+					}
+				}
+			}, timeout.toNanos(), TimeUnit.NANOSECONDS);
+			future.whenComplete((result, ex) -> timeoutTask.cancel(false));
+		}
+		return future;
+	}
+
+	private ScheduledThreadPoolExecutor getTimeoutScheduler() {
+		ScheduledThreadPoolExecutor scheduler = this.timeoutScheduler;
+		if (scheduler == null) {
+			synchronized (this) {
+				scheduler = this.timeoutScheduler;
+				if (scheduler == null) {
+					CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("event-listener-timeout-");
+					threadFactory.setDaemon(true);
+					scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+					scheduler.setRemoveOnCancelPolicy(true);
+					this.timeoutScheduler = scheduler;
+				}
+			}
+		}
+		return scheduler;
+	}
+
+	private Log getLogger() {
+		Log logger = this.lazyLogger;
+		if (logger == null) {
+			logger = LogFactory.getLog(getClass());
+			this.lazyLogger = logger;
+		}
+		return logger;
+	}
+
 	private ResolvableType resolveDefaultEventType(ApplicationEvent event) {
 		return ResolvableType.forInstance(event);
 	}
@@ -176,7 +417,7 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 			if (msg == null || matchesClassCastMessage(msg, event.getClass())) {
 				// Possibly a lambda-defined listener which we could not resolve the generic event type for
 				// -> let's suppress the exception and just log a debug message.
-				Log logger = LogFactory.getLog(getClass());
+				Log logger = getLogger();
 				if (logger.isTraceEnabled()) {
 					logger.trace("Non-matching event type for listener: " + listener, ex);
 				}
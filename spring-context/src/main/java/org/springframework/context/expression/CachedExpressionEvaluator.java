@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.util.Map;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -30,6 +31,11 @@ import org.springframework.util.ObjectUtils;
  * Shared utility class used to evaluate and cache SpEL expressions that
  * are defined on {@link java.lang.reflect.AnnotatedElement}.
  *
+ * <p>As of 5.2.13, expressions are held in a bounded {@link ExpressionCache},
+ * by default a separate instance per evaluator. Hot expressions get compiled
+ * early if the parser has been configured for {@link SpelCompilerMode#MIXED}
+ * mode, e.g. through the "spring.expression.compiler.mode" property.
+ *
  * @author Stephane Nicoll
  * @since 4.2
  * @see AnnotatedElementKey
@@ -38,15 +44,32 @@ public abstract class CachedExpressionEvaluator {
 
 	private final SpelExpressionParser parser;
 
+	private final ExpressionCache expressionCache;
+
 	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
+	// Identifies this evaluator's entries in a potentially shared expression cache
+	private final Object expressionOwner = new Object();
+
 
 	/**
 	 * Create a new instance with the specified {@link SpelExpressionParser}.
 	 */
 	protected CachedExpressionEvaluator(SpelExpressionParser parser) {
+		this(parser, new ExpressionCache());
+	}
+
+	/**
+	 * Create a new instance with the specified {@link SpelExpressionParser}
+	 * and {@link ExpressionCache}, e.g. the {@linkplain ExpressionCache#getSharedInstance()
+	 * shared expression cache}.
+	 * @since 5.2.13
+	 */
+	protected CachedExpressionEvaluator(SpelExpressionParser parser, ExpressionCache expressionCache) {
 		Assert.notNull(parser, "SpelExpressionParser must not be null");
+		Assert.notNull(expressionCache, "ExpressionCache must not be null");
 		this.parser = parser;
+		this.expressionCache = expressionCache;
 	}
 
 	/**
@@ -64,6 +87,14 @@ public abstract class CachedExpressionEvaluator {
 		return this.parser;
 	}
 
+	/**
+	 * Return the {@link ExpressionCache} to use.
+	 * @since 5.2.13
+	 */
+	protected ExpressionCache getExpressionCache() {
+		return this.expressionCache;
+	}
+
 	/**
 	 * Return a shared parameter name discoverer which caches data internally.
 	 * @since 4.3
@@ -92,6 +123,28 @@ public abstract class CachedExpressionEvaluator {
 		return expr;
 	}
 
+	/**
+	 * Return the {@link Expression} for the specified SpEL value from the
+	 * {@link #getExpressionCache() ExpressionCache}.
+	 * <p>Parse the expression if it hasn't been already.
+	 * @param region the region of the expression, e.g. "condition"
+	 * @param elementKey the element on which the expression is defined
+	 * @param expression the expression to parse
+	 * @since 5.2.13
+	 */
+	protected Expression getExpression(String region, AnnotatedElementKey elementKey, String expression) {
+		return this.expressionCache.getExpression(this.expressionOwner, region, elementKey, expression, getParser());
+	}
+
+	/**
+	 * Remove the expressions that this evaluator holds in the {@link #getExpressionCache()
+	 * ExpressionCache}, so that they get parsed again on next access.
+	 * @since 5.2.13
+	 */
+	protected void clearExpressions() {
+		this.expressionCache.clear(this.expressionOwner);
+	}
+
 	private ExpressionKey createKey(AnnotatedElementKey elementKey, String expression) {
 		return new ExpressionKey(elementKey, expression);
 	}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.expression;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * Bounded cache for parsed {@link Expression Expressions} that are defined on
+ * {@link java.lang.reflect.AnnotatedElement AnnotatedElements}, held by a
+ * {@link CachedExpressionEvaluator} or shared between several evaluators.
+ *
+ * <p>Entries are held in a {@link ConcurrentLruCache}: once the cache limit is
+ * reached, the least recently used expressions get evicted and re-parsed on
+ * demand. This keeps the memory footprint of expressions (and of the classes
+ * generated for compiled expressions) stable across repeated context refreshes.
+ *
+ * <p>Each entry is scoped by an owner object and a region name, e.g. a particular
+ * evaluator and its "condition" expressions: the same expression string is only
+ * shared between lookups with equal owner and region. The entries of an owner can
+ * be removed through {@link #clear(Object)}, which is necessary for releasing the
+ * application classes referenced by the entries in a shared cache.
+ *
+ * <p>Hot {@link SpelExpression SpelExpressions} parsed in
+ * {@link SpelCompilerMode#MIXED} mode get compiled as soon as they have been
+ * retrieved the configured number of times, rather than after SpEL's
+ * built-in threshold. Compiled expressions still revert to interpreted
+ * mode if their compiled form fails.
+ *
+ * <p>Hit, miss, eviction and compilation counts are exposed for monitoring purposes.
+ *
+ * @since 5.2.13
+ * @see CachedExpressionEvaluator
+ * @see #getSharedInstance()
+ */
+public class ExpressionCache {
+
+	/**
+	 * Default maximum number of expressions held by a cache instance.
+	 */
+	public static final int DEFAULT_CACHE_LIMIT = 4096;
+
+	/**
+	 * Default number of retrievals of an expression after which compilation is attempted.
+	 */
+	public static final int DEFAULT_COMPILE_THRESHOLD = 10;
+
+	private static final ExpressionCache sharedInstance = new ExpressionCache();
+
+
+	private final ConcurrentLruCache<CacheKey, CacheEntry> cache;
+
+	private final Map<Object, Set<CacheKey>> ownerKeys = new ConcurrentHashMap<>();
+
+	private final int compileThreshold;
+
+	private final AtomicLong requestCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	private final AtomicLong compilationCount = new AtomicLong();
+
+
+	/**
+	 * Create a new cache with default settings.
+	 * @see #DEFAULT_CACHE_LIMIT
+	 * @see #DEFAULT_COMPILE_THRESHOLD
+	 */
+	public ExpressionCache() {
+		this(DEFAULT_CACHE_LIMIT, DEFAULT_COMPILE_THRESHOLD);
+	}
+
+	/**
+	 * Create a new cache with the given settings.
+	 * @param cacheLimit the maximum number of expressions to hold
+	 * (0 indicates no caching, always parsing the expression)
+	 * @param compileThreshold the number of retrievals of an expression
+	 * after which compilation is attempted (0 for leaving compilation
+	 * entirely to the compiler mode of the expression)
+	 */
+	public ExpressionCache(int cacheLimit, int compileThreshold) {
+		Assert.isTrue(compileThreshold >= 0, "Compile threshold must not be negative");
+		this.cache = new ConcurrentLruCache<>(cacheLimit, this::parse, this::evicted);
+		this.compileThreshold = compileThreshold;
+	}
+
+
+	/**
+	 * Return the {@link Expression} for the specified expression string,
+	 * parsing it with the given parser if it is not cached yet.
+	 * @param owner the owner of the expression, e.g. an evaluator instance
+	 * @param region the region of the expression within its owner, e.g. "condition"
+	 * @param elementKey the element on which the expression is defined
+	 * @param expression the expression to parse
+	 * @param parser the parser to use if the expression is not cached yet
+	 * @return the cached or newly parsed expression
+	 */
+	public Expression getExpression(Object owner, String region, AnnotatedElementKey elementKey,
+			String expression, ExpressionParser parser) {
+
+		this.requestCount.incrementAndGet();
+		CacheEntry entry = this.cache.get(new CacheKey(owner, region, elementKey, expression, parser));
+		if (this.compileThreshold > 0 && entry.retrievalCount.incrementAndGet() == this.compileThreshold + 1) {
+			compileIfPossible(entry.expression);
+		}
+		return entry.expression;
+	}
+
+	private CacheEntry parse(CacheKey key) {
+		this.missCount.incrementAndGet();
+		CacheEntry entry = new CacheEntry(key.parser.parseExpression(key.expression));
+		this.ownerKeys.compute(key.owner, (owner, keys) -> {
+			Set<CacheKey> ownerKeys = (keys != null ? keys : ConcurrentHashMap.newKeySet());
+			ownerKeys.add(key);
+			return ownerKeys;
+		});
+		return entry;
+	}
+
+	private void evicted(CacheKey key, CacheEntry entry) {
+		this.evictionCount.incrementAndGet();
+		this.ownerKeys.computeIfPresent(key.owner, (owner, keys) -> {
+			keys.remove(key);
+			return (keys.isEmpty() ? null : keys);
+		});
+	}
+
+	private void compileIfPossible(Expression expression) {
+		if (expression instanceof SpelExpression) {
+			SpelExpression spelExpression = (SpelExpression) expression;
+			if (spelExpression.getCompilerMode() == SpelCompilerMode.MIXED &&
+					!spelExpression.isCompiled() && spelExpression.compileExpression()) {
+				this.compilationCount.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Remove all expressions held for the given owner from this cache.
+	 * @param owner the owner of the expressions, as passed into
+	 * {@link #getExpression}
+	 */
+	public void clear(Object owner) {
+		Set<CacheKey> keys = this.ownerKeys.remove(owner);
+		if (keys != null) {
+			for (CacheKey key : keys) {
+				this.cache.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Remove all expressions from this cache.
+	 */
+	public void clear() {
+		this.cache.clear();
+		this.ownerKeys.clear();
+	}
+
+	/**
+	 * Return the current number of expressions in this cache.
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return the maximum number of expressions in this cache.
+	 */
+	public int getCacheLimit() {
+		return this.cache.sizeLimit();
+	}
+
+	/**
+	 * Return the number of retrievals after which compilation of an expression is attempted.
+	 */
+	public int getCompileThreshold() {
+		return this.compileThreshold;
+	}
+
+	/**
+	 * Return the number of expression retrievals served from this cache.
+	 */
+	public long getHitCount() {
+		return this.requestCount.get() - this.missCount.get();
+	}
+
+	/**
+	 * Return the number of expression retrievals that required parsing.
+	 */
+	public long getMissCount() {
+		return this.missCount.get();
+	}
+
+	/**
+	 * Return the number of expressions evicted due to the cache limit.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.get();
+	}
+
+	/**
+	 * Return the number of expressions successfully compiled by this cache.
+	 */
+	public long getCompilationCount() {
+		return this.compilationCount.get();
+	}
+
+	@Override
+	public String toString() {
+		return "ExpressionCache: size=" + size() + ", limit=" + getCacheLimit() + ", hits=" + getHitCount() +
+				", misses=" + getMissCount() + ", evictions=" + getEvictionCount() +
+				", compilations=" + getCompilationCount();
+	}
+
+
+	/**
+	 * Return a shared {@code ExpressionCache} instance, for evaluators which
+	 * explicitly opt into sharing their expressions with other evaluators.
+	 * <p>Note that such evaluators need to {@linkplain #clear(Object) clear}
+	 * their entries when shutting down, in order to not keep references to
+	 * application classes beyond the lifecycle of the application.
+	 */
+	public static ExpressionCache getSharedInstance() {
+		return sharedInstance;
+	}
+
+
+	private static final class CacheKey {
+
+		private final Object owner;
+
+		private final String region;
+
+		private final AnnotatedElementKey elementKey;
+
+		private final String expression;
+
+		private final ExpressionParser parser;
+
+		CacheKey(Object owner, String region, AnnotatedElementKey elementKey, String expression,
+				ExpressionParser parser) {
+
+			Assert.notNull(owner, "Owner must not be null");
+			Assert.notNull(region, "Region must not be null");
+			Assert.notNull(elementKey, "AnnotatedElementKey must not be null");
+			Assert.notNull(expression, "Expression must not be null");
+			this.owner = owner;
+			this.region = region;
+			this.elementKey = elementKey;
+			this.expression = expression;
+			this.parser = parser;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey otherKey = (CacheKey) other;
+			return (this.owner.equals(otherKey.owner) && this.region.equals(otherKey.region) &&
+					this.elementKey.equals(otherKey.elementKey) &&
+					this.expression.equals(otherKey.expression));
+		}
+
+		@Override
+		public int hashCode() {
+			return ((this.owner.hashCode() * 29 + this.region.hashCode()) * 29 +
+					this.elementKey.hashCode()) * 29 + this.expression.hashCode();
+		}
+	}
+
+
+	private static final class CacheEntry {
+
+		final Expression expression;
+
+		final AtomicInteger retrievalCount = new AtomicInteger();
+
+		CacheEntry(Expression expression) {
+			this.expression = expression;
+		}
+	}
+
+}
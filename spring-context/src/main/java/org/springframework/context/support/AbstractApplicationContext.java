@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.logging.Log;
@@ -39,6 +40,8 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
 import org.springframework.beans.support.ResourceEditorRegistrar;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -46,6 +49,7 @@ import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.context.ApplicationListener;
+import org.springframework.context.ApplicationStartupAware;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.EmbeddedValueResolverAware;
 import org.springframework.context.EnvironmentAware;
@@ -77,6 +81,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
@@ -231,6 +237,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	@Nullable
 	private Set<ApplicationEvent> earlyApplicationEvents;
 
+	/** Application startup metrics. **/
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
 
 	/**
 	 * Create a new AbstractApplicationContext with no parent.
@@ -357,6 +366,17 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		return new StandardEnvironment();
 	}
 
+	@Override
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		Assert.notNull(applicationStartup, "applicationStartup should not be null");
+		this.applicationStartup = applicationStartup;
+	}
+
+	@Override
+	public ApplicationStartup getApplicationStartup() {
+		return this.applicationStartup;
+	}
+
 	/**
 	 * Return this context's internal bean factory as AutowireCapableBeanFactory,
 	 * if already available.
@@ -543,7 +563,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		if (this.applicationEventMulticaster != null) {
 			this.applicationEventMulticaster.addApplicationListener(listener);
 		}
-		this.applicationListeners.add(listener);
+		synchronized (this.applicationListeners) {
+			this.applicationListeners.add(listener);
+		}
 	}
 
 	/**
@@ -560,6 +582,8 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		 * "refresh" and "destroy"要做同步
 		 * */
 		synchronized (this.startupShutdownMonitor) {
+			StartupStep contextRefresh = this.applicationStartup.start("spring.context.refresh");
+
 			// Prepare this context for refreshing.
 			/*
 			* //各种准备工作!!!!!!!!!!!!!!!
@@ -654,6 +678,8 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				* */
 				postProcessBeanFactory(beanFactory);
 
+				StartupStep beanPostProcess = this.applicationStartup.start("spring.context.beans.post-process");
+
 				// Invoke factory processors registered as beans in the context.
 				/*
 				* 初始化所有的后置处理器（BeanFactoryPostProcessor），所有的后置处理器也都是bean
@@ -722,16 +748,21 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				/*
 				* 如果有数据库配置 文件， ${jdbc.userName}这种属性值，在一个 PropertySourcesPlaceholderConfigurer 中进行解析替换工作
 				* */
-				invokeBeanFactoryPostProcessors(beanFactory);
-
-				// Register bean processors that intercept bean creation.
-				/*
-				 * 注册所有的后置处理器（BeanPostProcessor）
-				 * bean分两类：一类是普通的自己用的对象，一类是Spring要用的容器对象
-				 * 这里已经是beanPostProcessor了，不再是上边的BeanFactoryProcessor了
-				 * 但是此方法必须在所有的普通bean被实例化之前调用！！！
-				 * */
-				registerBeanPostProcessors(beanFactory);
+				try {
+					invokeBeanFactoryPostProcessors(beanFactory);
+
+					// Register bean processors that intercept bean creation.
+					/*
+					 * 注册所有的后置处理器（BeanPostProcessor）
+					 * bean分两类：一类是普通的自己用的对象，一类是Spring要用的容器对象
+					 * 这里已经是beanPostProcessor了，不再是上边的BeanFactoryProcessor了
+					 * 但是此方法必须在所有的普通bean被实例化之前调用！！！
+					 * */
+					registerBeanPostProcessors(beanFactory);
+				}
+				finally {
+					beanPostProcess.end();
+				}
 
 				// Initialize message source for this context.
 				/*
@@ -874,6 +905,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				* 重置缓存
 				* */
 				resetCommonCaches();
+				contextRefresh.end();
 			}
 		}
 	}
@@ -1028,6 +1060,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		beanFactory.ignoreDependencyInterface(ApplicationEventPublisherAware.class);
 		beanFactory.ignoreDependencyInterface(MessageSourceAware.class);
 		beanFactory.ignoreDependencyInterface(ApplicationContextAware.class);
+		beanFactory.ignoreDependencyInterface(ApplicationStartupAware.class);
 
 		// BeanFactory interface not registered as resolvable type in a plain factory.
 		// MessageSource registered (and found for autowiring) as a bean.
@@ -1075,6 +1108,10 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		if (!beanFactory.containsLocalBean(SYSTEM_ENVIRONMENT_BEAN_NAME)) {
 			beanFactory.registerSingleton(SYSTEM_ENVIRONMENT_BEAN_NAME, getEnvironment().getSystemEnvironment());
 		}
+		beanFactory.setApplicationStartup(getApplicationStartup());
+		if (!beanFactory.containsLocalBean(APPLICATION_STARTUP_BEAN_NAME)) {
+			beanFactory.registerSingleton(APPLICATION_STARTUP_BEAN_NAME, getApplicationStartup());
+		}
 	}
 
 	/**
@@ -1243,8 +1280,14 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 			}
 		}
 		else {
-			this.applicationEventMulticaster = new SimpleApplicationEventMulticaster(beanFactory);
-			beanFactory.registerSingleton(APPLICATION_EVENT_MULTICASTER_BEAN_NAME, this.applicationEventMulticaster);
+			SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(beanFactory);
+			this.applicationEventMulticaster = multicaster;
+			beanFactory.registerSingleton(APPLICATION_EVENT_MULTICASTER_BEAN_NAME, multicaster);
+			if (beanFactory instanceof DefaultSingletonBeanRegistry) {
+				// Shut down its listener timeout scheduler along with the singletons
+				((DefaultSingletonBeanRegistry) beanFactory).registerDisposableBean(
+						APPLICATION_EVENT_MULTICASTER_BEAN_NAME, multicaster);
+			}
 			if (logger.isTraceEnabled()) {
 				logger.trace("No '" + APPLICATION_EVENT_MULTICASTER_BEAN_NAME + "' bean, using " +
 						"[" + this.applicationEventMulticaster.getClass().getSimpleName() + "]");
@@ -1380,6 +1423,13 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		/* 所有的beanDefinition已经全部加载完毕，不希望beanDefinition再有什么改变 */
 		beanFactory.freezeConfiguration();
 
+		// Use a bootstrap executor, if defined, for pre-instantiating singletons in parallel.
+		if (beanFactory.containsBean(BOOTSTRAP_EXECUTOR_BEAN_NAME) &&
+				beanFactory instanceof DefaultListableBeanFactory) {
+			((DefaultListableBeanFactory) beanFactory).setBootstrapExecutor(
+					beanFactory.getBean(BOOTSTRAP_EXECUTOR_BEAN_NAME, Executor.class));
+		}
+
 		// Instantiate all remaining (non-lazy-init) singletons.
 		/*
 		 * =================================================================================================
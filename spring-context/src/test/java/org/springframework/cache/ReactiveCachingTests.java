@@ -0,0 +1,216 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for annotation-based caching methods that use reactive operators
+ * or return a {@link CompletableFuture}.
+ */
+public class ReactiveCachingTests {
+
+	private AnnotationConfigApplicationContext context;
+
+	private ReactiveCacheableService service;
+
+	private Cache cache;
+
+
+	@BeforeEach
+	public void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.service = this.context.getBean(ReactiveCacheableService.class);
+		this.cache = this.context.getBean(CacheManager.class).getCache("first");
+	}
+
+	@AfterEach
+	public void close() {
+		this.context.close();
+	}
+
+
+	@Test
+	public void cacheFutureValue() {
+		CompletableFuture<Long> r1 = this.service.cacheFuture(1L);
+		CompletableFuture<Long> r2 = this.service.cacheFuture(1L);
+		CompletableFuture<Long> r3 = this.service.cacheFuture(2L);
+
+		assertThat(r1.join()).isEqualTo(r2.join());
+		assertThat(r3.join()).isNotEqualTo(r1.join());
+		assertThat(this.cache.get(1L).get()).isEqualTo(r1.join());
+		assertThat(this.service.invocations()).isEqualTo(2);
+	}
+
+	@Test
+	public void coalesceConcurrentFutureLoads() {
+		CompletableFuture<Long> trigger = new CompletableFuture<>();
+		this.service.setTrigger(trigger);
+
+		CompletableFuture<Long> r1 = this.service.cacheFuture(1L);
+		CompletableFuture<Long> r2 = this.service.cacheFuture(1L);
+		assertThat(r1).isNotDone();
+		assertThat(r2).isNotDone();
+
+		trigger.complete(42L);
+		assertThat(r1.join()).isEqualTo(42L);
+		assertThat(r2.join()).isEqualTo(42L);
+		assertThat(this.cache.get(1L).get()).isEqualTo(42L);
+		assertThat(this.service.invocations()).isEqualTo(1);
+	}
+
+	@Test
+	public void cacheMonoValue() {
+		Long r1 = this.service.cacheMono(1L).block();
+		Long r2 = this.service.cacheMono(1L).block();
+		Long r3 = this.service.cacheMono(2L).block();
+
+		assertThat(r1).isEqualTo(r2);
+		assertThat(r3).isNotEqualTo(r1);
+		assertThat(this.cache.get(1L).get()).isEqualTo(r1);
+		assertThat(this.service.invocations()).isEqualTo(2);
+	}
+
+	@Test
+	public void coalesceConcurrentMonoSubscriptions() {
+		CompletableFuture<Long> trigger = new CompletableFuture<>();
+		this.service.setTrigger(trigger);
+
+		CompletableFuture<Long> r1 = this.service.cacheMono(1L).toFuture();
+		CompletableFuture<Long> r2 = this.service.cacheMono(1L).toFuture();
+		assertThat(r1).isNotDone();
+		assertThat(r2).isNotDone();
+
+		trigger.complete(42L);
+		assertThat(r1.join()).isEqualTo(42L);
+		assertThat(r2.join()).isEqualTo(42L);
+		assertThat(this.cache.get(1L).get()).isEqualTo(42L);
+		assertThat(this.service.methodInvocations()).isEqualTo(2);
+		assertThat(this.service.invocations()).isEqualTo(1);
+	}
+
+	@Test
+	public void unsubscribedMonoDoesNotBlockLaterLoads() {
+		this.service.cacheMono(1L);
+		Long r1 = this.service.cacheMono(1L).block(Duration.ofSeconds(5));
+		assertThat(this.cache.get(1L).get()).isEqualTo(r1);
+		assertThat(this.service.invocations()).isEqualTo(1);
+	}
+
+	@Test
+	public void cancelledMonoDoesNotBlockLaterLoads() {
+		this.service.setTrigger(new CompletableFuture<>());
+		this.service.cacheMono(1L).subscribe().dispose();
+
+		this.service.setTrigger(null);
+		Long r1 = this.service.cacheMono(1L).block(Duration.ofSeconds(5));
+		assertThat(r1).isEqualTo(1L);
+		assertThat(this.cache.get(1L).get()).isEqualTo(1L);
+	}
+
+	@Test
+	public void cacheFluxValues() {
+		List<Long> r1 = this.service.cacheFlux(1L).collectList().block();
+		List<Long> r2 = this.service.cacheFlux(1L).collectList().block();
+		List<Long> r3 = this.service.cacheFlux(2L).collectList().block();
+
+		assertThat(r1).hasSize(3).isEqualTo(r2);
+		assertThat(r3).isNotEqualTo(r1);
+		assertThat(this.cache.get(1L).get()).isEqualTo(r1);
+		assertThat(this.service.invocations()).isEqualTo(2);
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager("first");
+		}
+
+		@Bean
+		public ReactiveCacheableService reactiveCacheableService() {
+			return new ReactiveCacheableService();
+		}
+	}
+
+
+	@CacheConfig(cacheNames = "first")
+	public static class ReactiveCacheableService {
+
+		private final AtomicLong counter = new AtomicLong();
+
+		private final AtomicLong methodCounter = new AtomicLong();
+
+		private CompletableFuture<Long> trigger;
+
+		public void setTrigger(CompletableFuture<Long> trigger) {
+			this.trigger = trigger;
+		}
+
+		public long invocations() {
+			return this.counter.get();
+		}
+
+		public long methodInvocations() {
+			return this.methodCounter.get();
+		}
+
+		@Cacheable
+		public CompletableFuture<Long> cacheFuture(Object arg) {
+			long value = this.counter.getAndIncrement();
+			return (this.trigger != null ? this.trigger : CompletableFuture.completedFuture(value));
+		}
+
+		@Cacheable
+		public Mono<Long> cacheMono(Object arg) {
+			this.methodCounter.incrementAndGet();
+			Mono<Long> value = Mono.fromSupplier(this.counter::getAndIncrement);
+			return (this.trigger != null ? value.then(Mono.fromFuture(this.trigger)) : value);
+		}
+
+		@Cacheable
+		public Flux<Long> cacheFlux(Object arg) {
+			return Flux.defer(() -> {
+				long value = this.counter.getAndIncrement();
+				return Flux.just(value, value + 1, value + 2);
+			});
+		}
+	}
+
+}
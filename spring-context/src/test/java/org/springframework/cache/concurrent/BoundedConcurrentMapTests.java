@@ -0,0 +1,155 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BoundedConcurrentMap}.
+ */
+class BoundedConcurrentMapTests {
+
+	private final AtomicLong ticker = new AtomicLong();
+
+
+	@Test
+	void evictsUnreferencedEntriesBeyondMaximumSize() {
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(2);
+		map.put("k1", "v1");
+		map.put("k2", "v2");
+		assertThat(map.get("k1")).isEqualTo("v1");
+		map.put("k3", "v3");
+
+		assertThat(map).hasSize(2);
+		assertThat(map).containsOnlyKeys("k1", "k3");
+		assertThat(map.getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void containsKeyDoesNotPreventEviction() {
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(2);
+		map.put("k1", "v1");
+		map.put("k2", "v2");
+		assertThat(map.containsKey("k1")).isTrue();
+		map.put("k3", "v3");
+
+		assertThat(map).containsOnlyKeys("k2", "k3");
+	}
+
+	@Test
+	void concurrentWritesDoNotExceedMaximumSize() throws Exception {
+		BoundedConcurrentMap<Integer, String> map = new BoundedConcurrentMap<>(100);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				int offset = i * 10000;
+				futures.add(executor.submit(() -> {
+					for (int key = offset; key < offset + 10000; key++) {
+						map.put(key, "value");
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(map.size()).isLessThanOrEqualTo(100);
+		assertThat(map.getEvictionCount()).isGreaterThanOrEqualTo(80000 - 100);
+	}
+
+	@Test
+	void zeroMaximumSizeHoldsNoEntries() {
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(0);
+		map.put("k1", "v1");
+		assertThat(map.get("k1")).isNull();
+		assertThat(map).isEmpty();
+	}
+
+	@Test
+	void expiresAfterWrite() {
+		BoundedConcurrentMap<String, String> map =
+				new BoundedConcurrentMap<>(-1, Duration.ofNanos(10), null, this.ticker::get);
+		map.put("k1", "v1");
+		this.ticker.set(9);
+		assertThat(map.get("k1")).isEqualTo("v1");
+		this.ticker.set(10);
+		assertThat(map.get("k1")).isNull();
+		assertThat(map.containsKey("k1")).isFalse();
+		assertThat(map.getEvictionCount()).isEqualTo(1);
+
+		assertThat(map.putIfAbsent("k1", "v2")).isNull();
+		assertThat(map.get("k1")).isEqualTo("v2");
+	}
+
+	@Test
+	void expiresAfterAccess() {
+		BoundedConcurrentMap<String, String> map =
+				new BoundedConcurrentMap<>(-1, null, Duration.ofNanos(10), this.ticker::get);
+		map.put("k1", "v1");
+		this.ticker.set(9);
+		assertThat(map.get("k1")).isEqualTo("v1");
+		this.ticker.set(18);
+		assertThat(map.get("k1")).isEqualTo("v1");
+		this.ticker.set(28);
+		assertThat(map.get("k1")).isNull();
+	}
+
+	@Test
+	void cleansUpExpiredEntriesOnWrite() {
+		BoundedConcurrentMap<String, String> map =
+				new BoundedConcurrentMap<>(-1, Duration.ofNanos(10), null, this.ticker::get);
+		map.put("k1", "v1");
+		map.put("k2", "v2");
+		this.ticker.set(10);
+		map.put("k3", "v3");
+
+		assertThat(map).containsOnlyKeys("k3");
+		assertThat(map.getEvictionCount()).isEqualTo(2);
+	}
+
+	@Test
+	void computeIfAbsentAndConditionalOperations() {
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(10);
+		assertThat(map.computeIfAbsent("k1", k -> "v1")).isEqualTo("v1");
+		assertThat(map.computeIfAbsent("k1", k -> "other")).isEqualTo("v1");
+		assertThat(map.computeIfAbsent("k2", k -> null)).isNull();
+		assertThat(map.containsKey("k2")).isFalse();
+
+		assertThat(map.replace("k1", "other", "v2")).isFalse();
+		assertThat(map.replace("k1", "v1", "v2")).isTrue();
+		assertThat(map.replace("k1", "v3")).isEqualTo("v2");
+		assertThat(map.remove("k1", "v2")).isFalse();
+		assertThat(map.remove("k1", "v3")).isTrue();
+		assertThat(map).isEmpty();
+	}
+
+}
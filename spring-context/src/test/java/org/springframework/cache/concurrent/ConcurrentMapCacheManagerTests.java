@@ -131,4 +131,31 @@ public class ConcurrentMapCacheManagerTests {
 		assertThat(cache1x.get("key")).isNull();
 	}
 
+	@Test
+	public void testBoundedCachesWithStatistics() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager();
+		cm.setMaximumSize(2);
+		cm.setRecordStats(true);
+		ConcurrentMapCache cache = (ConcurrentMapCache) cm.getCache("c1");
+		assertThat(cache.getNativeCache()).isInstanceOf(BoundedConcurrentMap.class);
+
+		cache.put("key1", "value1");
+		cache.put("key2", "value2");
+		assertThat(cache.get("key1").get()).isEqualTo("value1");
+		assertThat(cache.get("key3", () -> "value3")).isEqualTo("value3");
+		assertThat(cache.get("key3", () -> "other")).isEqualTo("value3");
+		assertThat(cache.get("key2")).isNull();
+
+		assertThat(cache.getNativeCache()).hasSize(2);
+		assertThat(cache.getHitCount()).isEqualTo(2);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+		assertThat(cache.getLoadCount()).isEqualTo(1);
+		assertThat(cache.getEvictionCount()).isEqualTo(1);
+
+		cm.setMaximumSize(-1);
+		ConcurrentMapCache cache2 = (ConcurrentMapCache) cm.getCache("c1");
+		assertThat(cache2).isNotSameAs(cache);
+		assertThat(cache2.getNativeCache()).isNotInstanceOf(BoundedConcurrentMap.class);
+	}
+
 }
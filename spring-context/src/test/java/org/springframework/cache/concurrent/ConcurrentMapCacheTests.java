@@ -25,6 +25,7 @@ import java.util.concurrent.ConcurrentMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.cache.CacheStatistics;
 import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheTests;
 import org.springframework.core.serializer.support.SerializationDelegate;
 
@@ -115,6 +116,31 @@ public class ConcurrentMapCacheTests extends AbstractValueAdaptingCacheTests<Con
 			.withMessageContaining("Some garbage");
 	}
 
+	@Test
+	public void testStatistics() {
+		assertThat(this.cache.getStatistics()).isNull();
+
+		ConcurrentMapCache statsCache = new ConcurrentMapCache(CACHE_NAME, new ConcurrentHashMap<>(), true, null, true);
+		statsCache.put("a", "1");
+		statsCache.putIfAbsent("a", "2");
+		assertThat(statsCache.get("a")).isNotNull();
+		assertThat(statsCache.get("b")).isNull();
+		assertThat(statsCache.get("c", () -> "3")).isEqualTo("3");
+		assertThat(statsCache.get("c", () -> "4")).isEqualTo("3");
+		statsCache.evict("a");
+		statsCache.evict("a");
+
+		CacheStatistics statistics = statsCache.getStatistics();
+		assertThat(statistics).isNotNull();
+		assertThat(statistics.getHitCount()).isEqualTo(2);
+		assertThat(statistics.getMissCount()).isEqualTo(2);
+		assertThat(statistics.getPutCount()).isEqualTo(2);
+		assertThat(statistics.getRemovalCount()).isEqualTo(1);
+		assertThat(statistics.getEvictionCount()).isEqualTo(0);
+		assertThat(statistics.getLoadCount()).isEqualTo(1);
+		assertThat(statistics.getHitRatio()).isEqualTo(0.5);
+	}
+
 
 	private ConcurrentMapCache createCacheWithStoreByValue() {
 		return new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true,
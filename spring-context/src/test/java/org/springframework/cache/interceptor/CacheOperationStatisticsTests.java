@@ -0,0 +1,175 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.CacheStatistics;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.Nullable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Tests for {@link CacheOperationStatistics} as a {@link CacheOperationListener}.
+ */
+public class CacheOperationStatisticsTests {
+
+	private AnnotationConfigApplicationContext context;
+
+	private CacheOperationStatistics statistics;
+
+	private SimpleService simpleService;
+
+
+	@BeforeEach
+	public void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.statistics = this.context.getBean(CacheOperationStatistics.class);
+		this.simpleService = this.context.getBean(SimpleService.class);
+	}
+
+	@AfterEach
+	public void close() {
+		this.context.close();
+	}
+
+
+	@Test
+	public void listenerDetectedAsBean() {
+		assertThat(this.context.getBean(CacheInterceptor.class).getCacheOperationListener()).isSameAs(this.statistics);
+	}
+
+	@Test
+	public void recordHitsMissesPutsAndEvictions() {
+		this.simpleService.get(1L);
+		this.simpleService.get(1L);
+		this.simpleService.get(2L);
+		this.simpleService.evict(1L);
+
+		CacheStatistics stats = this.statistics.getStatistics("test");
+		assertThat(stats).isNotNull();
+		assertThat(stats.getHitCount()).isEqualTo(1);
+		assertThat(stats.getMissCount()).isEqualTo(2);
+		assertThat(stats.getPutCount()).isEqualTo(2);
+		assertThat(stats.getRemovalCount()).isEqualTo(1);
+		assertThat(stats.getLoadCount()).isEqualTo(2);
+		assertThat(this.statistics.getKeyGenerationCount()).isEqualTo(6);
+		assertThat(this.statistics.getCacheNames()).containsExactly("test");
+	}
+
+	@Test
+	public void recordSynchronizedHitsAndMisses() {
+		this.simpleService.getSync(1L);
+		this.simpleService.getSync(1L);
+
+		CacheStatistics stats = this.statistics.getStatistics("sync");
+		assertThat(stats).isNotNull();
+		assertThat(stats.getHitCount()).isEqualTo(1);
+		assertThat(stats.getMissCount()).isEqualTo(1);
+		assertThat(stats.getPutCount()).isEqualTo(1);
+		assertThat(stats.getLoadCount()).isEqualTo(1);
+		assertThat(this.statistics.getStatistics("test")).isNull();
+	}
+
+	@Test
+	public void failingListenerDoesNotAffectCacheOperations() {
+		CacheInterceptor interceptor = this.context.getBean(CacheInterceptor.class);
+		CacheErrorHandler errorHandler = mock(CacheErrorHandler.class);
+		interceptor.setErrorHandler(errorHandler);
+		interceptor.setCacheOperationListener(new CacheOperationListener() {
+			@Override
+			public void onCacheHit(Cache cache, Object key) {
+				throw new IllegalStateException("Test exception");
+			}
+			@Override
+			public void onCacheMiss(Cache cache, Object key) {
+				throw new IllegalStateException("Test exception");
+			}
+			@Override
+			public void onCachePut(Cache cache, Object key) {
+				throw new IllegalStateException("Test exception");
+			}
+			@Override
+			public void onCacheEvict(Cache cache, @Nullable Object key) {
+				throw new IllegalStateException("Test exception");
+			}
+		});
+
+		Object value = this.simpleService.get(1L);
+		assertThat(this.simpleService.get(1L)).isEqualTo(value);
+		this.simpleService.evict(1L);
+		assertThat(this.simpleService.get(1L)).isNotEqualTo(value);
+		verifyNoInteractions(errorHandler);
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public CacheOperationStatistics cacheOperationStatistics() {
+			return new CacheOperationStatistics();
+		}
+
+		@Bean
+		public SimpleService simpleService() {
+			return new SimpleService();
+		}
+	}
+
+
+	public static class SimpleService {
+
+		private final AtomicLong counter = new AtomicLong();
+
+		@Cacheable("test")
+		public Object get(long id) {
+			return this.counter.getAndIncrement();
+		}
+
+		@Cacheable(cacheNames = "sync", sync = true)
+		public Object getSync(long id) {
+			return this.counter.getAndIncrement();
+		}
+
+		@CacheEvict("test")
+		public void evict(long id) {
+		}
+	}
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.CacheStatistics;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.Nullable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@code @Cacheable(sync=true)} with single-flight loading.
+ *
+ * @see CacheAspectSupport#setSingleFlightLoading
+ */
+public class CacheSingleFlightTests {
+
+	private AnnotationConfigApplicationContext context;
+
+	private CacheManager cacheManager;
+
+	private SimpleService simpleService;
+
+
+	@BeforeEach
+	public void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.context.getBean(CacheInterceptor.class).setSingleFlightLoading(true);
+		this.cacheManager = this.context.getBean(CacheManager.class);
+		this.simpleService = this.context.getBean(SimpleService.class);
+	}
+
+	@AfterEach
+	public void close() {
+		this.context.close();
+	}
+
+
+	@Test
+	public void concurrentMissesInvokeOnce() throws Exception {
+		CacheOperationStatistics statistics = new CacheOperationStatistics();
+		this.context.getBean(CacheInterceptor.class).setCacheOperationListener(statistics);
+		CountDownLatch latch = new CountDownLatch(1);
+		this.simpleService.setLatch(latch);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Object>> results = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				results.add(executor.submit(() -> this.simpleService.get(1L)));
+			}
+			Thread.sleep(100);
+			latch.countDown();
+			for (Future<Object> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(0L);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(this.simpleService.invocations()).isEqualTo(1);
+		assertThat(this.cacheManager.getCache("test").get(1L).get()).isEqualTo(0L);
+		CacheStatistics stats = statistics.getStatistics("test");
+		assertThat(stats.getHitCount()).isEqualTo(3);
+		assertThat(stats.getLoadCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void loadCompletedAfterInitialLookupIsNotRepeated() {
+		// The first lookup misses, as if the previous load had not stored its value yet
+		this.cacheManager.getCache("lagging").put(1L, "loaded");
+		assertThat(this.simpleService.getLagging(1L)).isEqualTo("loaded");
+		assertThat(this.simpleService.invocations()).isEqualTo(0);
+	}
+
+	@Test
+	public void syncWithMultipleCaches() {
+		Object value = this.simpleService.getMultiple(1L);
+		assertThat(this.simpleService.getMultiple(1L)).isEqualTo(value);
+		assertThat(this.cacheManager.getCache("first").get(1L).get()).isEqualTo(value);
+		assertThat(this.cacheManager.getCache("second").get(1L).get()).isEqualTo(value);
+	}
+
+	@Test
+	public void syncWithUnless() {
+		assertThat(this.simpleService.getUnless(1L)).isEqualTo(0L);
+		assertThat(this.simpleService.getUnless(1L)).isEqualTo(1L);
+		assertThat(this.cacheManager.getCache("test").get(1L)).isNull();
+	}
+
+	@Test
+	public void syncWithOtherOperations() {
+		this.cacheManager.getCache("second").put(1L, "stale");
+		Object value = this.simpleService.getAndEvict(1L);
+		assertThat(this.cacheManager.getCache("first").get(1L).get()).isEqualTo(value);
+		assertThat(this.cacheManager.getCache("second").get(1L)).isNull();
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager() {
+				@Override
+				protected Cache createConcurrentMapCache(String name) {
+					return ("lagging".equals(name) ? new LaggingCache(name) : super.createConcurrentMapCache(name));
+				}
+			};
+		}
+
+		@Bean
+		public SimpleService simpleService() {
+			return new SimpleService();
+		}
+	}
+
+
+	public static class SimpleService {
+
+		private final AtomicLong counter = new AtomicLong();
+
+		private CountDownLatch latch;
+
+		public void setLatch(CountDownLatch latch) {
+			this.latch = latch;
+		}
+
+		public long invocations() {
+			return this.counter.get();
+		}
+
+		@Cacheable(cacheNames = "test", sync = true)
+		public Object get(long id) throws InterruptedException {
+			if (this.latch != null) {
+				this.latch.await();
+			}
+			return this.counter.getAndIncrement();
+		}
+
+		@Cacheable(cacheNames = "lagging", sync = true)
+		public Object getLagging(long id) {
+			return this.counter.getAndIncrement();
+		}
+
+		@Cacheable(cacheNames = {"first", "second"}, sync = true)
+		public Object getMultiple(long id) {
+			return this.counter.getAndIncrement();
+		}
+
+		@Cacheable(cacheNames = "test", sync = true, unless = "true")
+		public Object getUnless(long id) {
+			return this.counter.getAndIncrement();
+		}
+
+		@Cacheable(cacheNames = "first", sync = true)
+		@CacheEvict("second")
+		public Object getAndEvict(long id) {
+			return this.counter.getAndIncrement();
+		}
+	}
+
+
+	/**
+	 * Cache that misses the first lookup of each key.
+	 */
+	private static class LaggingCache extends ConcurrentMapCache {
+
+		private final Set<Object> lookedUp = ConcurrentHashMap.newKeySet();
+
+		LaggingCache(String name) {
+			super(name);
+		}
+
+		@Override
+		@Nullable
+		public ValueWrapper get(Object key) {
+			return (this.lookedUp.add(key) ? null : super.get(key));
+		}
+	}
+
+}
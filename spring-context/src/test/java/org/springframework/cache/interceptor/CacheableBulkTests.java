@@ -0,0 +1,204 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@code @Cacheable(bulk=true)}.
+ */
+public class CacheableBulkTests {
+
+	private AnnotationConfigApplicationContext context;
+
+	private Cache cache;
+
+	private BulkService bulkService;
+
+
+	@BeforeEach
+	public void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.cache = this.context.getBean(CacheManager.class).getCache("users");
+		this.bulkService = this.context.getBean(BulkService.class);
+	}
+
+	@AfterEach
+	public void close() {
+		this.context.close();
+	}
+
+
+	@Test
+	public void invokeForMissingKeysOnly() {
+		Map<Long, String> result = this.bulkService.findByIds(Arrays.asList(1L, 2L));
+		assertThat(result).containsExactly(entry(1L, "user1"), entry(2L, "user2"));
+		assertThat(this.cache.get(1L).get()).isEqualTo("user1");
+		assertThat(this.cache.get(2L).get()).isEqualTo("user2");
+
+		result = this.bulkService.findByIds(Arrays.asList(3L, 2L, 1L));
+		assertThat(result).containsExactly(entry(3L, "user3"), entry(2L, "user2"), entry(1L, "user1"));
+		assertThat(this.bulkService.requestedIds).hasSize(2);
+		assertThat(this.bulkService.requestedIds.get(0)).containsExactly(1L, 2L);
+		assertThat(this.bulkService.requestedIds.get(1)).containsExactly(3L);
+
+		result = this.bulkService.findByIds(Arrays.asList(1L, 3L));
+		assertThat(result).containsExactly(entry(1L, "user1"), entry(3L, "user3"));
+		assertThat(this.bulkService.requestedIds).hasSize(2);
+	}
+
+	@Test
+	public void unlessEvaluatedPerValue() {
+		Map<Long, String> result = this.bulkService.findByIds(Arrays.asList(1L, 13L));
+		assertThat(result).containsOnlyKeys(1L, 13L);
+		assertThat(this.cache.get(1L)).isNotNull();
+		assertThat(this.cache.get(13L)).isNull();
+	}
+
+	@Test
+	public void missingEntriesNotCached() {
+		Map<Long, String> result = this.bulkService.findByIds(Arrays.asList(1L, -1L));
+		assertThat(result).containsOnlyKeys(1L);
+		assertThat(this.cache.get(-1L)).isNull();
+	}
+
+	@Test
+	public void missingKeysMatchParameterType() {
+		this.cache.put(1L, "user1");
+		Map<Long, String> result = this.bulkService.findByIdDeque(new ArrayDeque<>(Arrays.asList(1L, 2L)));
+		assertThat(result).containsExactly(entry(1L, "user1"), entry(2L, "user2"));
+		assertThat(this.bulkService.requestedIds).hasSize(1);
+		assertThat(this.bulkService.requestedIds.get(0)).isInstanceOf(ArrayDeque.class).containsExactly(2L);
+	}
+
+	@Test
+	public void unsupportedParameterTypeRejected() {
+		assertThatIllegalStateException().isThrownBy(() ->
+				this.bulkService.findByIdQueue(new ArrayDeque<>(Arrays.asList(1L, 2L))));
+	}
+
+	@Test
+	public void invokeWithOriginalArgumentsIfNotSupportedByInvoker() throws Throwable {
+		CacheInterceptor interceptor = new CacheInterceptor();
+		interceptor.setCacheOperationSources(new AnnotationCacheOperationSource());
+		interceptor.setCacheManager(this.context.getBean(CacheManager.class));
+		interceptor.afterPropertiesSet();
+		interceptor.afterSingletonsInstantiated();
+		this.cache.put(1L, "cached1");
+
+		BulkService target = new BulkService();
+		Method method = BulkService.class.getMethod("findByIds", Collection.class);
+		Object[] args = new Object[] {Arrays.asList(1L, 2L)};
+		MethodInvocation invocation = mock(MethodInvocation.class);
+		given(invocation.getMethod()).willReturn(method);
+		given(invocation.getThis()).willReturn(target);
+		given(invocation.getArguments()).willReturn(args);
+		given(invocation.proceed()).willAnswer(inv -> method.invoke(target, args));
+
+		@SuppressWarnings("unchecked")
+		Map<Long, String> result = (Map<Long, String>) interceptor.invoke(invocation);
+		assertThat(result).containsExactly(entry(1L, "cached1"), entry(2L, "user2"));
+		assertThat(target.requestedIds).containsExactly(Arrays.asList(1L, 2L));
+		assertThat(this.cache.get(1L).get()).isEqualTo("cached1");
+		assertThat(this.cache.get(2L).get()).isEqualTo("user2");
+	}
+
+	@Test
+	public void nonMapReturnTypeRejected() {
+		assertThatIllegalStateException().isThrownBy(() ->
+				this.bulkService.findAsList(Arrays.asList(1L, 2L)));
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public BulkService bulkService() {
+			return new BulkService();
+		}
+	}
+
+
+	public static class BulkService {
+
+		final List<Collection<Long>> requestedIds = new CopyOnWriteArrayList<>();
+
+		@Cacheable(cacheNames = "users", bulk = true, unless = "#result.endsWith('13')")
+		public Map<Long, String> findByIds(Collection<Long> ids) {
+			this.requestedIds.add(ids);
+			Map<Long, String> result = new LinkedHashMap<>();
+			for (Long id : ids) {
+				if (id > 0) {
+					result.put(id, "user" + id);
+				}
+			}
+			return result;
+		}
+
+		@Cacheable(cacheNames = "users", bulk = true)
+		public Map<Long, String> findByIdDeque(ArrayDeque<Long> ids) {
+			return findByIds(ids);
+		}
+
+		@Cacheable(cacheNames = "users", bulk = true)
+		public Map<Long, String> findByIdQueue(Queue<Long> ids) {
+			return findByIds(ids);
+		}
+
+		@Cacheable(cacheNames = "users", bulk = true)
+		public List<String> findAsList(Collection<Long> ids) {
+			return null;
+		}
+	}
+
+}
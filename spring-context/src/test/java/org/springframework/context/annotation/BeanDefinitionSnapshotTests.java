@@ -0,0 +1,192 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.type.AnnotationMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link BeanDefinitionSnapshot}.
+ *
+ * @since 5.2.13
+ */
+public class BeanDefinitionSnapshotTests {
+
+	@Test
+	public void snapshotRoundTrip() throws IOException {
+		BeanDefinitionSnapshot snapshot = BeanDefinitionSnapshot.generate(SnapshotConfig.class);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.writeTo(out);
+
+		BeanDefinitionSnapshot read = BeanDefinitionSnapshot.readFrom(
+				new ByteArrayInputStream(out.toByteArray()), getClass().getClassLoader());
+		assertThat(read.getFingerprint()).isEqualTo(snapshot.getFingerprint());
+		assertThat(read.readBeanDefinitions(getClass().getClassLoader())).containsOnlyKeys(
+				ImportedConfig.class.getName(), "foo", "bar");
+	}
+
+	@Test
+	public void snapshotReplacesConfigurationClassParsing() throws IOException {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.setBeanDefinitionSnapshot(snapshotFor(new StandardEnvironment(), SnapshotConfig.class));
+		ctx.register(SnapshotConfig.class);
+		ctx.refresh();
+
+		assertThat(ctx.getBeanDefinition("foo")).isExactlyInstanceOf(RootBeanDefinition.class);
+		assertThat(ctx.getBeanDefinition("foo").isLazyInit()).isTrue();
+		assertThat(ctx.getBean("fooAlias")).isSameAs(ctx.getBean("foo"));
+		assertThat(ctx.getBean("foo", TestBean.class).spouse).isSameAs(ctx.getBean("bar"));
+		assertThat(ctx.getBean(ImportedConfig.class).importMetadata.getClassName())
+				.isEqualTo(SnapshotConfig.class.getName());
+		assertThat(ctx.getEnvironment().getProperty("testbean.name")).isEqualTo("p2TestBean");
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotForDifferentConfigurationClassesIsIgnored() throws IOException {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.setBeanDefinitionSnapshot(snapshotFor(new StandardEnvironment(), SnapshotConfig.class));
+		ctx.register(ImportedConfig.class);
+		ctx.refresh();
+
+		assertThat(ctx.containsBean("foo")).isFalse();
+		assertThat(ctx.getBean("bar")).isInstanceOf(TestBean.class);
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotForDifferentProfilesIsIgnored() throws IOException {
+		StandardEnvironment environment = new StandardEnvironment();
+		environment.setActiveProfiles("other");
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.setBeanDefinitionSnapshot(snapshotFor(environment, SnapshotConfig.class));
+		ctx.register(SnapshotConfig.class);
+		ctx.refresh();
+
+		assertThat(ctx.getBeanDefinition("foo")).isNotExactlyInstanceOf(RootBeanDefinition.class);
+		assertThat(ctx.getBean("fooAlias")).isSameAs(ctx.getBean("foo"));
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotWithInstanceSupplierIsRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				BeanDefinitionSnapshot.generate(SupplierConfig.class));
+	}
+
+	@Test
+	public void fingerprintCoversClassLoaderJarTimestamps(@TempDir Path tempDir) throws IOException {
+		Path jar = Files.write(tempDir.resolve("lib.jar"), new byte[] {1, 2, 3});
+		StandardEnvironment environment = new StandardEnvironment();
+		try (URLClassLoader classLoader = new URLClassLoader(
+				new URL[] {jar.toUri().toURL()}, getClass().getClassLoader())) {
+			String fingerprint = BeanDefinitionSnapshot.computeFingerprint(environment, classLoader);
+			assertThat(fingerprint).isNotNull().isNotEqualTo(
+					BeanDefinitionSnapshot.computeFingerprint(environment, getClass().getClassLoader()));
+
+			Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() - 10000));
+			assertThat(BeanDefinitionSnapshot.computeFingerprint(environment, classLoader)).isNotEqualTo(fingerprint);
+		}
+	}
+
+	@Test
+	public void fingerprintRejectsNonEnumerableClassLoader() {
+		ClassLoader classLoader = new ClassLoader(getClass().getClassLoader()) {};
+		assertThat(BeanDefinitionSnapshot.computeFingerprint(new StandardEnvironment(), classLoader)).isNull();
+	}
+
+
+	private static ByteArrayResource snapshotFor(StandardEnvironment environment, Class<?>... componentClasses)
+			throws IOException {
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BeanDefinitionSnapshot.generate(environment, componentClasses).writeTo(out);
+		return new ByteArrayResource(out.toByteArray());
+	}
+
+
+	@Configuration
+	@Import(ImportedConfig.class)
+	@PropertySource("classpath:org/springframework/context/annotation/p2.properties")
+	static class SnapshotConfig {
+
+		@Bean({"foo", "fooAlias"})
+		@Lazy
+		public TestBean foo(ImportedConfig importedConfig) {
+			TestBean foo = new TestBean();
+			foo.spouse = importedConfig.bar();
+			return foo;
+		}
+	}
+
+
+	@Configuration
+	static class ImportedConfig implements ImportAware {
+
+		AnnotationMetadata importMetadata;
+
+		@Override
+		public void setImportMetadata(AnnotationMetadata importMetadata) {
+			this.importMetadata = importMetadata;
+		}
+
+		@Bean
+		public TestBean bar() {
+			return new TestBean();
+		}
+	}
+
+
+	@Configuration
+	@Import(SupplierRegistrar.class)
+	static class SupplierConfig {
+	}
+
+
+	static class SupplierRegistrar implements ImportBeanDefinitionRegistrar {
+
+		@Override
+		public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+			registry.registerBeanDefinition("supplied", new RootBeanDefinition(TestBean.class, TestBean::new));
+		}
+	}
+
+
+	static class TestBean {
+
+		Object spouse;
+	}
+
+}
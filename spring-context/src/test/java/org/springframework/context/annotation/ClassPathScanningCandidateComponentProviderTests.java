@@ -16,10 +16,14 @@
 
 package org.springframework.context.annotation;
 
+import java.io.IOException;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import example.gh24375.AnnotatedComponent;
 import example.profilescan.DevComponent;
@@ -47,6 +51,7 @@ import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.core.type.filter.RegexPatternTypeFilter;
@@ -89,6 +94,58 @@ public class ClassPathScanningCandidateComponentProviderTests {
 		testDefault(provider);
 	}
 
+	@Test
+	public void defaultsWithParallelScan() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		provider.setParallelScanning(true);
+		testDefault(provider);
+	}
+
+	@Test
+	public void parallelScanRetainsSequentialOrder() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		List<String> sequential = getBeanClassNames(provider.findCandidateComponents(TEST_BASE_PACKAGE));
+		provider.clearCache();
+		provider.setParallelScanning(true);
+		List<String> parallel = getBeanClassNames(provider.findCandidateComponents(TEST_BASE_PACKAGE));
+		assertThat(parallel).isNotEmpty().isEqualTo(sequential);
+	}
+
+	@Test
+	public void parallelScanMatchesTypeFiltersOnce() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		AtomicInteger matchCount = new AtomicInteger();
+		provider.addIncludeFilter((metadataReader, metadataReaderFactory) -> matchCount.incrementAndGet() > 0);
+		int candidateCount = provider.findCandidateComponents(TEST_BASE_PACKAGE).size();
+		int sequentialMatchCount = matchCount.getAndSet(0);
+		provider.setParallelScanning(true);
+		assertThat(provider.findCandidateComponents(TEST_BASE_PACKAGE)).hasSize(candidateCount);
+		assertThat(matchCount.get()).isEqualTo(sequentialMatchCount);
+	}
+
+	@Test
+	public void parallelScanWithOverriddenCandidateCheck() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true) {
+			@Override
+			protected boolean isCandidateComponent(MetadataReader metadataReader) throws IOException {
+				return (super.isCandidateComponent(metadataReader) &&
+						!metadataReader.getClassMetadata().getClassName().equals(NamedComponent.class.getName()));
+			}
+		};
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		provider.setParallelScanning(true);
+		Set<BeanDefinition> candidates = provider.findCandidateComponents(TEST_BASE_PACKAGE);
+		assertThat(containsBeanClass(candidates, NamedComponent.class)).isFalse();
+		assertThat(containsBeanClass(candidates, DefaultNamedComponent.class)).isTrue();
+	}
+
 	private void testDefault(ClassPathScanningCandidateComponentProvider provider) {
 		Set<BeanDefinition> candidates = provider.findCandidateComponents(TEST_BASE_PACKAGE);
 		assertThat(containsBeanClass(candidates, DefaultNamedComponent.class)).isTrue();
@@ -380,6 +437,18 @@ public class ClassPathScanningCandidateComponentProviderTests {
 		assertThat(containsBeanClass(candidates, ProfileAnnotatedComponent.class)).isTrue();
 	}
 
+	@Test
+	public void testWithActiveProfileAndParallelScan() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		ConfigurableEnvironment env = new StandardEnvironment();
+		env.setActiveProfiles(ProfileAnnotatedComponent.PROFILE_NAME);
+		provider.setEnvironment(env);
+		provider.setParallelScanning(true);
+		Set<BeanDefinition> candidates = provider.findCandidateComponents(TEST_PROFILE_PACKAGE);
+		assertThat(containsBeanClass(candidates, ProfileAnnotatedComponent.class)).isTrue();
+		assertThat(containsBeanClass(candidates, ProfileMetaAnnotatedComponent.class)).isFalse();
+	}
+
 	@Test
 	public void testIntegrationWithAnnotationConfigApplicationContext_noProfile() {
 		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
@@ -503,6 +572,10 @@ public class ClassPathScanningCandidateComponentProviderTests {
 	}
 
 
+	private List<String> getBeanClassNames(Set<BeanDefinition> candidates) {
+		return candidates.stream().map(BeanDefinition::getBeanClassName).collect(Collectors.toList());
+	}
+
 	private boolean containsBeanClass(Set<BeanDefinition> candidates, Class<?> beanClass) {
 		for (BeanDefinition candidate : candidates) {
 			if (beanClass.getName().equals(candidate.getBeanClassName())) {
@@ -16,11 +16,22 @@
 
 package org.springframework.context.event;
 
+import java.lang.reflect.Field;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.jupiter.api.Test;
@@ -212,6 +223,75 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		assertThat(listener1.seenEvents.size()).isEqualTo(2);
 	}
 
+	@Test
+	public void orderedListenerInvocationWithTaskExecutor() throws Exception {
+		List<String> invocations = new CopyOnWriteArrayList<>();
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+			smc.setTaskExecutor(executor);
+			smc.setOrderedListenerInvocation(true);
+			smc.addApplicationListener(new MyGroupedListener("late", 2, invocations, null));
+			smc.addApplicationListener(new MyGroupedListener("first", 1, invocations, barrier));
+			smc.addApplicationListener(new MyGroupedListener("second", 1, invocations, barrier));
+
+			CompletableFuture<Void> future = smc.multicastEventAsync(new MyEvent(this), null);
+			future.get(5, TimeUnit.SECONDS);
+			assertThat(invocations).hasSize(3);
+			assertThat(invocations.subList(0, 2)).containsExactlyInAnyOrder("first", "second");
+			assertThat(invocations.get(2)).isEqualTo("late");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void listenerTimeoutWithTaskExecutor() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+			smc.setTaskExecutor(executor);
+			smc.setListenerTimeout(Duration.ofMillis(50));
+			smc.addApplicationListener(event -> {
+				try {
+					latch.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			});
+
+			CompletableFuture<Void> future = smc.multicastEventAsync(new MyEvent(this), null);
+			assertThatExceptionOfType(ExecutionException.class).isThrownBy(() ->
+					future.get(5, TimeUnit.SECONDS))
+				.withCauseInstanceOf(TimeoutException.class);
+
+			Field schedulerField = ReflectionUtils.findField(SimpleApplicationEventMulticaster.class, "timeoutScheduler");
+			ReflectionUtils.makeAccessible(schedulerField);
+			ExecutorService scheduler = (ExecutorService) ReflectionUtils.getField(schedulerField, smc);
+			smc.destroy();
+			assertThat(scheduler.isShutdown()).isTrue();
+		}
+		finally {
+			latch.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void multicastEventAsyncWithoutTaskExecutor() {
+		MyOrderedListener1 listener = new MyOrderedListener1();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener);
+
+		CompletableFuture<Void> future = smc.multicastEventAsync(new MyEvent(this), null);
+		assertThat(future).isCompleted();
+		assertThat(listener.seenEvents).hasSize(1);
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void proxiedListeners() {
@@ -677,6 +757,44 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 	}
 
 
+	public static class MyGroupedListener implements ApplicationListener<MyEvent>, Ordered {
+
+		private final String name;
+
+		private final int order;
+
+		private final List<String> invocations;
+
+		private final CyclicBarrier barrier;
+
+		public MyGroupedListener(String name, int order, List<String> invocations, CyclicBarrier barrier) {
+			this.name = name;
+			this.order = order;
+			this.invocations = invocations;
+			this.barrier = barrier;
+		}
+
+		@Override
+		public void onApplicationEvent(MyEvent event) {
+			if (this.barrier != null) {
+				// Only passes if both listeners of the group run concurrently
+				try {
+					this.barrier.await(5, TimeUnit.SECONDS);
+				}
+				catch (Exception ex) {
+					throw new IllegalStateException(ex);
+				}
+			}
+			this.invocations.add(this.name);
+		}
+
+		@Override
+		public int getOrder() {
+			return this.order;
+		}
+	}
+
+
 	public static class EventPublishingBeanPostProcessor implements BeanPostProcessor, ApplicationContextAware {
 
 		private ApplicationContext applicationContext;
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.expression;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.util.ReflectionUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ExpressionCache}.
+ */
+class ExpressionCacheTests {
+
+	private final SpelExpressionParser parser =
+			new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
+
+	private final AnnotatedElementKey elementKey =
+			new AnnotatedElementKey(ReflectionUtils.findMethod(getClass(), "toString"), getClass());
+
+
+	@Test
+	void cachesExpressionPerOwnerAndRegion() {
+		ExpressionCache cache = new ExpressionCache();
+		Object owner = new Object();
+
+		Expression expression = cache.getExpression(owner, "condition", this.elementKey, "true", this.parser);
+		assertThat(cache.getExpression(owner, "condition", this.elementKey, "true", this.parser)).isSameAs(expression);
+		assertThat(cache.getExpression(owner, "unless", this.elementKey, "true", this.parser)).isNotSameAs(expression);
+		assertThat(cache.getExpression(new Object(), "condition", this.elementKey, "true", this.parser)).isNotSameAs(expression);
+
+		assertThat(cache.size()).isEqualTo(3);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(3);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedExpressions() {
+		ExpressionCache cache = new ExpressionCache(2, 0);
+		Object owner = new Object();
+		Method method = ReflectionUtils.findMethod(getClass(), "hashCode");
+
+		cache.getExpression(owner, "key", this.elementKey, "1", this.parser);
+		cache.getExpression(owner, "key", this.elementKey, "2", this.parser);
+		cache.getExpression(owner, "key", new AnnotatedElementKey(method, getClass()), "3", this.parser);
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.getCacheLimit()).isEqualTo(2);
+		assertThat(cache.getEvictionCount()).isEqualTo(1);
+
+		cache.clear();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void clearsExpressionsPerOwner() {
+		ExpressionCache cache = new ExpressionCache();
+		Object owner = new Object();
+		Object otherOwner = new Object();
+
+		Expression expression = cache.getExpression(owner, "key", this.elementKey, "true", this.parser);
+		cache.getExpression(owner, "condition", this.elementKey, "true", this.parser);
+		Expression otherExpression = cache.getExpression(otherOwner, "key", this.elementKey, "true", this.parser);
+		assertThat(cache.size()).isEqualTo(3);
+
+		cache.clear(owner);
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.getExpression(otherOwner, "key", this.elementKey, "true", this.parser)).isSameAs(otherExpression);
+		assertThat(cache.getExpression(owner, "key", this.elementKey, "true", this.parser)).isNotSameAs(expression);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void compilesHotExpressionAfterThreshold() {
+		ExpressionCache cache = new ExpressionCache(16, 2);
+		Object owner = new Object();
+
+		for (int i = 0; i < 2; i++) {
+			Expression expression = cache.getExpression(owner, "key", this.elementKey, "'abc'.length()", this.parser);
+			assertThat(((SpelExpression) expression).isCompiled()).isFalse();
+			assertThat(expression.getValue()).isEqualTo(3);
+		}
+		Expression expression = cache.getExpression(owner, "key", this.elementKey, "'abc'.length()", this.parser);
+		assertThat(((SpelExpression) expression).isCompiled()).isTrue();
+		assertThat(expression.getValue()).isEqualTo(3);
+		assertThat(cache.getCompilationCount()).isEqualTo(1);
+	}
+
+	@Test
+	void doesNotCompileWithCompilerModeOff() {
+		ExpressionCache cache = new ExpressionCache(16, 1);
+		SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.OFF, null));
+		Object owner = new Object();
+
+		for (int i = 0; i < 3; i++) {
+			Expression expression = cache.getExpression(owner, "key", this.elementKey, "'abc'.length()", parser);
+			assertThat(expression.getValue()).isEqualTo(3);
+			assertThat(((SpelExpression) expression).isCompiled()).isFalse();
+		}
+		assertThat(cache.getCompilationCount()).isEqualTo(0);
+	}
+
+}
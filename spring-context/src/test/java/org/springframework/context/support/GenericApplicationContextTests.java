@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.context.support;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
@@ -23,6 +25,9 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.ObjectUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -49,6 +54,27 @@ public class GenericApplicationContextTests {
 				ac.getBean(Object.class));
 	}
 
+	@Test
+	public void applicationStartupRecordsRefreshSteps() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+		GenericApplicationContext ac = new GenericApplicationContext();
+		ac.setApplicationStartup(startup);
+		ac.registerBeanDefinition("testBean", new RootBeanDefinition(String.class));
+		ac.refresh();
+
+		assertThat(ac.getBean(ConfigurableApplicationContext.APPLICATION_STARTUP_BEAN_NAME)).isSameAs(startup);
+		List<BufferingApplicationStartup.BufferedStep> steps = startup.getBufferedSteps();
+		assertThat(steps).extracting(StartupStep::getName)
+				.contains("spring.beans.instantiate", "spring.context.beans.post-process")
+				.endsWith("spring.context.refresh");
+		StartupStep refresh = steps.get(steps.size() - 1);
+		assertThat(steps).filteredOn(step -> step.getName().equals("spring.beans.instantiate"))
+				.anySatisfy(step -> {
+					assertThat(step.getParentId()).isEqualTo(refresh.getId());
+					assertThat(step.getTags()).extracting(StartupStep.Tag::getValue).contains("testBean");
+				});
+	}
+
 	@Test
 	public void withSingletonSupplier() {
 		GenericApplicationContext ac = new GenericApplicationContext();
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link ResolvableType} resolution of generic fields, method
+ * parameters and class hierarchies, as used for dependency injection by type.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ResolvableTypeBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		public Field mapField;
+
+		public Method listMethod;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			this.mapField = GenericHolder.class.getDeclaredField("map");
+			this.listMethod = GenericHolder.class.getDeclaredMethod("setList", List.class);
+		}
+	}
+
+	@Benchmark
+	public void forFieldGenerics(BenchmarkData data, Blackhole bh) {
+		ResolvableType type = ResolvableType.forField(data.mapField);
+		bh.consume(type.getGeneric(0).resolve());
+		bh.consume(type.getGeneric(1, 0).resolve());
+	}
+
+	@Benchmark
+	public void forMethodParameterGenerics(BenchmarkData data, Blackhole bh) {
+		ResolvableType type = ResolvableType.forMethodParameter(data.listMethod, 0);
+		bh.consume(type.resolveGeneric(0));
+	}
+
+	@Benchmark
+	public void asSuperTypeGenerics(Blackhole bh) {
+		ResolvableType type = ResolvableType.forClass(StringIntegerMap.class).as(Map.class);
+		bh.consume(type.resolveGenerics());
+	}
+
+	@Benchmark
+	public void isAssignableFrom(BenchmarkData data, Blackhole bh) {
+		ResolvableType target = ResolvableType.forField(data.mapField);
+		bh.consume(target.isAssignableFrom(ResolvableType.forClass(StringIntegerMap.class)));
+		bh.consume(target.isAssignableFrom(ResolvableType.forClassWithGenerics(Map.class, String.class, List.class)));
+	}
+
+
+	@SuppressWarnings("unused")
+	static class GenericHolder {
+
+		private Map<String, List<Integer>> map;
+
+		public void setList(List<String> list) {
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	static class StringIntegerMap extends HashMap<String, Integer> {
+	}
+
+}
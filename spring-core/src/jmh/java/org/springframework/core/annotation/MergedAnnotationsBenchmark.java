@@ -0,0 +1,145 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+
+/**
+ * Benchmarks for {@link MergedAnnotations} lookups of meta-annotations and
+ * attribute overrides, on classes and methods with and without annotations.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class MergedAnnotationsBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		public Method annotatedMethod;
+
+		public Method plainMethod;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			this.annotatedMethod = AnnotatedSubclass.class.getMethod("annotated");
+			this.plainMethod = AnnotatedSubclass.class.getMethod("plain");
+		}
+	}
+
+	@Benchmark
+	public void classTypeHierarchyIsPresent(Blackhole bh) {
+		MergedAnnotations annotations = MergedAnnotations.from(AnnotatedSubclass.class, SearchStrategy.TYPE_HIERARCHY);
+		bh.consume(annotations.isPresent(Component.class));
+	}
+
+	@Benchmark
+	public void classTypeHierarchyAttribute(Blackhole bh) {
+		MergedAnnotations annotations = MergedAnnotations.from(AnnotatedSubclass.class, SearchStrategy.TYPE_HIERARCHY);
+		bh.consume(annotations.get(Component.class).getString("value"));
+	}
+
+	@Benchmark
+	public void annotatedElementUtilsFindMerged(Blackhole bh) {
+		bh.consume(AnnotatedElementUtils.findMergedAnnotation(AnnotatedSubclass.class, Component.class));
+	}
+
+	@Benchmark
+	public void methodTypeHierarchyAnnotated(BenchmarkData data, Blackhole bh) {
+		bh.consume(MergedAnnotations.from(data.annotatedMethod, SearchStrategy.TYPE_HIERARCHY).isPresent(Handler.class));
+	}
+
+	@Benchmark
+	public void methodTypeHierarchyPlain(BenchmarkData data, Blackhole bh) {
+		bh.consume(MergedAnnotations.from(data.plainMethod, SearchStrategy.TYPE_HIERARCHY).isPresent(Handler.class));
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	@Inherited
+	@interface Component {
+
+		String value() default "";
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	@Inherited
+	@Component
+	@interface Service {
+
+		@AliasFor(annotation = Component.class)
+		String value() default "";
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.METHOD)
+	@interface Handler {
+	}
+
+
+	interface AnnotatedInterface {
+
+		@Handler
+		void annotated();
+
+		void plain();
+	}
+
+
+	@Service("annotatedBase")
+	static class AnnotatedBase implements AnnotatedInterface {
+
+		@Override
+		public void annotated() {
+		}
+
+		@Override
+		public void plain() {
+		}
+	}
+
+
+	static class AnnotatedSubclass extends AnnotatedBase {
+
+		@Override
+		public void annotated() {
+		}
+
+		@Override
+		public void plain() {
+		}
+	}
+
+}
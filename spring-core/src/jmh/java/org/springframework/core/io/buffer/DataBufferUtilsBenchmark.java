@@ -0,0 +1,100 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+/**
+ * Benchmarks for {@link DataBufferUtils} operations applied to request and
+ * response bodies: joining chunks, splitting on delimiters and reading resources.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DataBufferUtilsBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"16", "256"})
+		public int chunkCount;
+
+		@Param({"1024"})
+		public int chunkSize;
+
+		public DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+		public List<byte[]> chunks;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.chunks = new ArrayList<>(this.chunkCount);
+			for (int i = 0; i < this.chunkCount; i++) {
+				byte[] chunk = new byte[this.chunkSize];
+				for (int j = 0; j < this.chunkSize; j++) {
+					chunk[j] = (byte) (j % 64 == 63 ? '\n' : 'a' + (j % 26));
+				}
+				this.chunks.add(chunk);
+			}
+		}
+
+		public Flux<DataBuffer> buffers() {
+			return Flux.fromIterable(this.chunks).map(this.bufferFactory::wrap);
+		}
+	}
+
+	@Benchmark
+	public void join(BenchmarkData data, Blackhole bh) {
+		DataBuffer joined = DataBufferUtils.join(data.buffers()).block();
+		bh.consume(joined.readableByteCount());
+		DataBufferUtils.release(joined);
+	}
+
+	@Benchmark
+	public void matchDelimiter(BenchmarkData data, Blackhole bh) {
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher("\n".getBytes(StandardCharsets.UTF_8));
+		data.buffers().doOnNext(buffer -> {
+			int end;
+			while ((end = matcher.match(buffer)) != -1) {
+				bh.consume(end);
+				buffer.readPosition(end + 1);
+			}
+			DataBufferUtils.release(buffer);
+		}).blockLast();
+	}
+
+	@Benchmark
+	public void takeUntilByteCount(BenchmarkData data, Blackhole bh) {
+		long maxByteCount = (long) data.chunkCount * data.chunkSize / 2;
+		bh.consume(DataBufferUtils.takeUntilByteCount(data.buffers(), maxByteCount)
+				.doOnNext(DataBufferUtils::release)
+				.count()
+				.block());
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for matching request paths against a set of patterns with {@link AntPathMatcher},
+ * as done for each request by the handler mappings.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AntPathMatcherBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"true", "false"})
+		public boolean cachePatterns;
+
+		public AntPathMatcher pathMatcher;
+
+		public List<String> patterns;
+
+		public List<String> requestPaths;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.pathMatcher = new AntPathMatcher();
+			this.pathMatcher.setCachePatterns(this.cachePatterns);
+			this.patterns = Arrays.asList("/", "/resources/**", "/api/orders", "/api/orders/{id}",
+					"/api/orders/{id}/items/{itemId}", "/api/customers/{id:[0-9]+}", "/static/*.css",
+					"/admin/**/reports/*.pdf", "/users/{name}.{extension}", "/**/favicon.ico");
+			this.requestPaths = new ArrayList<>();
+			this.requestPaths.add("/");
+			this.requestPaths.add("/resources/js/app.js");
+			this.requestPaths.add("/api/orders/42");
+			this.requestPaths.add("/api/orders/42/items/7");
+			this.requestPaths.add("/api/customers/1337");
+			this.requestPaths.add("/static/main.css");
+			this.requestPaths.add("/admin/eu/2020/reports/summary.pdf");
+			this.requestPaths.add("/users/spring.json");
+			this.requestPaths.add("/not/found/favicon.ico");
+			this.requestPaths.add("/unknown/path/that/does/not/match");
+		}
+	}
+
+	@Benchmark
+	public void matchAllPatterns(BenchmarkData data, Blackhole bh) {
+		for (String path : data.requestPaths) {
+			for (String pattern : data.patterns) {
+				bh.consume(data.pathMatcher.match(pattern, path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchAndSortPatterns(BenchmarkData data, Blackhole bh) {
+		for (String path : data.requestPaths) {
+			List<String> matching = new ArrayList<>();
+			for (String pattern : data.patterns) {
+				if (data.pathMatcher.match(pattern, path)) {
+					matching.add(pattern);
+				}
+			}
+			matching.sort(data.pathMatcher.getPatternComparator(path));
+			bh.consume(matching);
+		}
+	}
+
+	@Benchmark
+	public void extractUriTemplateVariables(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.pathMatcher.extractUriTemplateVariables("/api/orders/{id}/items/{itemId}", "/api/orders/42/items/7"));
+		bh.consume(data.pathMatcher.extractUriTemplateVariables("/users/{name}.{extension}", "/users/spring.json"));
+	}
+
+}
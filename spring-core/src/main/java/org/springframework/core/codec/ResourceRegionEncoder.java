@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -117,6 +117,45 @@ public class ResourceRegionEncoder extends AbstractEncoder<ResourceRegion> {
 		// No doOnDiscard (no caching after DataBufferUtils#read)
 	}
 
+	/**
+	 * Encode the part headers that precede the given region within a
+	 * {@code "multipart/byteranges"} body, i.e. the boundary delimiter, the
+	 * {@code Content-Type} header (if any) and the {@code Content-Range} header.
+	 * <p>Together with {@link #encodeRegionsSuffix}, this allows for writing the
+	 * same output as {@link #encode} while transferring the region content by
+	 * other means, e.g. through a zero-copy file transfer.
+	 * @param region the region to encode the part headers for
+	 * @param bufferFactory the factory to create the data buffer with
+	 * @param boundaryString the multipart boundary
+	 * @param mimeType the content type of the region, if any
+	 * @return the encoded part headers
+	 * @since 5.2.13
+	 */
+	public DataBuffer encodeRegionPrefix(ResourceRegion region, DataBufferFactory bufferFactory,
+			String boundaryString, @Nullable MimeType mimeType) {
+
+		byte[] startBoundary = toAsciiBytes("\r\n--" + boundaryString + "\r\n");
+		byte[] contentType = mimeType != null ? toAsciiBytes("Content-Type: " + mimeType + "\r\n") : new byte[0];
+		byte[] contentRange = getContentRangeHeader(region);
+		byte[] prefix = new byte[startBoundary.length + contentType.length + contentRange.length];
+		System.arraycopy(startBoundary, 0, prefix, 0, startBoundary.length);
+		System.arraycopy(contentType, 0, prefix, startBoundary.length, contentType.length);
+		System.arraycopy(contentRange, 0, prefix, startBoundary.length + contentType.length, contentRange.length);
+		return bufferFactory.wrap(prefix);
+	}
+
+	/**
+	 * Encode the closing boundary delimiter of a {@code "multipart/byteranges"} body.
+	 * @param bufferFactory the factory to create the data buffer with
+	 * @param boundaryString the multipart boundary
+	 * @return the encoded closing boundary
+	 * @since 5.2.13
+	 * @see #encodeRegionPrefix
+	 */
+	public DataBuffer encodeRegionsSuffix(DataBufferFactory bufferFactory, String boundaryString) {
+		return getRegionSuffix(bufferFactory, boundaryString);
+	}
+
 	private Flux<DataBuffer> writeResourceRegion(
 			ResourceRegion region, DataBufferFactory bufferFactory, @Nullable Map<String, Object> hints) {
 
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Extension of {@link DefaultDataBuffer} that is allocated from, and returned to,
+ * the pool of a {@link PooledDefaultDataBufferFactory}, with reference counting
+ * as defined by {@link PooledDataBuffer}.
+ *
+ * <p>A newly allocated buffer has a reference count of 1. Once the count drops
+ * to 0 through {@link #release()}, the underlying memory is returned to the pool
+ * and the buffer must not be used anymore. {@link #slice(int, int) Slices} share
+ * the memory and the reference count of the buffer they were created from.
+ *
+ * @since 5.2.13
+ * @see PooledDefaultDataBufferFactory
+ */
+public class PooledDefaultDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+	private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+	private static final AtomicIntegerFieldUpdater<PooledDefaultDataBuffer> refCountUpdater =
+			AtomicIntegerFieldUpdater.newUpdater(PooledDefaultDataBuffer.class, "refCount");
+
+
+	private final PooledDefaultDataBufferFactory dataBufferFactory;
+
+	/** The buffer as obtained from the pool, i.e. not limited to the capacity of this buffer. */
+	@Nullable
+	private ByteBuffer pooledBuffer;
+
+	/** The pool buffer behind the view most recently returned from {@link #allocate}. */
+	@Nullable
+	private ByteBuffer allocatedBuffer;
+
+	@Nullable
+	private PooledDefaultDataBufferFactory.LeakTracker leakTracker;
+
+	/** Whether slices share the current memory, which therefore must not be recycled on a capacity change. */
+	private boolean sliced;
+
+	private volatile int refCount = 1;
+
+
+	PooledDefaultDataBuffer(PooledDefaultDataBufferFactory dataBufferFactory, ByteBuffer pooledBuffer, int capacity) {
+		super(dataBufferFactory, PooledDefaultDataBufferFactory.limit(pooledBuffer, capacity));
+		this.dataBufferFactory = dataBufferFactory;
+		this.pooledBuffer = pooledBuffer;
+	}
+
+	void setLeakTracker(PooledDefaultDataBufferFactory.LeakTracker leakTracker) {
+		this.leakTracker = leakTracker;
+	}
+
+
+	@Override
+	public PooledDefaultDataBufferFactory factory() {
+		return this.dataBufferFactory;
+	}
+
+	@Override
+	public boolean isAllocated() {
+		return (this.refCount > 0);
+	}
+
+	@Override
+	public PooledDefaultDataBuffer retain() {
+		int count;
+		do {
+			count = this.refCount;
+			if (count <= 0) {
+				throw new IllegalStateException("Cannot retain deallocated buffer: " + this);
+			}
+		}
+		while (!refCountUpdater.compareAndSet(this, count, count + 1));
+		return this;
+	}
+
+	@Override
+	public boolean release() {
+		int count;
+		do {
+			count = this.refCount;
+			if (count <= 0) {
+				throw new IllegalStateException("Cannot release deallocated buffer: " + this);
+			}
+		}
+		while (!refCountUpdater.compareAndSet(this, count, count - 1));
+		if (count == 1) {
+			deallocate();
+			return true;
+		}
+		return false;
+	}
+
+	private void deallocate() {
+		ByteBuffer pooledBuffer = this.pooledBuffer;
+		this.pooledBuffer = null;
+		super.setNativeBuffer(EMPTY_BUFFER);
+		readPosition(0);
+		writePosition(0);
+		if (this.leakTracker != null) {
+			this.leakTracker.close();
+			this.leakTracker = null;
+		}
+		if (pooledBuffer != null) {
+			this.dataBufferFactory.recycle(pooledBuffer);
+		}
+	}
+
+	@Override
+	ByteBuffer allocate(int capacity, boolean direct) {
+		ByteBuffer pooledBuffer = this.dataBufferFactory.allocateNative(capacity);
+		this.allocatedBuffer = pooledBuffer;
+		return PooledDefaultDataBufferFactory.limit(pooledBuffer, capacity);
+	}
+
+	@Override
+	void setNativeBuffer(ByteBuffer byteBuffer) {
+		ByteBuffer previous = this.pooledBuffer;
+		ByteBuffer pooledBuffer = this.allocatedBuffer;
+		Assert.state(pooledBuffer != null, "No pool buffer allocated");
+		this.allocatedBuffer = null;
+		this.pooledBuffer = pooledBuffer;
+		super.setNativeBuffer(byteBuffer);
+		if (previous != null && !this.sliced) {
+			this.dataBufferFactory.recycle(previous);
+		}
+		this.sliced = false;
+	}
+
+	@Override
+	public PooledDefaultDataBuffer capacity(int newCapacity) {
+		assertAllocated();
+		super.capacity(newCapacity);
+		return this;
+	}
+
+	@Override
+	public DefaultDataBuffer slice(int index, int length) {
+		assertAllocated();
+		DefaultDataBuffer slice = super.slice(index, length);
+		this.sliced = true;
+		return new SlicedPooledDataBuffer(slice.getNativeBuffer(), this);
+	}
+
+	@Override
+	public InputStream asInputStream(boolean releaseOnClose) {
+		InputStream inputStream = asInputStream();
+		return (releaseOnClose ? new ReleaseOnCloseInputStream(inputStream, this) : inputStream);
+	}
+
+	private void assertAllocated() {
+		if (this.refCount <= 0) {
+			throw new IllegalStateException("Buffer has been deallocated: " + this);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("PooledDefaultDataBuffer (r: %d, w: %d, c: %d, refCount: %d)",
+				readPosition(), writePosition(), capacity(), this.refCount);
+	}
+
+
+	/**
+	 * Slice of a pooled buffer, sharing the reference count of its parent.
+	 */
+	private static class SlicedPooledDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+		private final PooledDefaultDataBuffer parent;
+
+		SlicedPooledDataBuffer(ByteBuffer byteBuffer, PooledDefaultDataBuffer parent) {
+			super(parent.factory(), byteBuffer);
+			this.parent = parent;
+			writePosition(byteBuffer.remaining());
+		}
+
+		@Override
+		public DefaultDataBuffer capacity(int newCapacity) {
+			throw new UnsupportedOperationException("Changing the capacity of a sliced buffer is not supported");
+		}
+
+		@Override
+		public InputStream asInputStream(boolean releaseOnClose) {
+			InputStream inputStream = asInputStream();
+			return (releaseOnClose ? new ReleaseOnCloseInputStream(inputStream, this) : inputStream);
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return this.parent.isAllocated();
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			this.parent.retain();
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			return this.parent.release();
+		}
+	}
+
+
+	/**
+	 * InputStream that releases the given buffer once closed.
+	 */
+	private static class ReleaseOnCloseInputStream extends FilterInputStream {
+
+		private final PooledDataBuffer dataBuffer;
+
+		private boolean closed;
+
+		ReleaseOnCloseInputStream(InputStream inputStream, PooledDataBuffer dataBuffer) {
+			super(inputStream);
+			this.dataBuffer = dataBuffer;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!this.closed) {
+				this.closed = true;
+				try {
+					super.close();
+				}
+				finally {
+					DataBufferUtils.release(this.dataBuffer);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Pooling variant of {@link DefaultDataBufferFactory}, allocating
+ * {@link PooledDefaultDataBuffer PooledDefaultDataBuffers} from a pool of
+ * {@link ByteBuffer ByteBuffers} and recycling their memory once they have
+ * been {@linkplain PooledDataBuffer#release() released}. Meant for non-Netty
+ * runtimes, e.g. Servlet containers and Undertow, to get an allocation profile
+ * similar to the one that the {@link NettyDataBufferFactory} provides on Netty.
+ *
+ * <p>Pooled memory is organized in size classes, i.e. powers of two from
+ * {@value #MIN_CAPACITY} bytes up to the configured maximum pooled capacity,
+ * while each buffer exposes exactly the requested {@link DataBuffer#capacity()}.
+ * Larger buffers are allocated on demand and left to the garbage collector
+ * once released. Pooled memory is spread over several arenas,
+ * selected per thread to reduce contention, each of which retains up to the
+ * configured number of buffers per size class.
+ *
+ * <p>Buffers obtained from this factory must be released, e.g. through
+ * {@link DataBufferUtils#release(DataBuffer)}, for their memory to be reused.
+ * Enable {@linkplain #setLeakDetection leak detection} to track down buffers
+ * that are garbage collected without having been released.
+ *
+ * @since 5.2.13
+ * @see PooledDefaultDataBuffer
+ */
+public class PooledDefaultDataBufferFactory extends DefaultDataBufferFactory {
+
+	/**
+	 * The smallest size class.
+	 */
+	public static final int MIN_CAPACITY = 64;
+
+	/**
+	 * The default maximum capacity of pooled buffers.
+	 * @see #PooledDefaultDataBufferFactory(boolean, int, int, int)
+	 */
+	public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+	/**
+	 * The default maximum number of buffers that an arena retains per size class.
+	 * @see #PooledDefaultDataBufferFactory(boolean, int, int, int)
+	 */
+	public static final int DEFAULT_MAX_BUFFERS_PER_SIZE_CLASS = 32;
+
+	private static final Log logger = LogFactory.getLog(PooledDefaultDataBufferFactory.class);
+
+
+	private final boolean preferDirect;
+
+	private final int maxPooledCapacity;
+
+	private final Arena[] arenas;
+
+	private volatile boolean leakDetection;
+
+	private final Set<LeakTracker> leakTrackers = ConcurrentHashMap.newKeySet();
+
+	private final ReferenceQueue<PooledDefaultDataBuffer> leakQueue = new ReferenceQueue<>();
+
+	private final AtomicLong leakCount = new AtomicLong();
+
+
+	/**
+	 * Creates a new {@code PooledDefaultDataBufferFactory} with default settings,
+	 * pooling heap buffers.
+	 */
+	public PooledDefaultDataBufferFactory() {
+		this(false);
+	}
+
+	/**
+	 * Creates a new {@code PooledDefaultDataBufferFactory}, indicating whether
+	 * direct buffers should be pooled instead of heap buffers.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 */
+	public PooledDefaultDataBufferFactory(boolean preferDirect) {
+		this(preferDirect, DEFAULT_INITIAL_CAPACITY, DEFAULT_MAX_POOLED_CAPACITY, DEFAULT_MAX_BUFFERS_PER_SIZE_CLASS);
+	}
+
+	/**
+	 * Creates a new {@code PooledDefaultDataBufferFactory}.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 * @param defaultInitialCapacity the capacity to use for {@link #allocateBuffer()}
+	 * @param maxPooledCapacity the capacity of the largest size class, rounded
+	 * down to a power of two; larger buffers are not pooled
+	 * @param maxBuffersPerSizeClass the maximum number of buffers that each
+	 * arena retains per size class
+	 */
+	public PooledDefaultDataBufferFactory(boolean preferDirect, int defaultInitialCapacity,
+			int maxPooledCapacity, int maxBuffersPerSizeClass) {
+
+		super(preferDirect, defaultInitialCapacity);
+		Assert.isTrue(maxPooledCapacity >= MIN_CAPACITY, "'maxPooledCapacity' should be at least " + MIN_CAPACITY);
+		Assert.isTrue(maxBuffersPerSizeClass > 0, "'maxBuffersPerSizeClass' should be larger than 0");
+		this.preferDirect = preferDirect;
+		this.maxPooledCapacity = Integer.highestOneBit(maxPooledCapacity);
+		int sizeClassCount = sizeClassIndex(this.maxPooledCapacity) + 1;
+		this.arenas = new Arena[Runtime.getRuntime().availableProcessors()];
+		for (int i = 0; i < this.arenas.length; i++) {
+			this.arenas[i] = new Arena(sizeClassCount, maxBuffersPerSizeClass);
+		}
+	}
+
+
+	/**
+	 * Specify whether to track allocated buffers in order to detect buffers that
+	 * are garbage collected without having been released, logging a warning with
+	 * the stack trace of their allocation.
+	 * <p>The default is {@code false}. Leak detection captures a stack trace
+	 * for every allocation and is therefore meant for testing and debugging.
+	 * Leaked buffers are only reported: their memory is not returned to the pool,
+	 * since views obtained from them may still be in use, but left to the
+	 * garbage collector instead.
+	 */
+	public void setLeakDetection(boolean leakDetection) {
+		this.leakDetection = leakDetection;
+	}
+
+	/**
+	 * Return whether leak detection is enabled.
+	 */
+	public boolean isLeakDetection() {
+		return this.leakDetection;
+	}
+
+	/**
+	 * Return the number of buffers detected as leaked so far.
+	 * @see #setLeakDetection
+	 */
+	public long getLeakCount() {
+		return this.leakCount.get();
+	}
+
+	/**
+	 * Return the number of buffers currently retained in the pool for reuse.
+	 */
+	public int getPooledBufferCount() {
+		int count = 0;
+		for (Arena arena : this.arenas) {
+			count += arena.size();
+		}
+		return count;
+	}
+
+
+	@Override
+	public PooledDefaultDataBuffer allocateBuffer() {
+		return (PooledDefaultDataBuffer) super.allocateBuffer();
+	}
+
+	@Override
+	public PooledDefaultDataBuffer allocateBuffer(int initialCapacity) {
+		Assert.isTrue(initialCapacity >= 0, "'initialCapacity' should not be negative");
+		ByteBuffer byteBuffer = allocateNative(initialCapacity);
+		PooledDefaultDataBuffer dataBuffer = new PooledDefaultDataBuffer(this, byteBuffer, initialCapacity);
+		if (this.leakDetection) {
+			detectLeaks();
+			LeakTracker tracker = new LeakTracker(dataBuffer, this);
+			this.leakTrackers.add(tracker);
+			dataBuffer.setLeakTracker(tracker);
+		}
+		return dataBuffer;
+	}
+
+	/**
+	 * Obtain a native buffer with at least the given capacity,
+	 * from the pool if possible.
+	 */
+	ByteBuffer allocateNative(int capacity) {
+		if (capacity <= this.maxPooledCapacity) {
+			int sizeClass = sizeClassIndex(capacity);
+			ByteBuffer byteBuffer = currentArena().poll(sizeClass);
+			if (byteBuffer != null) {
+				return byteBuffer;
+			}
+			capacity = sizeClassCapacity(sizeClass);
+		}
+		return (this.preferDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+	}
+
+	/**
+	 * Return a view on the given native buffer, limited to the given capacity.
+	 */
+	static ByteBuffer limit(ByteBuffer byteBuffer, int capacity) {
+		ByteBuffer view = byteBuffer.duplicate();
+		((Buffer) view).position(0).limit(capacity);
+		return view.slice();
+	}
+
+	/**
+	 * Return the given native buffer to the pool, if it fits a size class.
+	 */
+	void recycle(ByteBuffer byteBuffer) {
+		int capacity = byteBuffer.capacity();
+		if (capacity <= this.maxPooledCapacity && capacity >= MIN_CAPACITY &&
+				Integer.bitCount(capacity) == 1 && byteBuffer.isDirect() == this.preferDirect) {
+			byteBuffer.clear();
+			currentArena().offer(sizeClassIndex(capacity), byteBuffer);
+		}
+	}
+
+	private Arena currentArena() {
+		return this.arenas[(int) (Thread.currentThread().getId() % this.arenas.length)];
+	}
+
+	private void detectLeaks() {
+		LeakTracker tracker;
+		while ((tracker = (LeakTracker) this.leakQueue.poll()) != null) {
+			if (this.leakTrackers.remove(tracker)) {
+				this.leakCount.incrementAndGet();
+				logger.warn("LEAK: PooledDefaultDataBuffer was garbage collected without having been released",
+						tracker.allocation);
+			}
+		}
+	}
+
+	private static int sizeClassIndex(int capacity) {
+		if (capacity <= MIN_CAPACITY) {
+			return 0;
+		}
+		return (32 - Integer.numberOfLeadingZeros(capacity - 1)) - (32 - Integer.numberOfLeadingZeros(MIN_CAPACITY - 1));
+	}
+
+	private static int sizeClassCapacity(int sizeClassIndex) {
+		return MIN_CAPACITY << sizeClassIndex;
+	}
+
+
+	@Override
+	public String toString() {
+		return "PooledDefaultDataBufferFactory (preferDirect=" + this.preferDirect +
+				", maxPooledCapacity=" + this.maxPooledCapacity + ")";
+	}
+
+
+	/**
+	 * Pooled buffers for each size class.
+	 */
+	private static class Arena {
+
+		private final Queue<ByteBuffer>[] sizeClasses;
+
+		@SuppressWarnings("unchecked")
+		Arena(int sizeClassCount, int maxBuffersPerSizeClass) {
+			this.sizeClasses = new Queue[sizeClassCount];
+			for (int i = 0; i < sizeClassCount; i++) {
+				this.sizeClasses[i] = new ArrayBlockingQueue<>(maxBuffersPerSizeClass);
+			}
+		}
+
+		@Nullable
+		ByteBuffer poll(int sizeClass) {
+			return this.sizeClasses[sizeClass].poll();
+		}
+
+		void offer(int sizeClass, ByteBuffer byteBuffer) {
+			this.sizeClasses[sizeClass].offer(byteBuffer);
+		}
+
+		int size() {
+			int size = 0;
+			for (Queue<ByteBuffer> sizeClass : this.sizeClasses) {
+				size += sizeClass.size();
+			}
+			return size;
+		}
+	}
+
+
+	/**
+	 * Weak reference to a tracked buffer, keeping the stack trace of its allocation.
+	 */
+	static final class LeakTracker extends WeakReference<PooledDefaultDataBuffer> {
+
+		private final PooledDefaultDataBufferFactory factory;
+
+		private final Throwable allocation;
+
+		LeakTracker(PooledDefaultDataBuffer dataBuffer, PooledDefaultDataBufferFactory factory) {
+			super(dataBuffer, factory.leakQueue);
+			this.factory = factory;
+			this.allocation = new Throwable("Allocation of " + dataBuffer);
+		}
+
+		void close() {
+			this.factory.leakTrackers.remove(this);
+			clear();
+		}
+	}
+
+}
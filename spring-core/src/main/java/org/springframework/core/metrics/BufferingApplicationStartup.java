@@ -0,0 +1,275 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.core.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ApplicationStartup} implementation that buffers {@link StartupStep steps}
+ * in memory, for later inspection e.g. through a diagnostics endpoint or a log
+ * statement at the end of the startup phase.
+ *
+ * <p>The buffer is bounded by a given capacity: once it is full, further steps
+ * are still tracked for nesting purposes but not recorded anymore. Steps are
+ * nested per thread, i.e. a step's parent is the step most recently started
+ * and not yet ended on the same thread.
+ *
+ * @since 5.2.13
+ * @see #getBufferedSteps()
+ * @see #drainBufferedSteps()
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+	private final int capacity;
+
+	private final Instant startTime = Instant.now();
+
+	private final AtomicLong idSeq = new AtomicLong();
+
+	private final AtomicInteger estimatedSize = new AtomicInteger();
+
+	private final List<BufferedStep> bufferedSteps = new ArrayList<>();
+
+	private final ThreadLocal<Deque<BufferedStep>> activeSteps = ThreadLocal.withInitial(ArrayDeque::new);
+
+
+	/**
+	 * Create a new buffered {@link ApplicationStartup} with a limited capacity.
+	 * @param capacity the maximum number of steps to record
+	 */
+	public BufferingApplicationStartup(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.capacity = capacity;
+	}
+
+
+	/**
+	 * Return the time at which this startup instance has been created.
+	 */
+	public Instant getStartTime() {
+		return this.startTime;
+	}
+
+	@Override
+	public BufferedStep start(String name) {
+		Deque<BufferedStep> steps = this.activeSteps.get();
+		BufferedStep parent = steps.peek();
+		BufferedStep step = new BufferedStep(
+				name, this.idSeq.getAndIncrement(), (parent != null ? parent.getId() : null));
+		steps.push(step);
+		return step;
+	}
+
+	/**
+	 * Return a snapshot of the steps recorded so far, in the order in which
+	 * they have ended.
+	 */
+	public List<BufferedStep> getBufferedSteps() {
+		synchronized (this.bufferedSteps) {
+			return Collections.unmodifiableList(new ArrayList<>(this.bufferedSteps));
+		}
+	}
+
+	/**
+	 * Return the steps recorded so far, in the order in which they have ended,
+	 * and clear the buffer for further recording.
+	 */
+	public List<BufferedStep> drainBufferedSteps() {
+		synchronized (this.bufferedSteps) {
+			List<BufferedStep> steps = new ArrayList<>(this.bufferedSteps);
+			this.bufferedSteps.clear();
+			this.estimatedSize.set(0);
+			return Collections.unmodifiableList(steps);
+		}
+	}
+
+	private void record(BufferedStep step) {
+		Deque<BufferedStep> steps = this.activeSteps.get();
+		if (steps.peek() == step) {
+			steps.pop();
+		}
+		else {
+			steps.remove(step);
+		}
+		if (steps.isEmpty()) {
+			this.activeSteps.remove();
+		}
+		if (this.estimatedSize.get() < this.capacity) {
+			synchronized (this.bufferedSteps) {
+				if (this.bufferedSteps.size() < this.capacity) {
+					this.bufferedSteps.add(step);
+					this.estimatedSize.set(this.bufferedSteps.size());
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * A {@link StartupStep} recorded by a {@link BufferingApplicationStartup},
+	 * exposing its start time and duration.
+	 */
+	public final class BufferedStep implements StartupStep {
+
+		private final String name;
+
+		private final long id;
+
+		@Nullable
+		private final Long parentId;
+
+		private final BufferedTags tags = new BufferedTags();
+
+		private final Instant startTime = Instant.now();
+
+		private final long startNanos = System.nanoTime();
+
+		private volatile long durationNanos = -1;
+
+		BufferedStep(String name, long id, @Nullable Long parentId) {
+			this.name = name;
+			this.id = id;
+			this.parentId = parentId;
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public long getId() {
+			return this.id;
+		}
+
+		@Override
+		@Nullable
+		public Long getParentId() {
+			return this.parentId;
+		}
+
+		@Override
+		public StartupStep tag(String key, String value) {
+			Assert.state(this.durationNanos < 0, "StartupStep has already ended");
+			this.tags.add(key, value);
+			return this;
+		}
+
+		@Override
+		public StartupStep tag(String key, Supplier<String> value) {
+			return tag(key, value.get());
+		}
+
+		@Override
+		public Tags getTags() {
+			return this.tags;
+		}
+
+		/**
+		 * Return the time at which this step has been started.
+		 */
+		public Instant getStartTime() {
+			return this.startTime;
+		}
+
+		/**
+		 * Return the duration of this step, or {@code null} if not ended yet.
+		 */
+		@Nullable
+		public Duration getDuration() {
+			long duration = this.durationNanos;
+			return (duration >= 0 ? Duration.ofNanos(duration) : null);
+		}
+
+		@Override
+		public void end() {
+			Assert.state(this.durationNanos < 0, "StartupStep has already ended");
+			this.durationNanos = System.nanoTime() - this.startNanos;
+			record(this);
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder(this.name);
+			sb.append(" [id=").append(this.id);
+			if (this.parentId != null) {
+				sb.append(", parentId=").append(this.parentId);
+			}
+			Duration duration = getDuration();
+			if (duration != null) {
+				sb.append(", duration=").append(duration.toMillis()).append("ms");
+			}
+			for (Tag tag : this.tags) {
+				sb.append(", ").append(tag.getKey()).append('=').append(tag.getValue());
+			}
+			return sb.append(']').toString();
+		}
+	}
+
+
+	private static class BufferedTags implements StartupStep.Tags {
+
+		private final List<StartupStep.Tag> tags = new ArrayList<>(2);
+
+		void add(String key, String value) {
+			this.tags.add(new BufferedTag(key, value));
+		}
+
+		@Override
+		public Iterator<StartupStep.Tag> iterator() {
+			return Collections.unmodifiableList(this.tags).iterator();
+		}
+	}
+
+
+	private static class BufferedTag implements StartupStep.Tag {
+
+		private final String key;
+
+		private final String value;
+
+		BufferedTag(String key, String value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String getValue() {
+			return this.value;
+		}
+	}
+
+}
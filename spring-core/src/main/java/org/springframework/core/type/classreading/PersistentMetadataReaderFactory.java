@@ -0,0 +1,418 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.SpringVersion;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CachingMetadataReaderFactory} that additionally persists the extracted
+ * class and annotation metadata (not the bytecode) to a file, allowing subsequent
+ * JVM launches to skip ASM parsing for unchanged ".class" files.
+ *
+ * <p>Entries are keyed by resource URL and validated against the resource's
+ * last-modified timestamp and content length on every miss in the inherited
+ * in-memory cache; stale entries are re-parsed and replaced. The cache file is
+ * read into memory on first access, with individual entries decoded on demand.
+ * New entries are written to the cache file on {@link #clearCache()} (as called
+ * by the container at the end of configuration class processing and component
+ * scanning) or through an explicit {@link #persistCache()} call. Entries for
+ * deleted classes are retained; simply delete the cache file to reset it.
+ *
+ * <p>The cache file is versioned with its format and the Spring Framework
+ * version, and is ignored if unreadable. It is not meant to be shared
+ * between concurrently running processes.
+ *
+ * @since 5.2.13
+ * @see org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider#setMetadataReaderFactory
+ * @see org.springframework.context.annotation.ConfigurationClassPostProcessor#setMetadataReaderFactory
+ */
+public class PersistentMetadataReaderFactory extends CachingMetadataReaderFactory {
+
+	private static final int MAGIC = 0x534D5243;
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final Log logger = LogFactory.getLog(PersistentMetadataReaderFactory.class);
+
+
+	private final File cacheFile;
+
+	private final Map<String, CacheEntry> pendingEntries = new ConcurrentHashMap<>(64);
+
+	@Nullable
+	private volatile Map<String, CacheEntry> cacheIndex;
+
+	private final Object cacheFileMonitor = new Object();
+
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the default class loader.
+	 * @param cacheFile the file to persist the metadata cache to
+	 */
+	public PersistentMetadataReaderFactory(File cacheFile) {
+		super();
+		Assert.notNull(cacheFile, "Cache file must not be null");
+		this.cacheFile = cacheFile;
+	}
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the given {@link ClassLoader}.
+	 * @param cacheFile the file to persist the metadata cache to
+	 * @param classLoader the ClassLoader to use
+	 */
+	public PersistentMetadataReaderFactory(File cacheFile, @Nullable ClassLoader classLoader) {
+		super(classLoader);
+		Assert.notNull(cacheFile, "Cache file must not be null");
+		this.cacheFile = cacheFile;
+	}
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the given {@link ResourceLoader}.
+	 * @param cacheFile the file to persist the metadata cache to
+	 * @param resourceLoader the Spring ResourceLoader to use
+	 * (also determines the ClassLoader to use)
+	 */
+	public PersistentMetadataReaderFactory(File cacheFile, @Nullable ResourceLoader resourceLoader) {
+		super(resourceLoader);
+		Assert.notNull(cacheFile, "Cache file must not be null");
+		this.cacheFile = cacheFile;
+	}
+
+
+	/**
+	 * Return the file that the metadata cache is persisted to.
+	 */
+	public final File getCacheFile() {
+		return this.cacheFile;
+	}
+
+
+	/**
+	 * Restore the metadata for the given resource from the cache file if
+	 * up to date, or otherwise parse the ".class" file and register its
+	 * metadata for persisting. Called on a miss in the in-memory cache.
+	 */
+	@Override
+	protected MetadataReader createMetadataReader(Resource resource) throws IOException {
+		String key;
+		long lastModified;
+		long contentLength;
+		try {
+			key = resource.getURL().toExternalForm();
+			lastModified = resource.lastModified();
+			contentLength = resource.contentLength();
+		}
+		catch (IOException ex) {
+			// Not a file-based resource -> no persistent caching
+			return super.createMetadataReader(resource);
+		}
+
+		MetadataReader metadataReader = null;
+		CacheEntry cacheEntry = getCacheIndex().get(key);
+		if (cacheEntry != null && cacheEntry.matches(lastModified, contentLength)) {
+			try {
+				metadataReader = new PersistedMetadataReader(resource,
+						SimpleAnnotationMetadataCodec.decode(cacheEntry.getData(), getResourceLoader().getClassLoader()));
+			}
+			catch (IOException | RuntimeException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring unreadable cached metadata for " + resource + ": " + ex);
+				}
+			}
+		}
+		if (metadataReader == null) {
+			metadataReader = super.createMetadataReader(resource);
+			AnnotationMetadata metadata = metadataReader.getAnnotationMetadata();
+			if (metadata instanceof SimpleAnnotationMetadata) {
+				try {
+					this.pendingEntries.put(key, new CacheEntry(lastModified, contentLength, ByteBuffer.wrap(
+							SimpleAnnotationMetadataCodec.encode((SimpleAnnotationMetadata) metadata))));
+				}
+				catch (IllegalArgumentException ex) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Not caching metadata for " + resource + ": " + ex.getMessage());
+					}
+				}
+			}
+		}
+		return metadataReader;
+	}
+
+	/**
+	 * Write newly parsed metadata to the cache file, along with the
+	 * previously persisted entries. Does nothing if there are no new entries.
+	 * @throws IOException if the cache file could not be written
+	 */
+	public void persistCache() throws IOException {
+		if (this.pendingEntries.isEmpty()) {
+			return;
+		}
+		synchronized (this.cacheFileMonitor) {
+			Map<String, CacheEntry> entries = new LinkedHashMap<>(getCacheIndex());
+			for (String key : this.pendingEntries.keySet()) {
+				CacheEntry entry = this.pendingEntries.remove(key);
+				if (entry != null) {
+					entries.put(key, entry);
+				}
+			}
+			writeCacheFile(entries);
+			this.cacheIndex = null;
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Persisted metadata reader cache to " + this.cacheFile);
+		}
+	}
+
+	/**
+	 * Persist newly parsed metadata, then clear the in-memory cache.
+	 * @see #persistCache()
+	 */
+	@Override
+	public void clearCache() {
+		try {
+			persistCache();
+		}
+		catch (IOException ex) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Failed to persist metadata reader cache to " + this.cacheFile, ex);
+			}
+		}
+		super.clearCache();
+	}
+
+
+	private Map<String, CacheEntry> getCacheIndex() {
+		Map<String, CacheEntry> cacheIndex = this.cacheIndex;
+		if (cacheIndex == null) {
+			synchronized (this.cacheFileMonitor) {
+				cacheIndex = this.cacheIndex;
+				if (cacheIndex == null) {
+					cacheIndex = readCacheFile();
+					this.cacheIndex = cacheIndex;
+				}
+			}
+		}
+		return cacheIndex;
+	}
+
+	private Map<String, CacheEntry> readCacheFile() {
+		if (!this.cacheFile.isFile()) {
+			return Collections.emptyMap();
+		}
+		try {
+			// Read into heap memory rather than mapping the file, so that it can be
+			// replaced by persistCache() on any platform (including Windows)
+			ByteBufferInputStream bis = new ByteBufferInputStream(
+					ByteBuffer.wrap(Files.readAllBytes(this.cacheFile.toPath())));
+			DataInputStream in = new DataInputStream(bis);
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(getSpringVersion())) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring metadata reader cache " + this.cacheFile + " from a different version");
+				}
+				return Collections.emptyMap();
+			}
+			int count = in.readInt();
+			Map<String, CacheEntry> cacheIndex = new HashMap<>(count * 2);
+			for (int i = 0; i < count; i++) {
+				String key = in.readUTF();
+				long lastModified = in.readLong();
+				long contentLength = in.readLong();
+				int length = in.readInt();
+				cacheIndex.put(key, new CacheEntry(lastModified, contentLength, bis.slice(length)));
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Loaded " + count + " metadata entries from cache " + this.cacheFile);
+			}
+			return cacheIndex;
+		}
+		catch (IOException | RuntimeException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Ignoring unreadable metadata reader cache " + this.cacheFile + ": " + ex);
+			}
+			return Collections.emptyMap();
+		}
+	}
+
+	private void writeCacheFile(Map<String, CacheEntry> entries) throws IOException {
+		Path target = this.cacheFile.toPath().toAbsolutePath();
+		Files.createDirectories(target.getParent());
+		Path tempFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(getSpringVersion());
+				out.writeInt(entries.size());
+				for (Map.Entry<String, CacheEntry> entry : entries.entrySet()) {
+					CacheEntry cacheEntry = entry.getValue();
+					byte[] data = cacheEntry.getData();
+					out.writeUTF(entry.getKey());
+					out.writeLong(cacheEntry.lastModified);
+					out.writeLong(cacheEntry.contentLength);
+					out.writeInt(data.length);
+					out.write(data);
+				}
+			}
+			try {
+				Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException ex) {
+				Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	private static String getSpringVersion() {
+		String version = SpringVersion.getVersion();
+		return (version != null ? version : "");
+	}
+
+
+	/**
+	 * Persisted metadata for a single ".class" resource.
+	 */
+	private static final class CacheEntry {
+
+		final long lastModified;
+
+		final long contentLength;
+
+		private final ByteBuffer data;
+
+		CacheEntry(long lastModified, long contentLength, ByteBuffer data) {
+			this.lastModified = lastModified;
+			this.contentLength = contentLength;
+			this.data = data;
+		}
+
+		boolean matches(long lastModified, long contentLength) {
+			return (this.lastModified == lastModified && this.contentLength == contentLength);
+		}
+
+		byte[] getData() {
+			// Work on a duplicate for thread-safe access to a shared buffer
+			ByteBuffer buffer = this.data.duplicate();
+			byte[] bytes = new byte[buffer.remaining()];
+			buffer.get(bytes);
+			return bytes;
+		}
+	}
+
+
+	/**
+	 * Sequential {@link InputStream} view on a {@link ByteBuffer}.
+	 */
+	private static final class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return (this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1);
+		}
+
+		@Override
+		public int read(byte[] bytes, int off, int len) {
+			if (!this.buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(len, this.buffer.remaining());
+			this.buffer.get(bytes, off, count);
+			return count;
+		}
+
+		/**
+		 * Return a view on the next {@code length} bytes, advancing past them.
+		 */
+		ByteBuffer slice(int length) throws IOException {
+			if (length < 0 || length > this.buffer.remaining()) {
+				throw new EOFException("Truncated metadata reader cache entry");
+			}
+			ByteBuffer slice = this.buffer.slice();
+			((Buffer) slice).limit(length);
+			((Buffer) this.buffer).position(this.buffer.position() + length);
+			return slice;
+		}
+	}
+
+
+	/**
+	 * {@link MetadataReader} for metadata restored from the cache file.
+	 */
+	private static final class PersistedMetadataReader implements MetadataReader {
+
+		private final Resource resource;
+
+		private final AnnotationMetadata annotationMetadata;
+
+		PersistedMetadataReader(Resource resource, AnnotationMetadata annotationMetadata) {
+			this.resource = resource;
+			this.annotationMetadata = annotationMetadata;
+		}
+
+		@Override
+		public Resource getResource() {
+			return this.resource;
+		}
+
+		@Override
+		public ClassMetadata getClassMetadata() {
+			return this.annotationMetadata;
+		}
+
+		@Override
+		public AnnotationMetadata getAnnotationMetadata() {
+			return this.annotationMetadata;
+		}
+	}
+
+}
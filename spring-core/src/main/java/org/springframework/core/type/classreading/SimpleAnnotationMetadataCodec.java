@@ -0,0 +1,525 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.asm.Opcodes;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotation.Adapt;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Binary encoding of {@link SimpleAnnotationMetadata}, as used by
+ * {@link PersistentMetadataReaderFactory}.
+ *
+ * <p>Annotations are stored with their attribute values in neutral form:
+ * class references as class names and nested annotations as attribute maps,
+ * analogous to what {@link MergedAnnotationReadingVisitor} builds from ASM.
+ *
+ * @since 5.2.13
+ */
+final class SimpleAnnotationMetadataCodec {
+
+	private static final byte STRING = 1;
+
+	private static final byte BOOLEAN = 2;
+
+	private static final byte BYTE = 3;
+
+	private static final byte CHAR = 4;
+
+	private static final byte SHORT = 5;
+
+	private static final byte INT = 6;
+
+	private static final byte LONG = 7;
+
+	private static final byte FLOAT = 8;
+
+	private static final byte DOUBLE = 9;
+
+	private static final byte ENUM = 10;
+
+	private static final byte ANNOTATION = 11;
+
+	private static final byte ARRAY = 12;
+
+	private static final byte BOOLEAN_ARRAY = 13;
+
+	private static final byte BYTE_ARRAY = 14;
+
+	private static final byte CHAR_ARRAY = 15;
+
+	private static final byte SHORT_ARRAY = 16;
+
+	private static final byte INT_ARRAY = 17;
+
+	private static final byte LONG_ARRAY = 18;
+
+	private static final byte FLOAT_ARRAY = 19;
+
+	private static final byte DOUBLE_ARRAY = 20;
+
+
+	private SimpleAnnotationMetadataCodec() {
+	}
+
+
+	/**
+	 * Encode the given metadata.
+	 * @param metadata the metadata to encode
+	 * @return the encoded form
+	 * @throws IllegalArgumentException if the metadata contains an
+	 * annotation attribute value of an unsupported type
+	 */
+	static byte[] encode(SimpleAnnotationMetadata metadata) {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+		DataOutputStream out = new DataOutputStream(bos);
+		try {
+			out.writeUTF(metadata.getClassName());
+			out.writeInt(getAccess(metadata));
+			writeNullableString(out, metadata.getEnclosingClassName());
+			writeNullableString(out, metadata.getSuperClassName());
+			out.writeBoolean(metadata.getEnclosingClassName() != null && metadata.isIndependent());
+			writeStringArray(out, metadata.getInterfaceNames());
+			writeStringArray(out, metadata.getMemberClassNames());
+			writeAnnotations(out, metadata.getAnnotations());
+			MethodMetadata[] annotatedMethods = metadata.getAllAnnotatedMethods();
+			out.writeInt(annotatedMethods.length);
+			for (MethodMetadata method : annotatedMethods) {
+				SimpleMethodMetadata methodToUse = (SimpleMethodMetadata) method;
+				out.writeUTF(methodToUse.getMethodName());
+				out.writeInt(getAccess(methodToUse));
+				out.writeUTF(methodToUse.getDeclaringClassName());
+				out.writeUTF(methodToUse.getReturnTypeName());
+				out.writeUTF(methodToUse.getSource().getDescriptor());
+				writeAnnotations(out, methodToUse.getAnnotations());
+			}
+			out.flush();
+		}
+		catch (IOException ex) {
+			// Not expected for a ByteArrayOutputStream
+			throw new IllegalStateException(ex);
+		}
+		return bos.toByteArray();
+	}
+
+	/**
+	 * Decode metadata from the given encoded form.
+	 * @param data the encoded form, as returned from {@link #encode}
+	 * @param classLoader the ClassLoader to resolve annotation and enum types against
+	 * @return the decoded metadata
+	 * @throws IOException if the data is corrupt or refers to types
+	 * that cannot be resolved anymore
+	 */
+	static SimpleAnnotationMetadata decode(byte[] data, @Nullable ClassLoader classLoader) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+		String className = in.readUTF();
+		int access = in.readInt();
+		String enclosingClassName = readNullableString(in);
+		String superClassName = readNullableString(in);
+		boolean independentInnerClass = in.readBoolean();
+		String[] interfaceNames = readStringArray(in);
+		String[] memberClassNames = readStringArray(in);
+		MergedAnnotations annotations = readAnnotations(
+				in, classLoader, new SimpleAnnotationMetadataReadingVisitor.Source(className));
+		MethodMetadata[] annotatedMethods = new MethodMetadata[in.readInt()];
+		for (int i = 0; i < annotatedMethods.length; i++) {
+			String methodName = in.readUTF();
+			int methodAccess = in.readInt();
+			String declaringClassName = in.readUTF();
+			String returnTypeName = in.readUTF();
+			SimpleMethodMetadataReadingVisitor.Source source = new SimpleMethodMetadataReadingVisitor.Source(
+					declaringClassName, methodName, in.readUTF());
+			annotatedMethods[i] = new SimpleMethodMetadata(methodName, methodAccess, declaringClassName,
+					returnTypeName, source, readAnnotations(in, classLoader, source));
+		}
+		return new SimpleAnnotationMetadata(className, access, enclosingClassName, superClassName,
+				independentInnerClass, interfaceNames, memberClassNames, annotatedMethods, annotations);
+	}
+
+
+	private static int getAccess(SimpleAnnotationMetadata metadata) {
+		int access = 0;
+		if (metadata.isInterface()) {
+			access |= Opcodes.ACC_INTERFACE;
+		}
+		if (metadata.isAnnotation()) {
+			access |= Opcodes.ACC_ANNOTATION;
+		}
+		if (metadata.isAbstract()) {
+			access |= Opcodes.ACC_ABSTRACT;
+		}
+		if (metadata.isFinal()) {
+			access |= Opcodes.ACC_FINAL;
+		}
+		return access;
+	}
+
+	private static int getAccess(SimpleMethodMetadata metadata) {
+		int access = 0;
+		if (metadata.isAbstract()) {
+			access |= Opcodes.ACC_ABSTRACT;
+		}
+		if (metadata.isStatic()) {
+			access |= Opcodes.ACC_STATIC;
+		}
+		if (metadata.isFinal()) {
+			access |= Opcodes.ACC_FINAL;
+		}
+		if (metadata.isPrivate()) {
+			access |= Opcodes.ACC_PRIVATE;
+		}
+		return access;
+	}
+
+	private static void writeAnnotations(DataOutputStream out, MergedAnnotations annotations) throws IOException {
+		List<MergedAnnotation<Annotation>> directAnnotations = new ArrayList<>();
+		annotations.stream().filter(MergedAnnotation::isDirectlyPresent).forEach(directAnnotations::add);
+		out.writeInt(directAnnotations.size());
+		for (MergedAnnotation<Annotation> annotation : directAnnotations) {
+			writeAnnotation(out, annotation.asAnnotationAttributes(Adapt.CLASS_TO_STRING, Adapt.ANNOTATION_TO_MAP));
+		}
+	}
+
+	private static void writeAnnotation(DataOutputStream out, AnnotationAttributes attributes) throws IOException {
+		Class<? extends Annotation> annotationType = attributes.annotationType();
+		if (annotationType == null) {
+			throw new IllegalArgumentException("Annotation type not specified for " + attributes);
+		}
+		out.writeUTF(annotationType.getName());
+		out.writeInt(attributes.size());
+		for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+			out.writeUTF(entry.getKey());
+			writeValue(out, entry.getValue());
+		}
+	}
+
+	private static void writeValue(DataOutputStream out, Object value) throws IOException {
+		if (value instanceof String) {
+			out.writeByte(STRING);
+			out.writeUTF((String) value);
+		}
+		else if (value instanceof Boolean) {
+			out.writeByte(BOOLEAN);
+			out.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Byte) {
+			out.writeByte(BYTE);
+			out.writeByte((Byte) value);
+		}
+		else if (value instanceof Character) {
+			out.writeByte(CHAR);
+			out.writeChar((Character) value);
+		}
+		else if (value instanceof Short) {
+			out.writeByte(SHORT);
+			out.writeShort((Short) value);
+		}
+		else if (value instanceof Integer) {
+			out.writeByte(INT);
+			out.writeInt((Integer) value);
+		}
+		else if (value instanceof Long) {
+			out.writeByte(LONG);
+			out.writeLong((Long) value);
+		}
+		else if (value instanceof Float) {
+			out.writeByte(FLOAT);
+			out.writeFloat((Float) value);
+		}
+		else if (value instanceof Double) {
+			out.writeByte(DOUBLE);
+			out.writeDouble((Double) value);
+		}
+		else if (value instanceof Enum) {
+			out.writeByte(ENUM);
+			out.writeUTF(((Enum<?>) value).getDeclaringClass().getName());
+			out.writeUTF(((Enum<?>) value).name());
+		}
+		else if (value instanceof AnnotationAttributes) {
+			out.writeByte(ANNOTATION);
+			writeAnnotation(out, (AnnotationAttributes) value);
+		}
+		else if (value instanceof Object[]) {
+			Object[] array = (Object[]) value;
+			out.writeByte(ARRAY);
+			out.writeInt(array.length);
+			for (Object element : array) {
+				writeValue(out, element);
+			}
+		}
+		else if (value instanceof boolean[]) {
+			boolean[] array = (boolean[]) value;
+			out.writeByte(BOOLEAN_ARRAY);
+			out.writeInt(array.length);
+			for (boolean element : array) {
+				out.writeBoolean(element);
+			}
+		}
+		else if (value instanceof byte[]) {
+			byte[] array = (byte[]) value;
+			out.writeByte(BYTE_ARRAY);
+			out.writeInt(array.length);
+			out.write(array);
+		}
+		else if (value instanceof char[]) {
+			char[] array = (char[]) value;
+			out.writeByte(CHAR_ARRAY);
+			out.writeInt(array.length);
+			for (char element : array) {
+				out.writeChar(element);
+			}
+		}
+		else if (value instanceof short[]) {
+			short[] array = (short[]) value;
+			out.writeByte(SHORT_ARRAY);
+			out.writeInt(array.length);
+			for (short element : array) {
+				out.writeShort(element);
+			}
+		}
+		else if (value instanceof int[]) {
+			int[] array = (int[]) value;
+			out.writeByte(INT_ARRAY);
+			out.writeInt(array.length);
+			for (int element : array) {
+				out.writeInt(element);
+			}
+		}
+		else if (value instanceof long[]) {
+			long[] array = (long[]) value;
+			out.writeByte(LONG_ARRAY);
+			out.writeInt(array.length);
+			for (long element : array) {
+				out.writeLong(element);
+			}
+		}
+		else if (value instanceof float[]) {
+			float[] array = (float[]) value;
+			out.writeByte(FLOAT_ARRAY);
+			out.writeInt(array.length);
+			for (float element : array) {
+				out.writeFloat(element);
+			}
+		}
+		else if (value instanceof double[]) {
+			double[] array = (double[]) value;
+			out.writeByte(DOUBLE_ARRAY);
+			out.writeInt(array.length);
+			for (double element : array) {
+				out.writeDouble(element);
+			}
+		}
+		else {
+			throw new IllegalArgumentException(
+					"Unsupported annotation attribute value of type [" + value.getClass().getName() + "]");
+		}
+	}
+
+	private static MergedAnnotations readAnnotations(DataInputStream in, @Nullable ClassLoader classLoader,
+			Object source) throws IOException {
+
+		int count = in.readInt();
+		List<MergedAnnotation<?>> annotations = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			annotations.add(readAnnotation(in, classLoader, source));
+		}
+		return MergedAnnotations.of(annotations);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static MergedAnnotation<?> readAnnotation(DataInputStream in, @Nullable ClassLoader classLoader,
+			Object source) throws IOException {
+
+		Class<? extends Annotation> annotationType =
+				(Class<? extends Annotation>) resolveClass(in.readUTF(), classLoader);
+		return MergedAnnotation.of(classLoader, source, annotationType, readAttributes(in, classLoader, source));
+	}
+
+	private static AnnotationAttributes readAttributes(DataInputStream in, @Nullable ClassLoader classLoader,
+			Object source) throws IOException {
+
+		int count = in.readInt();
+		AnnotationAttributes attributes = new AnnotationAttributes(count);
+		for (int i = 0; i < count; i++) {
+			String name = in.readUTF();
+			attributes.put(name, readValue(in, classLoader, source));
+		}
+		return attributes;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Object readValue(DataInputStream in, @Nullable ClassLoader classLoader, Object source)
+			throws IOException {
+
+		byte type = in.readByte();
+		switch (type) {
+			case STRING:
+				return in.readUTF();
+			case BOOLEAN:
+				return in.readBoolean();
+			case BYTE:
+				return in.readByte();
+			case CHAR:
+				return in.readChar();
+			case SHORT:
+				return in.readShort();
+			case INT:
+				return in.readInt();
+			case LONG:
+				return in.readLong();
+			case FLOAT:
+				return in.readFloat();
+			case DOUBLE:
+				return in.readDouble();
+			case ENUM:
+				Class<?> enumType = resolveClass(in.readUTF(), classLoader);
+				String enumName = in.readUTF();
+				try {
+					return Enum.valueOf((Class<Enum>) enumType, enumName);
+				}
+				catch (IllegalArgumentException ex) {
+					throw new IOException("No enum constant " + enumType.getName() + "." + enumName, ex);
+				}
+			case ANNOTATION:
+				return readAnnotation(in, classLoader, source);
+			case ARRAY:
+				return readArray(in, classLoader, source);
+			case BOOLEAN_ARRAY:
+				boolean[] booleans = new boolean[in.readInt()];
+				for (int i = 0; i < booleans.length; i++) {
+					booleans[i] = in.readBoolean();
+				}
+				return booleans;
+			case BYTE_ARRAY:
+				byte[] bytes = new byte[in.readInt()];
+				in.readFully(bytes);
+				return bytes;
+			case CHAR_ARRAY:
+				char[] chars = new char[in.readInt()];
+				for (int i = 0; i < chars.length; i++) {
+					chars[i] = in.readChar();
+				}
+				return chars;
+			case SHORT_ARRAY:
+				short[] shorts = new short[in.readInt()];
+				for (int i = 0; i < shorts.length; i++) {
+					shorts[i] = in.readShort();
+				}
+				return shorts;
+			case INT_ARRAY:
+				int[] ints = new int[in.readInt()];
+				for (int i = 0; i < ints.length; i++) {
+					ints[i] = in.readInt();
+				}
+				return ints;
+			case LONG_ARRAY:
+				long[] longs = new long[in.readInt()];
+				for (int i = 0; i < longs.length; i++) {
+					longs[i] = in.readLong();
+				}
+				return longs;
+			case FLOAT_ARRAY:
+				float[] floats = new float[in.readInt()];
+				for (int i = 0; i < floats.length; i++) {
+					floats[i] = in.readFloat();
+				}
+				return floats;
+			case DOUBLE_ARRAY:
+				double[] doubles = new double[in.readInt()];
+				for (int i = 0; i < doubles.length; i++) {
+					doubles[i] = in.readDouble();
+				}
+				return doubles;
+			default:
+				throw new IOException("Unknown annotation attribute value type: " + type);
+		}
+	}
+
+	private static Object[] readArray(DataInputStream in, @Nullable ClassLoader classLoader, Object source)
+			throws IOException {
+
+		int length = in.readInt();
+		List<Object> elements = new ArrayList<>(length);
+		for (int i = 0; i < length; i++) {
+			elements.add(readValue(in, classLoader, source));
+		}
+		// Same component type determination as in MergedAnnotationReadingVisitor
+		Class<?> componentType = Object.class;
+		if (!elements.isEmpty()) {
+			Object firstElement = elements.get(0);
+			componentType = (firstElement instanceof Enum ?
+					((Enum<?>) firstElement).getDeclaringClass() : firstElement.getClass());
+		}
+		if (MergedAnnotation.class.isAssignableFrom(componentType)) {
+			componentType = MergedAnnotation.class;
+		}
+		return elements.toArray((Object[]) Array.newInstance(componentType, length));
+	}
+
+	private static Class<?> resolveClass(String className, @Nullable ClassLoader classLoader) throws IOException {
+		try {
+			return ClassUtils.forName(className, classLoader);
+		}
+		catch (ClassNotFoundException | LinkageError ex) {
+			throw new IOException("Failed to resolve type [" + className + "]", ex);
+		}
+	}
+
+	private static void writeNullableString(DataOutputStream out, @Nullable String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	@Nullable
+	private static String readNullableString(DataInputStream in) throws IOException {
+		return (in.readBoolean() ? in.readUTF() : null);
+	}
+
+	private static void writeStringArray(DataOutputStream out, String[] values) throws IOException {
+		out.writeInt(values.length);
+		for (String value : values) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String[] readStringArray(DataInputStream in) throws IOException {
+		String[] values = new String[in.readInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readUTF();
+		}
+		return values;
+	}
+
+}
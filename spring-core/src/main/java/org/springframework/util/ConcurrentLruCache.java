@@ -0,0 +1,590 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Simple LRU (Least Recently Used) cache, bounded by a specified cache size limit.
+ *
+ * <p>This implementation is backed by a {@code ConcurrentHashMap} for storing
+ * the cached values. Cache hits do not contend on a shared lock: they are recorded
+ * in striped, lossy read buffers, while cache insertions and removals are recorded
+ * in a write buffer. Both buffers are replayed in batches against the LRU eviction
+ * queue by whichever thread manages to acquire the eviction lock without waiting,
+ * in the style of the Caffeine and ConcurrentLinkedHashMap libraries.
+ *
+ * <p>As a consequence, the eviction order is an approximation of the access order,
+ * and the cache may transiently hold a few more entries than its size limit until
+ * pending writes have been applied.
+ *
+ * <p>Cached values are generated on demand through the given {@link Function};
+ * concurrent requests for the same missing key may invoke the generator more than
+ * once, with only one of the resulting values retained in the cache.
+ *
+ * @since 5.2.13
+ * @param <K> the type of the key used for cache retrieval
+ * @param <V> the type of the cached values
+ * @see #get
+ */
+public final class ConcurrentLruCache<K, V> {
+
+	private final int sizeLimit;
+
+	private final Function<K, V> generator;
+
+	@Nullable
+	private final BiConsumer<K, V> evictionCallback;
+
+	private final ConcurrentHashMap<K, Node<K, V>> cache;
+
+	private final AtomicInteger currentSize = new AtomicInteger();
+
+	private final ReadOperations<K, V> readOperations;
+
+	private final Queue<Runnable> writeOperations = new ConcurrentLinkedQueue<>();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final EvictionQueue<K, V> evictionQueue = new EvictionQueue<>();
+
+	private final AtomicReference<DrainStatus> drainStatus = new AtomicReference<>(DrainStatus.IDLE);
+
+
+	/**
+	 * Create a new cache instance with the given limit and generator function.
+	 * @param sizeLimit the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value)
+	 * @param generator a function to generate a new value for a given key
+	 */
+	public ConcurrentLruCache(int sizeLimit, Function<K, V> generator) {
+		this(sizeLimit, generator, null);
+	}
+
+	/**
+	 * Create a new cache instance with the given limit and generator function,
+	 * notifying the given callback of entries evicted due to the size limit.
+	 * <p>The callback is invoked while applying pending cache writes, so it
+	 * should return quickly: e.g. for updating statistics.
+	 * @param sizeLimit the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value)
+	 * @param generator a function to generate a new value for a given key
+	 * @param evictionCallback a callback for evicted keys and values
+	 * (not called for entries explicitly removed or cleared)
+	 * @since 5.2.13
+	 */
+	public ConcurrentLruCache(int sizeLimit, Function<K, V> generator, @Nullable BiConsumer<K, V> evictionCallback) {
+		Assert.isTrue(sizeLimit >= 0, "Cache size limit must not be negative");
+		Assert.notNull(generator, "Generator function must not be null");
+		this.sizeLimit = sizeLimit;
+		this.generator = generator;
+		this.evictionCallback = evictionCallback;
+		this.cache = new ConcurrentHashMap<>(Math.min(sizeLimit, 1024), 0.75f);
+		this.readOperations = new ReadOperations<>(this.evictionQueue);
+	}
+
+
+	/**
+	 * Retrieve an entry from the cache, potentially triggering generation
+	 * of the value.
+	 * @param key the key to retrieve the entry for
+	 * @return the cached or newly generated value
+	 */
+	public V get(K key) {
+		if (this.sizeLimit == 0) {
+			return this.generator.apply(key);
+		}
+		Node<K, V> node = this.cache.get(key);
+		if (node == null) {
+			V value = this.generator.apply(key);
+			put(key, value);
+			return value;
+		}
+		processRead(node);
+		return node.getValue();
+	}
+
+	private void put(K key, V value) {
+		Node<K, V> node = new Node<>(key, value);
+		Node<K, V> prior = this.cache.putIfAbsent(key, node);
+		if (prior == null) {
+			processWrite(new AddTask(node));
+		}
+		else {
+			processRead(prior);
+		}
+	}
+
+	/**
+	 * Determine whether the given key is present in this cache.
+	 * @param key the key to check for
+	 * @return {@code true} if the key is present,
+	 * {@code false} if there was no matching key
+	 */
+	public boolean contains(K key) {
+		return this.cache.containsKey(key);
+	}
+
+	/**
+	 * Immediately remove the given key and any associated value.
+	 * @param key the key to evict the entry for
+	 * @return {@code true} if the key was present before,
+	 * {@code false} if there was no matching key
+	 */
+	public boolean remove(K key) {
+		Node<K, V> node = this.cache.remove(key);
+		if (node == null) {
+			return false;
+		}
+		node.markForRemoval();
+		processWrite(new RemovalTask(node));
+		return true;
+	}
+
+	/**
+	 * Immediately remove all entries from this cache.
+	 */
+	public void clear() {
+		this.evictionLock.lock();
+		try {
+			drainBuffers();
+			Node<K, V> node;
+			while ((node = this.evictionQueue.poll()) != null) {
+				this.cache.remove(node.key, node);
+				markAsRemoved(node);
+			}
+			this.readOperations.clear();
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Return the current size of the cache.
+	 * @see #sizeLimit()
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value).
+	 * @see #size()
+	 */
+	public int sizeLimit() {
+		return this.sizeLimit;
+	}
+
+
+	private void processRead(Node<K, V> node) {
+		boolean delayable = this.readOperations.recordRead(node);
+		if (this.drainStatus.get().shouldDrainBuffers(delayable)) {
+			drainOperations();
+		}
+	}
+
+	private void processWrite(Runnable task) {
+		this.writeOperations.add(task);
+		this.drainStatus.lazySet(DrainStatus.REQUIRED);
+		drainOperations();
+	}
+
+	/**
+	 * Replay the pending read and write operations against the eviction queue,
+	 * unless another thread is already doing so: in that case, that thread will
+	 * pick up our pending operations as well, or leave the drain status as
+	 * {@code REQUIRED} for the next caller.
+	 */
+	private void drainOperations() {
+		if (this.evictionLock.tryLock()) {
+			try {
+				drainBuffers();
+			}
+			finally {
+				this.drainStatus.compareAndSet(DrainStatus.PROCESSING, DrainStatus.IDLE);
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+	private void drainBuffers() {
+		this.drainStatus.lazySet(DrainStatus.PROCESSING);
+		this.readOperations.drainAll();
+		Runnable task;
+		while ((task = this.writeOperations.poll()) != null) {
+			task.run();
+		}
+	}
+
+	private void evictEntries() {
+		while (this.currentSize.get() > this.sizeLimit) {
+			Node<K, V> node = this.evictionQueue.poll();
+			if (node == null) {
+				return;
+			}
+			boolean evicted = this.cache.remove(node.key, node);
+			markAsRemoved(node);
+			if (evicted && this.evictionCallback != null) {
+				this.evictionCallback.accept(node.key, node.getValue());
+			}
+		}
+	}
+
+	private void markAsRemoved(Node<K, V> node) {
+		if (node.markAsRemoved()) {
+			this.currentSize.lazySet(this.currentSize.get() - 1);
+		}
+	}
+
+
+	/**
+	 * Write operation recording a newly added cache entry.
+	 */
+	private final class AddTask implements Runnable {
+
+		private final Node<K, V> node;
+
+		AddTask(Node<K, V> node) {
+			this.node = node;
+		}
+
+		@Override
+		public void run() {
+			currentSize.lazySet(currentSize.get() + 1);
+			if (this.node.getState() == EntryState.ACTIVE) {
+				evictionQueue.add(this.node);
+				evictEntries();
+			}
+		}
+	}
+
+
+	/**
+	 * Write operation recording the removal of a cache entry.
+	 */
+	private final class RemovalTask implements Runnable {
+
+		private final Node<K, V> node;
+
+		RemovalTask(Node<K, V> node) {
+			this.node = node;
+		}
+
+		@Override
+		public void run() {
+			evictionQueue.remove(this.node);
+			markAsRemoved(this.node);
+		}
+	}
+
+
+	/**
+	 * Draining status for the read and write buffers.
+	 */
+	private enum DrainStatus {
+
+		/**
+		 * No drain operation currently running.
+		 */
+		IDLE {
+			@Override
+			boolean shouldDrainBuffers(boolean delayable) {
+				return !delayable;
+			}
+		},
+
+		/**
+		 * A drain operation is required due to a pending write modification.
+		 */
+		REQUIRED {
+			@Override
+			boolean shouldDrainBuffers(boolean delayable) {
+				return true;
+			}
+		},
+
+		/**
+		 * A drain operation is in progress.
+		 */
+		PROCESSING {
+			@Override
+			boolean shouldDrainBuffers(boolean delayable) {
+				return false;
+			}
+		};
+
+		/**
+		 * Determine whether the buffers should be drained.
+		 * @param delayable if a drain should be delayed until required
+		 * @return if a drain should be attempted
+		 */
+		abstract boolean shouldDrainBuffers(boolean delayable);
+	}
+
+
+	private enum EntryState {
+
+		ACTIVE, PENDING_REMOVAL, REMOVED
+	}
+
+
+	/**
+	 * Striped, lossy buffers recording cache hits until they get replayed
+	 * against the eviction queue.
+	 */
+	private static final class ReadOperations<K, V> {
+
+		private static final int BUFFER_COUNT = detectNumberOfBuffers();
+
+		private static final int BUFFERS_MASK = BUFFER_COUNT - 1;
+
+		private static final int MAX_PENDING_OPERATIONS = 32;
+
+		private static final int MAX_DRAIN_COUNT = 2 * MAX_PENDING_OPERATIONS;
+
+		private static final int BUFFER_SIZE = 2 * MAX_DRAIN_COUNT;
+
+		private static final int BUFFER_INDEX_MASK = BUFFER_SIZE - 1;
+
+		private static int detectNumberOfBuffers() {
+			int availableProcessors = Runtime.getRuntime().availableProcessors();
+			int nextPowerOfTwo = 1 << (Integer.SIZE - Integer.numberOfLeadingZeros(availableProcessors - 1));
+			return Math.min(4, nextPowerOfTwo);
+		}
+
+		/*
+		 * Number of operations recorded, for each buffer
+		 */
+		private final AtomicLong[] recordedCount = new AtomicLong[BUFFER_COUNT];
+
+		/*
+		 * Number of operations read, for each buffer (only accessed while holding the eviction lock)
+		 */
+		private final long[] readCount = new long[BUFFER_COUNT];
+
+		/*
+		 * Number of operations processed, for each buffer
+		 */
+		private final AtomicLong[] processedCount = new AtomicLong[BUFFER_COUNT];
+
+		@SuppressWarnings("unchecked")
+		private final AtomicReferenceArray<Node<K, V>>[] buffers = new AtomicReferenceArray[BUFFER_COUNT];
+
+		private final EvictionQueue<K, V> evictionQueue;
+
+		ReadOperations(EvictionQueue<K, V> evictionQueue) {
+			this.evictionQueue = evictionQueue;
+			for (int i = 0; i < BUFFER_COUNT; i++) {
+				this.recordedCount[i] = new AtomicLong();
+				this.processedCount[i] = new AtomicLong();
+				this.buffers[i] = new AtomicReferenceArray<>(BUFFER_SIZE);
+			}
+		}
+
+		private static int getBufferIndex() {
+			return ((int) Thread.currentThread().getId()) & BUFFERS_MASK;
+		}
+
+		/**
+		 * Record a cache hit; concurrent hits on the same buffer may
+		 * overwrite each other, which merely skips an LRU reordering.
+		 * @return {@code true} if draining the buffer can be delayed,
+		 * {@code false} if enough operations are pending to drain it
+		 */
+		boolean recordRead(Node<K, V> node) {
+			int bufferIndex = getBufferIndex();
+			AtomicLong counter = this.recordedCount[bufferIndex];
+			long writeCount = counter.get();
+			counter.lazySet(writeCount + 1);
+			int index = (int) (writeCount & BUFFER_INDEX_MASK);
+			this.buffers[bufferIndex].lazySet(index, node);
+			long pending = (writeCount - this.processedCount[bufferIndex].get());
+			return (pending < MAX_PENDING_OPERATIONS);
+		}
+
+		void drainAll() {
+			int start = getBufferIndex();
+			int end = start + BUFFER_COUNT;
+			for (int i = start; i < end; i++) {
+				drainReadBuffer(i & BUFFERS_MASK);
+			}
+		}
+
+		void clear() {
+			for (int i = 0; i < BUFFER_COUNT; i++) {
+				AtomicReferenceArray<Node<K, V>> buffer = this.buffers[i];
+				for (int j = 0; j < BUFFER_SIZE; j++) {
+					buffer.lazySet(j, null);
+				}
+			}
+		}
+
+		private void drainReadBuffer(int bufferIndex) {
+			long writeCount = this.recordedCount[bufferIndex].get();
+			for (int i = 0; i < MAX_DRAIN_COUNT; i++) {
+				int index = (int) (this.readCount[bufferIndex] & BUFFER_INDEX_MASK);
+				AtomicReferenceArray<Node<K, V>> buffer = this.buffers[bufferIndex];
+				Node<K, V> node = buffer.get(index);
+				if (node == null) {
+					break;
+				}
+				buffer.lazySet(index, null);
+				this.evictionQueue.moveToBack(node);
+				this.readCount[bufferIndex]++;
+			}
+			this.processedCount[bufferIndex].lazySet(writeCount);
+		}
+	}
+
+
+	/**
+	 * Cache entry, also linked into the eviction queue while active.
+	 */
+	private static final class Node<K, V> {
+
+		final K key;
+
+		private final V value;
+
+		private final AtomicReference<EntryState> state = new AtomicReference<>(EntryState.ACTIVE);
+
+		/*
+		 * Links in the eviction queue (only accessed while holding the eviction lock)
+		 */
+		@Nullable
+		Node<K, V> prev;
+
+		@Nullable
+		Node<K, V> next;
+
+		Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		V getValue() {
+			return this.value;
+		}
+
+		EntryState getState() {
+			return this.state.get();
+		}
+
+		void markForRemoval() {
+			this.state.compareAndSet(EntryState.ACTIVE, EntryState.PENDING_REMOVAL);
+		}
+
+		/**
+		 * Transition this entry to its final state.
+		 * @return {@code true} if the entry was not marked as removed before
+		 */
+		boolean markAsRemoved() {
+			return (this.state.getAndSet(EntryState.REMOVED) != EntryState.REMOVED);
+		}
+	}
+
+
+	/**
+	 * Doubly-linked queue of cache entries ordered from least to most recently used
+	 * (only accessed while holding the eviction lock).
+	 */
+	private static final class EvictionQueue<K, V> {
+
+		@Nullable
+		private Node<K, V> first;
+
+		@Nullable
+		private Node<K, V> last;
+
+		@Nullable
+		Node<K, V> poll() {
+			Node<K, V> node = this.first;
+			if (node != null) {
+				unlink(node);
+			}
+			return node;
+		}
+
+		void add(Node<K, V> node) {
+			if (!contains(node)) {
+				linkLast(node);
+			}
+		}
+
+		void remove(Node<K, V> node) {
+			if (contains(node)) {
+				unlink(node);
+			}
+		}
+
+		void moveToBack(Node<K, V> node) {
+			if (contains(node) && node != this.last) {
+				unlink(node);
+				linkLast(node);
+			}
+		}
+
+		private boolean contains(Node<K, V> node) {
+			return (node.prev != null || node.next != null || node == this.first);
+		}
+
+		private void linkLast(Node<K, V> node) {
+			Node<K, V> previousLast = this.last;
+			this.last = node;
+			if (previousLast == null) {
+				this.first = node;
+			}
+			else {
+				previousLast.next = node;
+				node.prev = previousLast;
+			}
+		}
+
+		private void unlink(Node<K, V> node) {
+			Node<K, V> prev = node.prev;
+			Node<K, V> next = node.next;
+			if (prev == null) {
+				this.first = next;
+			}
+			else {
+				prev.next = next;
+				node.prev = null;
+			}
+			if (next == null) {
+				this.last = prev;
+			}
+			else {
+				next.prev = prev;
+				node.next = null;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link PooledDefaultDataBufferFactory}.
+ */
+class PooledDefaultDataBufferFactoryTests {
+
+	private final PooledDefaultDataBufferFactory bufferFactory = new PooledDefaultDataBufferFactory(false, 256, 1024, 4);
+
+
+	@Test
+	void capacityMatchesRequestedCapacity() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		assertThat(buffer.capacity()).isEqualTo(100);
+		assertThat(buffer.writableByteCount()).isEqualTo(100);
+		assertThat(this.bufferFactory.allocateBuffer().capacity()).isEqualTo(256);
+		assertThat(this.bufferFactory.allocateBuffer(1).capacity()).isEqualTo(1);
+
+		buffer.capacity(150);
+		assertThat(buffer.capacity()).isEqualTo(150);
+		buffer.release();
+		assertThat(this.bufferFactory.getPooledBufferCount()).isEqualTo(2);
+	}
+
+	@Test
+	void releasedBufferIsReused() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(500);
+		buffer.write("foo", StandardCharsets.UTF_8);
+		assertThat(buffer.release()).isTrue();
+		assertThat(buffer.isAllocated()).isFalse();
+		assertThat(this.bufferFactory.getPooledBufferCount()).isEqualTo(1);
+
+		PooledDefaultDataBuffer reused = this.bufferFactory.allocateBuffer(300);
+		assertThat(reused.capacity()).isEqualTo(300);
+		assertThat(reused.readableByteCount()).isEqualTo(0);
+		assertThat(this.bufferFactory.getPooledBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void largeBufferNotPooled() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(5000);
+		assertThat(buffer.capacity()).isEqualTo(5000);
+		buffer.release();
+		assertThat(this.bufferFactory.getPooledBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void capacityIncreaseRecyclesPreviousBuffer() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(64);
+		buffer.write("foo", StandardCharsets.UTF_8);
+		buffer.write(new byte[100]);
+		assertThat(buffer.capacity()).isGreaterThanOrEqualTo(103);
+		assertThat(buffer.toString(0, 3, StandardCharsets.UTF_8)).isEqualTo("foo");
+		assertThat(this.bufferFactory.getPooledBufferCount()).isEqualTo(1);
+		buffer.release();
+	}
+
+	@Test
+	void sliceSharesReferenceCount() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(64);
+		buffer.write("foobar", StandardCharsets.UTF_8);
+		DataBuffer slice = buffer.retainedSlice(3, 3);
+		assertThat(slice).isInstanceOf(PooledDataBuffer.class);
+		assertThat(slice.toString(StandardCharsets.UTF_8)).isEqualTo("bar");
+
+		assertThat(buffer.release()).isFalse();
+		assertThat(DataBufferUtils.release(slice)).isTrue();
+		assertThat(buffer.isAllocated()).isFalse();
+		assertThat(this.bufferFactory.getPooledBufferCount()).isEqualTo(1);
+	}
+
+	@Test
+	void directBuffers() {
+		PooledDefaultDataBufferFactory directFactory = new PooledDefaultDataBufferFactory(true, 256, 1024, 4);
+		PooledDefaultDataBuffer buffer = directFactory.allocateBuffer(100);
+		assertThat(buffer.getNativeBuffer().isDirect()).isTrue();
+		buffer.write("foo", StandardCharsets.UTF_8);
+		buffer.write(new byte[200]);
+		assertThat(buffer.toString(0, 3, StandardCharsets.UTF_8)).isEqualTo("foo");
+		buffer.release();
+		assertThat(directFactory.getPooledBufferCount()).isEqualTo(2);
+
+		PooledDefaultDataBuffer reused = directFactory.allocateBuffer(100);
+		assertThat(reused.getNativeBuffer().isDirect()).isTrue();
+		assertThat(reused.capacity()).isEqualTo(100);
+		assertThat(directFactory.getPooledBufferCount()).isEqualTo(1);
+		reused.release();
+	}
+
+	@Test
+	void byteBufferViews() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		buffer.write("foobar", StandardCharsets.UTF_8);
+
+		ByteBuffer view = buffer.asByteBuffer(3, 3);
+		assertThat(view.remaining()).isEqualTo(3);
+		assertThat(view.get()).isEqualTo((byte) 'b');
+		assertThat(buffer.asByteBuffer().remaining()).isEqualTo(6);
+		assertThat(buffer.asByteBuffer().capacity()).isLessThanOrEqualTo(100);
+		buffer.release();
+	}
+
+	@Test
+	void inputStreamReleaseOnClose() throws IOException {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(64);
+		buffer.write("foo", StandardCharsets.UTF_8);
+		InputStream inputStream = buffer.asInputStream(true);
+		assertThat(inputStream.read()).isEqualTo('f');
+		inputStream.close();
+		assertThat(buffer.isAllocated()).isFalse();
+		inputStream.close();
+	}
+
+	@Test
+	void useAfterRelease() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(64);
+		buffer.release();
+		assertThatIllegalStateException().isThrownBy(() -> buffer.write((byte) 'a'));
+		assertThatIllegalStateException().isThrownBy(buffer::retain);
+		assertThatIllegalStateException().isThrownBy(buffer::release);
+	}
+
+	@Test
+	void joinReleasesSourceBuffers() {
+		PooledDefaultDataBuffer foo = this.bufferFactory.allocateBuffer(64);
+		foo.write("foo", StandardCharsets.UTF_8);
+		PooledDefaultDataBuffer bar = this.bufferFactory.allocateBuffer(64);
+		bar.write("bar", StandardCharsets.UTF_8);
+
+		DataBuffer result = this.bufferFactory.join(Arrays.asList(foo, bar));
+		assertThat(result.toString(StandardCharsets.UTF_8)).isEqualTo("foobar");
+		assertThat(foo.isAllocated()).isFalse();
+		assertThat(bar.isAllocated()).isFalse();
+		DataBufferUtils.release(result);
+	}
+
+	@Test
+	void leakDetection() throws InterruptedException {
+		this.bufferFactory.setLeakDetection(true);
+		for (int i = 0; i < 10; i++) {
+			this.bufferFactory.allocateBuffer(64);
+		}
+		for (int i = 0; i < 50 && this.bufferFactory.getLeakCount() < 10; i++) {
+			System.gc();
+			Thread.sleep(20);
+			this.bufferFactory.allocateBuffer(64).release();
+		}
+		assertThat(this.bufferFactory.getLeakCount()).isEqualTo(10);
+		// leaked memory is left to the garbage collector rather than reused
+		assertThat(this.bufferFactory.getPooledBufferCount()).isEqualTo(1);
+	}
+
+}
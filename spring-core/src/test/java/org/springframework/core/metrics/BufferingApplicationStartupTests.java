@@ -0,0 +1,86 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.core.metrics;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.metrics.BufferingApplicationStartup.BufferedStep;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link BufferingApplicationStartup}.
+ */
+class BufferingApplicationStartupTests {
+
+	@Test
+	void recordsNestedStepsInEndOrder() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(10);
+		StartupStep outer = startup.start("spring.test.outer");
+		StartupStep inner = startup.start("spring.test.inner").tag("beanName", "myBean");
+		inner.end();
+		outer.end();
+
+		List<BufferedStep> steps = startup.getBufferedSteps();
+		assertThat(steps).extracting(StartupStep::getName).containsExactly("spring.test.inner", "spring.test.outer");
+		assertThat(steps.get(0).getParentId()).isEqualTo(outer.getId());
+		assertThat(steps.get(1).getParentId()).isNull();
+		assertThat(steps.get(0).getTags()).singleElement().satisfies(tag -> {
+			assertThat(tag.getKey()).isEqualTo("beanName");
+			assertThat(tag.getValue()).isEqualTo("myBean");
+		});
+		assertThat(steps.get(1).getDuration()).isNotNull();
+	}
+
+	@Test
+	void stopsRecordingWhenCapacityIsReached() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(2);
+		for (int i = 0; i < 5; i++) {
+			startup.start("spring.test.step").end();
+		}
+		assertThat(startup.getBufferedSteps()).hasSize(2);
+		assertThat(startup.drainBufferedSteps()).hasSize(2);
+		assertThat(startup.getBufferedSteps()).isEmpty();
+
+		startup.start("spring.test.step").end();
+		assertThat(startup.getBufferedSteps()).hasSize(1);
+	}
+
+	@Test
+	void rejectsTagsAfterEnd() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(1);
+		StartupStep step = startup.start("spring.test.step");
+		step.end();
+		assertThatIllegalStateException().isThrownBy(() -> step.tag("key", "value"));
+		assertThatIllegalStateException().isThrownBy(step::end);
+	}
+
+	@Test
+	void defaultStartupDoesNotEvaluateTagSuppliers() {
+		StartupStep step = ApplicationStartup.DEFAULT.start("spring.test.step")
+				.tag("key", () -> {
+					throw new IllegalStateException("Should not be called");
+				});
+		step.end();
+		assertThat(step.getTags()).isEmpty();
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AbstractAnnotationMetadataTests;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.util.ClassUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PersistentMetadataReaderFactory}, running the common
+ * metadata tests against metadata restored from the cache file.
+ */
+class PersistentMetadataReaderFactoryTests extends AbstractAnnotationMetadataTests {
+
+	@TempDir
+	Path tempDir;
+
+
+	@Override
+	protected AnnotationMetadata get(Class<?> source) {
+		try {
+			File cacheFile = this.tempDir.resolve("metadata.cache").toFile();
+			PersistentMetadataReaderFactory factory =
+					new PersistentMetadataReaderFactory(cacheFile, source.getClassLoader());
+			factory.getMetadataReader(source.getName());
+			factory.clearCache();
+			MetadataReader metadataReader = new PersistentMetadataReaderFactory(
+					cacheFile, source.getClassLoader()).getMetadataReader(source.getName());
+			assertThat(metadataReader).isNotInstanceOf(SimpleMetadataReader.class);
+			return metadataReader.getAnnotationMetadata();
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	@Test
+	void modifiedClassFileGetsParsedAgain() throws IOException {
+		Resource classFile = new ClassPathResource(ClassUtils.convertClassNameToResourcePath(
+				getClass().getName()) + ClassUtils.CLASS_FILE_SUFFIX);
+		File copy = this.tempDir.resolve("Copy.class").toFile();
+		Files.copy(classFile.getInputStream(), copy.toPath());
+		File cacheFile = this.tempDir.resolve("metadata.cache").toFile();
+
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(new FileSystemResource(copy));
+		factory.clearCache();
+		assertThat(cacheFile).exists();
+		assertThat(new PersistentMetadataReaderFactory(cacheFile).getMetadataReader(new FileSystemResource(copy)))
+				.isNotInstanceOf(SimpleMetadataReader.class);
+
+		assertThat(copy.setLastModified(copy.lastModified() + 10000)).isTrue();
+		factory = new PersistentMetadataReaderFactory(cacheFile);
+		assertThat(factory.getMetadataReader(new FileSystemResource(copy))).isInstanceOf(SimpleMetadataReader.class);
+		factory.clearCache();
+		assertThat(new PersistentMetadataReaderFactory(cacheFile).getMetadataReader(new FileSystemResource(copy)))
+				.isNotInstanceOf(SimpleMetadataReader.class);
+	}
+
+	@Test
+	void cacheFileReplacedAfterRestoringEntries() throws IOException {
+		File cacheFile = this.tempDir.resolve("metadata.cache").toFile();
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(getClass().getName());
+		factory.clearCache();
+
+		factory = new PersistentMetadataReaderFactory(cacheFile);
+		MetadataReader restored = factory.getMetadataReader(getClass().getName());
+		assertThat(restored).isNotInstanceOf(SimpleMetadataReader.class);
+		assertThat(factory.getMetadataReader(getClass().getName())).isSameAs(restored);
+		factory.getMetadataReader(Resource.class.getName());
+		factory.clearCache();
+
+		factory = new PersistentMetadataReaderFactory(cacheFile);
+		assertThat(factory.getMetadataReader(getClass().getName())).isNotInstanceOf(SimpleMetadataReader.class);
+		assertThat(factory.getMetadataReader(Resource.class.getName())).isNotInstanceOf(SimpleMetadataReader.class);
+	}
+
+	@Test
+	void unreadableCacheFileIsIgnored() throws IOException {
+		File cacheFile = this.tempDir.resolve("metadata.cache").toFile();
+		Files.write(cacheFile.toPath(), new byte[] {1, 2, 3});
+
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(cacheFile);
+		MetadataReader metadataReader = factory.getMetadataReader(getClass().getName());
+		assertThat(metadataReader).isInstanceOf(SimpleMetadataReader.class);
+		assertThat(metadataReader.getClassMetadata().getClassName()).isEqualTo(getClass().getName());
+		factory.clearCache();
+		assertThat(new PersistentMetadataReaderFactory(cacheFile).getMetadataReader(getClass().getName()))
+				.isNotInstanceOf(SimpleMetadataReader.class);
+	}
+
+}
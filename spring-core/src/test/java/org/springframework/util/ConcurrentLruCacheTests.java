@@ -0,0 +1,164 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link ConcurrentLruCache}.
+ */
+class ConcurrentLruCacheTests {
+
+	private final ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(2, key -> key + "value");
+
+
+	@Test
+	void rejectsNegativeSizeLimit() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new ConcurrentLruCache<String, String>(-1, key -> key));
+	}
+
+	@Test
+	void zeroCapacity() {
+		AtomicInteger generated = new AtomicInteger();
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(0, key -> {
+			generated.incrementAndGet();
+			return key + "value";
+		});
+
+		assertThat(cache.sizeLimit()).isEqualTo(0);
+		assertThat(cache.get("k1")).isEqualTo("k1value");
+		assertThat(cache.get("k1")).isEqualTo("k1value");
+		assertThat(cache.size()).isEqualTo(0);
+		assertThat(cache.contains("k1")).isFalse();
+		assertThat(generated.get()).isEqualTo(2);
+	}
+
+	@Test
+	void getAndSize() {
+		assertThat(this.cache.sizeLimit()).isEqualTo(2);
+		assertThat(this.cache.size()).isEqualTo(0);
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.size()).isEqualTo(1);
+		assertThat(this.cache.contains("k1")).isTrue();
+		assertThat(this.cache.get("k2")).isEqualTo("k2value");
+		assertThat(this.cache.size()).isEqualTo(2);
+		assertThat(this.cache.contains("k1")).isTrue();
+		assertThat(this.cache.contains("k2")).isTrue();
+		assertThat(this.cache.get("k3")).isEqualTo("k3value");
+		assertThat(this.cache.size()).isEqualTo(2);
+		assertThat(this.cache.contains("k1")).isFalse();
+		assertThat(this.cache.contains("k2")).isTrue();
+		assertThat(this.cache.contains("k3")).isTrue();
+	}
+
+	@Test
+	void getWithoutRegeneration() {
+		AtomicInteger generated = new AtomicInteger();
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(2, key -> {
+			generated.incrementAndGet();
+			return key + "value";
+		});
+
+		assertThat(cache.get("k1")).isEqualTo("k1value");
+		assertThat(cache.get("k1")).isEqualTo("k1value");
+		assertThat(cache.get("k1")).isEqualTo("k1value");
+		assertThat(generated.get()).isEqualTo(1);
+	}
+
+	@Test
+	void getAndSizeWithAccessOrder() {
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k2")).isEqualTo("k2value");
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k3")).isEqualTo("k3value");
+		assertThat(this.cache.size()).isEqualTo(2);
+		assertThat(this.cache.contains("k1")).isTrue();
+		assertThat(this.cache.contains("k2")).isFalse();
+		assertThat(this.cache.contains("k3")).isTrue();
+	}
+
+	@Test
+	void evictionCallback() {
+		List<String> evicted = new ArrayList<>();
+		ConcurrentLruCache<String, String> cache =
+				new ConcurrentLruCache<>(2, key -> key + "value", (key, value) -> evicted.add(key + "=" + value));
+
+		cache.get("k1");
+		cache.get("k2");
+		cache.get("k3");
+		cache.remove("k3");
+		cache.clear();
+		assertThat(evicted).containsExactly("k1=k1value");
+	}
+
+	@Test
+	void removeAndClear() {
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k2")).isEqualTo("k2value");
+		assertThat(this.cache.remove("k2")).isTrue();
+		assertThat(this.cache.remove("k2")).isFalse();
+		assertThat(this.cache.size()).isEqualTo(1);
+		assertThat(this.cache.contains("k1")).isTrue();
+		assertThat(this.cache.contains("k2")).isFalse();
+
+		assertThat(this.cache.get("k2")).isEqualTo("k2value");
+		assertThat(this.cache.get("k3")).isEqualTo("k3value");
+		assertThat(this.cache.size()).isEqualTo(2);
+
+		this.cache.clear();
+		assertThat(this.cache.size()).isEqualTo(0);
+		assertThat(this.cache.contains("k2")).isFalse();
+		assertThat(this.cache.contains("k3")).isFalse();
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k2")).isEqualTo("k2value");
+		assertThat(this.cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void concurrentAccessStaysBounded() throws Exception {
+		ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<>(64, String::valueOf);
+		int threadCount = 8;
+		CountDownLatch latch = new CountDownLatch(threadCount);
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < threadCount; i++) {
+			int offset = i;
+			threads.add(new Thread(() -> {
+				for (int j = 0; j < 10_000; j++) {
+					int key = (j * 31 + offset) % 512;
+					assertThat(cache.get(key)).isEqualTo(String.valueOf(key));
+				}
+				latch.countDown();
+			}));
+		}
+		threads.forEach(Thread::start);
+		latch.await();
+
+		// Apply any pending write through a final cache miss
+		cache.get(-1);
+		assertThat(cache.size()).isLessThanOrEqualTo(64);
+		assertThat(cache.contains(-1)).isTrue();
+	}
+
+}
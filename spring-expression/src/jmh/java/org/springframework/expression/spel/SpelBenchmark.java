@@ -0,0 +1,168 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks for the parsing and the evaluation of SpEL expressions,
+ * in interpreted and in compiled mode.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class SpelBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"OFF", "IMMEDIATE"})
+		public SpelCompilerMode compilerMode;
+
+		public EvaluationContext context;
+
+		public Expression propertyAccess;
+
+		public Expression methodInvocation;
+
+		public Expression booleanLogic;
+
+		public Expression selection;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			ExpressionParser parser = new SpelExpressionParser(
+					new SpelParserConfiguration(this.compilerMode, getClass().getClassLoader()));
+			this.context = new StandardEvaluationContext(new Order());
+			this.propertyAccess = parser.parseExpression("customer.address.city");
+			this.methodInvocation = parser.parseExpression("customer.getName().toUpperCase()");
+			this.booleanLogic = parser.parseExpression("amount > 100 and customer.premium or quantity == 0");
+			this.selection = parser.parseExpression("items.?[price > 10]");
+		}
+	}
+
+	@Benchmark
+	public void parse(Blackhole bh) {
+		bh.consume(new SpelExpressionParser().parseExpression("customer.address.city == 'Paris' and amount > 100"));
+	}
+
+	@Benchmark
+	public void propertyAccess(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.propertyAccess.getValue(data.context));
+	}
+
+	@Benchmark
+	public void methodInvocation(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.methodInvocation.getValue(data.context));
+	}
+
+	@Benchmark
+	public void booleanLogic(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.booleanLogic.getValue(data.context, Boolean.class));
+	}
+
+	@Benchmark
+	public void selection(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.selection.getValue(data.context));
+	}
+
+
+	public static class Order {
+
+		private final Customer customer = new Customer();
+
+		private final List<Item> items = new ArrayList<>();
+
+		public Order() {
+			for (int i = 0; i < 20; i++) {
+				this.items.add(new Item(i * 1.5));
+			}
+		}
+
+		public Customer getCustomer() {
+			return this.customer;
+		}
+
+		public List<Item> getItems() {
+			return this.items;
+		}
+
+		public int getAmount() {
+			return 250;
+		}
+
+		public int getQuantity() {
+			return 3;
+		}
+	}
+
+
+	public static class Customer {
+
+		private final Address address = new Address();
+
+		public String getName() {
+			return "Spring";
+		}
+
+		public boolean isPremium() {
+			return true;
+		}
+
+		public Address getAddress() {
+			return this.address;
+		}
+	}
+
+
+	public static class Address {
+
+		public String getCity() {
+			return "Paris";
+		}
+	}
+
+
+	public static class Item {
+
+		private final double price;
+
+		public Item(double price) {
+			this.price = price;
+		}
+
+		public double getPrice() {
+			return this.price;
+		}
+	}
+
+}
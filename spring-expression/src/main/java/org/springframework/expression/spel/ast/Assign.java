@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,10 @@
 
 package org.springframework.expression.spel.ast;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 
 /**
@@ -40,9 +42,35 @@ public class Assign extends SpelNodeImpl {
 	public TypedValue getValueInternal(ExpressionState state) throws EvaluationException {
 		TypedValue newValue = this.children[1].getValueInternal(state);
 		getChild(0).setValue(state, newValue.getValue());
+		String valueDesc = this.children[1].exitTypeDescriptor;
+		this.exitTypeDescriptor = (CodeFlow.isPrimitive(valueDesc) && !"V".equals(valueDesc) ?
+				CodeFlow.toBoxedDescriptor(valueDesc) : valueDesc);
 		return newValue;
 	}
 
+	/**
+	 * Assignments are compilable for regular variables, e.g. {@code #counter = 42}.
+	 */
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl target = this.children[0];
+		SpelNodeImpl value = this.children[1];
+		return (target instanceof VariableReference &&
+				((VariableReference) target).isCompilableAssignmentTarget() &&
+				value.isCompilable() && this.exitTypeDescriptor != null && !"V".equals(this.exitTypeDescriptor));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		SpelNodeImpl value = this.children[1];
+		cf.enterCompilationScope();
+		value.generateCode(mv, cf);
+		cf.exitCompilationScope();
+		CodeFlow.insertBoxIfNecessary(mv, value.exitTypeDescriptor);
+		((VariableReference) this.children[0]).generateAssignmentCode(mv, cf);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
 	@Override
 	public String toStringAST() {
 		return getChild(0).toStringAST() + "=" + getChild(1).toStringAST();
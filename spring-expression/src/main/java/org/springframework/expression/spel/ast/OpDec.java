@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,9 +19,11 @@ package org.springframework.expression.spel.ast;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Operation;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -123,6 +125,15 @@ public class OpDec extends Operator {
 			}
 		}
 
+		// Only decrements of int, long, float and double variables are compilable
+		if (operand instanceof VariableReference && (operandValue instanceof Integer || operandValue instanceof Long ||
+				operandValue instanceof Float || operandValue instanceof Double)) {
+			this.exitTypeDescriptor = CodeFlow.toDescriptorFromObject(operandValue);
+		}
+		else {
+			this.exitTypeDescriptor = null;
+		}
+
 		if (!this.postfix) {
 			// the return value is the new value, not the original value
 			returnValue = newValue;
@@ -131,6 +142,55 @@ public class OpDec extends Operator {
 		return returnValue;
 	}
 
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl operand = getLeftOperand();
+		return (this.exitTypeDescriptor != null && operand instanceof VariableReference &&
+				((VariableReference) operand).isCompilableAssignmentTarget());
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		VariableReference variable = (VariableReference) getLeftOperand();
+		String exitDesc = this.exitTypeDescriptor;
+		Assert.state(exitDesc != null, "No exit type descriptor");
+		char primitiveDesc = CodeFlow.toPrimitiveTargetDesc(exitDesc);
+
+		variable.generateLookupCode(mv, cf);
+		CodeFlow.insertCheckCast(mv, exitDesc);
+		if (this.postfix) {
+			// Keep the original value as the result
+			mv.visitInsn(DUP);
+		}
+		CodeFlow.insertUnboxInsns(mv, primitiveDesc, exitDesc);
+		switch (primitiveDesc) {
+			case 'I':
+				mv.visitInsn(ICONST_1);
+				mv.visitInsn(ISUB);
+				break;
+			case 'J':
+				mv.visitInsn(LCONST_1);
+				mv.visitInsn(LSUB);
+				break;
+			case 'F':
+				mv.visitInsn(FCONST_1);
+				mv.visitInsn(FSUB);
+				break;
+			case 'D':
+				mv.visitInsn(DCONST_1);
+				mv.visitInsn(DSUB);
+				break;
+			default:
+				throw new IllegalStateException("Unrecognized exit type descriptor: '" + exitDesc + "'");
+		}
+		CodeFlow.insertBoxIfNecessary(mv, primitiveDesc);
+		variable.generateAssignmentCode(mv, cf);
+		if (this.postfix) {
+			mv.visitInsn(POP);
+		}
+		cf.pushDescriptor(exitDesc);
+	}
+
 	@Override
 	public String toStringAST() {
 		return getLeftOperand().toStringAST() + "--";
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,12 +18,16 @@ package org.springframework.expression.spel.ast;
 
 import java.util.List;
 
+import org.springframework.asm.MethodVisitor;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypeComparator;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
 import org.springframework.expression.spel.support.BooleanTypedValue;
+import org.springframework.lang.Nullable;
 
 /**
  * Represents the between operator. The left operand to between must be a single value and
@@ -38,6 +42,7 @@ public class OperatorBetween extends Operator {
 
 	public OperatorBetween(int startPos, int endPos, SpelNodeImpl... operands) {
 		super("between", startPos, endPos, operands);
+		this.exitTypeDescriptor = "Z";
 	}
 
 
@@ -58,12 +63,8 @@ public class OperatorBetween extends Operator {
 					SpelMessage.BETWEEN_RIGHT_OPERAND_MUST_BE_TWO_ELEMENT_LIST);
 		}
 
-		List<?> list = (List<?>) right;
-		Object low = list.get(0);
-		Object high = list.get(1);
-		TypeComparator comp = state.getTypeComparator();
 		try {
-			return BooleanTypedValue.forValue(comp.compare(left, low) >= 0 && comp.compare(left, high) <= 0);
+			return BooleanTypedValue.forValue(betweenCheck(state.getEvaluationContext(), left, right));
 		}
 		catch (SpelEvaluationException ex) {
 			ex.setPosition(getStartPosition());
@@ -71,4 +72,54 @@ public class OperatorBetween extends Operator {
 		}
 	}
 
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl left = getLeftOperand();
+		SpelNodeImpl right = getRightOperand();
+		return (left.isCompilable() && right.isCompilable());
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		cf.loadEvaluationContext(mv);
+		SpelNodeImpl left = getLeftOperand();
+		cf.enterCompilationScope();
+		left.generateCode(mv, cf);
+		CodeFlow.insertBoxIfNecessary(mv, cf.lastDescriptor());
+		cf.exitCompilationScope();
+		SpelNodeImpl right = getRightOperand();
+		cf.enterCompilationScope();
+		right.generateCode(mv, cf);
+		CodeFlow.insertBoxIfNecessary(mv, cf.lastDescriptor());
+		cf.exitCompilationScope();
+
+		String operatorClassName = OperatorBetween.class.getName().replace('.', '/');
+		String evaluationContextClassName = EvaluationContext.class.getName().replace('.', '/');
+		mv.visitMethodInsn(INVOKESTATIC, operatorClassName, "betweenCheck",
+				"(L" + evaluationContextClassName + ";Ljava/lang/Object;Ljava/lang/Object;)Z", false);
+		cf.pushDescriptor("Z");
+	}
+
+
+	/**
+	 * Check whether the given value lies between the two bounds in the given list,
+	 * inclusive, using the {@link TypeComparator} of the given context.
+	 * <p>This method is not just used for interpreted evaluation but also from
+	 * compiled expression code, which is why it needs to be declared as
+	 * {@code public static} here.
+	 * @param context the current evaluation context
+	 * @param value the left-hand operand value
+	 * @param range the right-hand operand value, expected to be a two-element list
+	 * @since 5.2.13
+	 */
+	public static boolean betweenCheck(EvaluationContext context, @Nullable Object value, @Nullable Object range) {
+		if (!(range instanceof List) || ((List<?>) range).size() != 2) {
+			throw new SpelEvaluationException(SpelMessage.BETWEEN_RIGHT_OPERAND_MUST_BE_TWO_ELEMENT_LIST);
+		}
+		List<?> list = (List<?>) range;
+		Object low = list.get(0);
+		Object high = list.get(1);
+		TypeComparator comp = context.getTypeComparator();
+		return (comp.compare(value, low) >= 0 && comp.compare(value, high) <= 0);
+	}
 }
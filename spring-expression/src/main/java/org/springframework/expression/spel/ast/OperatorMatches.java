@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,11 +22,14 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
 import org.springframework.expression.spel.support.BooleanTypedValue;
+import org.springframework.lang.Nullable;
 
 /**
  * Implements the matches operator. Matches takes two operands:
@@ -47,6 +50,7 @@ public class OperatorMatches extends Operator {
 
 	public OperatorMatches(int startPos, int endPos, SpelNodeImpl... operands) {
 		super("matches", startPos, endPos, operands);
+		this.exitTypeDescriptor = "Z";
 	}
 
 
@@ -95,6 +99,68 @@ public class OperatorMatches extends Operator {
 	}
 
 
+	/**
+	 * The operator is compilable for a String operand and a literal regex, which is
+	 * compiled into a {@link Pattern} constant of the generated class.
+	 */
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl left = getLeftOperand();
+		SpelNodeImpl right = getRightOperand();
+		// A cached pattern means the regex has been compiled successfully before
+		return (left.isCompilable() && "Ljava/lang/String".equals(left.exitTypeDescriptor) &&
+				right instanceof StringLiteral &&
+				this.patternCache.containsKey((String) ((StringLiteral) right).getLiteralValue().getValue()));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		String regex = (String) ((StringLiteral) getRightOperand()).getLiteralValue().getValue();
+		String patternFieldName = "pattern$" + cf.nextFieldId();
+		String className = cf.getClassName();
+
+		cf.registerNewField((cw, cflow) ->
+				cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, patternFieldName, "Ljava/util/regex/Pattern;", null, null));
+		cf.registerNewClinit((mVisitor, cflow) -> {
+			mVisitor.visitLdcInsn(regex);
+			mVisitor.visitMethodInsn(INVOKESTATIC, "java/util/regex/Pattern", "compile",
+					"(Ljava/lang/String;)Ljava/util/regex/Pattern;", false);
+			mVisitor.visitFieldInsn(PUTSTATIC, className, patternFieldName, "Ljava/util/regex/Pattern;");
+		});
+
+		mv.visitFieldInsn(GETSTATIC, className, patternFieldName, "Ljava/util/regex/Pattern;");
+		cf.enterCompilationScope();
+		getLeftOperand().generateCode(mv, cf);
+		cf.exitCompilationScope();
+		String operatorClassName = OperatorMatches.class.getName().replace('.', '/');
+		mv.visitMethodInsn(INVOKESTATIC, operatorClassName, "matchesCheck",
+				"(Ljava/util/regex/Pattern;Ljava/lang/String;)Z", false);
+		cf.pushDescriptor("Z");
+	}
+
+
+	/**
+	 * Check whether the given input matches the given pattern, applying the same
+	 * safeguard against excessive backtracking as for interpreted evaluation.
+	 * <p>This method is used from compiled expression code, which is why it needs
+	 * to be declared as {@code public static} here.
+	 * @param pattern the pre-compiled pattern
+	 * @param input the input to match
+	 * @since 5.2.13
+	 */
+	public static boolean matchesCheck(Pattern pattern, @Nullable String input) {
+		if (input == null) {
+			throw new SpelEvaluationException(SpelMessage.INVALID_FIRST_OPERAND_FOR_MATCHES_OPERATOR, (Object) null);
+		}
+		try {
+			return pattern.matcher(new MatcherInput(input, new AccessCount())).matches();
+		}
+		catch (IllegalStateException ex) {
+			throw new SpelEvaluationException(ex, SpelMessage.FLAWED_PATTERN, pattern.pattern());
+		}
+	}
+
+
 	private static class AccessCount {
 
 		private int count;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,10 +19,13 @@ package org.springframework.expression.spel.ast;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Operation;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
+import org.springframework.lang.Nullable;
 import org.springframework.util.NumberUtils;
 
 /**
@@ -60,17 +63,25 @@ public class OperatorPower extends Operator {
 				return new TypedValue(leftBigInteger.pow(rightNumber.intValue()));
 			}
 			else if (leftNumber instanceof Double || rightNumber instanceof Double) {
+				this.exitTypeDescriptor = "D";
 				return new TypedValue(Math.pow(leftNumber.doubleValue(), rightNumber.doubleValue()));
 			}
 			else if (leftNumber instanceof Float || rightNumber instanceof Float) {
+				this.exitTypeDescriptor = "D";
 				return new TypedValue(Math.pow(leftNumber.floatValue(), rightNumber.floatValue()));
 			}
 
 			double d = Math.pow(leftNumber.doubleValue(), rightNumber.doubleValue());
-			if (d > Integer.MAX_VALUE || leftNumber instanceof Long || rightNumber instanceof Long) {
+			if (leftNumber instanceof Long || rightNumber instanceof Long) {
+				this.exitTypeDescriptor = "J";
+				return new TypedValue((long) d);
+			}
+			if (d > Integer.MAX_VALUE) {
+				this.exitTypeDescriptor = "J";
 				return new TypedValue((long) d);
 			}
 			else {
+				this.exitTypeDescriptor = "I";
 				return new TypedValue((int) d);
 			}
 		}
@@ -78,4 +89,73 @@ public class OperatorPower extends Operator {
 		return state.operate(Operation.POWER, leftOperand, rightOperand);
 	}
 
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl left = getLeftOperand();
+		SpelNodeImpl right = getRightOperand();
+		if (!left.isCompilable() || !right.isCompilable() || this.exitTypeDescriptor == null ||
+				!CodeFlow.isPrimitiveOrUnboxableSupportedNumber(left.exitTypeDescriptor) ||
+				!CodeFlow.isPrimitiveOrUnboxableSupportedNumber(right.exitTypeDescriptor)) {
+			return false;
+		}
+		// An int result may widen to long depending on the operand values:
+		// only compilable if fixed by literal operands
+		return (!isIntOperation(left.exitTypeDescriptor, right.exitTypeDescriptor) ||
+				(left instanceof Literal && right instanceof Literal));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		String leftDesc = getLeftOperand().exitTypeDescriptor;
+		String rightDesc = getRightOperand().exitTypeDescriptor;
+		// Float operands are raised as floats, like in getValueInternal
+		char operandDesc = (isFloatOperation(leftDesc, rightDesc) ? 'F' : 'D');
+
+		cf.enterCompilationScope();
+		getLeftOperand().generateCode(mv, cf);
+		cf.exitCompilationScope();
+		CodeFlow.insertNumericUnboxOrPrimitiveTypeCoercion(mv, leftDesc, operandDesc);
+		if (operandDesc == 'F') {
+			mv.visitInsn(F2D);
+		}
+		cf.enterCompilationScope();
+		getRightOperand().generateCode(mv, cf);
+		cf.exitCompilationScope();
+		CodeFlow.insertNumericUnboxOrPrimitiveTypeCoercion(mv, rightDesc, operandDesc);
+		if (operandDesc == 'F') {
+			mv.visitInsn(F2D);
+		}
+		mv.visitMethodInsn(INVOKESTATIC, "java/lang/Math", "pow", "(DD)D", false);
+
+		String exitDesc = this.exitTypeDescriptor;
+		if ("J".equals(exitDesc)) {
+			mv.visitInsn(D2L);
+		}
+		else if ("I".equals(exitDesc)) {
+			mv.visitInsn(D2I);
+		}
+		cf.pushDescriptor(exitDesc);
+	}
+
+	private static boolean isIntOperation(@Nullable String leftDesc, @Nullable String rightDesc) {
+		return (!isDouble(leftDesc) && !isDouble(rightDesc) && !isFloat(leftDesc) && !isFloat(rightDesc) &&
+				!isLong(leftDesc) && !isLong(rightDesc));
+	}
+
+	private static boolean isFloatOperation(@Nullable String leftDesc, @Nullable String rightDesc) {
+		return (!isDouble(leftDesc) && !isDouble(rightDesc) && (isFloat(leftDesc) || isFloat(rightDesc)));
+	}
+
+	private static boolean isDouble(@Nullable String desc) {
+		return ("D".equals(desc) || "Ljava/lang/Double".equals(desc));
+	}
+
+	private static boolean isFloat(@Nullable String desc) {
+		return ("F".equals(desc) || "Ljava/lang/Float".equals(desc));
+	}
+
+	private static boolean isLong(@Nullable String desc) {
+		return ("J".equals(desc) || "Ljava/lang/Long".equals(desc));
+	}
+
 }
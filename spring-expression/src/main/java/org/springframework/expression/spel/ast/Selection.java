@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,9 +23,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -68,6 +71,9 @@ public class Selection extends SpelNodeImpl {
 
 	private final boolean nullSafe;
 
+	// Whether the operand of the last evaluation was a map (as opposed to a collection)
+	private boolean mapOperand;
+
 
 	public Selection(boolean nullSafe, int variant, int startPos, int endPos, SpelNodeImpl expression) {
 		super(startPos, endPos, expression);
@@ -88,6 +94,8 @@ public class Selection extends SpelNodeImpl {
 		SpelNodeImpl selectionCriteria = this.children[0];
 
 		if (operand instanceof Map) {
+			this.mapOperand = true;
+			this.exitTypeDescriptor = "Ljava/util/Map";
 			Map<?, ?> mapdata = (Map<?, ?>) operand;
 			// TODO don't lose generic info for the new map
 			Map<Object, Object> result = new HashMap<>();
@@ -135,6 +143,10 @@ public class Selection extends SpelNodeImpl {
 		}
 
 		if (operand instanceof Iterable || ObjectUtils.isArray(operand)) {
+			// Selection over arrays is not compilable
+			this.mapOperand = false;
+			this.exitTypeDescriptor = (operand instanceof Iterable ?
+					(this.variant == ALL ? "Ljava/util/List" : "Ljava/lang/Object") : null);
 			Iterable<?> data = (operand instanceof Iterable ?
 					(Iterable<?>) operand : Arrays.asList(ObjectUtils.toObjectArray(operand)));
 
@@ -203,6 +215,146 @@ public class Selection extends SpelNodeImpl {
 				operand.getClass().getName());
 	}
 
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl selectionCriteria = this.children[0];
+		return (this.exitTypeDescriptor != null && selectionCriteria.isCompilable() &&
+				CodeFlow.isBooleanCompatible(selectionCriteria.exitTypeDescriptor));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		SpelNodeImpl selectionCriteria = this.children[0];
+		boolean map = this.mapOperand;
+		Label end = new Label();
+
+		if (cf.lastDescriptor() == null) {
+			cf.loadTarget(mv);
+		}
+		if (this.nullSafe) {
+			Label notNull = new Label();
+			mv.visitInsn(DUP);
+			mv.visitJumpInsn(IFNONNULL, notNull);
+			// The null operand is the result
+			mv.visitJumpInsn(GOTO, end);
+			mv.visitLabel(notNull);
+		}
+
+		int iteratorVar = cf.nextFreeVariableId();
+		int resultVar = cf.nextFreeVariableId();
+		int elementVar = cf.nextFreeVariableId();
+		if (map) {
+			mv.visitTypeInsn(CHECKCAST, "java/util/Map");
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "entrySet", "()Ljava/util/Set;", true);
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Set", "iterator", "()Ljava/util/Iterator;", true);
+		}
+		else {
+			mv.visitTypeInsn(CHECKCAST, "java/lang/Iterable");
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/lang/Iterable", "iterator", "()Ljava/util/Iterator;", true);
+		}
+		mv.visitVarInsn(ASTORE, iteratorVar);
+		// The result is a new list or map, or the last match for LAST
+		if (this.variant == LAST) {
+			mv.visitInsn(ACONST_NULL);
+		}
+		else {
+			String resultType = (map ? "java/util/HashMap" : "java/util/ArrayList");
+			mv.visitTypeInsn(NEW, resultType);
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKESPECIAL, resultType, "<init>", "()V", false);
+		}
+		mv.visitVarInsn(ASTORE, resultVar);
+
+		Label loop = new Label();
+		Label done = new Label();
+		mv.visitLabel(loop);
+		mv.visitVarInsn(ALOAD, iteratorVar);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "hasNext", "()Z", true);
+		mv.visitJumpInsn(IFEQ, done);
+		mv.visitVarInsn(ALOAD, iteratorVar);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "next", "()Ljava/lang/Object;", true);
+		mv.visitVarInsn(ASTORE, elementVar);
+
+		// Evaluate the criteria against the current element (or map entry)
+		cf.enterCompilationScope();
+		cf.enterTargetScope(elementVar);
+		selectionCriteria.generateCode(mv, cf);
+		cf.unboxBooleanIfNecessary(mv);
+		cf.exitTargetScope();
+		cf.exitCompilationScope();
+		mv.visitJumpInsn(IFEQ, loop);
+
+		if (this.variant == LAST) {
+			mv.visitVarInsn(ALOAD, elementVar);
+			mv.visitVarInsn(ASTORE, resultVar);
+			mv.visitJumpInsn(GOTO, loop);
+		}
+		else if (map) {
+			mv.visitVarInsn(ALOAD, resultVar);
+			mv.visitTypeInsn(CHECKCAST, "java/util/Map");
+			generatePutEntryCode(mv, elementVar);
+			if (this.variant == FIRST) {
+				mv.visitVarInsn(ALOAD, resultVar);
+				mv.visitJumpInsn(GOTO, end);
+			}
+			else {
+				mv.visitJumpInsn(GOTO, loop);
+			}
+		}
+		else if (this.variant == FIRST) {
+			mv.visitVarInsn(ALOAD, elementVar);
+			mv.visitJumpInsn(GOTO, end);
+		}
+		else {
+			mv.visitVarInsn(ALOAD, resultVar);
+			mv.visitTypeInsn(CHECKCAST, "java/util/List");
+			mv.visitVarInsn(ALOAD, elementVar);
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "add", "(Ljava/lang/Object;)Z", true);
+			mv.visitInsn(POP);
+			mv.visitJumpInsn(GOTO, loop);
+		}
+
+		mv.visitLabel(done);
+		if (this.variant == FIRST) {
+			mv.visitInsn(ACONST_NULL);
+		}
+		else if (this.variant == LAST && map) {
+			// A map holding just the last matching entry, if any
+			Label noMatch = new Label();
+			mv.visitVarInsn(ALOAD, resultVar);
+			mv.visitJumpInsn(IFNULL, noMatch);
+			mv.visitTypeInsn(NEW, "java/util/HashMap");
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKESPECIAL, "java/util/HashMap", "<init>", "()V", false);
+			mv.visitInsn(DUP);
+			generatePutEntryCode(mv, resultVar);
+			mv.visitJumpInsn(GOTO, end);
+			mv.visitLabel(noMatch);
+			mv.visitInsn(ACONST_NULL);
+		}
+		else {
+			mv.visitVarInsn(ALOAD, resultVar);
+		}
+		mv.visitLabel(end);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	/**
+	 * Generate the code to put the map entry held by the given local variable
+	 * into the map on top of the stack, consuming the map.
+	 */
+	private static void generatePutEntryCode(MethodVisitor mv, int entryVar) {
+		mv.visitVarInsn(ALOAD, entryVar);
+		mv.visitTypeInsn(CHECKCAST, "java/util/Map$Entry");
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map$Entry", "getKey", "()Ljava/lang/Object;", true);
+		mv.visitVarInsn(ALOAD, entryVar);
+		mv.visitTypeInsn(CHECKCAST, "java/util/Map$Entry");
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map$Entry", "getValue", "()Ljava/lang/Object;", true);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+				"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+		mv.visitInsn(POP);
+	}
+
 	@Override
 	public String toStringAST() {
 		return prefix() + getChild(0).toStringAST() + "]";
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -65,15 +65,13 @@ public class VariableReference extends SpelNodeImpl {
 
 	@Override
 	public TypedValue getValueInternal(ExpressionState state) throws SpelEvaluationException {
-		if (this.name.equals(THIS)) {
-			return state.getActiveContextObject();
-		}
 		if (this.name.equals(ROOT)) {
 			TypedValue result = state.getRootContextObject();
 			this.exitTypeDescriptor = CodeFlow.toDescriptorFromObject(result.getValue());
 			return result;
 		}
-		TypedValue result = state.lookupVariable(this.name);
+		TypedValue result = (this.name.equals(THIS) ?
+				state.getActiveContextObject() : state.lookupVariable(this.name));
 		Object value = result.getValue();
 		if (value == null || !Modifier.isPublic(value.getClass().getModifiers())) {
 			// If the type is not public then when generateCode produces a checkcast to it
@@ -114,15 +112,50 @@ public class VariableReference extends SpelNodeImpl {
 		if (this.name.equals(ROOT)) {
 			mv.visitVarInsn(ALOAD,1);
 		}
+		else if (this.name.equals(THIS)) {
+			// The active context object is either the result of the previous
+			// element of a compound expression or the current target
+			if (cf.lastDescriptor() == null) {
+				cf.loadTarget(mv);
+			}
+		}
 		else {
-			mv.visitVarInsn(ALOAD, 2);
-			mv.visitLdcInsn(this.name);
-			mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext", "lookupVariable", "(Ljava/lang/String;)Ljava/lang/Object;",true);
+			generateLookupCode(mv, cf);
 		}
 		CodeFlow.insertCheckCast(mv, this.exitTypeDescriptor);
 		cf.pushDescriptor(this.exitTypeDescriptor);
 	}
 
+	/**
+	 * Return whether compiled code can assign to this reference,
+	 * i.e. whether it refers to a regular variable.
+	 */
+	boolean isCompilableAssignmentTarget() {
+		return !(this.name.equals(THIS) || this.name.equals(ROOT));
+	}
+
+	/**
+	 * Generate the code to look up the value of this variable as an {@code Object}.
+	 */
+	void generateLookupCode(MethodVisitor mv, CodeFlow cf) {
+		cf.loadEvaluationContext(mv);
+		mv.visitLdcInsn(this.name);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext", "lookupVariable", "(Ljava/lang/String;)Ljava/lang/Object;",true);
+	}
+
+	/**
+	 * Generate the code to assign the reference on top of the stack to this
+	 * variable, leaving the reference on the stack.
+	 */
+	void generateAssignmentCode(MethodVisitor mv, CodeFlow cf) {
+		mv.visitInsn(DUP);
+		cf.loadEvaluationContext(mv);
+		mv.visitInsn(SWAP);
+		mv.visitLdcInsn(this.name);
+		mv.visitInsn(SWAP);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext", "setVariable", "(Ljava/lang/String;Ljava/lang/Object;)V",true);
+	}
+
 
 	private static class VariableRef implements ValueRef {
 
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.lang.Nullable;
+
+/**
+ * Callback interface for observing the compilation status of a {@link SpelExpression},
+ * e.g. in order to produce a compiler coverage report or to diagnose why a
+ * particular expression keeps being interpreted.
+ *
+ * <p>All methods have empty default implementations, so implementations only need
+ * to override the callbacks they are interested in. Callbacks may be invoked
+ * concurrently from multiple evaluating threads.
+ *
+ * @since 5.2.13
+ * @see SpelExpression#setCompilationListener
+ * @see SpelExpressionParser#setCompilationListener
+ */
+public interface SpelCompilationListener {
+
+	/**
+	 * Invoked when the given expression has been compiled successfully.
+	 * @param expression the compiled expression
+	 */
+	default void onCompiled(SpelExpression expression) {
+	}
+
+	/**
+	 * Invoked when an attempt to compile the given expression has failed.
+	 * @param expression the expression that could not be compiled
+	 * @param nonCompilableNode the innermost AST node that prevented compilation,
+	 * or {@code null} if compilation was declined during code generation
+	 * @see SpelExpression#getNonCompilableNode()
+	 */
+	default void onCompilationFailed(SpelExpression expression, @Nullable SpelNode nonCompilableNode) {
+	}
+
+	/**
+	 * Invoked when the given expression has failed to compile too often and will
+	 * no longer be considered for compilation (until it is explicitly reverted).
+	 * @param expression the expression for which compilation has been abandoned
+	 * @see SpelExpression#revertToInterpreted()
+	 */
+	default void onCompilationAbandoned(SpelExpression expression) {
+	}
+
+	/**
+	 * Invoked when an evaluation of the compiled form of the given expression has
+	 * failed and the expression falls back to interpreted mode (as is the case in
+	 * {@link org.springframework.expression.spel.SpelCompilerMode#MIXED} mode).
+	 * @param expression the expression reverting to interpreted mode
+	 * @param ex the exception thrown by the compiled expression
+	 */
+	default void onRevertedToInterpreted(SpelExpression expression, Throwable ex) {
+	}
+
+}
@@ -77,6 +77,13 @@ public class SpelExpression implements Expression {
 	// give up trying to compile it when it just doesn't seem to be possible.
 	private final AtomicInteger failedAttempts = new AtomicInteger(0);
 
+	// Count of how many times the compiled form of the expression has been invoked
+	private final AtomicInteger compiledCount = new AtomicInteger(0);
+
+	// Optional listener to be notified about compilation progress of this expression
+	@Nullable
+	private volatile SpelCompilationListener compilationListener;
+
 
 	/**
 	 * Construct an expression, only used by the parser.
@@ -108,6 +115,28 @@ public class SpelExpression implements Expression {
 	}
 
 
+	/**
+	 * Set a listener to be notified about the compilation status of this expression:
+	 * successful compilation, failed compilation attempts (including the AST node that
+	 * prevented compilation), abandonment of compilation, and reverting to interpreted
+	 * mode after a failing compiled evaluation.
+	 * @param compilationListener the listener to use, or {@code null} for none
+	 * @since 5.2.13
+	 */
+	public void setCompilationListener(@Nullable SpelCompilationListener compilationListener) {
+		this.compilationListener = compilationListener;
+	}
+
+	/**
+	 * Return the listener to be notified about the compilation status of this expression, if any.
+	 * @since 5.2.13
+	 */
+	@Nullable
+	public SpelCompilationListener getCompilationListener() {
+		return this.compilationListener;
+	}
+
+
 	// implementing Expression
 
 	@Override
@@ -121,19 +150,12 @@ public class SpelExpression implements Expression {
 		CompiledExpression compiledAst = this.compiledAst;
 		if (compiledAst != null) {
 			try {
+				this.compiledCount.incrementAndGet();
 				EvaluationContext context = getEvaluationContext();
 				return compiledAst.getValue(context.getRootObject().getValue(), context);
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -150,6 +172,7 @@ public class SpelExpression implements Expression {
 		CompiledExpression compiledAst = this.compiledAst;
 		if (compiledAst != null) {
 			try {
+				this.compiledCount.incrementAndGet();
 				EvaluationContext context = getEvaluationContext();
 				Object result = compiledAst.getValue(context.getRootObject().getValue(), context);
 				if (expectedResultType == null) {
@@ -161,15 +184,7 @@ public class SpelExpression implements Expression {
 				}
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -186,18 +201,11 @@ public class SpelExpression implements Expression {
 		CompiledExpression compiledAst = this.compiledAst;
 		if (compiledAst != null) {
 			try {
+				this.compiledCount.incrementAndGet();
 				return compiledAst.getValue(rootObject, getEvaluationContext());
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -215,6 +223,7 @@ public class SpelExpression implements Expression {
 		CompiledExpression compiledAst = this.compiledAst;
 		if (compiledAst != null) {
 			try {
+				this.compiledCount.incrementAndGet();
 				Object result = compiledAst.getValue(rootObject, getEvaluationContext());
 				if (expectedResultType == null) {
 					return (T)result;
@@ -225,15 +234,7 @@ public class SpelExpression implements Expression {
 				}
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -253,18 +254,11 @@ public class SpelExpression implements Expression {
 		CompiledExpression compiledAst = this.compiledAst;
 		if (compiledAst != null) {
 			try {
+				this.compiledCount.incrementAndGet();
 				return compiledAst.getValue(context.getRootObject().getValue(), context);
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -283,6 +277,7 @@ public class SpelExpression implements Expression {
 		CompiledExpression compiledAst = this.compiledAst;
 		if (compiledAst != null) {
 			try {
+				this.compiledCount.incrementAndGet();
 				Object result = compiledAst.getValue(context.getRootObject().getValue(), context);
 				if (expectedResultType != null) {
 					return ExpressionUtils.convertTypedValue(context, new TypedValue(result), expectedResultType);
@@ -292,15 +287,7 @@ public class SpelExpression implements Expression {
 				}
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -318,18 +305,11 @@ public class SpelExpression implements Expression {
 		CompiledExpression compiledAst = this.compiledAst;
 		if (compiledAst != null) {
 			try {
+				this.compiledCount.incrementAndGet();
 				return compiledAst.getValue(rootObject, context);
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -350,6 +330,7 @@ public class SpelExpression implements Expression {
 		CompiledExpression compiledAst = this.compiledAst;
 		if (compiledAst != null) {
 			try {
+				this.compiledCount.incrementAndGet();
 				Object result = compiledAst.getValue(rootObject, context);
 				if (expectedResultType != null) {
 					return ExpressionUtils.convertTypedValue(context, new TypedValue(result), expectedResultType);
@@ -359,15 +340,7 @@ public class SpelExpression implements Expression {
 				}
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -524,19 +497,51 @@ public class SpelExpression implements Expression {
 			}
 			SpelCompiler compiler = SpelCompiler.getCompiler(this.configuration.getCompilerClassLoader());
 			compiledAst = compiler.compile(this.ast);
+			SpelCompilationListener listener = this.compilationListener;
 			if (compiledAst != null) {
 				// Successfully compiled
 				this.compiledAst = compiledAst;
+				if (listener != null) {
+					listener.onCompiled(this);
+				}
 				return true;
 			}
 			else {
 				// Failed to compile
-				this.failedAttempts.incrementAndGet();
+				int attempts = this.failedAttempts.incrementAndGet();
+				if (listener != null) {
+					listener.onCompilationFailed(this, getNonCompilableNode());
+					if (attempts == FAILED_ATTEMPTS_THRESHOLD + 1) {
+						listener.onCompilationAbandoned(this);
+					}
+				}
 				return false;
 			}
 		}
 	}
 
+	/**
+	 * Handle a failure of the compiled form of the expression: in
+	 * {@link SpelCompilerMode#MIXED} mode, revert to interpreted evaluation;
+	 * otherwise propagate the exception to the caller.
+	 * @param ex the exception thrown by the compiled expression
+	 */
+	private void handleCompiledFailure(Throwable ex) {
+		// If running in mixed mode, revert to interpreted
+		if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
+			this.compiledAst = null;
+			this.interpretedCount.set(0);
+			SpelCompilationListener listener = this.compilationListener;
+			if (listener != null) {
+				listener.onRevertedToInterpreted(this, ex);
+			}
+		}
+		else {
+			// Running in SpelCompilerMode.immediate mode - propagate exception to caller
+			throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
+		}
+	}
+
 	/**
 	 * Cause an expression to revert to being interpreted if it has been using a compiled
 	 * form. It also resets the compilation attempt failure count (an expression is normally no
@@ -548,6 +553,84 @@ public class SpelExpression implements Expression {
 		this.failedAttempts.set(0);
 	}
 
+	/**
+	 * Return the compiler mode that this expression has been parsed with.
+	 * @since 5.2.13
+	 * @see SpelParserConfiguration#getCompilerMode()
+	 */
+	public SpelCompilerMode getCompilerMode() {
+		return this.configuration.getCompilerMode();
+	}
+
+	/**
+	 * Return whether this expression is currently running in compiled form.
+	 * @since 5.2.13
+	 */
+	public boolean isCompiled() {
+		return (this.compiledAst != null);
+	}
+
+	/**
+	 * Return how many times this expression has been evaluated in interpreted mode
+	 * since it was created or last reverted to interpreted mode.
+	 * @since 5.2.13
+	 */
+	public int getInterpretedCount() {
+		return this.interpretedCount.get();
+	}
+
+	/**
+	 * Return how many times the compiled form of this expression has been invoked,
+	 * including invocations that failed and caused a revert to interpreted mode.
+	 * @since 5.2.13
+	 */
+	public int getCompiledCount() {
+		return this.compiledCount.get();
+	}
+
+	/**
+	 * Return how many compilation attempts have failed for this expression
+	 * since it was created or last reverted to interpreted mode.
+	 * @since 5.2.13
+	 * @see #revertToInterpreted()
+	 */
+	public int getFailedCompilationAttempts() {
+		return this.failedAttempts.get();
+	}
+
+	/**
+	 * Determine the AST node that currently prevents compilation of this expression,
+	 * i.e. the innermost node that is not compilable although all of its children are.
+	 * <p>Note that the compilability of many nodes depends on type information
+	 * gathered during interpreted evaluation, so the result may change as the
+	 * expression gets evaluated.
+	 * @return the blocking node, or {@code null} if all nodes report themselves
+	 * as compilable (in which case compilation may still be declined during
+	 * code generation)
+	 * @since 5.2.13
+	 */
+	@Nullable
+	public SpelNode getNonCompilableNode() {
+		return findNonCompilableNode(this.ast);
+	}
+
+	@Nullable
+	private static SpelNode findNonCompilableNode(SpelNodeImpl node) {
+		if (node.isCompilable()) {
+			return null;
+		}
+		for (int i = 0; i < node.getChildCount(); i++) {
+			SpelNode child = node.getChild(i);
+			if (child instanceof SpelNodeImpl) {
+				SpelNode blocking = findNonCompilableNode((SpelNodeImpl) child);
+				if (blocking != null) {
+					return blocking;
+				}
+			}
+		}
+		return node;
+	}
+
 	/**
 	 * Return the Abstract Syntax Tree for the expression.
 	 */
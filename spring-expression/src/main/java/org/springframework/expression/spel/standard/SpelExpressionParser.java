@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,9 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 
 	private final SpelParserConfiguration configuration;
 
+	@Nullable
+	private SpelCompilationListener compilationListener;
+
 
 	/**
 	 * Create a parser with default settings.
@@ -52,13 +55,40 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 	}
 
 
+	/**
+	 * Set a listener to be registered with every {@link SpelExpression} created
+	 * by this parser, e.g. for tracking compiler coverage across an application.
+	 * @param compilationListener the listener to use, or {@code null} for none
+	 * @since 5.2.13
+	 * @see SpelExpression#setCompilationListener
+	 */
+	public void setCompilationListener(@Nullable SpelCompilationListener compilationListener) {
+		this.compilationListener = compilationListener;
+	}
+
+	/**
+	 * Return the listener to be registered with every {@link SpelExpression}
+	 * created by this parser, if any.
+	 * @since 5.2.13
+	 */
+	@Nullable
+	public SpelCompilationListener getCompilationListener() {
+		return this.compilationListener;
+	}
+
+
 	public SpelExpression parseRaw(String expressionString) throws ParseException {
 		return doParseExpression(expressionString, null);
 	}
 
 	@Override
 	protected SpelExpression doParseExpression(String expressionString, @Nullable ParserContext context) throws ParseException {
-		return new InternalSpelExpressionParser(this.configuration).doParseExpression(expressionString, context);
+		SpelExpression expression =
+				new InternalSpelExpressionParser(this.configuration).doParseExpression(expressionString, context);
+		if (this.compilationListener != null) {
+			expression.setCompilationListener(this.compilationListener);
+		}
+		return expression;
 	}
 
 }
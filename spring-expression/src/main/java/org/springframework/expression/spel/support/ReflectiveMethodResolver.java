@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -40,11 +40,21 @@ import org.springframework.expression.TypeConverter;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * Reflection-based {@link MethodResolver} used by default in {@link StandardEvaluationContext}
  * unless explicit method resolvers have been specified.
  *
+ * <p>As of 5.2.13, methods resolved through an exact or close match are cached
+ * per target class, method name and argument types, so that evaluating the same
+ * expression against varying target types does not repeatedly introspect the
+ * available methods. The cache is shared between resolver instances but only
+ * used by this class and by {@link DataBindingMethodResolver} as long as no
+ * {@link MethodFilter} has been registered, since subclasses may customize
+ * the candidate methods based on instance state. Matches requiring type
+ * conversion depend on the context's {@link TypeConverter} and are not cached.
+ *
  * @author Andy Clement
  * @author Juergen Hoeller
  * @author Chris Beams
@@ -53,6 +63,8 @@ import org.springframework.lang.Nullable;
  */
 public class ReflectiveMethodResolver implements MethodResolver {
 
+	private static final Map<MethodCacheKey, Method> resolvedMethodCache = new ConcurrentReferenceHashMap<>(256);
+
 	// Using distance will ensure a more accurate match is discovered,
 	// more closely following the Java rules.
 	private final boolean useDistance;
@@ -60,6 +72,9 @@ public class ReflectiveMethodResolver implements MethodResolver {
 	@Nullable
 	private Map<Class<?>, MethodFilter> filters;
 
+	private final boolean resolvedMethodCaching =
+			(getClass() == ReflectiveMethodResolver.class || getClass() == DataBindingMethodResolver.class);
+
 
 	public ReflectiveMethodResolver() {
 		this.useDistance = true;
@@ -112,9 +127,19 @@ public class ReflectiveMethodResolver implements MethodResolver {
 	public MethodExecutor resolve(EvaluationContext context, Object targetObject, String name,
 			List<TypeDescriptor> argumentTypes) throws AccessException {
 
+		Class<?> type = (targetObject instanceof Class ? (Class<?>) targetObject : targetObject.getClass());
+		MethodCacheKey cacheKey = null;
+		if (this.resolvedMethodCaching && (this.filters == null || this.filters.isEmpty())) {
+			cacheKey = new MethodCacheKey(getClass(), this.useDistance, type,
+					targetObject instanceof Class, name, argumentTypes);
+			Method cachedMethod = resolvedMethodCache.get(cacheKey);
+			if (cachedMethod != null) {
+				return new ReflectiveMethodExecutor(cachedMethod);
+			}
+		}
+
 		try {
 			TypeConverter typeConverter = context.getTypeConverter();
-			Class<?> type = (targetObject instanceof Class ? (Class<?>) targetObject : targetObject.getClass());
 			ArrayList<Method> methods = new ArrayList<>(getMethods(type, targetObject));
 
 			// If a filter is registered for this type, call it
@@ -176,7 +201,7 @@ public class ReflectiveMethodResolver implements MethodResolver {
 					}
 					if (matchInfo != null) {
 						if (matchInfo.isExactMatch()) {
-							return new ReflectiveMethodExecutor(method);
+							return createExecutor(method, cacheKey);
 						}
 						else if (matchInfo.isCloseMatch()) {
 							if (this.useDistance) {
@@ -204,7 +229,7 @@ public class ReflectiveMethodResolver implements MethodResolver {
 				}
 			}
 			if (closeMatch != null) {
-				return new ReflectiveMethodExecutor(closeMatch);
+				return createExecutor(closeMatch, cacheKey);
 			}
 			else if (matchRequiringConversion != null) {
 				if (multipleOptions) {
@@ -221,6 +246,13 @@ public class ReflectiveMethodResolver implements MethodResolver {
 		}
 	}
 
+	private MethodExecutor createExecutor(Method method, @Nullable MethodCacheKey cacheKey) {
+		if (cacheKey != null) {
+			resolvedMethodCache.put(cacheKey.withCopiedArgumentTypes(), method);
+		}
+		return new ReflectiveMethodExecutor(method);
+	}
+
 	private Set<Method> getMethods(Class<?> type, Object targetObject) {
 		if (targetObject instanceof Class) {
 			Set<Method> result = new LinkedHashSet<>();
@@ -285,4 +317,59 @@ public class ReflectiveMethodResolver implements MethodResolver {
 		return true;
 	}
 
+
+	/**
+	 * Key for a method resolved for a specific target type and argument types.
+	 */
+	private static final class MethodCacheKey {
+
+		private final Class<?> resolverClass;
+
+		private final boolean useDistance;
+
+		private final Class<?> targetType;
+
+		private final boolean staticAccess;
+
+		private final String name;
+
+		private final List<TypeDescriptor> argumentTypes;
+
+		MethodCacheKey(Class<?> resolverClass, boolean useDistance, Class<?> targetType,
+				boolean staticAccess, String name, List<TypeDescriptor> argumentTypes) {
+
+			this.resolverClass = resolverClass;
+			this.useDistance = useDistance;
+			this.targetType = targetType;
+			this.staticAccess = staticAccess;
+			this.name = name;
+			this.argumentTypes = argumentTypes;
+		}
+
+		MethodCacheKey withCopiedArgumentTypes() {
+			return new MethodCacheKey(this.resolverClass, this.useDistance, this.targetType,
+					this.staticAccess, this.name, new ArrayList<>(this.argumentTypes));
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof MethodCacheKey)) {
+				return false;
+			}
+			MethodCacheKey otherKey = (MethodCacheKey) other;
+			return (this.resolverClass == otherKey.resolverClass && this.useDistance == otherKey.useDistance &&
+					this.targetType == otherKey.targetType && this.staticAccess == otherKey.staticAccess &&
+					this.name.equals(otherKey.name) && this.argumentTypes.equals(otherKey.argumentTypes));
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.targetType.hashCode() * 29 + this.name.hashCode()) * 29 +
+					this.argumentTypes.hashCode();
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -209,6 +209,22 @@ public class MethodInvocationTests extends AbstractExpressionTests {
 		assertThat(filter.filterCalled).isFalse();
 	}
 
+	@Test
+	public void resolveMethodsOnAlternatingTargetTypes() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		Expression expr = parser.parseExpression("describe(#arg)");
+		StandardEvaluationContext context = new StandardEvaluationContext();
+
+		for (int i = 0; i < 3; i++) {
+			context.setVariable("arg", 1);
+			assertThat(expr.getValue(context, new Describer(), String.class)).isEqualTo("int 1");
+			assertThat(expr.getValue(context, new OtherDescriber(), String.class)).isEqualTo("number 1");
+			context.setVariable("arg", "abc");
+			assertThat(expr.getValue(context, new Describer(), String.class)).isEqualTo("object abc");
+			assertThat(expr.getValue(context, new OtherDescriber(), String.class)).isEqualTo("string abc");
+		}
+	}
+
 	@Test
 	public void testAddingMethodResolvers() {
 		StandardEvaluationContext ctx = new StandardEvaluationContext();
@@ -334,6 +350,30 @@ public class MethodInvocationTests extends AbstractExpressionTests {
 	}
 
 
+	public static class Describer {
+
+		public String describe(int value) {
+			return "int " + value;
+		}
+
+		public String describe(Object value) {
+			return "object " + value;
+		}
+	}
+
+
+	public static class OtherDescriber {
+
+		public String describe(Number value) {
+			return "number " + value;
+		}
+
+		public String describe(String value) {
+			return "string " + value;
+		}
+	}
+
+
 	static class DummyMethodResolver implements MethodResolver {
 
 		@Override
@@ -20,9 +20,11 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -1028,7 +1030,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 
 		expression = parser.parseExpression("#negate(#ints.?[#this<2][0])");
 		assertThat(expression.getValue(context, Integer.class).toString()).isEqualTo("-1");
-		// Selection isn't compilable.
+		// Selection over arrays isn't compilable.
 		assertThat(((SpelNodeImpl)((SpelExpression) expression).getAST()).isCompilable()).isFalse();
 	}
 
@@ -4149,6 +4151,209 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertThat(expression.getValue(m)).isEqualTo(1);
 	}
 
+	@Test
+	public void selection() throws Exception {
+		List<Integer> numbers = Arrays.asList(1, 2, 3, 4, 5);
+
+		expression = parse("?[#this > 2]");
+		assertCantCompile(expression);
+		assertThat(expression.getValue(numbers)).isEqualTo(Arrays.asList(3, 4, 5));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(numbers)).isEqualTo(Arrays.asList(3, 4, 5));
+		assertThat(expression.getValue(Arrays.asList(7, 1))).isEqualTo(Collections.singletonList(7));
+
+		expression = parse("^[#this > 2]");
+		assertThat(expression.getValue(numbers)).isEqualTo(3);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(numbers)).isEqualTo(3);
+		assertThat(expression.getValue(Collections.singletonList(1))).isNull();
+
+		expression = parse("$[#this > 2]");
+		assertThat(expression.getValue(numbers)).isEqualTo(5);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(numbers)).isEqualTo(5);
+		assertThat(expression.getValue(Collections.singletonList(1))).isNull();
+
+		Map<String, Integer> map = new LinkedHashMap<>();
+		map.put("a", 1);
+		map.put("b", 5);
+		map.put("c", 9);
+		expression = parse("?[value > 2]");
+		Map<String, Integer> expected = new HashMap<>();
+		expected.put("b", 5);
+		expected.put("c", 9);
+		assertThat(expression.getValue(map)).isEqualTo(expected);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(map)).isEqualTo(expected);
+
+		expression = parse("$[value > 2]");
+		assertThat(expression.getValue(map)).isEqualTo(Collections.singletonMap("c", 9));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(map)).isEqualTo(Collections.singletonMap("c", 9));
+		assertThat(expression.getValue(Collections.singletonMap("a", 1))).isNull();
+
+		expression = parse("#list?.?[#this > 1]");
+		context.setVariable("list", numbers);
+		assertThat(expression.getValue(context)).isEqualTo(Arrays.asList(2, 3, 4, 5));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo(Arrays.asList(2, 3, 4, 5));
+		context.setVariable("list", null);
+		assertThat(expression.getValue(context)).isNull();
+	}
+
+	@Test
+	public void projection() throws Exception {
+		List<Integer> numbers = Arrays.asList(1, 2, 3);
+
+		expression = parse("![#this * 2]");
+		assertCantCompile(expression);
+		assertThat(expression.getValue(numbers)).isEqualTo(Arrays.asList(2, 4, 6));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(numbers)).isEqualTo(Arrays.asList(2, 4, 6));
+
+		expression = parse("?[#this > 1].![#this * 10].?[#this < 30]");
+		assertThat(expression.getValue(numbers)).isEqualTo(Collections.singletonList(20));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(numbers)).isEqualTo(Collections.singletonList(20));
+
+		Map<String, Integer> map = new LinkedHashMap<>();
+		map.put("a", 1);
+		map.put("b", 5);
+		expression = parse("![value * 2]");
+		assertThat(expression.getValue(map)).isEqualTo(Arrays.asList(2, 10));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(map)).isEqualTo(Arrays.asList(2, 10));
+
+		// Projection over arrays isn't compilable
+		expression = parse("![#this * 2]");
+		expression.getValue(new int[] {1, 2});
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void inlineMap() throws Exception {
+		expression = parse("{a:1,b:'x',c:{1,2},d:{e:true}}");
+		Object constant = expression.getValue();
+		assertCanCompile(expression);
+		assertThat(expression.getValue()).isEqualTo(constant);
+		assertThat(expression.getValue().toString()).isEqualTo("{a=1, b=x, c=[1, 2], d={e=true}}");
+
+		expression = parse("{name:#name,length:#name.length()}");
+		context.setVariable("name", "spring");
+		assertThat(expression.getValue(context).toString()).isEqualTo("{name=spring, length=6}");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context).toString()).isEqualTo("{name=spring, length=6}");
+		context.setVariable("name", "spel");
+		assertThat(expression.getValue(context).toString()).isEqualTo("{name=spel, length=4}");
+	}
+
+	@Test
+	public void opMatches() throws Exception {
+		expression = parse("#this matches '[a-z]+[0-9]+'");
+		assertThat(expression.getValue("abc123")).isEqualTo(true);
+		assertCanCompile(expression);
+		assertThat(expression.getValue("abc123")).isEqualTo(true);
+		assertThat(expression.getValue("123abc")).isEqualTo(false);
+
+		expression = parse("?[#this matches 'a.*'].size()");
+		assertThat(expression.getValue(Arrays.asList("ab", "ba", "ac"))).isEqualTo(2);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(Arrays.asList("ab", "ba", "ac"))).isEqualTo(2);
+
+		// Regex only known at evaluation time
+		expression = parse("#this matches #regex");
+		context.setVariable("regex", "a.*");
+		expression.getValue(context);
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void opBetween() throws Exception {
+		expression = parse("#this between {1, 10}");
+		assertThat(expression.getValue(5)).isEqualTo(true);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(5)).isEqualTo(true);
+		assertThat(expression.getValue(11)).isEqualTo(false);
+
+		expression = parse("#this between {'a', 'c'}");
+		assertThat(expression.getValue("b")).isEqualTo(true);
+		assertCanCompile(expression);
+		assertThat(expression.getValue("b")).isEqualTo(true);
+		assertThat(expression.getValue("d")).isEqualTo(false);
+	}
+
+	@Test
+	public void opPower() throws Exception {
+		expression = parse("2 ^ 10");
+		assertThat(expression.getValue()).isEqualTo(1024);
+		assertCanCompile(expression);
+		assertThat(expression.getValue()).isEqualTo(1024);
+
+		expression = parse("2.0d ^ 3");
+		assertThat(expression.getValue()).isEqualTo(8.0d);
+		assertCanCompile(expression);
+		assertThat(expression.getValue()).isEqualTo(8.0d);
+
+		expression = parse("2L ^ 40");
+		assertThat(expression.getValue()).isEqualTo(1099511627776L);
+		assertCanCompile(expression);
+		assertThat(expression.getValue()).isEqualTo(1099511627776L);
+
+		expression = parse("2 ^ 40");
+		assertThat(expression.getValue()).isEqualTo(1099511627776L);
+		assertCanCompile(expression);
+		assertThat(expression.getValue()).isEqualTo(1099511627776L);
+
+		// An int result may widen to long depending on the operand values
+		expression = parse("#base ^ 2");
+		context.setVariable("base", 3);
+		assertThat(expression.getValue(context)).isEqualTo(9);
+		assertCantCompile(expression);
+
+		SpelParserConfiguration configuration =
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader());
+		expression = new SpelExpressionParser(configuration).parseExpression("#base ^ 2");
+		assertThat(expression.getValue(context)).isEqualTo(9);
+		assertThat(expression.getValue(context)).isEqualTo(9);
+		context.setVariable("base", 100000);
+		assertThat(expression.getValue(context)).isEqualTo(10000000000L);
+	}
+
+	@Test
+	public void opIncDecAndAssign() throws Exception {
+		context.setVariable("counter", 10);
+
+		expression = parse("#counter++");
+		assertThat(expression.getValue(context)).isEqualTo(10);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo(11);
+		assertThat(context.lookupVariable("counter")).isEqualTo(12);
+
+		expression = parse("--#counter");
+		assertThat(expression.getValue(context)).isEqualTo(11);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo(10);
+		assertThat(context.lookupVariable("counter")).isEqualTo(10);
+
+		expression = parse("#counter = #counter * 2");
+		assertThat(expression.getValue(context)).isEqualTo(20);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo(40);
+		assertThat(context.lookupVariable("counter")).isEqualTo(40);
+	}
+
+	@Test
+	public void beanReference() throws Exception {
+		context.setBeanResolver((evaluationContext, beanName) -> "bean:" + beanName);
+
+		expression = parse("@foo.length()");
+		assertThat(expression.getValue(context)).isEqualTo(8);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo(8);
+	}
+
+	}
+
 	@Test
 	public void propertyReference() throws Exception {
 		TestClass6 tc = new TestClass6();
@@ -16,6 +16,8 @@
 
 package org.springframework.expression.spel.standard;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
@@ -24,7 +26,9 @@ import org.springframework.core.Ordered;
 import org.springframework.expression.Expression;
 import org.springframework.expression.spel.SpelCompilationCoverageTests;
 import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelNode;
 import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -75,6 +79,72 @@ class SpelCompilerTests {
 		assertThat(expression.getValue(context)).isEqualTo(true);
 	}
 
+	@Test
+	void compilationListenerReportsNonCompilableNodeAndCompilation() {
+		SpelParserConfiguration config = new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null);
+		SpelExpressionParser parser = new SpelExpressionParser(config);
+		RecordingCompilationListener listener = new RecordingCompilationListener();
+		parser.setCompilationListener(listener);
+
+		SpelExpression expression = parser.parseRaw("order");
+		assertThat(expression.getCompilationListener()).isSameAs(listener);
+		assertThat(expression.getNonCompilableNode()).isInstanceOf(PropertyOrFieldReference.class);
+		assertThat(expression.compileExpression()).isFalse();
+		assertThat(listener.events).containsExactly("failed:order");
+		assertThat(expression.getFailedCompilationAttempts()).isEqualTo(1);
+
+		OrderedComponent component = new OrderedComponent();
+		IntStream.rangeClosed(1, 5).forEach(i -> assertThat(expression.getValue(component)).isEqualTo(42));
+		assertThat(expression.isCompiled()).isTrue();
+		assertThat(expression.getNonCompilableNode()).isNull();
+		assertThat(expression.getInterpretedCount()).isEqualTo(2);
+		assertThat(expression.getCompiledCount()).isEqualTo(3);
+		assertThat(listener.events).containsExactly("failed:order", "compiled");
+	}
+
+	@Test
+	void compilationListenerReportsRevertToInterpreted() {
+		SpelParserConfiguration config = new SpelParserConfiguration(SpelCompilerMode.MIXED, null);
+		SpelExpressionParser parser = new SpelExpressionParser(config);
+		RecordingCompilationListener listener = new RecordingCompilationListener();
+		parser.setCompilationListener(listener);
+
+		SpelExpression expression = parser.parseRaw("order");
+		assertThat(expression.getValue(new OrderedComponent())).isEqualTo(42);
+		assertThat(expression.compileExpression()).isTrue();
+		assertThat(expression.getValue(new UnorderedComponent())).isEqualTo(7);
+		assertThat(expression.isCompiled()).isFalse();
+		assertThat(expression.getCompiledCount()).isEqualTo(1);
+		assertThat(expression.getInterpretedCount()).isEqualTo(1);
+		assertThat(listener.events).containsExactly("compiled", "reverted:ClassCastException");
+	}
+
+
+	static class RecordingCompilationListener implements SpelCompilationListener {
+
+		final List<String> events = new ArrayList<>();
+
+		@Override
+		public void onCompiled(SpelExpression expression) {
+			this.events.add("compiled");
+		}
+
+		@Override
+		public void onCompilationFailed(SpelExpression expression, SpelNode nonCompilableNode) {
+			this.events.add("failed:" + nonCompilableNode.toStringAST());
+		}
+
+		@Override
+		public void onCompilationAbandoned(SpelExpression expression) {
+			this.events.add("abandoned");
+		}
+
+		@Override
+		public void onRevertedToInterpreted(SpelExpression expression, Throwable ex) {
+			this.events.add("reverted:" + ex.getClass().getSimpleName());
+		}
+	}
+
 
 	static class OrderedComponent implements Ordered {
 
@@ -85,6 +155,14 @@ class SpelCompilerTests {
 	}
 
 
+	public static class UnorderedComponent {
+
+		public int getOrder() {
+			return 7;
+		}
+	}
+
+
 	public static class User {
 
 		boolean isAdmin() {
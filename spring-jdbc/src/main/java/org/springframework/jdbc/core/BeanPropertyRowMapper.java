@@ -20,6 +20,7 @@ import java.beans.PropertyDescriptor;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Locale;
@@ -68,7 +69,8 @@ import org.springframework.util.StringUtils;
  * will have been set to the primitive's default value instead of null.
  *
  * <p>Please note that this class is designed to provide convenience rather than high performance.
- * For best performance, consider using a custom {@link RowMapper} implementation.
+ * For best performance, consider using a custom {@link RowMapper} implementation, or the
+ * {@link CompiledBeanPropertyRowMapper} variant which generates the mapping code per column set.
  *
  * @author Thomas Risberg
  * @author Juergen Hoeller
@@ -261,6 +263,31 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return result.toString();
 	}
 
+	/**
+	 * Determine the mapped property for the given column name, if any.
+	 * <p>The column name is matched against the property names and their
+	 * underscored variants, ignoring case and spaces in the column name.
+	 * @param column the column name as obtained from result set meta-data
+	 * @return the descriptor of the mapped property,
+	 * or {@code null} if the column does not map to a property
+	 * @since 5.2.13
+	 * @see #underscoreName(String)
+	 */
+	@Nullable
+	protected PropertyDescriptor getMappedProperty(String column) {
+		String field = lowerCaseName(StringUtils.delete(column, " "));
+		return (this.mappedFields != null ? this.mappedFields.get(field) : null);
+	}
+
+	/**
+	 * Return the names of all properties of the mapped class that can be populated,
+	 * as checked against when {@link #setCheckFullyPopulated checkFullyPopulated} is on.
+	 * @since 5.2.13
+	 */
+	protected Set<String> getMappedPropertyNames() {
+		return (this.mappedProperties != null ? this.mappedProperties : Collections.emptySet());
+	}
+
 	/**
 	 * Convert the given name to lower case.
 	 * By default, conversions will happen within the US locale.
@@ -0,0 +1,643 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.NotWritablePropertyException;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.cglib.core.ReflectUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link BeanPropertyRowMapper} variant which generates a specialized mapper
+ * class on first use for each set of column labels, instead of going through
+ * a {@link BeanWrapper} for every column of every row.
+ *
+ * <p>Columns are matched to properties with the same rules as in
+ * {@link BeanPropertyRowMapper}. For properties of the types that
+ * {@link JdbcUtils#getResultSetValue(ResultSet, int, Class)} extracts through
+ * a dedicated {@code ResultSet} getter (String, primitives and their wrappers,
+ * BigDecimal, {@code java.util.Date} and the {@code java.sql} date types,
+ * byte arrays, Blob and Clob), the generated bytecode invokes the typed getter
+ * and the setter directly. Columns mapped to any other property type go through
+ * {@link #getColumnValue} and a {@code BeanWrapper} as before, applying the
+ * configured {@link ConversionService}.
+ *
+ * <p>The mapper class is defined in the package and {@code ClassLoader} of the
+ * mapped class, so the mapped class may be package-visible. Generated classes
+ * are shared across all mapper instances for the same mapped class and column
+ * layout, so creating a new mapper per query does not define further classes.
+ * If the bytecode cannot be generated or defined, e.g. for a private nested
+ * class, this mapper falls back to the reflective algorithm of
+ * {@link BeanPropertyRowMapper}.
+ *
+ * @since 5.2.13
+ * @param <T> the result type
+ * @see BeanPropertyRowMapper
+ */
+public class CompiledBeanPropertyRowMapper<T> extends BeanPropertyRowMapper<T> {
+
+	private static final AtomicInteger mapperClassSuffix = new AtomicInteger();
+
+	/** Generated populator classes per mapped class and column layout. */
+	private static final Map<PopulatorClassKey, Class<?>> populatorClassCache = new ConcurrentReferenceHashMap<>(64);
+
+	private static final Map<Class<?>, String[]> resultSetGetters = new HashMap<>(32);
+
+	private static final Map<Class<?>, Class<?>> primitiveTypes = new HashMap<>(8);
+
+	static {
+		primitiveTypes.put(Boolean.class, boolean.class);
+		primitiveTypes.put(Byte.class, byte.class);
+		primitiveTypes.put(Short.class, short.class);
+		primitiveTypes.put(Integer.class, int.class);
+		primitiveTypes.put(Long.class, long.class);
+		primitiveTypes.put(Float.class, float.class);
+		primitiveTypes.put(Double.class, double.class);
+
+		resultSetGetters.put(String.class, new String[] {"getString", "(I)Ljava/lang/String;"});
+		resultSetGetters.put(boolean.class, new String[] {"getBoolean", "(I)Z"});
+		resultSetGetters.put(byte.class, new String[] {"getByte", "(I)B"});
+		resultSetGetters.put(short.class, new String[] {"getShort", "(I)S"});
+		resultSetGetters.put(int.class, new String[] {"getInt", "(I)I"});
+		resultSetGetters.put(long.class, new String[] {"getLong", "(I)J"});
+		resultSetGetters.put(float.class, new String[] {"getFloat", "(I)F"});
+		resultSetGetters.put(double.class, new String[] {"getDouble", "(I)D"});
+		resultSetGetters.put(BigDecimal.class, new String[] {"getBigDecimal", "(I)Ljava/math/BigDecimal;"});
+		resultSetGetters.put(java.sql.Date.class, new String[] {"getDate", "(I)Ljava/sql/Date;"});
+		resultSetGetters.put(java.sql.Time.class, new String[] {"getTime", "(I)Ljava/sql/Time;"});
+		resultSetGetters.put(java.sql.Timestamp.class, new String[] {"getTimestamp", "(I)Ljava/sql/Timestamp;"});
+		resultSetGetters.put(java.util.Date.class, new String[] {"getTimestamp", "(I)Ljava/sql/Timestamp;"});
+		resultSetGetters.put(byte[].class, new String[] {"getBytes", "(I)[B"});
+		resultSetGetters.put(Blob.class, new String[] {"getBlob", "(I)Ljava/sql/Blob;"});
+		resultSetGetters.put(Clob.class, new String[] {"getClob", "(I)Ljava/sql/Clob;"});
+	}
+
+
+	/** Mapping plans per list of column labels. */
+	private final Map<List<String>, MappingPlan> mappingPlans = new ConcurrentHashMap<>(4);
+
+	/** The plan used for the last row, along with a weak reference to its ResultSet. */
+	@Nullable
+	private volatile ResultSetPlan lastPlan;
+
+
+	/**
+	 * Create a new {@code CompiledBeanPropertyRowMapper} for bean-style configuration.
+	 * @see #setMappedClass
+	 * @see #setCheckFullyPopulated
+	 */
+	public CompiledBeanPropertyRowMapper() {
+	}
+
+	/**
+	 * Create a new {@code CompiledBeanPropertyRowMapper}, accepting unpopulated
+	 * properties in the target bean.
+	 * @param mappedClass the class that each row should be mapped to
+	 */
+	public CompiledBeanPropertyRowMapper(Class<T> mappedClass) {
+		super(mappedClass);
+	}
+
+	/**
+	 * Create a new {@code CompiledBeanPropertyRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 * @param checkFullyPopulated whether we're strictly validating that
+	 * all bean properties have been mapped from corresponding database fields
+	 */
+	public CompiledBeanPropertyRowMapper(Class<T> mappedClass, boolean checkFullyPopulated) {
+		super(mappedClass, checkFullyPopulated);
+	}
+
+
+	@Override
+	public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
+		Class<T> mappedClass = getMappedClass();
+		Assert.state(mappedClass != null, "Mapped class was not specified");
+		MappingPlan plan = getMappingPlan(rs, rowNumber, mappedClass);
+		if (plan.constructor == null || plan.populator == null) {
+			return super.mapRow(rs, rowNumber);
+		}
+
+		@SuppressWarnings("unchecked")
+		T mappedObject = (T) BeanUtils.instantiateClass(plan.constructor);
+		plan.populator.populate(mappedObject, rs);
+		if (!plan.fallbackColumns.isEmpty()) {
+			BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(mappedObject);
+			initBeanWrapper(bw);
+			for (FallbackColumn column : plan.fallbackColumns) {
+				populateFallbackColumn(bw, rs, rowNumber, column);
+			}
+		}
+		if (isCheckFullyPopulated() && !plan.populatedProperties.equals(getMappedPropertyNames())) {
+			throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain all fields " +
+					"necessary to populate object of " + mappedClass + ": " + getMappedPropertyNames());
+		}
+		return mappedObject;
+	}
+
+	private void populateFallbackColumn(BeanWrapper bw, ResultSet rs, int rowNumber, FallbackColumn column)
+			throws SQLException {
+
+		PropertyDescriptor pd = column.property;
+		try {
+			Object value = getColumnValue(rs, column.index, pd);
+			try {
+				bw.setPropertyValue(pd.getName(), value);
+			}
+			catch (TypeMismatchException ex) {
+				if (value == null && isPrimitivesDefaultedForNullValue()) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Intercepted TypeMismatchException for row " + rowNumber +
+								" and column '" + column.name + "' with null value when setting property '" +
+								pd.getName() + "' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) +
+								"' on object: " + bw.getWrappedInstance(), ex);
+					}
+				}
+				else {
+					throw ex;
+				}
+			}
+		}
+		catch (NotWritablePropertyException ex) {
+			throw new DataRetrievalFailureException(
+					"Unable to map column '" + column.name + "' to property '" + pd.getName() + "'", ex);
+		}
+	}
+
+	private MappingPlan getMappingPlan(ResultSet rs, int rowNumber, Class<T> mappedClass) throws SQLException {
+		ResultSetPlan lastPlan = this.lastPlan;
+		if (rowNumber > 0 && lastPlan != null && lastPlan.resultSet.get() == rs) {
+			return lastPlan.plan;
+		}
+		ResultSetMetaData rsmd = rs.getMetaData();
+		int columnCount = rsmd.getColumnCount();
+		List<String> columns = new ArrayList<>(columnCount);
+		for (int index = 1; index <= columnCount; index++) {
+			columns.add(JdbcUtils.lookupColumnName(rsmd, index));
+		}
+		MappingPlan plan = this.mappingPlans.computeIfAbsent(columns, key -> createMappingPlan(key, mappedClass));
+		this.lastPlan = new ResultSetPlan(rs, plan);
+		return plan;
+	}
+
+	private MappingPlan createMappingPlan(List<String> columns, Class<T> mappedClass) {
+		List<DirectColumn> directColumns = new ArrayList<>();
+		List<FallbackColumn> fallbackColumns = new ArrayList<>();
+		Set<String> populatedProperties = new HashSet<>();
+		for (int index = 1; index <= columns.size(); index++) {
+			String column = columns.get(index - 1);
+			PropertyDescriptor pd = getMappedProperty(column);
+			if (pd == null) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("No property found for column '" + column + "'");
+				}
+				continue;
+			}
+			Method writeMethod = pd.getWriteMethod();
+			if (writeMethod != null && resultSetGetters.containsKey(getResultSetType(pd.getPropertyType()))) {
+				directColumns.add(new DirectColumn(index, pd, writeMethod));
+			}
+			else {
+				fallbackColumns.add(new FallbackColumn(index, column, pd));
+			}
+			populatedProperties.add(pd.getName());
+			if (logger.isDebugEnabled()) {
+				logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
+						"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
+			}
+		}
+
+		if (Modifier.isPrivate(mappedClass.getModifiers())) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Using reflective mapping for private " + mappedClass);
+			}
+			return new MappingPlan(null, null, fallbackColumns, populatedProperties);
+		}
+		try {
+			Constructor<T> constructor = ReflectionUtils.accessibleConstructor(mappedClass);
+			PropertyPopulator populator = createPopulator(mappedClass, directColumns);
+			return new MappingPlan(constructor, populator, fallbackColumns, populatedProperties);
+		}
+		catch (Exception | LinkageError ex) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Falling back to reflective mapping for " + mappedClass, ex);
+			}
+			return new MappingPlan(null, null, fallbackColumns, populatedProperties);
+		}
+	}
+
+	private PropertyPopulator createPopulator(Class<T> mappedClass, List<DirectColumn> columns) throws Exception {
+		PopulatorClassKey key = new PopulatorClassKey(mappedClass, columns);
+		Class<?> populatorClass = populatorClassCache.get(key);
+		if (populatorClass == null) {
+			synchronized (populatorClassCache) {
+				populatorClass = populatorClassCache.get(key);
+				if (populatorClass == null) {
+					populatorClass = generatePopulatorClass(mappedClass, columns);
+					populatorClassCache.put(key, populatorClass);
+				}
+			}
+		}
+		PropertyPopulator populator = (PropertyPopulator) ReflectionUtils.accessibleConstructor(populatorClass).newInstance();
+		populator.initialize(columns.stream().map(column -> column.property).toArray(PropertyDescriptor[]::new),
+				isPrimitivesDefaultedForNullValue());
+		return populator;
+	}
+
+	private static Class<?> generatePopulatorClass(Class<?> mappedClass, List<DirectColumn> columns) throws Exception {
+		String className = mappedClass.getName() + "$$SpringRowMapper$$" + mapperClassSuffix.incrementAndGet();
+		byte[] bytes = new PropertyPopulatorGenerator(className, mappedClass, columns).generate();
+		return ReflectUtils.defineClass(className, bytes, mappedClass.getClassLoader(),
+				mappedClass.getProtectionDomain(), mappedClass);
+	}
+
+	private static Class<?> getResultSetType(Class<?> propertyType) {
+		Class<?> primitiveType = primitiveTypes.get(propertyType);
+		return (primitiveType != null ? primitiveType : propertyType);
+	}
+
+
+	/**
+	 * Static factory method to create a new {@code CompiledBeanPropertyRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 * @see #newInstance(Class, ConversionService)
+	 */
+	public static <T> CompiledBeanPropertyRowMapper<T> newInstance(Class<T> mappedClass) {
+		return new CompiledBeanPropertyRowMapper<>(mappedClass);
+	}
+
+	/**
+	 * Static factory method to create a new {@code CompiledBeanPropertyRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 * @param conversionService the {@link ConversionService} for binding
+	 * JDBC values to bean properties of types without a dedicated
+	 * {@code ResultSet} getter, or {@code null} for none
+	 * @see #newInstance(Class)
+	 * @see #setConversionService
+	 */
+	public static <T> CompiledBeanPropertyRowMapper<T> newInstance(
+			Class<T> mappedClass, @Nullable ConversionService conversionService) {
+
+		CompiledBeanPropertyRowMapper<T> rowMapper = newInstance(mappedClass);
+		rowMapper.setConversionService(conversionService);
+		return rowMapper;
+	}
+
+
+	/**
+	 * Base class for the generated mapper classes, populating the properties
+	 * of a mapped object from the current row of a {@code ResultSet}.
+	 * <p>Public for access from generated classes only: not intended
+	 * to be extended by application code.
+	 */
+	public abstract static class PropertyPopulator {
+
+		private PropertyDescriptor[] properties = new PropertyDescriptor[0];
+
+		private boolean primitivesDefaultedForNullValue;
+
+		final void initialize(PropertyDescriptor[] properties, boolean primitivesDefaultedForNullValue) {
+			this.properties = properties;
+			this.primitivesDefaultedForNullValue = primitivesDefaultedForNullValue;
+		}
+
+		/**
+		 * Populate the given object from the current row of the given {@code ResultSet}.
+		 * @param target the mapped object
+		 * @param rs the ResultSet positioned on the row to map
+		 * @throws SQLException if thrown by a {@code ResultSet} getter
+		 */
+		public abstract void populate(Object target, ResultSet rs) throws SQLException;
+
+		/**
+		 * Handle a {@code null} column value for a primitive property.
+		 * @param target the mapped object
+		 * @param propertyIndex the index of the property in the generated mapping
+		 * @throws TypeMismatchException unless primitives are defaulted for null values
+		 */
+		protected final void handleNullValue(Object target, int propertyIndex) {
+			if (!this.primitivesDefaultedForNullValue) {
+				PropertyDescriptor pd = this.properties[propertyIndex];
+				PropertyChangeEvent event = new PropertyChangeEvent(target, pd.getName(), null, null);
+				throw new TypeMismatchException(event, pd.getPropertyType());
+			}
+		}
+	}
+
+
+	/**
+	 * Generates the bytecode of a {@link PropertyPopulator} subclass for a list of columns.
+	 */
+	private static class PropertyPopulatorGenerator implements Opcodes {
+
+		private static final String POPULATOR_TYPE = Type.getInternalName(PropertyPopulator.class);
+
+		private static final String RESULT_SET_TYPE = Type.getInternalName(ResultSet.class);
+
+		private static final int TARGET_SLOT = 3;
+
+		private static final int VALUE_SLOT = 4;
+
+		private final String className;
+
+		private final Class<?> mappedClass;
+
+		private final List<DirectColumn> columns;
+
+		PropertyPopulatorGenerator(String className, Class<?> mappedClass, List<DirectColumn> columns) {
+			this.className = className.replace('.', '/');
+			this.mappedClass = mappedClass;
+			this.columns = columns;
+		}
+
+		byte[] generate() {
+			ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+				@Override
+				protected String getCommonSuperClass(String type1, String type2) {
+					return "java/lang/Object";
+				}
+			};
+			cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, this.className, null, POPULATOR_TYPE, null);
+
+			MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+			mv.visitCode();
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitMethodInsn(INVOKESPECIAL, POPULATOR_TYPE, "<init>", "()V", false);
+			mv.visitInsn(RETURN);
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+
+			mv = cw.visitMethod(ACC_PUBLIC, "populate", "(Ljava/lang/Object;Ljava/sql/ResultSet;)V",
+					null, new String[] {Type.getInternalName(SQLException.class)});
+			mv.visitCode();
+			String targetType = Type.getInternalName(this.mappedClass);
+			mv.visitVarInsn(ALOAD, 1);
+			mv.visitTypeInsn(CHECKCAST, targetType);
+			mv.visitVarInsn(ASTORE, TARGET_SLOT);
+			for (int i = 0; i < this.columns.size(); i++) {
+				generateColumn(mv, targetType, i, this.columns.get(i));
+			}
+			mv.visitInsn(RETURN);
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+
+			cw.visitEnd();
+			return cw.toByteArray();
+		}
+
+		private void generateColumn(MethodVisitor mv, String targetType, int propertyIndex, DirectColumn column) {
+			Class<?> propertyType = column.property.getPropertyType();
+			Class<?> resultSetType = getResultSetType(propertyType);
+			String[] getter = resultSetGetters.get(resultSetType);
+			Method writeMethod = column.writeMethod;
+			String setterDescriptor = Type.getMethodDescriptor(writeMethod);
+			Type returnType = Type.getReturnType(writeMethod);
+
+			if (!resultSetType.isPrimitive()) {
+				// Reference type: directly pass the ResultSet value (possibly null) to the setter
+				mv.visitVarInsn(ALOAD, TARGET_SLOT);
+				loadColumnValue(mv, column.index, getter);
+				invokeSetter(mv, targetType, writeMethod.getName(), setterDescriptor, returnType);
+				return;
+			}
+
+			Type valueType = Type.getType(resultSetType);
+			loadColumnValue(mv, column.index, getter);
+			mv.visitVarInsn(valueType.getOpcode(ISTORE), VALUE_SLOT);
+			Label notNull = new Label();
+			Label end = new Label();
+			mv.visitVarInsn(ALOAD, 2);
+			mv.visitMethodInsn(INVOKEINTERFACE, RESULT_SET_TYPE, "wasNull", "()Z", true);
+			mv.visitJumpInsn(IFEQ, notNull);
+			if (propertyType.isPrimitive()) {
+				// SQL NULL for a primitive property: apply the configured null handling
+				mv.visitVarInsn(ALOAD, 0);
+				mv.visitVarInsn(ALOAD, 1);
+				pushInt(mv, propertyIndex);
+				mv.visitMethodInsn(INVOKEVIRTUAL, POPULATOR_TYPE, "handleNullValue", "(Ljava/lang/Object;I)V", false);
+			}
+			else {
+				// SQL NULL for a primitive wrapper property: set null
+				mv.visitVarInsn(ALOAD, TARGET_SLOT);
+				mv.visitInsn(ACONST_NULL);
+				invokeSetter(mv, targetType, writeMethod.getName(), setterDescriptor, returnType);
+			}
+			mv.visitJumpInsn(GOTO, end);
+			mv.visitLabel(notNull);
+			mv.visitVarInsn(ALOAD, TARGET_SLOT);
+			mv.visitVarInsn(valueType.getOpcode(ILOAD), VALUE_SLOT);
+			if (!propertyType.isPrimitive()) {
+				String wrapperType = Type.getInternalName(propertyType);
+				mv.visitMethodInsn(INVOKESTATIC, wrapperType, "valueOf",
+						"(" + valueType.getDescriptor() + ")L" + wrapperType + ";", false);
+			}
+			invokeSetter(mv, targetType, writeMethod.getName(), setterDescriptor, returnType);
+			mv.visitLabel(end);
+		}
+
+		private void loadColumnValue(MethodVisitor mv, int columnIndex, String[] getter) {
+			mv.visitVarInsn(ALOAD, 2);
+			pushInt(mv, columnIndex);
+			mv.visitMethodInsn(INVOKEINTERFACE, RESULT_SET_TYPE, getter[0], getter[1], true);
+		}
+
+		private void invokeSetter(MethodVisitor mv, String targetType, String name, String descriptor, Type returnType) {
+			mv.visitMethodInsn(INVOKEVIRTUAL, targetType, name, descriptor, false);
+			if (returnType.getSize() == 1) {
+				mv.visitInsn(POP);
+			}
+			else if (returnType.getSize() == 2) {
+				mv.visitInsn(POP2);
+			}
+		}
+
+		private void pushInt(MethodVisitor mv, int value) {
+			if (value <= 5) {
+				mv.visitInsn(ICONST_0 + value);
+			}
+			else if (value <= Byte.MAX_VALUE) {
+				mv.visitIntInsn(BIPUSH, value);
+			}
+			else {
+				mv.visitIntInsn(SIPUSH, value);
+			}
+		}
+	}
+
+
+	/**
+	 * Column mapped through generated bytecode.
+	 */
+	private static class DirectColumn {
+
+		final int index;
+
+		final PropertyDescriptor property;
+
+		final Method writeMethod;
+
+		DirectColumn(int index, PropertyDescriptor property, Method writeMethod) {
+			this.index = index;
+			this.property = property;
+			this.writeMethod = writeMethod;
+		}
+	}
+
+
+	/**
+	 * Column mapped through {@link #getColumnValue} and a {@code BeanWrapper}.
+	 */
+	private static class FallbackColumn {
+
+		final int index;
+
+		final String name;
+
+		final PropertyDescriptor property;
+
+		FallbackColumn(int index, String name, PropertyDescriptor property) {
+			this.index = index;
+			this.name = name;
+			this.property = property;
+		}
+	}
+
+
+	/**
+	 * Mapping plan for a given list of column labels.
+	 */
+	private static class MappingPlan {
+
+		@Nullable
+		final Constructor<?> constructor;
+
+		@Nullable
+		final PropertyPopulator populator;
+
+		final List<FallbackColumn> fallbackColumns;
+
+		final Set<String> populatedProperties;
+
+		MappingPlan(@Nullable Constructor<?> constructor, @Nullable PropertyPopulator populator,
+				List<FallbackColumn> fallbackColumns, Set<String> populatedProperties) {
+
+			this.constructor = constructor;
+			this.populator = populator;
+			this.fallbackColumns = fallbackColumns;
+			this.populatedProperties = populatedProperties;
+		}
+	}
+
+
+	/**
+	 * Cache key for a generated populator class: the mapped class along with
+	 * the column indexes and write methods that the bytecode is specific to.
+	 */
+	private static final class PopulatorClassKey {
+
+		private final Class<?> mappedClass;
+
+		private final int[] columnIndexes;
+
+		private final Method[] writeMethods;
+
+		PopulatorClassKey(Class<?> mappedClass, List<DirectColumn> columns) {
+			this.mappedClass = mappedClass;
+			this.columnIndexes = new int[columns.size()];
+			this.writeMethods = new Method[columns.size()];
+			for (int i = 0; i < columns.size(); i++) {
+				this.columnIndexes[i] = columns.get(i).index;
+				this.writeMethods[i] = columns.get(i).writeMethod;
+			}
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof PopulatorClassKey)) {
+				return false;
+			}
+			PopulatorClassKey otherKey = (PopulatorClassKey) other;
+			return (this.mappedClass == otherKey.mappedClass &&
+					Arrays.equals(this.columnIndexes, otherKey.columnIndexes) &&
+					Arrays.equals(this.writeMethods, otherKey.writeMethods));
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.mappedClass.hashCode() * 31 + Arrays.hashCode(this.writeMethods));
+		}
+	}
+
+
+	/**
+	 * Holder for the plan applied to the rows of a given ResultSet,
+	 * not keeping the ResultSet (and its Statement) reachable after the query.
+	 */
+	private static class ResultSetPlan {
+
+		final WeakReference<ResultSet> resultSet;
+
+		final MappingPlan plan;
+
+		ResultSetPlan(ResultSet resultSet, MappingPlan plan) {
+			this.resultSet = new WeakReference<>(resultSet);
+			this.plan = plan;
+		}
+	}
+
+}
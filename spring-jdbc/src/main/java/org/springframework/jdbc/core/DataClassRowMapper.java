@@ -0,0 +1,414 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.beans.ConstructorProperties;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.beans.TypeConverter;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link RowMapper} implementation that converts a row into a new instance
+ * of the specified mapped target class, binding column values to the
+ * arguments of its constructor. Intended for immutable data classes such as
+ * Kotlin data classes or classes with final fields and no setters.
+ *
+ * <p>The constructor to use is determined as follows: the Kotlin primary
+ * constructor if any, otherwise the single public constructor, otherwise the
+ * single declared constructor. Constructor parameter names are taken from a
+ * {@link ConstructorProperties @ConstructorProperties} declaration or from a
+ * {@link DefaultParameterNameDiscoverer}, i.e. require the class to be compiled
+ * with the {@code -parameters} flag or with debug information.
+ *
+ * <p>Column names are matched to parameter names in the same way as in
+ * {@link BeanPropertyRowMapper}: case-insensitively, ignoring spaces, and
+ * accepting underscored column names for camel-case parameter names.
+ * For example, a column {@code "first_name"} binds to a parameter
+ * {@code firstName}. Every constructor parameter needs a matching column;
+ * additional columns are ignored.
+ *
+ * <p>The mapping from column indexes to constructor parameters is computed
+ * once per distinct list of column labels and reused for subsequent rows and
+ * queries, so mapping a row only requires reading the column values and
+ * invoking the constructor. Values that do not match the declared parameter
+ * type are converted through the configured {@link ConversionService}.
+ * A {@code null} value for a primitive parameter leads to the primitive's
+ * default value.
+ *
+ * @since 5.2.13
+ * @param <T> the result type
+ * @see BeanPropertyRowMapper
+ */
+public class DataClassRowMapper<T> implements RowMapper<T> {
+
+	/** Logger available to subclasses. */
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private static final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+	private static final Map<Class<?>, Object> PRIMITIVE_DEFAULT_VALUES;
+
+	static {
+		Map<Class<?>, Object> values = new HashMap<>(8);
+		values.put(boolean.class, false);
+		values.put(byte.class, (byte) 0);
+		values.put(short.class, (short) 0);
+		values.put(int.class, 0);
+		values.put(long.class, 0L);
+		values.put(float.class, 0F);
+		values.put(double.class, 0D);
+		values.put(char.class, '\0');
+		PRIMITIVE_DEFAULT_VALUES = Collections.unmodifiableMap(values);
+	}
+
+
+	/** The class we are mapping to. */
+	private final Class<T> mappedClass;
+
+	/** The constructor used for instantiating the mapped class. */
+	private final Constructor<T> mappedConstructor;
+
+	/** The constructor parameters, in declaration order. */
+	private final MethodParameter[] constructorParameters;
+
+	/** The names of the constructor parameters. */
+	private final String[] parameterNames;
+
+	/** Map of the fields we provide mapping for, to their parameter index, built on first use. */
+	@Nullable
+	private volatile Map<String, Integer> mappedFields;
+
+	/** ConversionService for converting JDBC values to constructor arguments. */
+	@Nullable
+	private ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+	/** Column indexes for each constructor parameter, per list of column labels. */
+	private final Map<List<String>, int[]> columnIndexCache = new ConcurrentHashMap<>(4);
+
+	/** The column indexes used for the last row, along with its ResultSet. */
+	@Nullable
+	private volatile ResultSetColumns lastColumns;
+
+
+	/**
+	 * Create a new {@code DataClassRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 */
+	public DataClassRowMapper(Class<T> mappedClass) {
+		Assert.notNull(mappedClass, "Mapped class must not be null");
+		this.mappedClass = mappedClass;
+		this.mappedConstructor = determineConstructor(mappedClass);
+		this.parameterNames = determineParameterNames(this.mappedConstructor);
+		this.constructorParameters = new MethodParameter[this.parameterNames.length];
+		for (int i = 0; i < this.parameterNames.length; i++) {
+			this.constructorParameters[i] = new MethodParameter(this.mappedConstructor, i);
+		}
+	}
+
+
+	/**
+	 * Get the class that we are mapping to.
+	 */
+	public final Class<T> getMappedClass() {
+		return this.mappedClass;
+	}
+
+	/**
+	 * Set a {@link ConversionService} for converting JDBC values to constructor
+	 * arguments, or {@code null} for none.
+	 * <p>Default is a {@link DefaultConversionService}. This provides support for
+	 * {@code java.time} conversion and other special types.
+	 */
+	public void setConversionService(@Nullable ConversionService conversionService) {
+		this.conversionService = conversionService;
+	}
+
+	/**
+	 * Return a {@link ConversionService} for converting JDBC values to
+	 * constructor arguments, or {@code null} if none.
+	 */
+	@Nullable
+	public ConversionService getConversionService() {
+		return this.conversionService;
+	}
+
+
+	/**
+	 * Extract the values for the constructor arguments from the current row
+	 * and instantiate the mapped class.
+	 */
+	@Override
+	public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
+		int[] columnIndexes = getColumnIndexes(rs, rowNumber);
+		Object[] args = new Object[columnIndexes.length];
+		TypeConverter typeConverter = null;
+		for (int i = 0; i < args.length; i++) {
+			MethodParameter param = this.constructorParameters[i];
+			Object value = getColumnValue(rs, columnIndexes[i], param);
+			Class<?> paramType = param.getParameterType();
+			if (value == null) {
+				if (paramType.isPrimitive()) {
+					value = PRIMITIVE_DEFAULT_VALUES.get(paramType);
+				}
+			}
+			else if (!ClassUtils.isAssignableValue(paramType, value)) {
+				if (typeConverter == null) {
+					typeConverter = createTypeConverter();
+				}
+				value = typeConverter.convertIfNecessary(value, paramType, param);
+			}
+			args[i] = value;
+		}
+		return BeanUtils.instantiateClass(this.mappedConstructor, args);
+	}
+
+	private int[] getColumnIndexes(ResultSet rs, int rowNumber) throws SQLException {
+		ResultSetColumns lastColumns = this.lastColumns;
+		if (rowNumber > 0 && lastColumns != null && lastColumns.resultSet.get() == rs) {
+			return lastColumns.columnIndexes;
+		}
+		ResultSetMetaData rsmd = rs.getMetaData();
+		int columnCount = rsmd.getColumnCount();
+		List<String> columns = new ArrayList<>(columnCount);
+		for (int index = 1; index <= columnCount; index++) {
+			columns.add(JdbcUtils.lookupColumnName(rsmd, index));
+		}
+		int[] columnIndexes = this.columnIndexCache.computeIfAbsent(columns, this::resolveColumnIndexes);
+		this.lastColumns = new ResultSetColumns(rs, columnIndexes);
+		return columnIndexes;
+	}
+
+	private int[] resolveColumnIndexes(List<String> columns) {
+		Map<String, Integer> mappedFields = getMappedFields();
+		int[] columnIndexes = new int[this.constructorParameters.length];
+		for (int index = 1; index <= columns.size(); index++) {
+			String column = columns.get(index - 1);
+			Integer paramIndex = mappedFields.get(lowerCaseName(StringUtils.delete(column, " ")));
+			if (paramIndex != null) {
+				if (columnIndexes[paramIndex] == 0) {
+					columnIndexes[paramIndex] = index;
+					if (logger.isDebugEnabled()) {
+						logger.debug("Mapping column '" + column + "' to constructor parameter '" +
+								this.parameterNames[paramIndex] + "'");
+					}
+				}
+			}
+			else if (logger.isDebugEnabled()) {
+				logger.debug("No constructor parameter found for column '" + column + "'");
+			}
+		}
+		for (int i = 0; i < columnIndexes.length; i++) {
+			if (columnIndexes[i] == 0) {
+				throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain a column for " +
+						"constructor parameter '" + this.parameterNames[i] +
+						"' of " + this.mappedClass + ": " + columns);
+			}
+		}
+		return columnIndexes;
+	}
+
+	/**
+	 * Determine the field names to match against column names, i.e. the lower-case
+	 * and underscored variants of each parameter name. Built on first use rather than
+	 * in the constructor, since it calls the overridable name conversion methods.
+	 */
+	private Map<String, Integer> getMappedFields() {
+		Map<String, Integer> mappedFields = this.mappedFields;
+		if (mappedFields == null) {
+			mappedFields = new HashMap<>();
+			for (int i = 0; i < this.parameterNames.length; i++) {
+				String name = this.parameterNames[i];
+				mappedFields.put(lowerCaseName(name), i);
+				String underscoredName = underscoreName(name);
+				if (!lowerCaseName(name).equals(underscoredName)) {
+					mappedFields.put(underscoredName, i);
+				}
+			}
+			this.mappedFields = mappedFields;
+		}
+		return mappedFields;
+	}
+
+	/**
+	 * Create a {@link TypeConverter} for converting JDBC values to constructor
+	 * arguments. To be called for each row which requires a conversion.
+	 * <p>The default implementation applies the configured {@link ConversionService},
+	 * if any. Can be overridden in subclasses.
+	 * @see #getConversionService()
+	 */
+	protected TypeConverter createTypeConverter() {
+		SimpleTypeConverter typeConverter = new SimpleTypeConverter();
+		typeConverter.setConversionService(getConversionService());
+		return typeConverter;
+	}
+
+	/**
+	 * Retrieve a JDBC object value for the specified column.
+	 * <p>The default implementation calls
+	 * {@link JdbcUtils#getResultSetValue(java.sql.ResultSet, int, Class)}.
+	 * Subclasses may override this to check specific value types upfront,
+	 * or to post-process values return from {@code getResultSetValue}.
+	 * @param rs is the ResultSet holding the data
+	 * @param index is the column index
+	 * @param param the constructor parameter that the value is expected to match
+	 * @return the Object value
+	 * @throws SQLException in case of extraction failure
+	 * @see org.springframework.jdbc.support.JdbcUtils#getResultSetValue(java.sql.ResultSet, int, Class)
+	 */
+	@Nullable
+	protected Object getColumnValue(ResultSet rs, int index, MethodParameter param) throws SQLException {
+		return JdbcUtils.getResultSetValue(rs, index, param.getParameterType());
+	}
+
+	/**
+	 * Convert a name in camelCase to an underscored name in lower case.
+	 * Any upper case letters are converted to lower case with a preceding underscore.
+	 * @param name the original name
+	 * @return the converted name
+	 * @see #lowerCaseName
+	 */
+	protected String underscoreName(String name) {
+		if (!StringUtils.hasLength(name)) {
+			return "";
+		}
+
+		StringBuilder result = new StringBuilder();
+		result.append(lowerCaseName(name.substring(0, 1)));
+		for (int i = 1; i < name.length(); i++) {
+			String s = name.substring(i, i + 1);
+			String slc = lowerCaseName(s);
+			if (!s.equals(slc)) {
+				result.append("_").append(slc);
+			}
+			else {
+				result.append(s);
+			}
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Convert the given name to lower case.
+	 * By default, conversions will happen within the US locale.
+	 * @param name the original name
+	 * @return the converted name
+	 */
+	protected String lowerCaseName(String name) {
+		return name.toLowerCase(Locale.US);
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private static <T> Constructor<T> determineConstructor(Class<T> clazz) {
+		Constructor<T> ctor = BeanUtils.findPrimaryConstructor(clazz);
+		if (ctor != null) {
+			return ctor;
+		}
+		Constructor<?>[] ctors = clazz.getConstructors();
+		if (ctors.length == 1) {
+			return (Constructor<T>) ctors[0];
+		}
+		ctors = clazz.getDeclaredConstructors();
+		if (ctors.length == 1 && !Modifier.isPrivate(ctors[0].getModifiers())) {
+			return (Constructor<T>) ctors[0];
+		}
+		throw new InvalidDataAccessApiUsageException("No unique constructor found for data class " +
+				clazz.getName() + ": declare a single (public) constructor");
+	}
+
+	private static String[] determineParameterNames(Constructor<?> ctor) {
+		ConstructorProperties cp = ctor.getAnnotation(ConstructorProperties.class);
+		String[] parameterNames = (cp != null ? cp.value() : parameterNameDiscoverer.getParameterNames(ctor));
+		if (parameterNames == null || parameterNames.length != ctor.getParameterCount()) {
+			throw new InvalidDataAccessApiUsageException("Cannot resolve parameter names for constructor " +
+					ctor + ": compile with '-parameters' or declare @ConstructorProperties");
+		}
+		return parameterNames;
+	}
+
+
+	/**
+	 * Static factory method to create a new {@code DataClassRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 * @see #newInstance(Class, ConversionService)
+	 */
+	public static <T> DataClassRowMapper<T> newInstance(Class<T> mappedClass) {
+		return new DataClassRowMapper<>(mappedClass);
+	}
+
+	/**
+	 * Static factory method to create a new {@code DataClassRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 * @param conversionService the {@link ConversionService} for converting
+	 * JDBC values to constructor arguments, or {@code null} for none
+	 * @see #newInstance(Class)
+	 * @see #setConversionService
+	 */
+	public static <T> DataClassRowMapper<T> newInstance(
+			Class<T> mappedClass, @Nullable ConversionService conversionService) {
+
+		DataClassRowMapper<T> rowMapper = newInstance(mappedClass);
+		rowMapper.setConversionService(conversionService);
+		return rowMapper;
+	}
+
+
+	/**
+	 * Holder for the column indexes applied to the rows of a given ResultSet,
+	 * not keeping the ResultSet (and its Statement) reachable after the query.
+	 */
+	private static class ResultSetColumns {
+
+		final WeakReference<ResultSet> resultSet;
+
+		final int[] columnIndexes;
+
+		ResultSetColumns(ResultSet resultSet, int[] columnIndexes) {
+			this.resultSet = new WeakReference<>(resultSet);
+			this.columnIndexes = columnIndexes;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -271,6 +271,26 @@ public class TableMetaDataContext {
 	 * @return the insert string to be used
 	 */
 	public String createInsertString(String... generatedKeyNames) {
+		return createInsertString(1, generatedKeyNames);
+	}
+
+	/**
+	 * Build a multi-row insert string based on configuration and meta-data information,
+	 * i.e. an insert statement with the given number of {@code VALUES} groups.
+	 * <p>The parameter values for such a statement are the insert values of each row,
+	 * concatenated in row order.
+	 * @param rowCount the number of rows to insert with a single statement
+	 * @param generatedKeyNames the names of the columns holding generated keys
+	 * @return the insert string to be used
+	 * @since 5.2.13
+	 * @see #createInsertString(String...)
+	 */
+	public String createMultiRowInsertString(int rowCount, String... generatedKeyNames) {
+		Assert.isTrue(rowCount > 0, "Row count must be greater than 0");
+		return createInsertString(rowCount, generatedKeyNames);
+	}
+
+	private String createInsertString(int rowCount, String... generatedKeyNames) {
 		Set<String> keys = new LinkedHashSet<>(generatedKeyNames.length);
 		for (String key : generatedKeyNames) {
 			keys.add(key.toUpperCase());
@@ -309,6 +329,9 @@ public class TableMetaDataContext {
 		String params = String.join(", ", Collections.nCopies(columnCount, "?"));
 		insertStatement.append(params);
 		insertStatement.append(")");
+		for (int i = 1; i < rowCount; i++) {
+			insertStatement.append(", (").append(params).append(")");
+		}
 		return insertStatement.toString();
 	}
 
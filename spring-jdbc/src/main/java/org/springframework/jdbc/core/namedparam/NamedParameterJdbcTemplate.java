@@ -18,10 +18,11 @@ package org.springframework.jdbc.core.namedparam;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -44,6 +45,7 @@ import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * Template class with a basic set of JDBC operations, allowing the use
@@ -75,17 +77,17 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 	/** The JdbcTemplate we are wrapping. */
 	private final JdbcOperations classicJdbcTemplate;
 
-	private volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
+	/** Number of SQL statements looked up in the SQL cache. */
+	private final LongAdder parsedSqlLookupCount = new LongAdder();
+
+	/** Number of SQL statements parsed because they were not found in the SQL cache. */
+	private final LongAdder parsedSqlMissCount = new LongAdder();
+
+	/** Number of parsed SQL statements evicted from the SQL cache due to its limit. */
+	private final LongAdder parsedSqlEvictionCount = new LongAdder();
 
 	/** Cache of original SQL String to ParsedSql representation. */
-	@SuppressWarnings("serial")
-	private final Map<String, ParsedSql> parsedSqlCache =
-			new LinkedHashMap<String, ParsedSql>(DEFAULT_CACHE_LIMIT, 0.75f, true) {
-				@Override
-				protected boolean removeEldestEntry(Map.Entry<String, ParsedSql> eldest) {
-					return size() > getCacheLimit();
-				}
-			};
+	private volatile ConcurrentLruCache<String, ParsedSql> parsedSqlCache = createParsedSqlCache(DEFAULT_CACHE_LIMIT);
 
 
 	/**
@@ -132,17 +134,57 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 
 	/**
 	 * Specify the maximum number of entries for this template's SQL cache.
-	 * Default is 256.
+	 * Default is 256. 0 indicates no caching, always parsing each statement.
 	 */
 	public void setCacheLimit(int cacheLimit) {
-		this.cacheLimit = cacheLimit;
+		this.parsedSqlCache = createParsedSqlCache(cacheLimit);
 	}
 
 	/**
 	 * Return the maximum number of entries for this template's SQL cache.
 	 */
 	public int getCacheLimit() {
-		return this.cacheLimit;
+		return this.parsedSqlCache.sizeLimit();
+	}
+
+	/**
+	 * Return the current number of entries in this template's SQL cache.
+	 * @since 5.2.13
+	 * @see #getCacheLimit()
+	 */
+	public int getCacheSize() {
+		return this.parsedSqlCache.size();
+	}
+
+	/**
+	 * Return the number of SQL statements found in this template's SQL cache
+	 * since this template has been created.
+	 * @since 5.2.13
+	 * @see #getCacheMissCount()
+	 */
+	public long getCacheHitCount() {
+		return Math.max(this.parsedSqlLookupCount.sum() - this.parsedSqlMissCount.sum(), 0);
+	}
+
+	/**
+	 * Return the number of SQL statements parsed because they were not found
+	 * in this template's SQL cache since this template has been created.
+	 * <p>A high miss count compared to the {@link #getCacheHitCount() hit count}
+	 * along with a non-zero {@link #getCacheEvictionCount() eviction count}
+	 * indicates that the {@link #setCacheLimit cache limit} is too low.
+	 * @since 5.2.13
+	 */
+	public long getCacheMissCount() {
+		return this.parsedSqlMissCount.sum();
+	}
+
+	/**
+	 * Return the number of parsed SQL statements evicted from this template's
+	 * SQL cache because of its limit, since this template has been created.
+	 * @since 5.2.13
+	 */
+	public long getCacheEvictionCount() {
+		return this.parsedSqlEvictionCount.sum();
 	}
 
 
@@ -223,6 +265,20 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		return query(sql, new MapSqlParameterSource(paramMap), rowMapper);
 	}
 
+	@Override
+	public <T> Stream<T> queryForStream(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper)
+			throws DataAccessException {
+
+		return getJdbcOperations().queryForStream(getPreparedStatementCreator(sql, paramSource), rowMapper);
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper)
+			throws DataAccessException {
+
+		return queryForStream(sql, new MapSqlParameterSource(paramMap), rowMapper);
+	}
+
 	@Override
 	public <T> List<T> query(String sql, RowMapper<T> rowMapper) throws DataAccessException {
 		return query(sql, EmptySqlParameterSource.INSTANCE, rowMapper);
@@ -421,17 +477,21 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 
 	/**
 	 * Obtain a parsed representation of the given SQL statement.
-	 * <p>The default implementation uses an LRU cache with an upper limit of 256 entries.
+	 * <p>The default implementation uses an LRU cache with an upper limit of 256 entries,
+	 * keeping track of cache hits, misses and evictions.
 	 * @param sql the original SQL statement
 	 * @return a representation of the parsed SQL statement
 	 */
 	protected ParsedSql getParsedSql(String sql) {
-		if (getCacheLimit() <= 0) {
+		this.parsedSqlLookupCount.increment();
+		return this.parsedSqlCache.get(sql);
+	}
+
+	private ConcurrentLruCache<String, ParsedSql> createParsedSqlCache(int cacheLimit) {
+		return new ConcurrentLruCache<>(cacheLimit, sql -> {
+			this.parsedSqlMissCount.increment();
 			return NamedParameterUtils.parseSqlStatement(sql);
-		}
-		synchronized (this.parsedSqlCache) {
-			return this.parsedSqlCache.computeIfAbsent(sql, NamedParameterUtils::parseSqlStatement);
-		}
+		}, (sql, parsedSql) -> this.parsedSqlEvictionCount.increment());
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -88,6 +88,12 @@ public abstract class AbstractJdbcInsert {
 	/** The SQL type information for the insert columns. */
 	private int[] insertTypes = new int[0];
 
+	/** The maximum number of rows per multi-row insert statement, or 0 for JDBC batching. */
+	private int multiRowInsertMaxRows = 0;
+
+	/** The maximum number of parameters per multi-row insert statement. */
+	private int multiRowInsertMaxParameters = Integer.MAX_VALUE;
+
 
 	/**
 	 * Constructor to be used when initializing using a {@link DataSource}.
@@ -221,6 +227,54 @@ public abstract class AbstractJdbcInsert {
 		this.tableMetaDataContext.setOverrideIncludeSynonymsDefault(override);
 	}
 
+	/**
+	 * Specify the maximum number of rows to insert with a single multi-row
+	 * {@code INSERT ... VALUES (...), (...)} statement when executing a batch.
+	 * <p>The default is 0, executing batches as a JDBC batch of single-row inserts
+	 * via {@link JdbcTemplate#batchUpdate(String, BatchPreparedStatementSetter)}.
+	 * Since many JDBC drivers send such a batch with one round trip per row,
+	 * a positive value can significantly speed up bulk inserts, provided that
+	 * the database supports multi-row {@code VALUES} lists.
+	 * @since 5.2.13
+	 * @see #setMultiRowInsertMaxParameters
+	 */
+	public void setMultiRowInsertMaxRows(int multiRowInsertMaxRows) {
+		checkIfConfigurationModificationIsAllowed();
+		Assert.isTrue(multiRowInsertMaxRows >= 0, "Multi-row insert max rows must not be negative");
+		this.multiRowInsertMaxRows = multiRowInsertMaxRows;
+	}
+
+	/**
+	 * Return the maximum number of rows per multi-row insert statement,
+	 * or 0 if batches are executed as JDBC batches.
+	 * @since 5.2.13
+	 */
+	public int getMultiRowInsertMaxRows() {
+		return this.multiRowInsertMaxRows;
+	}
+
+	/**
+	 * Specify the maximum number of bind parameters per multi-row insert statement,
+	 * further limiting the number of rows per statement for tables with many columns.
+	 * <p>The default is unlimited. Set this according to the limit of the database
+	 * or driver in use, e.g. 2100 for SQL Server or 32767 for PostgreSQL.
+	 * @since 5.2.13
+	 * @see #setMultiRowInsertMaxRows
+	 */
+	public void setMultiRowInsertMaxParameters(int multiRowInsertMaxParameters) {
+		checkIfConfigurationModificationIsAllowed();
+		Assert.isTrue(multiRowInsertMaxParameters > 0, "Multi-row insert max parameters must be greater than 0");
+		this.multiRowInsertMaxParameters = multiRowInsertMaxParameters;
+	}
+
+	/**
+	 * Return the maximum number of bind parameters per multi-row insert statement.
+	 * @since 5.2.13
+	 */
+	public int getMultiRowInsertMaxParameters() {
+		return this.multiRowInsertMaxParameters;
+	}
+
 	/**
 	 * Get the insert string to be used.
 	 */
@@ -566,6 +620,9 @@ public abstract class AbstractJdbcInsert {
 	 * Delegate method to execute the batch insert.
 	 */
 	private int[] executeBatchInternal(final List<List<Object>> batchValues) {
+		if (getMultiRowInsertMaxRows() > 0 && !batchValues.isEmpty() && !batchValues.get(0).isEmpty()) {
+			return executeMultiRowBatchInternal(batchValues);
+		}
 		if (logger.isDebugEnabled()) {
 			logger.debug("Executing statement " + getInsertString() + " with batch of size: " + batchValues.size());
 		}
@@ -582,6 +639,67 @@ public abstract class AbstractJdbcInsert {
 				});
 	}
 
+	/**
+	 * Delegate method to execute the batch insert as a sequence of multi-row inserts.
+	 */
+	private int[] executeMultiRowBatchInternal(List<List<Object>> batchValues) {
+		int columnCount = batchValues.get(0).size();
+		int rowsPerStatement = Math.max(1,
+				Math.min(getMultiRowInsertMaxRows(), getMultiRowInsertMaxParameters() / columnCount));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing batch of size " + batchValues.size() + " as multi-row inserts of up to " +
+					rowsPerStatement + " rows");
+		}
+		int[] rowsAffected = new int[batchValues.size()];
+		String fullInsertString = null;
+		int[] fullInsertTypes = null;
+		for (int offset = 0; offset < batchValues.size(); offset += rowsPerStatement) {
+			List<List<Object>> rows = batchValues.subList(offset, Math.min(offset + rowsPerStatement, batchValues.size()));
+			String insertString;
+			int[] insertTypes;
+			if (rows.size() == rowsPerStatement) {
+				if (fullInsertString == null) {
+					fullInsertString = this.tableMetaDataContext.createMultiRowInsertString(
+							rowsPerStatement, getGeneratedKeyNames());
+					fullInsertTypes = createMultiRowInsertTypes(rowsPerStatement, columnCount);
+				}
+				insertString = fullInsertString;
+				insertTypes = fullInsertTypes;
+			}
+			else {
+				insertString = this.tableMetaDataContext.createMultiRowInsertString(rows.size(), getGeneratedKeyNames());
+				insertTypes = createMultiRowInsertTypes(rows.size(), columnCount);
+			}
+			List<Object> values = new ArrayList<>(rows.size() * columnCount);
+			for (List<Object> row : rows) {
+				if (row.size() != columnCount) {
+					throw new InvalidDataAccessApiUsageException("Inconsistent number of insert values in batch: " +
+							"expected " + columnCount + " but got " + row.size());
+				}
+				values.addAll(row);
+			}
+			int updated = getJdbcTemplate().update(insertString, values.toArray(), insertTypes);
+			Arrays.fill(rowsAffected, offset, offset + rows.size(),
+					(updated == rows.size() ? 1 : Statement.SUCCESS_NO_INFO));
+		}
+		return rowsAffected;
+	}
+
+	/**
+	 * Repeat the insert types for the given number of rows.
+	 */
+	private int[] createMultiRowInsertTypes(int rowCount, int columnCount) {
+		int[] insertTypes = getInsertTypes();
+		int[] types = new int[rowCount * columnCount];
+		for (int row = 0; row < rowCount; row++) {
+			for (int col = 0; col < columnCount; col++) {
+				types[row * columnCount + col] =
+						(col < insertTypes.length ? insertTypes[col] : SqlTypeValue.TYPE_UNKNOWN);
+			}
+		}
+		return types;
+	}
+
 	/**
 	 * Internal implementation for setting parameter values.
 	 * @param preparedStatement the PreparedStatement
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -66,6 +66,17 @@ public interface SimpleJdbcInsertOperations {
 	 */
 	SimpleJdbcInsertOperations usingGeneratedKeyColumns(String... columnNames);
 
+	/**
+	 * Execute batches as multi-row {@code INSERT ... VALUES (...), (...)} statements
+	 * with up to the given number of rows each, instead of as JDBC batches.
+	 * @param maxRowsPerStatement the maximum number of rows per insert statement
+	 * @return the instance of this SimpleJdbcInsert
+	 * @since 5.2.13
+	 * @see AbstractJdbcInsert#setMultiRowInsertMaxRows
+	 * @see AbstractJdbcInsert#setMultiRowInsertMaxParameters
+	 */
+	SimpleJdbcInsertOperations usingMultiRowInserts(int maxRowsPerStatement);
+
 	/**
 	 * Turn off any processing of column meta-data information obtained via JDBC.
 	 * @return the instance of this SimpleJdbcInsert
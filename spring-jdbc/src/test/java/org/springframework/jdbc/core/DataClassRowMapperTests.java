@@ -0,0 +1,121 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.beans.ConstructorProperties;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.test.ConstructorPerson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link DataClassRowMapper}.
+ */
+public class DataClassRowMapperTests extends AbstractRowMapperTests {
+
+	@Test
+	public void testStaticQueryWithDataClass() throws Exception {
+		Mock mock = new Mock();
+		List<ConstructorPerson> result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance from people",
+				new DataClassRowMapper<>(ConstructorPerson.class));
+		assertThat(result.size()).isEqualTo(1);
+		verifyPerson(result.get(0));
+		mock.verifyClosed();
+	}
+
+	@Test
+	public void testRowMapperReusedAcrossQueries() throws Exception {
+		DataClassRowMapper<ConstructorPerson> mapper = DataClassRowMapper.newInstance(ConstructorPerson.class);
+		for (int i = 0; i < 3; i++) {
+			Mock mock = new Mock();
+			List<ConstructorPerson> result = mock.getJdbcTemplate().query(
+					"select name, age, birth_date, balance from people", mapper);
+			assertThat(result.size()).isEqualTo(1);
+			verifyPerson(result.get(0));
+			mock.verifyClosed();
+		}
+	}
+
+	@Test
+	public void testMappingNullValueToPrimitive() throws Exception {
+		Mock mock = new Mock(MockType.TWO);
+		List<ConstructorPerson> result = mock.getJdbcTemplate().query(
+				"select name, null as age, birth_date, balance from people",
+				new DataClassRowMapper<>(ConstructorPerson.class));
+		assertThat(result.size()).isEqualTo(1);
+		assertThat(result.get(0).name()).isEqualTo("Bubba");
+		assertThat(result.get(0).age()).isEqualTo(0L);
+		mock.verifyClosed();
+	}
+
+	@Test
+	public void testMappingNullValueToPrimitiveDouble() throws Exception {
+		Mock mock = new Mock(MockType.TWO);
+		List<MeasuredPerson> result = mock.getJdbcTemplate().query(
+				"select name, null as age, birth_date, balance from people",
+				new DataClassRowMapper<>(MeasuredPerson.class));
+		assertThat(result.size()).isEqualTo(1);
+		assertThat(result.get(0).name).isEqualTo("Bubba");
+		assertThat(result.get(0).age).isEqualTo(0D);
+		mock.verifyClosed();
+	}
+
+	@Test
+	public void testMissingColumnForConstructorParameter() throws Exception {
+		Mock mock = new Mock(MockType.THREE);
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() ->
+				mock.getJdbcTemplate().query("select last_name as \"Last Name\", age, birth_date, balance from people",
+						new DataClassRowMapper<>(ConstructorPerson.class)));
+	}
+
+	@Test
+	public void testAmbiguousConstructors() {
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() ->
+				new DataClassRowMapper<>(BigDecimal.class));
+	}
+
+
+	private void verifyPerson(ConstructorPerson person) {
+		assertThat(person.name()).isEqualTo("Bubba");
+		assertThat(person.age()).isEqualTo(22L);
+		assertThat(person.birth_date()).usingComparator(Date::compareTo).isEqualTo(new Date(1221222L));
+		assertThat(person.balance()).isEqualTo(new BigDecimal("1234.56"));
+	}
+
+
+	public static class MeasuredPerson {
+
+		final String name;
+
+		final double age;
+
+		@ConstructorProperties({"name", "age", "birth_date", "balance"})
+		public MeasuredPerson(String name, double age, Date birth_date, BigDecimal balance) {
+			this.name = name;
+			this.age = age;
+		}
+	}
+
+}
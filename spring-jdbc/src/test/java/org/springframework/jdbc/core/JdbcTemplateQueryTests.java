@@ -23,22 +23,29 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.SQLWarning;
 import java.sql.Statement;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.SQLWarningException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -383,4 +390,96 @@ public class JdbcTemplateQueryTests {
 		verify(this.preparedStatement).close();
 	}
 
+	@Test
+	public void testQueryForStreamWithRowMapper() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID < 3";
+		given(this.statement.getConnection()).willReturn(this.connection);
+		given(this.resultSet.next()).willReturn(true, true, false);
+		given(this.resultSet.getInt(1)).willReturn(11, 12);
+		this.template.setFetchSize(10);
+		try (Stream<Integer> stream = this.template.queryForStream(sql, (rs, rowNum) -> rs.getInt(1))) {
+			verify(this.statement).setFetchSize(10);
+			verify(this.resultSet, never()).next();
+			verify(this.statement, never()).close();
+			assertThat(stream.collect(Collectors.toList())).containsExactly(11, 12);
+			verify(this.resultSet, never()).close();
+		}
+		verify(this.resultSet).close();
+		verify(this.statement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testQueryForStreamWithArgsAndRowMapper() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID = ?";
+		given(this.preparedStatement.getConnection()).willReturn(this.connection);
+		given(this.resultSet.next()).willReturn(true, true, false);
+		given(this.resultSet.getInt(1)).willReturn(22, 23);
+		try (Stream<Integer> stream = this.template.queryForStream(sql, (rs, rowNum) -> rs.getInt(1), 3)) {
+			assertThat(stream.findFirst()).hasValue(22);
+			verify(this.resultSet).next();
+			verify(this.preparedStatement, never()).close();
+		}
+		verify(this.preparedStatement).setObject(1, 3);
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testQueryForStreamReleasesResourcesOnQueryFailure() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID = ?";
+		SQLException sqlException = new SQLException("bad query");
+		given(this.preparedStatement.executeQuery()).willThrow(sqlException);
+		assertThatExceptionOfType(DataAccessException.class).isThrownBy(() ->
+				this.template.queryForStream(sql, (rs, rowNum) -> rs.getInt(1), 3))
+			.withCause(sqlException);
+		verify(this.preparedStatement).close();
+		verify(this.connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void testQueryForStreamReleasesResourcesOnWarningFailure() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID < 3";
+		SQLWarning warning = new SQLWarning("My warning");
+		given(this.statement.getConnection()).willReturn(this.connection);
+		given(this.statement.getWarnings()).willReturn(warning);
+		this.template.setIgnoreWarnings(false);
+		assertThatExceptionOfType(SQLWarningException.class).isThrownBy(() ->
+				this.template.queryForStream(sql, (rs, rowNum) -> rs.getInt(1)))
+			.withCause(warning);
+		verify(this.resultSet).close();
+		verify(this.statement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testQueryForStreamWithArgsReleasesResourcesOnWarningFailure() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID = ?";
+		SQLWarning warning = new SQLWarning("My warning");
+		given(this.preparedStatement.getConnection()).willReturn(this.connection);
+		given(this.preparedStatement.getWarnings()).willReturn(warning);
+		this.template.setIgnoreWarnings(false);
+		assertThatExceptionOfType(SQLWarningException.class).isThrownBy(() ->
+				this.template.queryForStream(sql, (rs, rowNum) -> rs.getInt(1), 3))
+			.withCause(warning);
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testQueryForStreamReleasesResourcesOnParameterFailure() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID = ?";
+		IllegalStateException failure = new IllegalStateException("bad parameter");
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() ->
+				this.template.queryForStream(sql, ps -> {
+					throw failure;
+				}, (rs, rowNum) -> rs.getInt(1)))
+			.isSameAs(failure);
+		verify(this.preparedStatement, never()).executeQuery();
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
 }
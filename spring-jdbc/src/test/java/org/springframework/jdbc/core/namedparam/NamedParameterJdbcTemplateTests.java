@@ -130,6 +130,33 @@ public class NamedParameterJdbcTemplateTests {
 		assertThat(namedParameterTemplate.getJdbcTemplate().getDataSource()).isSameAs(dataSource);
 	}
 
+	@Test
+	public void testParsedSqlCacheStatistics() {
+		namedParameterTemplate.setCacheLimit(2);
+		ParsedSql parsedSql = namedParameterTemplate.getParsedSql(SELECT_NAMED_PARAMETERS);
+		assertThat(namedParameterTemplate.getParsedSql(SELECT_NAMED_PARAMETERS)).isSameAs(parsedSql);
+		namedParameterTemplate.getParsedSql(UPDATE_NAMED_PARAMETERS);
+		namedParameterTemplate.getParsedSql(UPDATE_ARRAY_PARAMETERS);
+
+		assertThat(namedParameterTemplate.getCacheLimit()).isEqualTo(2);
+		assertThat(namedParameterTemplate.getCacheSize()).isEqualTo(2);
+		assertThat(namedParameterTemplate.getCacheHitCount()).isEqualTo(1);
+		assertThat(namedParameterTemplate.getCacheMissCount()).isEqualTo(3);
+		assertThat(namedParameterTemplate.getCacheEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testParsedSqlCacheDisabled() {
+		namedParameterTemplate.setCacheLimit(0);
+		ParsedSql parsedSql = namedParameterTemplate.getParsedSql(SELECT_NAMED_PARAMETERS);
+		assertThat(namedParameterTemplate.getParsedSql(SELECT_NAMED_PARAMETERS)).isNotSameAs(parsedSql);
+
+		assertThat(namedParameterTemplate.getCacheSize()).isEqualTo(0);
+		assertThat(namedParameterTemplate.getCacheHitCount()).isEqualTo(0);
+		assertThat(namedParameterTemplate.getCacheMissCount()).isEqualTo(2);
+		assertThat(namedParameterTemplate.getCacheEvictionCount()).isEqualTo(0);
+	}
+
 	@Test
 	public void testExecute() throws SQLException {
 		given(preparedStatement.executeUpdate()).willReturn(1);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,8 +18,10 @@ package org.springframework.jdbc.core.simple;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.HashMap;
+import java.util.Map;
 
 import javax.sql.DataSource;
 
@@ -28,10 +30,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -81,4 +88,64 @@ public class SimpleJdbcInsertTests {
 		verify(resultSet).close();
 	}
 
+	@Test
+	public void testMultiRowBatchInsert() throws Exception {
+		String twoRows = "INSERT INTO x (a, b) VALUES(?, ?), (?, ?)";
+		String oneRow = "INSERT INTO x (a, b) VALUES(?, ?)";
+		PreparedStatement twoRowStatement = mock(PreparedStatement.class);
+		PreparedStatement oneRowStatement = mock(PreparedStatement.class);
+		given(databaseMetaData.getDatabaseProductName()).willReturn("MyDB");
+		given(connection.prepareStatement(twoRows)).willReturn(twoRowStatement);
+		given(connection.prepareStatement(oneRow)).willReturn(oneRowStatement);
+		given(twoRowStatement.executeUpdate()).willReturn(2, 2);
+		given(oneRowStatement.executeUpdate()).willReturn(1);
+
+		SqlParameterSource[] batch = new SqlParameterSource[5];
+		for (int i = 0; i < batch.length; i++) {
+			batch[i] = new MapSqlParameterSource("a", i).addValue("b", "b" + i);
+		}
+
+		SingleConnectionDataSource singleConnectionDataSource = new SingleConnectionDataSource(connection, false);
+		SimpleJdbcInsert insert = new SimpleJdbcInsert(singleConnectionDataSource).withTableName("x")
+				.usingColumns("a", "b").usingMultiRowInserts(2);
+		insert.withoutTableColumnMetaDataAccess();
+		int[] rowsAffected = insert.executeBatch(batch);
+		singleConnectionDataSource.destroy();
+
+		assertThat(rowsAffected).containsExactly(1, 1, 1, 1, 1);
+		verify(connection, times(2)).prepareStatement(twoRows);
+		verify(connection).prepareStatement(oneRow);
+		verify(twoRowStatement).setObject(1, 0);
+		verify(twoRowStatement).setString(2, "b0");
+		verify(twoRowStatement).setObject(3, 1);
+		verify(twoRowStatement).setString(4, "b1");
+		verify(oneRowStatement).setObject(1, 4);
+		verify(oneRowStatement).setString(2, "b4");
+	}
+
+	@Test
+	public void testMultiRowBatchInsertLimitedByParameters() throws Exception {
+		String twoRows = "INSERT INTO x (a, b) VALUES(?, ?), (?, ?)";
+		PreparedStatement twoRowStatement = mock(PreparedStatement.class);
+		given(databaseMetaData.getDatabaseProductName()).willReturn("MyDB");
+		given(connection.prepareStatement(twoRows)).willReturn(twoRowStatement);
+		given(twoRowStatement.executeUpdate()).willReturn(2, -2);
+
+		Map<String, Object> row = new HashMap<>();
+		row.put("a", 1);
+		row.put("b", "b");
+
+		SingleConnectionDataSource singleConnectionDataSource = new SingleConnectionDataSource(connection, false);
+		SimpleJdbcInsert insert = new SimpleJdbcInsert(singleConnectionDataSource).withTableName("x")
+				.usingColumns("a", "b").usingMultiRowInserts(100);
+		insert.setMultiRowInsertMaxParameters(5);
+		insert.withoutTableColumnMetaDataAccess();
+		@SuppressWarnings("unchecked")
+		int[] rowsAffected = insert.executeBatch(row, row, row, row);
+		singleConnectionDataSource.destroy();
+
+		assertThat(rowsAffected).containsExactly(1, 1, -2, -2);
+		verify(connection, times(2)).prepareStatement(twoRows);
+	}
+
 }
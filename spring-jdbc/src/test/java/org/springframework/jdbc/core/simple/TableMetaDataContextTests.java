@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -160,4 +161,16 @@ public class TableMetaDataContextTests  {
 		verify(columnsResultSet).close();
 	}
 
+	@Test
+	public void testMultiRowInsertString() throws Exception {
+		given(databaseMetaData.getDatabaseProductName()).willReturn("MyDB");
+		context.setTableName("customers");
+		context.setAccessTableColumnMetaData(false);
+		context.processMetaData(dataSource, Arrays.asList("id", "name"), new String[0]);
+
+		assertThat(context.createMultiRowInsertString(1)).isEqualTo(context.createInsertString());
+		assertThat(context.createMultiRowInsertString(3)).isEqualTo(
+				"INSERT INTO customers (id, name) VALUES(?, ?), (?, ?), (?, ?)");
+	}
+
 }
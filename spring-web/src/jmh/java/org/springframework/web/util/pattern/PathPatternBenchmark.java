@@ -0,0 +1,119 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Benchmarks for matching request paths against a set of patterns with
+ * {@link PathPattern}, compared with the same patterns matched by {@link AntPathMatcher}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class PathPatternBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		public List<String> patterns;
+
+		public List<PathPattern> parsedPatterns;
+
+		public List<String> requestPaths;
+
+		public List<PathContainer> parsedRequestPaths;
+
+		public AntPathMatcher antPathMatcher;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.patterns = Arrays.asList("/", "/resources/**", "/api/orders", "/api/orders/{id}",
+					"/api/orders/{id}/items/{itemId}", "/api/customers/{id:[0-9]+}", "/static/*.css",
+					"/admin/*/reports/*.pdf", "/users/{name}.{extension}", "/files/{*path}");
+			this.requestPaths = Arrays.asList("/", "/resources/js/app.js", "/api/orders/42",
+					"/api/orders/42/items/7", "/api/customers/1337", "/static/main.css",
+					"/admin/eu/reports/summary.pdf", "/users/spring.json", "/files/docs/index.html",
+					"/unknown/path/that/does/not/match");
+			PathPatternParser parser = new PathPatternParser();
+			this.parsedPatterns = new ArrayList<>();
+			for (String pattern : this.patterns) {
+				this.parsedPatterns.add(parser.parse(pattern));
+			}
+			this.parsedRequestPaths = new ArrayList<>();
+			for (String path : this.requestPaths) {
+				this.parsedRequestPaths.add(PathContainer.parsePath(path));
+			}
+			this.antPathMatcher = new AntPathMatcher();
+		}
+	}
+
+	@Benchmark
+	public void parsePatterns(BenchmarkData data, Blackhole bh) {
+		PathPatternParser parser = new PathPatternParser();
+		for (String pattern : data.patterns) {
+			bh.consume(parser.parse(pattern));
+		}
+	}
+
+	@Benchmark
+	public void parseRequestPaths(BenchmarkData data, Blackhole bh) {
+		for (String path : data.requestPaths) {
+			bh.consume(PathContainer.parsePath(path));
+		}
+	}
+
+	@Benchmark
+	public void matchAllPathPatterns(BenchmarkData data, Blackhole bh) {
+		for (PathContainer path : data.parsedRequestPaths) {
+			for (PathPattern pattern : data.parsedPatterns) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchAndExtractPathPatterns(BenchmarkData data, Blackhole bh) {
+		for (PathContainer path : data.parsedRequestPaths) {
+			for (PathPattern pattern : data.parsedPatterns) {
+				bh.consume(pattern.matchAndExtract(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchAllAntPatterns(BenchmarkData data, Blackhole bh) {
+		for (String path : data.requestPaths) {
+			for (String pattern : data.patterns) {
+				bh.consume(data.antPathMatcher.match(pattern, path));
+			}
+		}
+	}
+
+}
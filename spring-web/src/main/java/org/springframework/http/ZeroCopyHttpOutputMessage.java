@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,10 +17,20 @@
 package org.springframework.http;
 
 import java.io.File;
+import java.nio.channels.AsynchronousFileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
 /**
  * Sub-interface of {@code ReactiveOutputMessage} that has support for "zero-copy"
  * file transfers.
@@ -55,4 +65,37 @@ public interface ZeroCopyHttpOutputMessage extends ReactiveHttpOutputMessage {
 	 */
 	Mono<Void> writeWith(Path file, long position, long count);
 
+	/**
+	 * Use the given regions of the given {@link Path}, each preceded by the
+	 * corresponding prefix and followed by the given suffix, to write the body
+	 * of the message to the underlying HTTP layer, e.g. for a
+	 * {@code "multipart/byteranges"} response.
+	 * <p>The default implementation reads the file regions into data buffers
+	 * and writes them, along with the prefixes and the suffix, through
+	 * {@link #writeWith(org.reactivestreams.Publisher)}. Implementations
+	 * that can mix in-memory data and file transfers in the same response
+	 * override this to transfer the file regions with zero-copy.
+	 * @param file the file to transfer regions of
+	 * @param regions the regions to transfer, with position and count
+	 * relative to the given file
+	 * @param prefixes the data to write before each region, one per region
+	 * @param suffix the data to write after the last region
+	 * @return a publisher that indicates completion or error.
+	 * @since 5.2.13
+	 */
+	default Mono<Void> writeWith(Path file, List<ResourceRegion> regions, List<DataBuffer> prefixes, DataBuffer suffix) {
+		Assert.isTrue(regions.size() == prefixes.size(), "Expected one prefix per region");
+		Flux<DataBuffer> body = Flux.range(0, regions.size())
+				.concatMap(index -> {
+					ResourceRegion region = regions.get(index);
+					Flux<DataBuffer> in = DataBufferUtils.readAsynchronousFileChannel(
+							() -> AsynchronousFileChannel.open(file, StandardOpenOption.READ),
+							region.getPosition(), bufferFactory(), StreamUtils.BUFFER_SIZE);
+					return Flux.just(prefixes.get(index))
+							.concatWith(DataBufferUtils.takeUntilByteCount(in, region.getCount()));
+				})
+				.concatWithValues(suffix);
+		return writeWith(body);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.http.codec;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -227,7 +228,8 @@ public class ResourceHttpMessageWriter implements HttpMessageWriter<Resource> {
 				MediaType multipartType = MediaType.parseMediaType("multipart/byteranges;boundary=" + boundary);
 				headers.setContentType(multipartType);
 				Map<String, Object> allHints = Hints.merge(hints, ResourceRegionEncoder.BOUNDARY_STRING_HINT, boundary);
-				return encodeAndWriteRegions(Flux.fromIterable(regions), resourceMediaType, response, allHints);
+				return zeroCopyRegions(resource, regions, boundary, resourceMediaType, response, allHints)
+						.orElseGet(() -> encodeAndWriteRegions(Flux.fromIterable(regions), resourceMediaType, response, allHints));
 			}
 		});
 	}
@@ -243,6 +245,38 @@ public class ResourceHttpMessageWriter implements HttpMessageWriter<Resource> {
 				});
 	}
 
+	private Optional<Mono<Void>> zeroCopyRegions(Resource resource, List<ResourceRegion> regions,
+			String boundary, @Nullable MediaType mediaType, ReactiveHttpOutputMessage message, Map<String, Object> hints) {
+
+		if (message instanceof ZeroCopyHttpOutputMessage && resource.isFile()) {
+			try {
+				File file = resource.getFile();
+				DataBufferFactory factory = message.bufferFactory();
+				List<DataBuffer> prefixes = new ArrayList<>(regions.size());
+				long contentLength = 0;
+				for (ResourceRegion region : regions) {
+					DataBuffer prefix = this.regionEncoder.encodeRegionPrefix(region, factory, boundary, mediaType);
+					prefixes.add(prefix);
+					contentLength += prefix.readableByteCount() + region.getCount();
+				}
+				DataBuffer suffix = this.regionEncoder.encodeRegionsSuffix(factory, boundary);
+				contentLength += suffix.readableByteCount();
+				if (message.getHeaders().getContentLength() < 0) {
+					message.getHeaders().setContentLength(contentLength);
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug(Hints.getLogPrefix(hints) + "Zero-copy " + regions.size() +
+							" regions of [" + resource + "]");
+				}
+				return Optional.of(((ZeroCopyHttpOutputMessage) message).writeWith(file.toPath(), regions, prefixes, suffix));
+			}
+			catch (IOException ex) {
+				// should not happen
+			}
+		}
+		return Optional.empty();
+	}
+
 	private Mono<Void> encodeAndWriteRegions(Publisher<? extends ResourceRegion> publisher,
 			@Nullable MediaType mediaType, ReactiveHttpOutputMessage message, Map<String, Object> hints) {
 
@@ -23,11 +23,13 @@ import io.netty.buffer.ByteBuf;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.NettyOutbound;
 import reactor.netty.http.server.HttpServerResponse;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
@@ -109,6 +111,21 @@ class ReactorServerHttpResponse extends AbstractServerHttpResponse implements Ze
 		return doCommit(() -> this.response.sendFile(file, position, count).then());
 	}
 
+	@Override
+	public Mono<Void> writeWith(Path file, List<ResourceRegion> regions, List<DataBuffer> prefixes, DataBuffer suffix) {
+		Assert.isTrue(regions.size() == prefixes.size(), "Expected one prefix per region");
+		return doCommit(() -> {
+			NettyOutbound outbound = this.response;
+			for (int i = 0; i < regions.size(); i++) {
+				ResourceRegion region = regions.get(i);
+				outbound = outbound
+						.send(Mono.just(NettyDataBufferFactory.toByteBuf(prefixes.get(i))))
+						.sendFile(file, region.getPosition(), region.getCount());
+			}
+			return outbound.send(Mono.just(NettyDataBufferFactory.toByteBuf(suffix))).then();
+		});
+	}
+
 	private Publisher<ByteBuf> toByteBufs(Publisher<? extends DataBuffer> dataBuffers) {
 		return dataBuffers instanceof Mono ?
 				Mono.from(dataBuffers).map(NettyDataBufferFactory::toByteBuf) :